@@ -45,8 +45,7 @@ public class ManagedJobExecutor extends JobExecutor {
     try {
       managedExecutorService.execute(getExecuteJobsRunnable(jobIds, processEngine));
     } catch (RejectedExecutionException e) {
-      logRejectedExecution(processEngine, jobIds.size());
-      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      rejectJobs(jobIds, processEngine);
     }
   }
 
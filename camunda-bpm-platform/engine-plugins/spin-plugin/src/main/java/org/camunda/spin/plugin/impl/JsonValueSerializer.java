@@ -25,6 +25,7 @@ import org.camunda.spin.plugin.variable.type.JsonValueType;
 import org.camunda.spin.plugin.variable.type.SpinValueType;
 import org.camunda.spin.plugin.variable.value.SpinValue;
 import org.camunda.spin.plugin.variable.value.impl.JsonValueImpl;
+import org.camunda.spin.plugin.variable.value.impl.LazyJsonValueImpl;
 import org.camunda.spin.spi.DataFormat;
 
 /**
@@ -52,6 +53,12 @@ public class JsonValueSerializer extends SpinValueSerializer {
     return jsonValue;
   }
 
+  @SuppressWarnings("unchecked")
+  protected SpinValue createLazyDeserializedValue(byte[] serializedByteValue, ValueFields valueFields, boolean asTransientValue) {
+    String serializedStringValue = getSerializedStringValue(serializedByteValue);
+    return new LazyJsonValueImpl((DataFormat<SpinJsonNode>) dataFormat, serializedStringValue, asTransientValue);
+  }
+
   protected SpinValue createSerializedValue(String serializedStringValue, ValueFields valueFields, boolean asTransientValue) {
     JsonValueImpl jsonValue = new JsonValueImpl(serializedStringValue, serializationDataFormat);
     jsonValue.setTransient(asTransientValue);
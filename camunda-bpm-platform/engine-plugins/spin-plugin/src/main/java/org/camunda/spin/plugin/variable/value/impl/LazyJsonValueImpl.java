@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.variable.value.impl;
+
+import java.io.StringReader;
+
+import org.camunda.spin.json.SpinJsonNode;
+import org.camunda.spin.spi.DataFormat;
+
+/**
+ * A {@link JsonValueImpl} that keeps the serialized JSON of a variable and
+ * parses it when the value is accessed for the first time.
+ */
+public class LazyJsonValueImpl extends JsonValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected transient DataFormat<SpinJsonNode> dataFormat;
+  protected boolean isMaterialized = false;
+
+  public LazyJsonValueImpl(DataFormat<SpinJsonNode> dataFormat, String serializedValue, boolean isTransient) {
+    super(null, serializedValue, dataFormat.getName(), true, isTransient);
+    this.dataFormat = dataFormat;
+  }
+
+  public SpinJsonNode getValue() {
+    if (!isMaterialized) {
+      Object json = dataFormat.getReader().readInput(new StringReader(serializedValue));
+      value = dataFormat.createWrapperInstance(json);
+      isMaterialized = true;
+    }
+    return (SpinJsonNode) value;
+  }
+
+  /**
+   * @return true if the JSON has been parsed already
+   */
+  public boolean isMaterialized() {
+    return isMaterialized;
+  }
+
+  protected Object writeReplace() {
+    return new JsonValueImpl(getValue(), serializedValue, dataFormatName, true, isTransient);
+  }
+
+}
@@ -34,6 +34,7 @@ import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -80,6 +81,29 @@ public class JsonSerializationTest {
   }
 
 
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testLazyDeserializationOutsideOfCommand() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    processEngineConfiguration.setLazyObjectDeserializationEnabled(true);
+
+    try {
+      ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+      JsonSerializable bean = new JsonSerializable("a String", 42, true);
+      runtimeService.setVariable(instance.getId(), "simpleBean", objectValue(bean).serializationDataFormat(JSON_FORMAT_NAME).create());
+
+      // the value is deserialized after the command which read it
+      ObjectValue typedValue = runtimeService.getVariableTyped(instance.getId(), "simpleBean");
+
+      assertEquals(bean, typedValue.getValue());
+      assertEquals(JsonSerializable.class, typedValue.getObjectType());
+    }
+    finally {
+      processEngineConfiguration.setLazyObjectDeserializationEnabled(false);
+    }
+  }
+
   @Test
   @Deployment(resources = ONE_TASK_PROCESS)
   public void testSerializationAsJson() throws JSONException {
@@ -76,6 +76,30 @@ public class JsonValueTest extends PluggableProcessEngineTestCase {
     assertEquals(json().getName(), value.getDataFormatName());
   }
 
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testGetLazyJsonValueOutsideOfCommand() throws JSONException {
+    processEngineConfiguration.setLazyObjectDeserializationEnabled(true);
+
+    try {
+      // given
+      JsonValue jsonValue = jsonValue(jsonString).create();
+      VariableMap variables = Variables.createVariables().putValueTyped(variableName, jsonValue);
+
+      String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS_KEY, variables).getId();
+
+      // when
+      JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, variableName);
+
+      // then
+      SpinJsonNode value = typedValue.getValue();
+      JSONAssert.assertEquals(jsonString, value.toString(), true);
+      assertEquals(json().getName(), value.getDataFormatName());
+    }
+    finally {
+      processEngineConfiguration.setLazyObjectDeserializationEnabled(false);
+    }
+  }
+
   @Deployment(resources = ONE_TASK_PROCESS)
   public void testGetTypedJsonValue() throws JSONException {
     // given
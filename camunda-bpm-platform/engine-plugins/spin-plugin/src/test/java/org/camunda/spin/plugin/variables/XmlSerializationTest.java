@@ -82,6 +82,27 @@ public class XmlSerializationTest extends PluggableProcessEngineTestCase {
     assertEquals(bean.getIntProperty(), Integer.parseInt(serializedValue.childElement("intProperty").textContent()));
   }
 
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testLazyDeserializationOutsideOfCommand() {
+    processEngineConfiguration.setLazyObjectDeserializationEnabled(true);
+
+    try {
+      ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+      XmlSerializable bean = new XmlSerializable("a String", 42, true);
+      runtimeService.setVariable(instance.getId(), "simpleBean", objectValue(bean).serializationDataFormat(XML_FORMAT_NAME).create());
+
+      // the value is deserialized after the command which read it
+      ObjectValue typedValue = runtimeService.getVariableTyped(instance.getId(), "simpleBean");
+
+      assertEquals(bean, typedValue.getValue());
+      assertEquals(XmlSerializable.class, typedValue.getObjectType());
+    }
+    finally {
+      processEngineConfiguration.setLazyObjectDeserializationEnabled(false);
+    }
+  }
+
   @Deployment(resources = ONE_TASK_PROCESS)
   public void testFailingSerialization() {
     ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
@@ -21,10 +21,12 @@ import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDt
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
+import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 /**
  * @author Tassilo Weidner
@@ -33,9 +35,17 @@ public interface FetchAndLockRestService {
 
   String PATH = "/external-task/fetchAndLock";
 
+  String APPLICATION_NDJSON = "application/x-ndjson";
+
   @POST
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   void fetchAndLock(FetchExternalTasksExtendedDto dto, @Suspended final AsyncResponse asyncResponse);
 
+  @POST
+  @Path("/stream")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(APPLICATION_NDJSON)
+  Response fetchAndLockStream(FetchExternalTasksExtendedDto dto);
+
 }
@@ -17,10 +17,16 @@
 package org.camunda.bpm.engine.rest.impl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,15 +34,22 @@ import javax.servlet.ServletContext;
 import javax.servlet.ServletContextEvent;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cmd.RingDoorbellCmd;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto.FetchExternalTaskTopicDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
@@ -44,15 +57,36 @@ import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.spi.FetchAndLockHandler;
 import org.camunda.bpm.engine.rest.util.EngineUtil;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 
 /**
+ * <p>Pending requests are fetched again when external tasks of one of their topics became
+ * available on this node, when they expire and every {@link #PENDING_REQUEST_FETCH_INTERVAL}.
+ * Requests are fetched in the order they arrived, and once a request without filters did not
+ * get all the tasks it asked for, the remaining requests for the same topics and
+ * authentication are not fetched in the same round.</p>
+ *
+ * <p>If the <code>fetch-and-lock-doorbell-poll-interval</code> servlet context parameter is set,
+ * tasks becoming available on this node ring a doorbell row in the <code>ACT_GE_PROPERTY</code>
+ * table, which the handlers on all nodes poll in the given interval (milliseconds). A ring by
+ * another node fetches all pending requests.</p>
+ *
+ * <p>{@link FetchAndLockStream Streams} are fetched in the same way. While the worker has used
+ * up its credit, a stream is fetched again when one of the tasks sent to it is released on this
+ * node or its lock expires. Tasks released on other nodes are only noticed when all pending
+ * requests are fetched, by checking which of the tasks are still locked by the worker.</p>
+ *
  * @author Tassilo Weidner
  */
-public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
+public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler, ExternalTaskAvailableListener {
 
   private static final Logger LOG = Logger.getLogger(FetchAndLockHandlerImpl.class.getName());
 
   protected static final String UNIQUE_WORKER_REQUEST_PARAM_NAME = "fetch-and-lock-unique-worker-request";
+  protected static final String DOORBELL_POLL_INTERVAL_PARAM_NAME = "fetch-and-lock-doorbell-poll-interval";
+
+  protected static final String DOORBELL_PROPERTY_NAME = "external-task.doorbell";
 
   protected static final long PENDING_REQUEST_FETCH_INTERVAL = 30L * 1000;
   protected static final long MAX_BACK_OFF_TIME = Long.MAX_VALUE;
@@ -62,6 +96,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected BlockingQueue<FetchAndLockRequest> queue = new ArrayBlockingQueue<>(200);
   protected List<FetchAndLockRequest> pendingRequests = new ArrayList<>();
+  protected List<FetchAndLockStream> streams = new ArrayList<>();
   protected List<FetchAndLockRequest> newRequests = new ArrayList<>();
 
   protected Thread handlerThread = new Thread(this, this.getClass().getSimpleName());
@@ -70,6 +105,19 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
   protected boolean isUniqueWorkerRequest = false;
 
+  /** topics of the external tasks that became available, by process engine name */
+  protected Map<String, Set<String>> availableTopics = new ConcurrentHashMap<>();
+
+  /** ids of the external tasks that were released by their workers, by process engine name */
+  protected Map<String, Set<String>> releasedTasks = new ConcurrentHashMap<>();
+
+  protected long nextPendingRequestFetchTime = 0;
+
+  protected long doorbellPollInterval = 0;
+  protected long nextDoorbellPollTime = 0;
+  protected Set<String> pendingDoorbellRings = new HashSet<>();
+  protected Map<String, String> lastDoorbellValues = new HashMap<>();
+
   public FetchAndLockHandlerImpl() {
     this.condition = new SingleConsumerCondition(handlerThread);
   }
@@ -93,6 +141,17 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     queue.drainTo(newRequests);
 
+    Set<FetchAndLockRequest> requestsToFetch = new HashSet<>(newRequests);
+
+    Iterator<FetchAndLockRequest> newRequestIterator = newRequests.iterator();
+    while (newRequestIterator.hasNext()) {
+      FetchAndLockRequest newRequest = newRequestIterator.next();
+      if (newRequest instanceof FetchAndLockStream) {
+        streams.add((FetchAndLockStream) newRequest);
+        newRequestIterator.remove();
+      }
+    }
+
     if (!newRequests.isEmpty()) {
       if (isUniqueWorkerRequest) {
         removeDuplicates();
@@ -104,6 +163,22 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
     LOG.log(Level.FINEST, "Number of pending requests {0}", pendingRequests.size());
 
+    long currentTime = ClockUtil.getCurrentTime().getTime();
+
+    Map<String, Set<String>> topicsToFetch = poll(availableTopics);
+    Map<String, Set<String>> tasksToRelease = poll(releasedTasks);
+
+    boolean fetchAllPendingRequests = currentTime >= nextPendingRequestFetchTime;
+    if (isDoorbellEnabled() && currentTime >= nextDoorbellPollTime) {
+      fetchAllPendingRequests |= pollDoorbell(topicsToFetch.keySet());
+      nextDoorbellPollTime = currentTime + doorbellPollInterval;
+    }
+    if (fetchAllPendingRequests) {
+      nextPendingRequestFetchTime = currentTime + PENDING_REQUEST_FETCH_INTERVAL;
+    }
+
+    Set<String> drainedTopics = new HashSet<>();
+
     long backoffTime = MAX_BACK_OFF_TIME; //timestamp
 
     Iterator<FetchAndLockRequest> iterator = pendingRequests.iterator();
@@ -111,9 +186,28 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       FetchAndLockRequest pendingRequest = iterator.next();
 
-      LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
+      if (!fetchAllPendingRequests
+          && !requestsToFetch.contains(pendingRequest)
+          && !isExpired(pendingRequest)
+          && !isTopicAvailable(pendingRequest, topicsToFetch)) {
 
-      FetchAndLockResult result = tryFetchAndLock(pendingRequest);
+        final long msUntilTimeout = pendingRequest.getTimeoutTimestamp() - currentTime;
+        backoffTime = Math.min(backoffTime, msUntilTimeout);
+        continue;
+      }
+
+      FetchAndLockResult result;
+      if (isDrained(pendingRequest, drainedTopics)) {
+        LOG.log(Level.FINEST, "Skipping request with drained topics {0}", pendingRequest);
+
+        result = FetchAndLockResult.successful(new ArrayList<LockedExternalTaskDto>());
+      }
+      else {
+        LOG.log(Level.FINEST, "Fetching tasks for request {0}", pendingRequest);
+
+        result = tryFetchAndLock(pendingRequest);
+        addDrainedTopics(pendingRequest, result, drainedTopics);
+      }
 
       LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
 
@@ -145,15 +239,312 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       }
     }
 
+    long streamBackoffTime = fetchStreams(currentTime, fetchAllPendingRequests, requestsToFetch, topicsToFetch, tasksToRelease, drainedTopics);
+    backoffTime = Math.min(backoffTime, streamBackoffTime);
+
     final long waitTime = Math.max(0, backoffTime);
 
-    if (pendingRequests.isEmpty()) {
+    if (pendingRequests.isEmpty() && streams.isEmpty()) {
       suspend(waitTime);
     }
     else {
       // if there are pending requests, try fetch periodically to ensure tasks created on other
-      // cluster nodes and tasks with expired timeouts can be fetched in a timely manner
-      suspend(Math.min(PENDING_REQUEST_FETCH_INTERVAL, waitTime));
+      // cluster nodes and tasks with expired locks can be fetched in a timely manner
+      long msUntilNextFetch = Math.max(0, nextPendingRequestFetchTime - currentTime);
+      if (isDoorbellEnabled()) {
+        msUntilNextFetch = Math.min(msUntilNextFetch, Math.max(0, nextDoorbellPollTime - currentTime));
+      }
+      suspend(Math.min(msUntilNextFetch, waitTime));
+    }
+  }
+
+  /**
+   * @return the time in milliseconds until one of the streams has to be fetched again
+   */
+  protected long fetchStreams(long currentTime,
+                              boolean fetchAllStreams,
+                              Set<FetchAndLockRequest> streamsToFetch,
+                              Map<String, Set<String>> topicsToFetch,
+                              Map<String, Set<String>> tasksToRelease,
+                              Set<String> drainedTopics) {
+
+    long backoffTime = MAX_BACK_OFF_TIME;
+
+    Iterator<FetchAndLockStream> iterator = streams.iterator();
+    while (iterator.hasNext()) {
+
+      FetchAndLockStream stream = iterator.next();
+
+      if (!stream.isClosed() && isExpired(stream)) {
+        LOG.log(Level.FINEST, "Closing expired stream {0}", stream);
+
+        stream.close();
+      }
+
+      Set<String> releasedTaskIds = tasksToRelease.get(stream.getProcessEngineName());
+      boolean hasReleasedTasks = releasedTaskIds != null && stream.releaseTasks(releasedTaskIds);
+
+      if (!stream.isClosed()
+          && (fetchAllStreams
+            || hasReleasedTasks
+            || streamsToFetch.contains(stream)
+            || currentTime >= stream.getNextFetchTime()
+            || isTopicAvailable(stream, topicsToFetch))) {
+
+        stream.setNextFetchTime(Long.MAX_VALUE);
+
+        if (isDrained(stream, drainedTopics)) {
+          LOG.log(Level.FINEST, "Skipping stream with drained topics {0}", stream);
+        }
+        else {
+          fetchStream(stream, currentTime, fetchAllStreams, drainedTopics);
+        }
+      }
+
+      if (stream.isClosed()) {
+        iterator.remove();
+      }
+      else {
+        long nextFetchTime = Math.min(stream.getNextFetchTime(), stream.getTimeoutTimestamp());
+        backoffTime = Math.min(backoffTime, nextFetchTime - currentTime);
+      }
+    }
+
+    return backoffTime;
+  }
+
+  protected void fetchStream(FetchAndLockStream stream, long currentTime, boolean checkLockedTasks, Set<String> drainedTopics) {
+    if (checkLockedTasks && stream.getAvailableCredit(currentTime) == 0) {
+      // the worker may have released tasks on other nodes
+      try {
+        stream.retainTasks(findLockedTaskIds(stream));
+      }
+      catch (Exception e) {
+        LOG.log(Level.FINEST, "Closing stream with error", e);
+
+        stream.close(e);
+        return;
+      }
+    }
+
+    int availableCredit = stream.getAvailableCredit(currentTime);
+    if (availableCredit == 0) {
+      stream.setNextFetchTime(stream.getNextLockExpirationTime());
+      return;
+    }
+
+    LOG.log(Level.FINEST, "Fetching {0} tasks for stream {1}", new Object[] { availableCredit, stream });
+
+    stream.getDto().setMaxTasks(availableCredit);
+    FetchAndLockResult result = tryFetchAndLock(stream);
+
+    LOG.log(Level.FINEST, "Fetch and lock result: {0}", result);
+
+    if (result.wasSuccessful()) {
+      addDrainedTopics(stream, result, drainedTopics);
+
+      List<LockedExternalTaskDto> lockedTasks = result.getTasks();
+      stream.send(lockedTasks);
+
+      if (lockedTasks.size() == availableCredit) {
+        // there may be more tasks than the worker could take
+        stream.setNextFetchTime(stream.getNextLockExpirationTime());
+      }
+    }
+    else {
+      Throwable processEngineException = result.getThrowable();
+
+      LOG.log(Level.FINEST, "Closing stream with error", processEngineException);
+
+      stream.close(processEngineException);
+    }
+  }
+
+  protected Set<String> findLockedTaskIds(FetchAndLockStream stream) {
+    ProcessEngine processEngine = getProcessEngine(stream);
+    IdentityService identityService = processEngine.getIdentityService();
+
+    try {
+      identityService.setAuthentication(stream.getAuthentication());
+
+      List<ExternalTask> lockedTasks = processEngine.getExternalTaskService()
+        .createExternalTaskQuery()
+        .workerId(stream.getDto().getWorkerId())
+        .locked()
+        .list();
+
+      Set<String> lockedTaskIds = new HashSet<>();
+      for (ExternalTask lockedTask : lockedTasks) {
+        lockedTaskIds.add(lockedTask.getId());
+      }
+      return lockedTaskIds;
+    }
+    finally {
+      identityService.clearAuthentication();
+    }
+  }
+
+  @Override
+  public void externalTasksAvailable(String processEngineName, Set<String> topicNames) {
+    availableTopics.compute(processEngineName, (name, topics) -> {
+      Set<String> availableTopicNames = topics != null ? topics : new HashSet<>();
+      availableTopicNames.addAll(topicNames);
+      return availableTopicNames;
+    });
+
+    condition.signal();
+  }
+
+  @Override
+  public void externalTasksReleased(String processEngineName, Set<String> externalTaskIds) {
+    releasedTasks.compute(processEngineName, (name, taskIds) -> {
+      Set<String> releasedTaskIds = taskIds != null ? taskIds : new HashSet<>();
+      releasedTaskIds.addAll(externalTaskIds);
+      return releasedTaskIds;
+    });
+
+    condition.signal();
+  }
+
+  protected Map<String, Set<String>> poll(Map<String, Set<String>> notifications) {
+    Map<String, Set<String>> polledNotifications = new HashMap<>();
+    for (String processEngineName : notifications.keySet()) {
+      Set<String> values = notifications.remove(processEngineName);
+      if (values != null) {
+        polledNotifications.put(processEngineName, values);
+      }
+    }
+    return polledNotifications;
+  }
+
+  protected boolean isTopicAvailable(FetchAndLockRequest request, Map<String, Set<String>> topicsToFetch) {
+    Set<String> topicNames = topicsToFetch.get(request.getProcessEngineName());
+    if (topicNames == null) {
+      return false;
+    }
+    if (topicNames.contains(null)) {
+      // tasks of an unknown topic became available
+      return true;
+    }
+
+    for (FetchExternalTaskTopicDto topic : getTopics(request)) {
+      if (topicNames.contains(topic.getTopicName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true if a previous request of the current round with the same authentication
+   * did not get all the tasks it asked for from any of the topics of the request
+   */
+  protected boolean isDrained(FetchAndLockRequest request, Set<String> drainedTopics) {
+    List<FetchExternalTaskTopicDto> topics = getTopics(request);
+    if (topics.isEmpty()) {
+      return false;
+    }
+
+    for (FetchExternalTaskTopicDto topic : topics) {
+      if (!drainedTopics.contains(getDrainedTopicKey(request, topic))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected void addDrainedTopics(FetchAndLockRequest request, FetchAndLockResult result, Set<String> drainedTopics) {
+    if (result.wasSuccessful() && result.getTasks().size() < request.getDto().getMaxTasks()) {
+      for (FetchExternalTaskTopicDto topic : getTopics(request)) {
+        // a filtered topic may not get tasks that are available to other requests
+        if (!isFiltered(topic)) {
+          drainedTopics.add(getDrainedTopicKey(request, topic));
+        }
+      }
+    }
+  }
+
+  protected boolean isFiltered(FetchExternalTaskTopicDto topic) {
+    return topic.getBusinessKey() != null
+        || topic.getProcessDefinitionId() != null
+        || topic.getProcessDefinitionIdIn() != null
+        || topic.getProcessDefinitionKey() != null
+        || topic.getProcessDefinitionKeyIn() != null
+        || topic.getProcessDefinitionVersionTag() != null
+        || topic.getProcessVariables() != null
+        || topic.getTenantIdIn() != null
+        || topic.isWithoutTenantId();
+  }
+
+  protected String getDrainedTopicKey(FetchAndLockRequest request, FetchExternalTaskTopicDto topic) {
+    StringBuilder key = new StringBuilder()
+      .append(request.getProcessEngineName())
+      .append('|')
+      .append(topic.getTopicName());
+
+    Authentication authentication = request.getAuthentication();
+    if (authentication != null) {
+      key.append('|').append(authentication.getUserId())
+        .append('|').append(authentication.getGroupIds())
+        .append('|').append(authentication.getTenantIds());
+    }
+
+    return key.toString();
+  }
+
+  protected List<FetchExternalTaskTopicDto> getTopics(FetchAndLockRequest request) {
+    List<FetchExternalTaskTopicDto> topics = request.getDto().getTopics();
+    return topics != null ? topics : Collections.<FetchExternalTaskTopicDto>emptyList();
+  }
+
+  protected boolean isDoorbellEnabled() {
+    return doorbellPollInterval > 0;
+  }
+
+  /**
+   * Rings the doorbell of the process engines on which external tasks became available
+   * and checks the doorbell of the process engines with pending requests.
+   *
+   * @return true if another node rang the doorbell of a process engine with pending requests
+   */
+  protected boolean pollDoorbell(Set<String> processEnginesToRing) {
+    pendingDoorbellRings.addAll(processEnginesToRing);
+
+    Set<String> processEnginesToCheck = new HashSet<>();
+    for (FetchAndLockRequest pendingRequest : pendingRequests) {
+      processEnginesToCheck.add(pendingRequest.getProcessEngineName());
+    }
+    processEnginesToCheck.addAll(pendingDoorbellRings);
+
+    boolean rungByOtherNode = false;
+    for (String processEngineName : processEnginesToCheck) {
+      try {
+        rungByOtherNode |= pollDoorbell(processEngineName);
+      }
+      catch (Exception e) {
+        LOG.log(Level.WARNING, "Checking the external task doorbell of process engine '" + processEngineName + "' failed", e);
+      }
+    }
+    return rungByOtherNode;
+  }
+
+  protected boolean pollDoorbell(String processEngineName) {
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) EngineUtil.lookupProcessEngine(processEngineName);
+    CommandExecutor commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    if (pendingDoorbellRings.remove(processEngineName)) {
+      String doorbellValue = commandExecutor.execute(new RingDoorbellCmd(DOORBELL_PROPERTY_NAME));
+      lastDoorbellValues.put(processEngineName, doorbellValue);
+      return false;
+    }
+    else {
+      String doorbellValue = commandExecutor.execute(commandContext -> {
+        PropertyEntity property = commandContext.getPropertyManager().findPropertyById(DOORBELL_PROPERTY_NAME);
+        return property != null ? property.getValue() : null;
+      });
+
+      String lastDoorbellValue = lastDoorbellValues.put(processEngineName, doorbellValue);
+      return doorbellValue != null && !doorbellValue.equals(lastDoorbellValue);
     }
   }
 
@@ -183,13 +574,13 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     isRunning = true;
     handlerThread.start();
 
-    ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.addListener(this);
   }
 
   @Override
   public void shutdown() {
     try {
-      ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+      ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.removeListener(this);
     }
     finally {
       isRunning = false;
@@ -279,6 +670,10 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
       AsyncResponse asyncResponse = pendingRequest.getAsyncResponse();
       asyncResponse.resume(new RestException(Status.INTERNAL_SERVER_ERROR, "Request rejected due to shutdown of application server."));
     }
+
+    for (FetchAndLockStream stream : streams) {
+      stream.close(new RestException(Status.INTERNAL_SERVER_ERROR, "Stream closed due to shutdown of application server."));
+    }
   }
 
   protected ProcessEngine getProcessEngine(FetchAndLockRequest request) {
@@ -337,6 +732,42 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  @Override
+  public StreamingOutput addStream(FetchExternalTasksExtendedDto dto, ObjectMapper objectMapper, ProcessEngine processEngine) {
+    Long asyncResponseTimeout = dto.getAsyncResponseTimeout();
+    if (asyncResponseTimeout != null && asyncResponseTimeout > MAX_REQUEST_TIMEOUT) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The asynchronous response timeout cannot be set to a value greater than "
+          + MAX_REQUEST_TIMEOUT + " milliseconds");
+    }
+
+    if (dto.getWorkerId() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The worker id of a stream must be set");
+    }
+
+    if (dto.getMaxTasks() <= 0) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The maximum number of tasks of a stream must be greater than 0");
+    }
+
+    IdentityService identityService = processEngine.getIdentityService();
+
+    FetchAndLockStream stream = new FetchAndLockStream()
+      .setObjectMapper(objectMapper)
+      .setCredit(dto.getMaxTasks());
+    stream.setProcessEngineName(processEngine.getName())
+      .setAuthentication(identityService.getCurrentAuthentication())
+      .setDto(dto);
+
+    LOG.log(Level.FINEST, "New stream: {0}", stream);
+
+    if (!queue.offer(stream)) {
+      throw new InvalidRequestException(Status.INTERNAL_SERVER_ERROR, "At the moment the server has to handle too many requests at the same time. Please try again later.");
+    }
+
+    condition.signal();
+
+    return stream;
+  }
+
   public void contextInitialized(ServletContextEvent servletContextEvent) {
     ServletContext servletContext = null;
 
@@ -345,6 +776,7 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
 
       if (servletContext != null) {
         parseUniqueWorkerRequestParam(servletContext.getInitParameter(UNIQUE_WORKER_REQUEST_PARAM_NAME));
+        parseDoorbellPollIntervalParam(servletContext.getInitParameter(DOORBELL_POLL_INTERVAL_PARAM_NAME));
       }
     }
   }
@@ -357,6 +789,14 @@ public class FetchAndLockHandlerImpl implements Runnable, FetchAndLockHandler {
     }
   }
 
+  protected void parseDoorbellPollIntervalParam(String doorbellPollIntervalParam) {
+    if (doorbellPollIntervalParam != null) {
+      doorbellPollInterval = Long.parseLong(doorbellPollIntervalParam);
+    } else {
+      doorbellPollInterval = 0; // default configuration
+    }
+  }
+
   public List<FetchAndLockRequest> getPendingRequests() {
     return pendingRequests;
   }
@@ -22,6 +22,8 @@ import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDt
 import org.camunda.bpm.engine.rest.spi.FetchAndLockHandler;
 
 import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * @author Tassilo Weidner
@@ -38,4 +40,11 @@ public class FetchAndLockRestServiceImpl extends AbstractRestProcessEngineAware
     fetchAndLockHandler.addPendingRequest(dto, asyncResponse, processEngine);
   }
 
+  @Override
+  public Response fetchAndLockStream(FetchExternalTasksExtendedDto dto) {
+    FetchAndLockHandler fetchAndLockHandler = FetchAndLockContextListener.getFetchAndLockHandler();
+    StreamingOutput stream = fetchAndLockHandler.addStream(dto, getObjectMapper(), processEngine);
+    return Response.ok(stream, APPLICATION_NDJSON).build();
+  }
+
 }
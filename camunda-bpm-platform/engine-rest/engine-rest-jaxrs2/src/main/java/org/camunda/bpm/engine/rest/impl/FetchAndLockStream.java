@@ -0,0 +1,186 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.rest.dto.ExceptionDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.LockedExternalTaskDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * A long-lived fetch and lock request which receives locked tasks as long as it is open.
+ *
+ * <p>The tasks are written as newline-delimited JSON by the thread serving the HTTP response.
+ * Empty lines keep the connection alive. If the stream is closed due to an error, the last
+ * line describes the error.</p>
+ *
+ * <p>The credit declared by the worker ({@link FetchExternalTasksExtendedDto#getMaxTasks()})
+ * limits the number of tasks sent to the worker which are locked at the same time. The
+ * handler tracks the locked tasks in memory: a task takes up credit when it is sent and
+ * gives it back when it is released or its lock expires.</p>
+ */
+public class FetchAndLockStream extends FetchAndLockRequest implements StreamingOutput {
+
+  protected static final long KEEP_ALIVE_INTERVAL = 10L * 1000;
+
+  protected static final Object END_OF_STREAM = new Object();
+
+  protected ObjectMapper objectMapper;
+  protected int credit;
+  protected long nextFetchTime = Long.MAX_VALUE;
+
+  /** lock expiration times of the tasks sent to the worker which were not released yet, by task id */
+  protected Map<String, Long> lockedTasks = new HashMap<>();
+
+  protected BlockingQueue<Object> entries = new LinkedBlockingQueue<>();
+  protected volatile boolean isClosed = false;
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  public FetchAndLockStream setObjectMapper(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    return this;
+  }
+
+  public int getCredit() {
+    return credit;
+  }
+
+  public FetchAndLockStream setCredit(int credit) {
+    this.credit = credit;
+    return this;
+  }
+
+  /**
+   * @return the number of tasks which can be sent to the worker
+   */
+  public int getAvailableCredit(long currentTime) {
+    lockedTasks.values().removeIf(lockExpirationTime -> lockExpirationTime <= currentTime);
+    return Math.max(0, credit - lockedTasks.size());
+  }
+
+  /**
+   * @return the time at which the first lock of the tasks sent to the worker expires
+   */
+  public long getNextLockExpirationTime() {
+    long nextLockExpirationTime = Long.MAX_VALUE;
+    for (long lockExpirationTime : lockedTasks.values()) {
+      nextLockExpirationTime = Math.min(nextLockExpirationTime, lockExpirationTime);
+    }
+    return nextLockExpirationTime;
+  }
+
+  /**
+   * @return true if any of the released tasks was sent to the worker
+   */
+  public boolean releaseTasks(Collection<String> taskIds) {
+    return lockedTasks.keySet().removeAll(taskIds);
+  }
+
+  /**
+   * Releases the tasks sent to the worker which are not locked by it anymore.
+   */
+  public void retainTasks(Collection<String> lockedTaskIds) {
+    lockedTasks.keySet().retainAll(lockedTaskIds);
+  }
+
+  /**
+   * @return the time at which the stream is fetched again without tasks becoming available
+   */
+  public long getNextFetchTime() {
+    return nextFetchTime;
+  }
+
+  public FetchAndLockStream setNextFetchTime(long nextFetchTime) {
+    this.nextFetchTime = nextFetchTime;
+    return this;
+  }
+
+  @Override
+  public long getTimeoutTimestamp() {
+    Long asyncResponseTimeout = getDto().getAsyncResponseTimeout();
+    if (asyncResponseTimeout == null) {
+      asyncResponseTimeout = FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT;
+    }
+    return getRequestTime().getTime() + asyncResponseTimeout;
+  }
+
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  public void send(List<LockedExternalTaskDto> tasks) {
+    for (LockedExternalTaskDto task : tasks) {
+      long lockExpirationTime = task.getLockExpirationTime() != null ? task.getLockExpirationTime().getTime() : Long.MAX_VALUE;
+      lockedTasks.put(task.getId(), lockExpirationTime);
+    }
+    entries.addAll(tasks);
+  }
+
+  public void close() {
+    isClosed = true;
+    entries.offer(END_OF_STREAM);
+  }
+
+  public void close(Throwable throwable) {
+    entries.offer(ExceptionDto.fromException(throwable));
+    close();
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try {
+      Object entry;
+      while ((entry = entries.poll(KEEP_ALIVE_INTERVAL, TimeUnit.MILLISECONDS)) != END_OF_STREAM) {
+        if (entry != null) {
+          output.write(objectMapper.writeValueAsBytes(entry));
+        }
+        output.write('\n');
+        output.flush();
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      // the handler stops fetching tasks for the stream if the client has gone away
+      isClosed = true;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FetchAndLockStream [requestTime=" + requestTime + ", dto=" + dto + ", credit=" + credit + ", processEngineName=" + processEngineName
+        + ", authentication=" + authentication + "]";
+  }
+
+}
@@ -18,9 +18,14 @@ package org.camunda.bpm.engine.rest.spi;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksExtendedDto;
+import org.camunda.bpm.engine.rest.exception.RestException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import javax.servlet.ServletContextEvent;
 import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 
 /**
  * SPI supposed to replace the default implementation of the long-polling fetch and lock handler
@@ -48,6 +53,18 @@ public interface FetchAndLockHandler {
    */
   void addPendingRequest(FetchExternalTasksExtendedDto dto, AsyncResponse asyncResponse, ProcessEngine processEngine);
 
+  /**
+   * Invoked if a fetch and lock stream has been opened by the client
+   *
+   * @param dto which is supposed to hold the payload
+   * @param objectMapper to serialize the locked tasks with
+   * @param processEngine provides the process engine context of the respective request
+   * @return the response body which writes the locked tasks until the stream is closed
+   */
+  default StreamingOutput addStream(FetchExternalTasksExtendedDto dto, ObjectMapper objectMapper, ProcessEngine processEngine) {
+    throw new RestException(Status.INTERNAL_SERVER_ERROR, "Streams are not supported by " + getClass().getName());
+  }
+
   /**
    * Invoked on initialization of the servlet context
    *
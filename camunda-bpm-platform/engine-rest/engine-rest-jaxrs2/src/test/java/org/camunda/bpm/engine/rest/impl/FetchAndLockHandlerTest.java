@@ -20,6 +20,8 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -37,9 +39,13 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response.Status;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -47,11 +53,13 @@ import java.util.List;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -79,6 +87,9 @@ public class FetchAndLockHandlerTest {
   @Mock
   protected ExternalTaskQueryTopicBuilder fetchTopicBuilder;
 
+  @Mock
+  protected ExternalTaskQuery externalTaskQuery;
+
   @Spy
   protected FetchAndLockHandlerImpl handler;
 
@@ -101,6 +112,10 @@ public class FetchAndLockHandlerTest {
     when(fetchTopicBuilder.enableCustomObjectDeserialization())
       .thenReturn(fetchTopicBuilder);
 
+    when(externalTaskService.createExternalTaskQuery()).thenReturn(externalTaskQuery);
+    when(externalTaskQuery.workerId(any(String.class))).thenReturn(externalTaskQuery);
+    when(externalTaskQuery.locked()).thenReturn(externalTaskQuery);
+
     doNothing().when(handler).suspend(anyLong());
     doReturn(processEngine).when(handler).getProcessEngine(any(FetchAndLockRequest.class));
 
@@ -269,6 +284,7 @@ public class FetchAndLockHandlerTest {
 
     // when
     doThrow(new ProcessEngineException()).when(fetchTopicBuilder).execute();
+    handler.externalTasksAvailable("default", Collections.singleton("aTopicName"));
     handler.acquire();
 
     // then
@@ -312,6 +328,121 @@ public class FetchAndLockHandlerTest {
     verify(handler).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
   }
 
+  @Test
+  public void shouldFetchPendingRequestWhenTasksOfTopicAvailable() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    // when
+    handler.externalTasksAvailable("default", Collections.singleton("aTopicName"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+    verify(asyncResponse).resume(argThat(IsCollectionWithSize.hasSize(1)));
+    assertThat(handler.getPendingRequests().size(), is(0));
+  }
+
+  @Test
+  public void shouldNotFetchPendingRequestWhenTasksOfOtherTopicAvailable() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    handler.externalTasksAvailable("default", Collections.singleton("anotherTopicName"));
+    handler.externalTasksAvailable("anotherEngine", Collections.singleton("aTopicName"));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+    verify(asyncResponse, never()).resume(any());
+    assertThat(handler.getPendingRequests().size(), is(1));
+  }
+
+  @Test
+  public void shouldFetchPendingRequestWhenTasksOfUnknownTopicAvailable() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    handler.externalTasksAvailable("default", Collections.<String>singleton(null));
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+  }
+
+  @Test
+  public void shouldFetchAllPendingRequestsPeriodically() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT), asyncResponse, processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock(30);
+    handler.acquire();
+
+    // then
+    verify(fetchTopicBuilder, times(3)).execute();
+    verify(handler, times(2)).suspend(FetchAndLockHandlerImpl.PENDING_REQUEST_FETCH_INTERVAL);
+  }
+
+  @Test
+  public void shouldNotFetchRequestForDrainedTopic() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId"), asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId"), asyncResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then the second request is not fetched since the first one did not get all the tasks it asked for
+    verify(fetchTopicBuilder, times(3)).execute();
+    assertThat(handler.getPendingRequests().size(), is(2));
+  }
+
+  @Test
+  public void shouldFetchFilteredRequestForDrainedTopic() {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    FetchExternalTasksExtendedDto filteredDto = createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "anotherWorkerId");
+    filteredDto.getTopics().get(0).setBusinessKey("aBusinessKey");
+    when(fetchTopicBuilder.businessKey(any(String.class))).thenReturn(fetchTopicBuilder);
+
+    AsyncResponse asyncResponse = mock(AsyncResponse.class);
+    handler.addPendingRequest(filteredDto, asyncResponse, processEngine);
+    handler.addPendingRequest(createDto(FetchAndLockHandlerImpl.MAX_REQUEST_TIMEOUT, "aWorkerId"), asyncResponse, processEngine);
+
+    // when
+    handler.acquire();
+
+    // then the filtered request does not drain the topic for the other request
+    verify(fetchTopicBuilder, times(4)).execute();
+  }
+
   @Test
   public void shouldNotPollPeriodicallyWhenNotRequestsPending() {
     // given
@@ -416,6 +547,185 @@ public class FetchAndLockHandlerTest {
     assertThat(argumentCaptor.getValue().getMessage(), is("Request rejected due to shutdown of application server."));
   }
 
+  @Test
+  public void shouldSendTasksToStream() throws IOException {
+    // given
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    tasks.add(lockedExternalTaskMock);
+    doReturn(tasks).when(fetchTopicBuilder).execute();
+
+    FetchAndLockStream stream = (FetchAndLockStream) handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then the worker gets as many tasks as it has credit
+    verify(externalTaskService).fetchAndLock(eq(5), eq("aWorkerId"), any(Boolean.class));
+    verify(handler).suspend(5000L);
+
+    stream.close();
+    String[] lines = writeStream(stream).split("\n");
+    assertThat(lines.length, is(1));
+    assertThat(lines[0].contains("\"id\":\"" + lockedExternalTaskMock.getId() + "\""), is(true));
+  }
+
+  @Test
+  public void shouldNotFetchStreamWithoutCredit() {
+    // given
+    doReturn(createLockedTasks(5, 3)).when(fetchTopicBuilder).execute();
+
+    handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock(1);
+    handler.acquire();
+
+    // then the stream is fetched again when the first lock expires
+    verify(externalTaskService, times(1)).fetchAndLock(anyInt(), any(String.class), any(Boolean.class));
+    verify(externalTaskService, never()).createExternalTaskQuery();
+    verify(handler).suspend(3000L);
+  }
+
+  @Test
+  public void shouldFetchStreamWhenTaskReleased() {
+    // given
+    doReturn(createLockedTasks(5, 3)).when(fetchTopicBuilder).execute();
+
+    handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when
+    handler.externalTasksReleased("default", Collections.singleton("task-0"));
+    handler.acquire();
+
+    // then
+    verify(externalTaskService).fetchAndLock(eq(1), eq("aWorkerId"), any(Boolean.class));
+  }
+
+  @Test
+  public void shouldNotFetchStreamWhenOtherTaskReleased() {
+    // given
+    doReturn(createLockedTasks(5, 3)).when(fetchTopicBuilder).execute();
+
+    handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when
+    handler.externalTasksReleased("default", Collections.singleton("anotherTask"));
+    handler.acquire();
+
+    // then
+    verify(externalTaskService, times(1)).fetchAndLock(anyInt(), any(String.class), any(Boolean.class));
+  }
+
+  @Test
+  public void shouldFetchStreamWhenLocksExpired() {
+    // given
+    doReturn(createLockedTasks(5, 3)).when(fetchTopicBuilder).execute();
+
+    handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock(3);
+    handler.acquire();
+
+    // then
+    verify(externalTaskService, times(2)).fetchAndLock(eq(5), eq("aWorkerId"), any(Boolean.class));
+  }
+
+  @Test
+  public void shouldFetchStreamWhenTaskReleasedOnOtherNode() {
+    // given
+    doReturn(createLockedTasks(5, 60)).when(fetchTopicBuilder).execute();
+
+    List<ExternalTask> lockedTasks = new ArrayList<ExternalTask>();
+    for (int i = 1; i < 5; i++) {
+      lockedTasks.add(MockProvider.mockExternalTask().id("task-" + i).buildExternalTask());
+    }
+    when(externalTaskQuery.list()).thenReturn(lockedTasks);
+
+    handler.addStream(createDto(60000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when all pending requests are fetched
+    addSecondsToClock(30);
+    handler.acquire();
+
+    // then
+    verify(externalTaskQuery).workerId("aWorkerId");
+    verify(externalTaskService).fetchAndLock(eq(1), eq("aWorkerId"), any(Boolean.class));
+  }
+
+  @Test
+  public void shouldCloseExpiredStream() throws IOException {
+    // given
+    doReturn(Collections.emptyList()).when(fetchTopicBuilder).execute();
+
+    FetchAndLockStream stream = (FetchAndLockStream) handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+    handler.acquire();
+
+    // when
+    addSecondsToClock(5);
+    handler.acquire();
+
+    // then
+    assertThat(stream.isClosed(), is(true));
+    assertThat(writeStream(stream), is(""));
+    verify(handler).suspend(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void shouldCloseStreamWithError() throws IOException {
+    // given
+    doThrow(new ProcessEngineException("an error")).when(fetchTopicBuilder).execute();
+
+    FetchAndLockStream stream = (FetchAndLockStream) handler.addStream(createDto(5000L), new ObjectMapper(), processEngine);
+
+    // when
+    handler.acquire();
+
+    // then
+    assertThat(stream.isClosed(), is(true));
+    assertThat(writeStream(stream), is("{\"type\":\"ProcessEngineException\",\"message\":\"an error\"}\n"));
+  }
+
+  @Test
+  public void shouldRejectStreamWithoutCredit() {
+    // given
+    FetchExternalTasksExtendedDto dto = createDto(5000L);
+    dto.setMaxTasks(0);
+
+    try {
+      // when
+      handler.addStream(dto, new ObjectMapper(), processEngine);
+      fail("expected exception");
+    }
+    catch (InvalidRequestException e) {
+      // then
+      assertThat(e.getStatus(), is(Status.BAD_REQUEST));
+      assertThat(e.getMessage(), is("The maximum number of tasks of a stream must be greater than 0"));
+    }
+  }
+
+  protected String writeStream(FetchAndLockStream stream) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    stream.write(output);
+    return output.toString("UTF-8");
+  }
+
+  protected List<LockedExternalTask> createLockedTasks(int numberOfTasks, int lockDurationInSeconds) {
+    List<LockedExternalTask> tasks = new ArrayList<LockedExternalTask>();
+    for (int i = 0; i < numberOfTasks; i++) {
+      tasks.add(MockProvider.mockExternalTask()
+        .id("task-" + i)
+        .lockExpirationTime(addSeconds(ClockUtil.getCurrentTime(), lockDurationInSeconds))
+        .buildLockedExternalTask());
+    }
+    return tasks;
+  }
+
   protected FetchExternalTasksExtendedDto createDto(Long responseTimeout, String workerId) {
     FetchExternalTasksExtendedDto externalTask = new FetchExternalTasksExtendedDto();
 
@@ -0,0 +1,18 @@
+<@lib.dto>
+
+    <@lib.property
+        name = "messages"
+        type = "array"
+        dto = "CorrelationMessageDto"
+        desc = "A JSON array of the messages to correlate. Each message has the properties of the request body of
+                the [Correlate a Message](${docsUrl}/reference/rest/message/post-message/) method." />
+
+    <@lib.property
+        name = "chunkSize"
+        type = "integer"
+        format = "int32"
+        last = true
+        desc = "The number of messages correlated in a single transaction. Defaults to the message correlation bulk
+                chunk size of the process engine configuration." />
+
+</@lib.dto>
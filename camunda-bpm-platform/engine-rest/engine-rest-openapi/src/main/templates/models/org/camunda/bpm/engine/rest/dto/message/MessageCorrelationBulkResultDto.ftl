@@ -0,0 +1,26 @@
+<@lib.dto>
+
+    <@lib.property
+        name = "messageName"
+        type = "string"
+        desc = "The name of the correlated message." />
+
+    <@lib.property
+        name = "successful"
+        type = "boolean"
+        desc = "Indicates whether the message was correlated." />
+
+    <@lib.property
+        name = "errorMessage"
+        type = "string"
+        desc = "The message of the exception the correlation failed with. Only present if the correlation failed." />
+
+    <@lib.property
+        name = "correlationResult"
+        type = "ref"
+        dto = "MessageCorrelationResultWithVariableDto"
+        last = true
+        desc = "The result of the correlation. Only present if the correlation was successful. The `variables`
+                property is never returned." />
+
+</@lib.dto>
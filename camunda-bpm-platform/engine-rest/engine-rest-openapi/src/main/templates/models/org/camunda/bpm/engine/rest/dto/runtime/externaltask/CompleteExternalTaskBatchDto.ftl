@@ -0,0 +1,23 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "workerId"
+      type = "string"
+      desc = "The id of the worker that completes the tasks. Must match the id of the worker who has most recently locked
+              the tasks." />
+
+  <@lib.property
+      name = "tasks"
+      type = "array"
+      dto = "ExternalTaskCompletionDto"
+      desc = "A JSON array of the external tasks to complete." />
+
+  <@lib.property
+      name = "chunkSize"
+      type = "integer"
+      format = "int32"
+      last = true
+      desc = "The number of tasks completed in a single transaction. Defaults to the external task bulk chunk size of
+              the process engine configuration." />
+
+</@lib.dto>
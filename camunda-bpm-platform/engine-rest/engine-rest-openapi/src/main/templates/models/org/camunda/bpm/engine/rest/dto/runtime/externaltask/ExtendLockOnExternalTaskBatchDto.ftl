@@ -0,0 +1,29 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "workerId"
+      type = "string"
+      desc = "The ID of the worker who has locked the external tasks." />
+
+  <@lib.property
+      name = "newDuration"
+      type = "integer"
+      format = "int64"
+      nullable = false
+      desc = "An amount of time (in milliseconds). This is the new lock duration starting from the current moment." />
+
+  <@lib.property
+      name = "externalTaskIds"
+      type = "array"
+      itemType = "string"
+      desc = "The ids of the external tasks to extend the locks of." />
+
+  <@lib.property
+      name = "chunkSize"
+      type = "integer"
+      format = "int32"
+      last = true
+      desc = "The number of locks extended in a single transaction. Defaults to the external task bulk chunk size of
+              the process engine configuration." />
+
+</@lib.dto>
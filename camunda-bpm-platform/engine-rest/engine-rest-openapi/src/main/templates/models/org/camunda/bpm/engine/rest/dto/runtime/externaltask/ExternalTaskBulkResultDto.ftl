@@ -0,0 +1,19 @@
+<@lib.dto>
+
+  <@lib.property
+      name = "externalTaskId"
+      type = "string"
+      desc = "The id of the external task." />
+
+  <@lib.property
+      name = "successful"
+      type = "boolean"
+      desc = "Indicates whether the operation on the external task succeeded." />
+
+  <@lib.property
+      name = "errorMessage"
+      type = "string"
+      last = true
+      desc = "The message of the exception the operation failed with. Only present if the operation failed." />
+
+</@lib.dto>
@@ -96,9 +96,25 @@
         name = "includeExtensionProperties"
         type = "boolean"
         defaultValue = 'false'
-        last = true
         desc = "Determines whether custom extension properties defined in the BPMN activity of the external task (e.g.
                 via the Extensions tab in the Camunda modeler) should be included in the response. Default: false" />
 
+    <@lib.property
+        name = "weight"
+        type = "integer"
+        format = "int32"
+        desc = "The weight of the topic, at least 1. If a `weight` or `maxTasks` is given for any of the topics, the
+                tasks are fetched weighted-fair: `maxTasks` of the request is shared among the topics in proportion
+                to their weights, and the share a topic cannot use is passed on to the other topics. Defaults to 1.
+                If several `tenantIdIn` are given for the topic, its share is split evenly among the tenants." />
+
+    <@lib.property
+        name = "maxTasks"
+        type = "integer"
+        format = "int32"
+        last = true
+        desc = "The maximum number of tasks fetched for the topic. Enables weighted-fair fetching as described for
+                `weight`." />
+
 
 </@lib.dto>
@@ -0,0 +1,68 @@
+{
+
+  <@lib.endpointInfo
+      id = "completeExternalTasks"
+      tag = "External Task"
+      desc = "Completes a batch of external tasks locked by the same worker. The tasks are completed in chunks, all
+              tasks of a chunk in a single transaction. Tasks that do not exist or are locked by a different worker
+              are reported as failed without affecting the other tasks of the chunk. If the completion of a task fails
+              otherwise, the tasks of the chunk are completed again one per transaction, so that the failure of one
+              task does not affect the other tasks. Internally this maps to the engine's
+              `ExternalTaskBulkBuilder#execute()` method." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "CompleteExternalTaskBatchDto"
+      examples = ['"example-1": {
+                     "summary": "POST /external-task/complete-batch",
+                     "value": {
+                       "workerId": "aWorker",
+                       "chunkSize": 50,
+                       "tasks": [
+                         {
+                           "externalTaskId": "anExternalTaskId",
+                           "variables": {
+                             "aVariable": {"value": "aStringValue", "type": "String"}
+                           }
+                         },
+                         {
+                           "externalTaskId": "anotherExternalTaskId"
+                         }
+                       ]
+                     }
+                   }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "ExternalTaskBulkResultDto"
+        array = true
+        desc = "Request successful. Contains one result per task, in the order of the tasks in the request."
+        examples = ['"example-1": {
+                       "summary": "Status 200 Response.",
+                       "value": [{
+                         "externalTaskId": "anExternalTaskId",
+                         "successful": true,
+                         "errorMessage": null
+                       },
+                       {
+                         "externalTaskId": "anotherExternalTaskId",
+                         "successful": false,
+                         "errorMessage": "Cannot find external task with id anotherExternalTaskId"
+                       }]
+                   }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if:
+                * no tasks or no `workerId` were supplied
+                * a task has no `externalTaskId`
+                * the variable value or type is invalid, for example if the value could not be parsed to an Integer value or the passed variable type is not supported.
+
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format." />
+
+  }
+}
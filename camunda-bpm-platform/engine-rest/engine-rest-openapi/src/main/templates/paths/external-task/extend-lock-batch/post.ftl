@@ -0,0 +1,50 @@
+{
+
+  <@lib.endpointInfo
+      id = "extendLockOnExternalTasks"
+      tag = "External Task"
+      desc = "Extends the locks of a batch of external tasks locked by the same worker. The locks are extended in
+              chunks, like the tasks of [Complete External Tasks](${docsUrl}/reference/rest/external-task/post-complete-batch/)." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "ExtendLockOnExternalTaskBatchDto"
+      examples = ['"example-1": {
+                     "summary": "POST /external-task/extend-lock-batch",
+                     "value": {
+                       "workerId": "aWorker",
+                       "newDuration": 100000,
+                       "externalTaskIds": ["anExternalTaskId", "anotherExternalTaskId"]
+                     }
+                   }'] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "ExternalTaskBulkResultDto"
+        array = true
+        desc = "Request successful. Contains one result per task, in the order of the task ids in the request."
+        examples = ['"example-1": {
+                       "summary": "Status 200 Response.",
+                       "value": [{
+                         "externalTaskId": "anExternalTaskId",
+                         "successful": true,
+                         "errorMessage": null
+                       },
+                       {
+                         "externalTaskId": "anotherExternalTaskId",
+                         "successful": false,
+                         "errorMessage": "Cannot find external task with id anotherExternalTaskId"
+                       }]
+                   }'] />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if no task ids or no `workerId` were supplied.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format." />
+
+  }
+}
@@ -0,0 +1,54 @@
+{
+
+  <@lib.endpointInfo
+      id = "fetchAndLockStream"
+      tag = "External Task"
+      desc = "Opens a stream of external tasks which are fetched and locked for a worker as they become available.
+              The tasks are written as newline-delimited JSON, one `LockedExternalTask` per line; empty lines keep
+              the connection alive. `maxTasks` is the credit of the worker: tasks are only streamed while fewer
+              than `maxTasks` tasks are locked by the worker. The stream is closed after `asyncResponseTimeout`
+              milliseconds (default and maximum: 1800000). If the stream is closed due to an error, the last line
+              is an error object with `type` and `message`." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "FetchExternalTasksDto"
+      examples = ['"example-1": {
+                       "summary": "POST /external-task/fetchAndLock/stream",
+                       "value": {
+                         "workerId": "aWorkerId",
+                         "maxTasks": 100,
+                         "usePriority": true,
+                         "asyncResponseTimeout": 600000,
+                         "topics": [
+                           {
+                             "topicName": "createOrder",
+                             "lockDuration": 10000,
+                             "variables": [
+                               "orderId"
+                             ]
+                           }
+                         ]
+                       }
+                     }'
+      ] />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "LockedExternalTaskDto"
+        mediaType = "application/x-ndjson"
+        desc = "Stream opened. Each line of the response body is a locked external task." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Bad Request. Returned if the worker id is missing, `maxTasks` is not greater than 0
+                or `asyncResponseTimeout` exceeds the maximum. See the
+                [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
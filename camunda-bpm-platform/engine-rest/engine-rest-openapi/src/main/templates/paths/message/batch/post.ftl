@@ -0,0 +1,83 @@
+{
+
+  <@lib.endpointInfo
+      id = "deliverMessages"
+      tag = "Message"
+      desc = "Correlates a batch of messages. The messages are correlated in chunks, all messages of a chunk in a single
+              transaction. If the correlation of a message of a chunk fails, the messages of the chunk are correlated
+              again one per transaction, so that the failure of one message does not affect the other messages.
+              Each message is correlated like `MessageCorrelationBuilder#correlateWithResult()`; the properties `all`
+              and `variablesInResultEnabled` are not supported. Internally this maps to the engine's
+              `MessageCorrelationBulkBuilder#correlateWithResults()` method." />
+
+  <@lib.requestBody
+      mediaType = "application/json"
+      dto = "CorrelationMessageBulkDto"
+      examples = ['"example-1": {
+                      "summary": "POST /message/batch",
+                      "value": {
+                        "chunkSize" : 50,
+                        "messages" : [
+                          {
+                            "messageName" : "aMessage",
+                            "businessKey" : "aBusinessKey"
+                          },
+                          {
+                            "messageName" : "aMessage",
+                            "businessKey" : "anotherBusinessKey",
+                            "processVariables" : {
+                              "aVariable" : {"value" : "aNewValue", "type": "String"}
+                            }
+                          }
+                        ]
+                      }
+                     }']
+                     />
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        dto = "MessageCorrelationBulkResultDto"
+        array = true
+        desc = "Request successful. Contains one result per message, in the order of the messages in the request."
+      examples = ['"example-1": {
+                       "summary": "Status 200 Response.",
+                       "value": [{
+                         "messageName": "aMessage",
+                         "successful": true,
+                         "errorMessage": null,
+                         "correlationResult": {
+                           "resultType": "Execution",
+                           "execution": {
+                             "id": "anExecutionId",
+                             "processInstanceId": "aProcInstId",
+                             "ended": false,
+                             "tenantId": null
+                           },
+                           "processInstance": null
+                         }
+                       },
+                       {
+                         "messageName": "aMessage",
+                         "successful": false,
+                         "errorMessage": "Cannot correlate message \'aMessage\': No process definition or execution matches the parameters",
+                         "correlationResult": null
+                       }]
+                   }']/>
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if:
+                * no messages were supplied
+                * a message has no `messageName`
+                * both `tenantId` and `withoutTenantId` are supplied for a message
+                * `all` or `variablesInResultEnabled` is supplied for a message
+                * the variable value or type is invalid, for example if the value could not be parsed to an Integer value or the passed variable type is not supported.
+
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling) for the error response format."/>
+
+  }
+}
@@ -32,6 +32,9 @@ import javax.ws.rs.core.UriInfo;
 
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTaskBatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExtendLockOnExternalTaskBatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskBulkResultDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
@@ -77,6 +80,18 @@ public interface ExternalTaskRestService {
   @Produces(MediaType.APPLICATION_JSON)
   List<LockedExternalTaskDto> fetchAndLock(FetchExternalTasksDto fetchingDto);
 
+  @POST
+  @Path("/complete-batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskBulkResultDto> completeBatch(CompleteExternalTaskBatchDto completionDto);
+
+  @POST
+  @Path("/extend-lock-batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<ExternalTaskBulkResultDto> extendLockBatch(ExtendLockOnExternalTaskBatchDto extendLockDto);
+
   @Path("/{id}")
   ExternalTaskResource getExternalTask(@PathParam("id") String externalTaskId);
 
@@ -16,10 +16,15 @@
  */
 package org.camunda.bpm.engine.rest;
 
+import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageBulkDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
+import org.camunda.bpm.engine.rest.dto.message.MessageCorrelationBulkResultDto;
+
+import java.util.List;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
+import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -33,4 +38,10 @@ public interface MessageRestService {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   Response deliverMessage(CorrelationMessageDto messageDto);
+
+  @POST
+  @Path("/batch")
+  @Consumes(MediaType.APPLICATION_JSON)
+  @Produces(MediaType.APPLICATION_JSON)
+  List<MessageCorrelationBulkResultDto> deliverMessages(CorrelationMessageBulkDto messageBulkDto);
 }
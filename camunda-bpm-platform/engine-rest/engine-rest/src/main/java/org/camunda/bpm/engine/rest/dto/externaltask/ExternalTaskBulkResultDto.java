@@ -0,0 +1,70 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.externaltask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkResult;
+
+public class ExternalTaskBulkResultDto {
+
+  protected String externalTaskId;
+  protected boolean successful;
+  protected String errorMessage;
+
+  public static ExternalTaskBulkResultDto fromExternalTaskBulkResult(ExternalTaskBulkResult result) {
+    ExternalTaskBulkResultDto dto = new ExternalTaskBulkResultDto();
+    dto.externalTaskId = result.getExternalTaskId();
+    dto.successful = result.isSuccessful();
+    dto.errorMessage = result.getErrorMessage();
+    return dto;
+  }
+
+  public static List<ExternalTaskBulkResultDto> fromExternalTaskBulkResults(List<ExternalTaskBulkResult> results) {
+    List<ExternalTaskBulkResultDto> dtos = new ArrayList<>();
+    for (ExternalTaskBulkResult result : results) {
+      dtos.add(fromExternalTaskBulkResult(result));
+    }
+    return dtos;
+  }
+
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  public void setExternalTaskId(String externalTaskId) {
+    this.externalTaskId = externalTaskId;
+  }
+
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  public void setSuccessful(boolean successful) {
+    this.successful = successful;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+}
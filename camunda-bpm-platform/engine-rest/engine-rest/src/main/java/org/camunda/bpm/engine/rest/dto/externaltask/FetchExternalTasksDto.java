@@ -90,6 +90,9 @@ public class FetchExternalTasksDto {
     protected boolean withoutTenantId;
     protected String[] tenantIdIn;
 
+    protected Integer weight;
+    protected Integer maxTasks;
+
     public String getTopicName() {
       return topicName;
     }
@@ -162,6 +165,18 @@ public class FetchExternalTasksDto {
     public void setLocalVariables(boolean localVariables) {
       this.localVariables = localVariables;
     }
+    public Integer getWeight() {
+      return weight;
+    }
+    public void setWeight(Integer weight) {
+      this.weight = weight;
+    }
+    public Integer getMaxTasks() {
+      return maxTasks;
+    }
+    public void setMaxTasks(Integer maxTasks) {
+      this.maxTasks = maxTasks;
+    }
     public boolean isWithoutTenantId() {
       return withoutTenantId;
     }
@@ -244,6 +259,14 @@ public class FetchExternalTasksDto {
           topicFetchBuilder = topicFetchBuilder.includeExtensionProperties();
         }
 
+        if (topicDto.getWeight() != null) {
+          topicFetchBuilder = topicFetchBuilder.weight(topicDto.getWeight());
+        }
+
+        if (topicDto.getMaxTasks() != null) {
+          topicFetchBuilder = topicFetchBuilder.maxTasks(topicDto.getMaxTasks());
+        }
+
         fetchBuilder = topicFetchBuilder;
       }
     }
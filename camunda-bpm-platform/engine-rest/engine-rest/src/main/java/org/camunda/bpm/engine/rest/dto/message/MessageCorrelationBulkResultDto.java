@@ -0,0 +1,71 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.message;
+
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+
+public class MessageCorrelationBulkResultDto {
+
+  private String messageName;
+  private boolean successful;
+  private String errorMessage;
+  private MessageCorrelationResultDto correlationResult;
+
+  public static MessageCorrelationBulkResultDto fromMessageCorrelationBulkResult(MessageCorrelationBulkResult result) {
+    MessageCorrelationBulkResultDto dto = new MessageCorrelationBulkResultDto();
+    dto.messageName = result.getMessageName();
+    dto.successful = result.isSuccessful();
+    dto.errorMessage = result.getErrorMessage();
+    if (result.getCorrelationResult() != null) {
+      dto.correlationResult = MessageCorrelationResultDto.fromMessageCorrelationResult(result.getCorrelationResult());
+    }
+    return dto;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public void setMessageName(String messageName) {
+    this.messageName = messageName;
+  }
+
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  public void setSuccessful(boolean successful) {
+    this.successful = successful;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  public MessageCorrelationResultDto getCorrelationResult() {
+    return correlationResult;
+  }
+
+  public void setCorrelationResult(MessageCorrelationResultDto correlationResult) {
+    this.correlationResult = correlationResult;
+  }
+
+}
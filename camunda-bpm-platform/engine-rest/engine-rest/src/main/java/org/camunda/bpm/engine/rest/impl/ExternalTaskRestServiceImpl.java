@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -35,7 +36,12 @@ import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
+import org.camunda.bpm.engine.rest.dto.VariableValueDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.CompleteExternalTaskBatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExtendLockOnExternalTaskBatchDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskBulkResultDto;
+import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskCompletionDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.externaltask.FetchExternalTasksDto;
@@ -123,6 +129,61 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
     return LockedExternalTaskDto.fromLockedExternalTasks(externalTasks);
   }
 
+  @Override
+  public List<ExternalTaskBulkResultDto> completeBatch(CompleteExternalTaskBatchDto completionDto) {
+    List<ExternalTaskCompletionDto> taskDtos = completionDto.getTasks();
+    if (taskDtos == null || taskDtos.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No external tasks supplied");
+    }
+
+    ProcessEngine engine = getProcessEngine();
+    ExternalTaskBulkBuilder bulk = createExternalTaskBulk(completionDto.getWorkerId(), completionDto.getChunkSize());
+
+    for (ExternalTaskCompletionDto taskDto : taskDtos) {
+      if (taskDto.getExternalTaskId() == null) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "No external task id supplied");
+      }
+
+      bulk.complete(taskDto.getExternalTaskId(),
+          VariableValueDto.toMap(taskDto.getVariables(), engine, getObjectMapper()),
+          VariableValueDto.toMap(taskDto.getLocalVariables(), engine, getObjectMapper()));
+    }
+
+    return ExternalTaskBulkResultDto.fromExternalTaskBulkResults(bulk.execute());
+  }
+
+  @Override
+  public List<ExternalTaskBulkResultDto> extendLockBatch(ExtendLockOnExternalTaskBatchDto extendLockDto) {
+    List<String> externalTaskIds = extendLockDto.getExternalTaskIds();
+    if (externalTaskIds == null || externalTaskIds.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No external tasks supplied");
+    }
+
+    ExternalTaskBulkBuilder bulk = createExternalTaskBulk(extendLockDto.getWorkerId(), extendLockDto.getChunkSize());
+
+    for (String externalTaskId : externalTaskIds) {
+      if (externalTaskId == null) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "No external task id supplied");
+      }
+
+      bulk.extendLock(externalTaskId, extendLockDto.getNewDuration());
+    }
+
+    return ExternalTaskBulkResultDto.fromExternalTaskBulkResults(bulk.execute());
+  }
+
+  protected ExternalTaskBulkBuilder createExternalTaskBulk(String workerId, Integer chunkSize) {
+    if (workerId == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No worker id supplied");
+    }
+
+    ExternalTaskBulkBuilder bulk = getProcessEngine().getExternalTaskService().createExternalTaskBulk(workerId);
+    if (chunkSize != null) {
+      bulk.chunkSize(chunkSize);
+    }
+    return bulk;
+  }
+
   @Override
   public ExternalTaskResource getExternalTask(String externalTaskId) {
     return new ExternalTaskResourceImpl(getProcessEngine(), externalTaskId, getObjectMapper());
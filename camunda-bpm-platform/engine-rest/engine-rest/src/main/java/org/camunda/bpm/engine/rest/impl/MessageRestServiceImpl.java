@@ -22,13 +22,18 @@ import java.util.Map.Entry;
 import javax.ws.rs.core.Response.Status;
 
 import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.rest.MessageRestService;
 import org.camunda.bpm.engine.rest.dto.VariableValueDto;
+import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageBulkDto;
 import org.camunda.bpm.engine.rest.dto.message.CorrelationMessageDto;
+import org.camunda.bpm.engine.rest.dto.message.MessageCorrelationBulkResultDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.ArrayList;
@@ -48,12 +53,7 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
 
   @Override
   public Response deliverMessage(CorrelationMessageDto messageDto) {
-    if (messageDto.getMessageName() == null) {
-      throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
-    }
-    if (messageDto.getTenantId() != null && messageDto.isWithoutTenantId()) {
-      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'tenantId' cannot be used together with parameter 'withoutTenantId'.");
-    }
+    validateMessage(messageDto);
     boolean variablesInResultEnabled = messageDto.isVariablesInResultEnabled();
     if (!messageDto.isResultEnabled() && variablesInResultEnabled) {
       throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'variablesInResultEnabled' cannot be used without 'resultEnabled' set to true.");
@@ -77,6 +77,56 @@ public class MessageRestServiceImpl extends AbstractRestProcessEngineAware imple
     return createResponse(resultDtos, messageDto);
   }
 
+  @Override
+  public List<MessageCorrelationBulkResultDto> deliverMessages(CorrelationMessageBulkDto messageBulkDto) {
+    List<CorrelationMessageDto> messageDtos = messageBulkDto.getMessages();
+    if (messageDtos == null || messageDtos.isEmpty()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No messages supplied");
+    }
+
+    MessageCorrelationBulkBuilder bulkCorrelation = processEngine.getRuntimeService().createMessageCorrelationBulk();
+    if (messageBulkDto.getChunkSize() != null) {
+      try {
+        bulkCorrelation.chunkSize(messageBulkDto.getChunkSize());
+      } catch (ProcessEngineException e) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, e, "Invalid chunk size: " + e.getMessage());
+      }
+    }
+
+    for (CorrelationMessageDto messageDto : messageDtos) {
+      validateMessage(messageDto);
+      if (messageDto.isAll() || messageDto.isVariablesInResultEnabled()) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, "Parameters 'all' and 'variablesInResultEnabled' are not supported when delivering a batch of messages.");
+      }
+
+      try {
+        bulkCorrelation.message(createMessageCorrelationBuilder(messageDto));
+      } catch (RestException e) {
+        String errorMessage = String.format("Cannot deliver message: %s", e.getMessage());
+        throw new InvalidRequestException(e.getStatus(), e, errorMessage);
+
+      } catch (ProcessEngineException e) {
+        String errorMessage = String.format("Cannot deliver message: %s", e.getMessage());
+        throw new InvalidRequestException(Status.BAD_REQUEST, e, errorMessage);
+      }
+    }
+
+    List<MessageCorrelationBulkResultDto> resultDtos = new ArrayList<>();
+    for (MessageCorrelationBulkResult result : bulkCorrelation.correlateWithResults()) {
+      resultDtos.add(MessageCorrelationBulkResultDto.fromMessageCorrelationBulkResult(result));
+    }
+    return resultDtos;
+  }
+
+  protected void validateMessage(CorrelationMessageDto messageDto) {
+    if (messageDto.getMessageName() == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "No message name supplied");
+    }
+    if (messageDto.getTenantId() != null && messageDto.isWithoutTenantId()) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "Parameter 'tenantId' cannot be used together with parameter 'withoutTenantId'.");
+    }
+  }
+
   protected List<MessageCorrelationResultDto> correlate(CorrelationMessageDto messageDto, MessageCorrelationBuilder correlation) {
     List<MessageCorrelationResultDto> resultDtos = new ArrayList<>();
     if (!messageDto.isAll()) {
@@ -51,6 +51,8 @@ import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkResult;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
@@ -64,6 +66,7 @@ import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
@@ -104,6 +107,8 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
   protected static final String RETRIES_EXTERNAL_TASKS_ASYNC_URL = EXTERNAL_TASK_URL + "/retries-async";
   protected static final String PRIORITY_EXTERNAL_TASK_URL = SINGLE_EXTERNAL_TASK_URL + "/priority";
   protected static final String EXTEND_LOCK_ON_EXTERNAL_TASK = SINGLE_EXTERNAL_TASK_URL + "/extendLock";
+  protected static final String COMPLETE_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/complete-batch";
+  protected static final String EXTEND_LOCK_ON_EXTERNAL_TASKS_URL = EXTERNAL_TASK_URL + "/extend-lock-batch";
 
 
   protected ExternalTaskService externalTaskService;
@@ -153,6 +158,8 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
     when(fetchTopicBuilder.withoutTenantId()).thenReturn(fetchTopicBuilder);
     when(fetchTopicBuilder.tenantIdIn(any(String.class))).thenReturn(fetchTopicBuilder);
     when(fetchTopicBuilder.includeExtensionProperties()).thenReturn(fetchTopicBuilder);
+    when(fetchTopicBuilder.weight(anyInt())).thenReturn(fetchTopicBuilder);
+    when(fetchTopicBuilder.maxTasks(anyInt())).thenReturn(fetchTopicBuilder);
 
     Batch batch = createMockBatch();
     updateRetriesBuilder = mock(UpdateExternalTaskRetriesBuilder.class);
@@ -230,6 +237,35 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
     verifyNoMoreInteractions(fetchTopicBuilder, externalTaskService);
   }
 
+  @Test
+  public void testFetchAndLockWeightedFair() {
+    // given
+    when(fetchTopicBuilder.execute()).thenReturn(Arrays.asList(lockedExternalTaskMock));
+
+    // when
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("maxTasks", 5);
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("usePriority", true);
+
+    Map<String, Object> topicParameter = new HashMap<String, Object>();
+    topicParameter.put("topicName", "aTopicName");
+    topicParameter.put("lockDuration", 12354L);
+    topicParameter.put("weight", 3);
+    topicParameter.put("maxTasks", 4);
+    parameters.put("topics", Arrays.asList(topicParameter));
+
+    executePost(parameters);
+
+    InOrder inOrder = inOrder(fetchTopicBuilder, externalTaskService);
+    inOrder.verify(externalTaskService).fetchAndLock(5, "aWorkerId", true);
+    inOrder.verify(fetchTopicBuilder).topic("aTopicName", 12354L);
+    inOrder.verify(fetchTopicBuilder).weight(3);
+    inOrder.verify(fetchTopicBuilder).maxTasks(4);
+    inOrder.verify(fetchTopicBuilder).execute();
+    verifyNoMoreInteractions(fetchTopicBuilder, externalTaskService);
+  }
+
   @Test
   public void testFetchAndLockWithProcessDefinition() {
     // given
@@ -1676,6 +1712,114 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
       .post(EXTEND_LOCK_ON_EXTERNAL_TASK);
   }
 
+  @Test
+  public void testCompleteBatch() {
+    ExternalTaskBulkBuilder bulkBuilder = mockExternalTaskBulk();
+
+    Map<String, Object> task = new HashMap<String, Object>();
+    task.put("externalTaskId", "anExternalTaskId");
+    task.put("variables", VariablesBuilder.create().variable("var1", "val1").getVariables());
+    Map<String, Object> anotherTask = new HashMap<String, Object>();
+    anotherTask.put("externalTaskId", "anotherExternalTaskId");
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("chunkSize", 10);
+    parameters.put("tasks", Arrays.asList(task, anotherTask));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].externalTaskId", equalTo("anExternalTaskId"))
+      .body("[0].successful", equalTo(true))
+      .body("[1].externalTaskId", equalTo("anotherExternalTaskId"))
+      .body("[1].successful", equalTo(false))
+      .body("[1].errorMessage", equalTo("expected"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    verify(externalTaskService).createExternalTaskBulk("aWorkerId");
+    verify(bulkBuilder).chunkSize(10);
+    verify(bulkBuilder).complete(
+        eq("anExternalTaskId"),
+        argThat(EqualsVariableMap.matches()
+          .matcher("var1", EqualsUntypedValue.matcher().value("val1"))),
+        eq((Map<String, Object>) null));
+    verify(bulkBuilder).complete("anotherExternalTaskId", null, null);
+    verify(bulkBuilder).execute();
+    verifyNoMoreInteractions(externalTaskService, bulkBuilder);
+  }
+
+  @Test
+  public void testCompleteBatchWithoutWorkerId() {
+    Map<String, Object> task = new HashMap<String, Object>();
+    task.put("externalTaskId", "anExternalTaskId");
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("tasks", Arrays.asList(task));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+      .body("message", equalTo("No worker id supplied"))
+    .when()
+      .post(COMPLETE_EXTERNAL_TASKS_URL);
+
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  @Test
+  public void testExtendLockBatch() {
+    ExternalTaskBulkBuilder bulkBuilder = mockExternalTaskBulk();
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("workerId", "aWorkerId");
+    parameters.put("newDuration", 1000);
+    parameters.put("externalTaskIds", Arrays.asList("anExternalTaskId", "anotherExternalTaskId"));
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].successful", equalTo(true))
+      .body("[1].successful", equalTo(false))
+    .when()
+      .post(EXTEND_LOCK_ON_EXTERNAL_TASKS_URL);
+
+    verify(externalTaskService).createExternalTaskBulk("aWorkerId");
+    verify(bulkBuilder).extendLock("anExternalTaskId", 1000);
+    verify(bulkBuilder).extendLock("anotherExternalTaskId", 1000);
+    verify(bulkBuilder).execute();
+    verifyNoMoreInteractions(externalTaskService, bulkBuilder);
+  }
+
+  protected ExternalTaskBulkBuilder mockExternalTaskBulk() {
+    ExternalTaskBulkBuilder bulkBuilder = mock(ExternalTaskBulkBuilder.class);
+    when(externalTaskService.createExternalTaskBulk(anyString())).thenReturn(bulkBuilder);
+    when(bulkBuilder.chunkSize(anyInt())).thenReturn(bulkBuilder);
+    when(bulkBuilder.complete(anyString(), anyMapOf(String.class, Object.class), anyMapOf(String.class, Object.class))).thenReturn(bulkBuilder);
+    when(bulkBuilder.extendLock(anyString(), anyLong())).thenReturn(bulkBuilder);
+
+    ExternalTaskBulkResult successfulResult = mock(ExternalTaskBulkResult.class);
+    when(successfulResult.getExternalTaskId()).thenReturn("anExternalTaskId");
+    when(successfulResult.isSuccessful()).thenReturn(true);
+    ExternalTaskBulkResult failedResult = mock(ExternalTaskBulkResult.class);
+    when(failedResult.getExternalTaskId()).thenReturn("anotherExternalTaskId");
+    when(failedResult.getErrorMessage()).thenReturn("expected");
+    when(bulkBuilder.execute()).thenReturn(Arrays.asList(successfulResult, failedResult));
+
+    return bulkBuilder;
+  }
+
   protected void executePost(Map<String, Object> parameters) {
     given()
         .contentType(POST_JSON_CONTENT_TYPE)
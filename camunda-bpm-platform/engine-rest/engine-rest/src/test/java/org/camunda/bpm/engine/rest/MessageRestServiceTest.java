@@ -18,10 +18,12 @@ package org.camunda.bpm.engine.rest;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -43,6 +45,8 @@ import org.camunda.bpm.engine.rest.helper.VariableTypeHelper;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
@@ -78,6 +82,7 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
   public static TestContainerRule rule = new TestContainerRule();
 
   protected static final String MESSAGE_URL = TEST_RESOURCE_ROOT_PATH +  MessageRestService.PATH;
+  protected static final String MESSAGE_BATCH_URL = MESSAGE_URL + "/batch";
 
   private RuntimeService runtimeServiceMock;
   private MessageCorrelationBuilder messageCorrelationBuilderMock;
@@ -1248,6 +1253,143 @@ public class MessageRestServiceTest extends AbstractRestServiceTest {
   }
 
 
+  @Test
+  public void testMessageBatchCorrelation() {
+    // given
+    MessageCorrelationBulkBuilder bulkBuilderMock = mock(MessageCorrelationBulkBuilder.class);
+    when(runtimeServiceMock.createMessageCorrelationBulk()).thenReturn(bulkBuilderMock);
+    when(bulkBuilderMock.message(any(MessageCorrelationBuilder.class))).thenReturn(bulkBuilderMock);
+    when(bulkBuilderMock.chunkSize(anyInt())).thenReturn(bulkBuilderMock);
+
+    MessageCorrelationBulkResult successfulResult = mock(MessageCorrelationBulkResult.class);
+    when(successfulResult.getMessageName()).thenReturn("aMessageName");
+    when(successfulResult.isSuccessful()).thenReturn(true);
+    when(successfulResult.getCorrelationResult()).thenReturn(executionResult);
+    MessageCorrelationBulkResult failedResult = mock(MessageCorrelationBulkResult.class);
+    when(failedResult.getMessageName()).thenReturn("anotherMessageName");
+    when(failedResult.getErrorMessage()).thenReturn("expected");
+    when(bulkBuilderMock.correlateWithResults()).thenReturn(Arrays.asList(successfulResult, failedResult));
+
+    Map<String, Object> message = new HashMap<>();
+    message.put("messageName", "aMessageName");
+    message.put("businessKey", "aBusinessKey");
+    Map<String, Object> anotherMessage = new HashMap<>();
+    anotherMessage.put("messageName", "anotherMessageName");
+
+    Map<String, Object> messageBatch = new HashMap<>();
+    messageBatch.put("messages", Arrays.asList(message, anotherMessage));
+    messageBatch.put("chunkSize", 10);
+
+    // when
+    Response response = given().contentType(POST_JSON_CONTENT_TYPE)
+           .body(messageBatch)
+    .then().expect()
+           .contentType(ContentType.JSON)
+           .statusCode(Status.OK.getStatusCode())
+    .when().post(MESSAGE_BATCH_URL);
+
+    // then
+    String content = response.asString();
+    assertEquals("aMessageName", from(content).get("[0].messageName"));
+    assertEquals(true, from(content).get("[0].successful"));
+    assertEquals(MockProvider.EXAMPLE_EXECUTION_ID, from(content).get("[0].correlationResult.execution.id"));
+    assertEquals("anotherMessageName", from(content).get("[1].messageName"));
+    assertEquals(false, from(content).get("[1].successful"));
+    assertEquals("expected", from(content).get("[1].errorMessage"));
+    assertNull(from(content).get("[1].correlationResult"));
+
+    verify(runtimeServiceMock).createMessageCorrelation(eq("aMessageName"));
+    verify(runtimeServiceMock).createMessageCorrelation(eq("anotherMessageName"));
+    verify(messageCorrelationBuilderMock).processInstanceBusinessKey(eq("aBusinessKey"));
+    verify(bulkBuilderMock, Mockito.times(2)).message(messageCorrelationBuilderMock);
+    verify(bulkBuilderMock).chunkSize(10);
+    verify(bulkBuilderMock).correlateWithResults();
+  }
+
+  @Test
+  public void testFailingMessageBatchCorrelationWithCorrelateAll() {
+    // given
+    when(runtimeServiceMock.createMessageCorrelationBulk()).thenReturn(mock(MessageCorrelationBulkBuilder.class));
+
+    Map<String, Object> message = new HashMap<>();
+    message.put("messageName", "aMessageName");
+    message.put("all", true);
+
+    Map<String, Object> messageBatch = new HashMap<>();
+    messageBatch.put("messages", Arrays.asList(message));
+
+    // when/then
+    given().contentType(POST_JSON_CONTENT_TYPE)
+           .body(messageBatch)
+    .then().expect()
+           .contentType(ContentType.JSON)
+           .statusCode(Status.BAD_REQUEST.getStatusCode())
+           .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+           .body("message", equalTo("Parameters 'all' and 'variablesInResultEnabled' are not supported when delivering a batch of messages."))
+    .when().post(MESSAGE_BATCH_URL);
+  }
+
+  @Test
+  public void testFailingMessageBatchCorrelationWithoutMessages() {
+    given().contentType(POST_JSON_CONTENT_TYPE)
+           .body(new HashMap<String, Object>())
+    .then().expect()
+           .contentType(ContentType.JSON)
+           .statusCode(Status.BAD_REQUEST.getStatusCode())
+           .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+           .body("message", equalTo("No messages supplied"))
+    .when().post(MESSAGE_BATCH_URL);
+  }
+
+  @Test
+  public void testFailingMessageBatchCorrelationWithInvalidChunkSize() {
+    // given
+    MessageCorrelationBulkBuilder bulkBuilderMock = mock(MessageCorrelationBulkBuilder.class);
+    when(runtimeServiceMock.createMessageCorrelationBulk()).thenReturn(bulkBuilderMock);
+    when(bulkBuilderMock.chunkSize(0)).thenThrow(new ProcessEngineException("chunkSize is not greater than or equal to 1"));
+
+    Map<String, Object> message = new HashMap<>();
+    message.put("messageName", "aMessageName");
+
+    Map<String, Object> messageBatch = new HashMap<>();
+    messageBatch.put("messages", Arrays.asList(message));
+    messageBatch.put("chunkSize", 0);
+
+    // when/then
+    given().contentType(POST_JSON_CONTENT_TYPE)
+           .body(messageBatch)
+    .then().expect()
+           .contentType(ContentType.JSON)
+           .statusCode(Status.BAD_REQUEST.getStatusCode())
+           .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+           .body("message", equalTo("Invalid chunk size: chunkSize is not greater than or equal to 1"))
+    .when().post(MESSAGE_BATCH_URL);
+  }
+
+  @Test
+  public void testFailingMessageBatchCorrelationWithInvalidMessage() {
+    // given
+    MessageCorrelationBulkBuilder bulkBuilderMock = mock(MessageCorrelationBulkBuilder.class);
+    when(runtimeServiceMock.createMessageCorrelationBulk()).thenReturn(bulkBuilderMock);
+    when(bulkBuilderMock.message(any(MessageCorrelationBuilder.class))).thenThrow(new ProcessEngineException("Invalid correlation"));
+
+    Map<String, Object> message = new HashMap<>();
+    message.put("messageName", "aMessageName");
+
+    Map<String, Object> messageBatch = new HashMap<>();
+    messageBatch.put("messages", Arrays.asList(message));
+
+    // when/then
+    given().contentType(POST_JSON_CONTENT_TYPE)
+           .body(messageBatch)
+    .then().expect()
+           .contentType(ContentType.JSON)
+           .statusCode(Status.BAD_REQUEST.getStatusCode())
+           .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+           .body("message", equalTo("Cannot deliver message: Invalid correlation"))
+    .when().post(MESSAGE_BATCH_URL);
+  }
+
   protected void checkVariablesInResult(String content, int idx) {
     List<String> variableNames = java.util.Arrays.asList(MockProvider.EXAMPLE_VARIABLE_INSTANCE_NAME, MockProvider.EXAMPLE_DESERIALIZED_VARIABLE_INSTANCE_NAME);
 
@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
@@ -167,6 +168,20 @@ public interface ExternalTaskService {
    */
   public void extendLock(String externalTaskId, String workerId, long newLockDuration);
 
+  /**
+   * <p>Creates a builder to complete, extend the locks of or report failures for several
+   * external tasks locked by the same worker, with several tasks per transaction.
+   * The failure of the operation on one task does not affect the other tasks; the
+   * outcome of every operation is reported by the returned results.</p>
+   *
+   * @param workerId the id of the worker that has locked the tasks
+   *
+   * @return a builder to add the operations to
+   *
+   * @since 7.14
+   */
+  public ExternalTaskBulkBuilder createExternalTaskBulk(String workerId);
+
   /**
    * <p>Signals that an external task could not be successfully executed.
    * The task must be assigned to the given worker. The number of retries left can be specified. In addition, a timeout can be
@@ -42,6 +42,7 @@ import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -1979,6 +1980,16 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Correlates a list of messages in chunks, one transaction per chunk. The messages
+   * are added as builders created with {@link #createMessageCorrelation(String)}.
+   *
+   * @return the fluent builder for defining the bulk message correlation.
+   *
+   * @since 7.14
+   */
+  MessageCorrelationBulkBuilder createMessageCorrelationBulk();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
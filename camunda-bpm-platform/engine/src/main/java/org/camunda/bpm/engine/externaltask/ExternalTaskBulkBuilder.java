@@ -0,0 +1,81 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.externaltask;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+
+/**
+ * <p>Completes, extends the locks of or reports failures for a list of external tasks
+ * locked by a single worker, several tasks per transaction.</p>
+ *
+ * <p>Every operation behaves like the respective method of the {@link ExternalTaskService}.
+ * The operations are split into chunks; the tasks of a chunk are loaded with a single query
+ * and handled in a single transaction. Tasks that do not exist or are locked by a different
+ * worker are reported as failures without affecting the other tasks of the chunk. If the
+ * operation on a task fails otherwise, the chunk is rolled back and its operations are executed
+ * again, one per transaction, so that the failure of one task never affects the outcome of
+ * another task.</p>
+ *
+ * @since 7.14
+ */
+public interface ExternalTaskBulkBuilder {
+
+  /**
+   * Completes an external task.
+   *
+   * @see ExternalTaskService#complete(String, String)
+   */
+  ExternalTaskBulkBuilder complete(String externalTaskId);
+
+  /**
+   * Completes an external task and updates process variables.
+   *
+   * @see ExternalTaskService#complete(String, String, Map, Map)
+   */
+  ExternalTaskBulkBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables);
+
+  /**
+   * Extends the lock of an external task.
+   *
+   * @see ExternalTaskService#extendLock(String, String, long)
+   */
+  ExternalTaskBulkBuilder extendLock(String externalTaskId, long newLockDuration);
+
+  /**
+   * Reports a failure for an external task.
+   *
+   * @see ExternalTaskService#handleFailure(String, String, String, String, int, long)
+   */
+  ExternalTaskBulkBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout);
+
+  /**
+   * Sets the number of tasks handled in a single transaction. Defaults to
+   * the engine's configured external task bulk chunk size.
+   */
+  ExternalTaskBulkBuilder chunkSize(int chunkSize);
+
+  /**
+   * Executes all operations.
+   *
+   * @return one result per operation, in the order the operations were added
+   */
+  List<ExternalTaskBulkResult> execute();
+
+}
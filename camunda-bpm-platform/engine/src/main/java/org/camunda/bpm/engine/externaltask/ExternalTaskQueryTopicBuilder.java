@@ -147,4 +147,25 @@ public interface ExternalTaskQueryTopicBuilder extends ExternalTaskQueryBuilder
    * @return this builder
    */
   public ExternalTaskQueryTopicBuilder includeExtensionProperties();
+
+  /**
+   * <p>Define the weight of the topic. If a weight or a {@link #maxTasks(int) maximum number of tasks}
+   * is defined for any of the fetched topics, the tasks are fetched weighted-fair: the maximum number of
+   * tasks of the fetch is shared among the topics in proportion to their weights, with one limited query
+   * per topic, and the share a topic cannot use is passed on to the other topics. The weight of a topic
+   * defaults to 1. If several tenant ids are defined for a topic, its share is split evenly among the tenants.</p>
+   *
+   * @param weight the weight of the topic, must be at least 1
+   * @return this builder
+   */
+  public ExternalTaskQueryTopicBuilder weight(int weight);
+
+  /**
+   * Define the maximum number of tasks fetched for the topic. Enables weighted-fair
+   * fetching as described for {@link #weight(int)}.
+   *
+   * @param maxTasks the maximum number of tasks of the topic
+   * @return this builder
+   */
+  public ExternalTaskQueryTopicBuilder maxTasks(int maxTasks);
 }
@@ -21,10 +21,12 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.ExternalTaskService;
 import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQuery;
 import org.camunda.bpm.engine.externaltask.ExternalTaskQueryBuilder;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesSelectBuilder;
 import org.camunda.bpm.engine.impl.cmd.*;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskBulkBuilderImpl;
 import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImpl;
 
 /**
@@ -34,6 +36,16 @@ import org.camunda.bpm.engine.impl.externaltask.ExternalTaskQueryTopicBuilderImp
  */
 public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTaskService {
 
+  protected int bulkChunkSize = 100;
+
+  public int getBulkChunkSize() {
+    return bulkChunkSize;
+  }
+
+  public void setBulkChunkSize(int bulkChunkSize) {
+    this.bulkChunkSize = bulkChunkSize;
+  }
+
   @Override
   public ExternalTaskQueryBuilder fetchAndLock(int maxTasks, String workerId) {
     return fetchAndLock(maxTasks, workerId, false);
@@ -136,4 +148,9 @@ public class ExternalTaskServiceImpl extends ServiceImpl implements ExternalTask
     commandExecutor.execute(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, lockDuration));
   }
 
+  @Override
+  public ExternalTaskBulkBuilder createExternalTaskBulk(String workerId) {
+    return new ExternalTaskBulkBuilderImpl(commandExecutor, workerId, bulkChunkSize);
+  }
+
 }
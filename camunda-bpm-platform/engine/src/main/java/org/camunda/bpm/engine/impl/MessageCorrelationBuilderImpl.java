@@ -214,25 +214,13 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
 
   @Override
   public MessageCorrelationResult correlateWithResult() {
-    if (startMessagesOnly) {
-      ensureCorrelationVariablesNotSet();
-      ensureProcessDefinitionAndTenantIdNotSet();
-    } else {
-      ensureProcessDefinitionIdNotSet();
-      ensureProcessInstanceAndTenantIdNotSet();
-    }
+    ensureCorrelationValid();
     return execute(new CorrelateMessageCmd(this, false, false, startMessagesOnly));
   }
 
   @Override
   public MessageCorrelationResultWithVariables correlateWithResultAndVariables(boolean deserializeValues) {
-    if (startMessagesOnly) {
-      ensureCorrelationVariablesNotSet();
-      ensureProcessDefinitionAndTenantIdNotSet();
-    } else {
-      ensureProcessDefinitionIdNotSet();
-      ensureProcessInstanceAndTenantIdNotSet();
-    }
+    ensureCorrelationValid();
     return execute(new CorrelateMessageCmd(this, true, deserializeValues, startMessagesOnly));
   }
 
@@ -284,6 +272,16 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return result.getProcessInstance();
   }
 
+  protected void ensureCorrelationValid() {
+    if (startMessagesOnly) {
+      ensureCorrelationVariablesNotSet();
+      ensureProcessDefinitionAndTenantIdNotSet();
+    } else {
+      ensureProcessDefinitionIdNotSet();
+      ensureProcessInstanceAndTenantIdNotSet();
+    }
+  }
+
   protected void ensureProcessDefinitionIdNotSet() {
     if(processDefinitionId != null) {
       throw LOG.exceptionCorrelateMessageWithProcessDefinitionId();
@@ -370,4 +368,8 @@ public class MessageCorrelationBuilderImpl implements MessageCorrelationBuilder
     return isTenantIdSet;
   }
 
+  public boolean isStartMessagesOnly() {
+    return startMessagesOnly;
+  }
+
 }
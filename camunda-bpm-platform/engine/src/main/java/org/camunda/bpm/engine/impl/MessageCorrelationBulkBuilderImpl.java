@@ -0,0 +1,109 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessagesCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+
+public class MessageCorrelationBulkBuilderImpl implements MessageCorrelationBulkBuilder {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> correlations = new ArrayList<>();
+  protected int chunkSize;
+
+  public MessageCorrelationBulkBuilderImpl(CommandExecutor commandExecutor, int defaultChunkSize) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    ensureGreaterThanOrEqual("defaultChunkSize", defaultChunkSize, 1);
+    this.commandExecutor = commandExecutor;
+    this.chunkSize = defaultChunkSize;
+  }
+
+  @Override
+  public MessageCorrelationBulkBuilder message(MessageCorrelationBuilder messageCorrelation) {
+    ensureNotNull("messageCorrelation", messageCorrelation);
+
+    MessageCorrelationBuilderImpl correlation = (MessageCorrelationBuilderImpl) messageCorrelation;
+    correlation.ensureCorrelationValid();
+    correlations.add(correlation);
+    return this;
+  }
+
+  @Override
+  public MessageCorrelationBulkBuilder messages(List<MessageCorrelationBuilder> messageCorrelations) {
+    ensureNotNull("messageCorrelations", messageCorrelations);
+
+    for (MessageCorrelationBuilder messageCorrelation : messageCorrelations) {
+      message(messageCorrelation);
+    }
+    return this;
+  }
+
+  @Override
+  public MessageCorrelationBulkBuilder chunkSize(int chunkSize) {
+    ensureGreaterThanOrEqual("chunkSize", chunkSize, 1);
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  @Override
+  public List<MessageCorrelationBulkResult> correlateWithResults() {
+    List<MessageCorrelationBulkResult> results = new ArrayList<>(correlations.size());
+
+    for (int from = 0; from < correlations.size(); from += chunkSize) {
+      List<MessageCorrelationBuilderImpl> chunk = correlations.subList(from, Math.min(from + chunkSize, correlations.size()));
+      results.addAll(correlateChunk(chunk));
+    }
+
+    return results;
+  }
+
+  protected List<MessageCorrelationBulkResultImpl> correlateChunk(List<MessageCorrelationBuilderImpl> chunk) {
+    try {
+      return commandExecutor.execute(new CorrelateMessagesCmd(chunk));
+
+    } catch (RuntimeException e) {
+      if (chunk.size() == 1) {
+        MessageCorrelationBuilderImpl correlation = chunk.get(0);
+        return Collections.singletonList(MessageCorrelationBulkResultImpl.failure(correlation.getMessageName(), e.getMessage()));
+      }
+
+      LOG.debugBulkCorrelationChunkFailed(chunk.size(), e);
+
+      List<MessageCorrelationBulkResultImpl> results = new ArrayList<>(chunk.size());
+      for (MessageCorrelationBuilderImpl correlation : chunk) {
+        results.addAll(correlateChunk(Collections.singletonList(correlation)));
+      }
+      return results;
+    }
+  }
+
+}
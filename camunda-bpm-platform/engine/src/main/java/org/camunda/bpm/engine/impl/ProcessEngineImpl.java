@@ -37,6 +37,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.externaltask.CompositeExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
@@ -55,6 +56,9 @@ public class ProcessEngineImpl implements ProcessEngine {
   /** external task conditions used to signal long polling in rest API */
   public static final CompositeCondition EXT_TASK_CONDITIONS = new CompositeCondition();
 
+  /** notified with the topics of external tasks that became available, used to dispatch long polling in rest API */
+  public static final CompositeExternalTaskAvailableListener EXT_TASK_AVAILABLE_LISTENERS = new CompositeExternalTaskAvailableListener();
+
   private final static ProcessEngineLogger LOG = ProcessEngineLogger.INSTANCE;
 
   protected String name;
@@ -142,6 +146,11 @@ public class ProcessEngineImpl implements ProcessEngine {
         dbMetricsReporter.start();
       }
     }
+
+    if (processEngineConfiguration.isHistoryOutboxEnabled()
+        && processEngineConfiguration.isHistoryOutboxDrainerActivate()) {
+      processEngineConfiguration.getHistoryOutboxDrainer().start();
+    }
   }
 
   protected void executeSchemaOperations() {
@@ -168,6 +177,10 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.unregister(this);
 
+    if (processEngineConfiguration.isHistoryOutboxEnabled()) {
+      processEngineConfiguration.getHistoryOutboxDrainer().stop();
+    }
+
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
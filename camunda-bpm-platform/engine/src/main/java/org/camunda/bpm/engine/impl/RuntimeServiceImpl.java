@@ -61,6 +61,7 @@ import org.camunda.bpm.engine.runtime.ExecutionQuery;
 import org.camunda.bpm.engine.runtime.Incident;
 import org.camunda.bpm.engine.runtime.IncidentQuery;
 import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder;
 import org.camunda.bpm.engine.runtime.ModificationBuilder;
 import org.camunda.bpm.engine.runtime.NativeExecutionQuery;
 import org.camunda.bpm.engine.runtime.NativeProcessInstanceQuery;
@@ -81,6 +82,16 @@ import org.camunda.bpm.engine.variable.value.TypedValue;
  */
 public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
 
+  protected int messageCorrelationBulkChunkSize = 100;
+
+  public int getMessageCorrelationBulkChunkSize() {
+    return messageCorrelationBulkChunkSize;
+  }
+
+  public void setMessageCorrelationBulkChunkSize(int messageCorrelationBulkChunkSize) {
+    this.messageCorrelationBulkChunkSize = messageCorrelationBulkChunkSize;
+  }
+
   @Override
   public ProcessInstance startProcessInstanceByKey(String processDefinitionKey) {
     return createProcessInstanceByKey(processDefinitionKey)
@@ -671,6 +682,11 @@ public class RuntimeServiceImpl extends ServiceImpl implements RuntimeService {
     return new MessageCorrelationBuilderImpl(commandExecutor, messageName);
   }
 
+  @Override
+  public MessageCorrelationBulkBuilder createMessageCorrelationBulk() {
+    return new MessageCorrelationBulkBuilderImpl(commandExecutor, messageCorrelationBulkChunkSize);
+  }
+
   @Override
   public void correlateMessage(String messageName, Map<String, Object> correlationKeys, Map<String, Object> processVariables) {
     createMessageCorrelation(messageName)
@@ -16,8 +16,6 @@
  */
 package org.camunda.bpm.engine.impl.bpmn.behavior;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 import java.util.concurrent.Callable;
 
@@ -28,6 +26,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.FieldDeclaration;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
+import org.camunda.bpm.engine.impl.delegate.ClassDelegateFactory;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
 import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
@@ -49,10 +48,12 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
 
   protected String className;
   protected List<FieldDeclaration> fieldDeclarations;
+  protected ClassDelegateFactory delegateFactory;
 
   public ClassDelegateActivityBehavior(String className, List<FieldDeclaration> fieldDeclarations) {
     this.className = className;
     this.fieldDeclarations = fieldDeclarations;
+    this.delegateFactory = new ClassDelegateFactory(className, fieldDeclarations);
   }
 
   public ClassDelegateActivityBehavior(Class<?> clazz, List<FieldDeclaration> fieldDeclarations) {
@@ -109,7 +110,7 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
   }
 
   protected ActivityBehavior getActivityBehaviorInstance(ActivityExecution execution) {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = delegateFactory.getDelegateInstance();
 
     if (delegateInstance instanceof ActivityBehavior) {
       return new CustomActivityBehavior((ActivityBehavior) delegateInstance);
@@ -124,4 +125,8 @@ public class ClassDelegateActivityBehavior extends AbstractBpmnActivityBehavior
     }
   }
 
+  public ClassDelegateFactory getDelegateFactory() {
+    return delegateFactory;
+  }
+
 }
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.core.model.PropertyKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyListKey;
 import org.camunda.bpm.engine.impl.core.model.PropertyMapKey;
+import org.camunda.bpm.engine.impl.history.HistoryProfile;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 
@@ -77,4 +78,20 @@ public class BpmnProperties {
   public static final PropertyKey<ConditionalEventDefinition> CONDITIONAL_EVENT_DEFINITION = new PropertyKey<ConditionalEventDefinition>("conditionalEventDefinition");
 
   public static final PropertyKey<Map<String, String>> EXTENSION_PROPERTIES = new PropertyKey<>("extensionProperties");
+
+  /**
+   * The history profile of a process definition, resolved when the process definition is parsed.
+   */
+  public static final PropertyKey<HistoryProfile> HISTORY_PROFILE = new PropertyKey<>("historyProfile");
+
+  /**
+   * Set on activities for which the history profile of the process definition produces no historic activity instances.
+   */
+  public static final PropertyKey<Boolean> HISTORY_EXCLUDED = new PropertyKey<>("historyExcluded");
+
+  /**
+   * Set on process definitions which are executed in transient mode: instances which end within
+   * the command that started them write no runtime data and no (or only summary) history.
+   */
+  public static final PropertyKey<Boolean> TRANSIENT = new PropertyKey<>("transient");
 }
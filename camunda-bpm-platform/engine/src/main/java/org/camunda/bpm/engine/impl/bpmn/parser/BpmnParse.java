@@ -38,6 +38,7 @@ import org.camunda.bpm.engine.impl.core.variable.mapping.IoMapping;
 import org.camunda.bpm.engine.impl.core.variable.mapping.value.ConstantValueProvider;
 import org.camunda.bpm.engine.impl.core.variable.mapping.value.NullValueProvider;
 import org.camunda.bpm.engine.impl.core.variable.mapping.value.ParameterValueProvider;
+import org.camunda.bpm.engine.impl.delegate.ClassDelegateFactory;
 import org.camunda.bpm.engine.impl.dmn.result.DecisionResultMapper;
 import org.camunda.bpm.engine.impl.el.*;
 import org.camunda.bpm.engine.impl.event.EventType;
@@ -561,6 +562,12 @@ public class BpmnParse extends Parse {
     boolean isStartableInTasklist = isStartable(processElement);
     processDefinition.setStartableInTasklist(isStartableInTasklist);
 
+    Map<String, String> extensionProperties = parseCamundaExtensionProperties(processElement);
+    if (extensionProperties != null) {
+      processDefinition.getProperties().set(BpmnProperties.EXTENSION_PROPERTIES, extensionProperties);
+      parseTransient(processElement, processDefinition, extensionProperties);
+    }
+
     LOG.parsingElement("process", processDefinition.getKey());
 
     parseScope(processElement, processDefinition);
@@ -583,6 +590,22 @@ public class BpmnParse extends Parse {
     return processDefinition;
   }
 
+  /**
+   * Parses the camunda extension property 'transient' of a process, see {@link BpmnProperties#TRANSIENT}.
+   */
+  protected void parseTransient(Element processElement, ProcessDefinitionEntity processDefinition, Map<String, String> extensionProperties) {
+    String transientValue = extensionProperties.get(BpmnProperties.TRANSIENT.getName());
+    if (transientValue != null) {
+      if (TRUE.equalsIgnoreCase(transientValue)) {
+        processDefinition.getProperties().set(BpmnProperties.TRANSIENT, true);
+
+      } else if (!"false".equalsIgnoreCase(transientValue)) {
+        addError("Invalid value '" + transientValue + "' of extension property '" + BpmnProperties.TRANSIENT.getName()
+            + "', expected 'true' or 'false'", processElement);
+      }
+    }
+  }
+
   protected void parseLaneSets(Element parentElement, ProcessDefinitionEntity processDefinition) {
     List<Element> laneSets = parentElement.elements("laneSet");
 
@@ -2149,7 +2172,9 @@ public class BpmnParse extends Parse {
       if (resultVariableName != null) {
         addError("'resultVariableName' not supported for " + elementName + " elements using 'class'", serviceTaskElement);
       }
-      activity.setActivityBehavior(new ClassDelegateActivityBehavior(className, parseFieldDeclarations(serviceTaskElement)));
+      ClassDelegateActivityBehavior activityBehavior = new ClassDelegateActivityBehavior(className, parseFieldDeclarations(serviceTaskElement));
+      resolveClassDelegate(activityBehavior.getDelegateFactory(), serviceTaskElement);
+      activity.setActivityBehavior(activityBehavior);
 
     } else if (delegateExpression != null) {
       if (resultVariableName != null) {
@@ -2387,6 +2412,22 @@ public class BpmnParse extends Parse {
     activity.setActivityBehavior(new ExternalTaskActivityBehavior(topicNameProvider, priorityProvider));
   }
 
+  /**
+   * Loads the class of a class delegate when a new deployment is parsed, so that a class which
+   * cannot be loaded fails the deployment instead of the first invocation, see
+   * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isClassDelegateResolutionOnDeployEnabled()}.
+   */
+  protected void resolveClassDelegate(ClassDelegateFactory delegateFactory, Element element) {
+    if (deployment.isNew() && Context.getProcessEngineConfiguration().isClassDelegateResolutionOnDeployEnabled()) {
+      try {
+        delegateFactory.getDelegateClass();
+      }
+      catch (ProcessEngineException e) {
+        addError("Cannot load class '" + delegateFactory.getClassName() + "': " + e.getMessage(), element);
+      }
+    }
+  }
+
   protected void validateFieldDeclarationsForEmail(Element serviceTaskElement, List<FieldDeclaration> fieldDeclarations) {
     boolean toDefined = false;
     boolean textOrHtmlDefined = false;
@@ -2856,7 +2897,9 @@ public class BpmnParse extends Parse {
     Element scriptElement = taskListenerElement.elementNS(CAMUNDA_BPMN_EXTENSIONS_NS, "script");
 
     if (className != null) {
-      taskListener = new ClassDelegateTaskListener(className, parseFieldDeclarations(taskListenerElement));
+      ClassDelegateTaskListener classDelegateTaskListener = new ClassDelegateTaskListener(className, parseFieldDeclarations(taskListenerElement));
+      resolveClassDelegate(classDelegateTaskListener.getDelegateFactory(), taskListenerElement);
+      taskListener = classDelegateTaskListener;
     } else if (expression != null) {
       taskListener = new ExpressionTaskListener(expressionManager.createExpression(expression));
     } else if (delegateExpression != null) {
@@ -4248,7 +4291,9 @@ public class BpmnParse extends Parse {
       if (className.isEmpty()) {
         addError("Attribute 'class' cannot be empty", executionListenerElement, ancestorElementId);
       } else {
-        executionListener = new ClassDelegateExecutionListener(className, parseFieldDeclarations(executionListenerElement));
+        ClassDelegateExecutionListener classDelegateExecutionListener = new ClassDelegateExecutionListener(className, parseFieldDeclarations(executionListenerElement));
+        resolveClassDelegate(classDelegateExecutionListener.getDelegateFactory(), executionListenerElement);
+        executionListener = classDelegateExecutionListener;
       }
     } else if (expression != null) {
       executionListener = new ExpressionExecutionListener(expressionManager.createExpression(expression));
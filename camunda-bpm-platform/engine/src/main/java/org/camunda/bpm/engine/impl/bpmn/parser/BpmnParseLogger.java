@@ -62,4 +62,10 @@ public class BpmnParseLogger extends ProcessEngineLogger {
         "Cannot deploy process definition '{}': there already is a message event subscription for the message with name '{}'.", resourceName, eventName));
   }
 
+  public ProcessEngineException unknownHistoryProfile(String processDefinitionKey, String profileName) {
+    return new ProcessEngineException(exceptionMessage(
+        "012",
+        "Cannot deploy process definition '{}': there is no history profile with name '{}'.", processDefinitionKey, profileName));
+  }
+
 }
@@ -29,9 +29,11 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -154,6 +156,9 @@ public class EventSubscriptionDeclaration implements Serializable {
 
     String eventName = resolveExpressionOfEventName(execution);
     eventSubscriptionEntity.setEventName(eventName);
+    if (eventType == EventType.MESSAGE) {
+      eventSubscriptionEntity.setCorrelationKey(resolveCorrelationKey(execution, eventName));
+    }
     if (activityId != null) {
       ActivityImpl activity = execution.getProcessDefinition().findActivity(activityId);
       eventSubscriptionEntity.setActivity(activity);
@@ -165,6 +170,19 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventSubscriptionEntity;
   }
 
+  /**
+   * Resolves the correlation key of a message event subscription from the process variables
+   * declared as correlation keys for the message.
+   */
+  protected String resolveCorrelationKey(ExecutionEntity execution, String messageName) {
+    List<String> correlationKeyNames = CorrelationKeyUtil.getDeclaredCorrelationKeyNames(messageName);
+    if (correlationKeyNames == null) {
+      return null;
+    }
+
+    return CorrelationKeyUtil.computeCorrelationKey(execution.getProcessInstance(), correlationKeyNames);
+  }
+
   /**
    * Resolves the event name within the given scope.
    */
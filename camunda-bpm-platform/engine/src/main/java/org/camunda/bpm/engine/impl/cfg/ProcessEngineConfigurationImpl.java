@@ -38,6 +38,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -78,6 +79,7 @@ import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.authorization.Groups;
 import org.camunda.bpm.engine.authorization.Permission;
 import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.delegate.StatelessDelegate;
 import org.camunda.bpm.engine.impl.AuthorizationServiceImpl;
 import org.camunda.bpm.engine.impl.DecisionServiceImpl;
 import org.camunda.bpm.engine.impl.DefaultArtifactFactory;
@@ -139,9 +141,13 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformFactory;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -185,6 +191,7 @@ import org.camunda.bpm.engine.impl.form.validator.ReadOnlyValidator;
 import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.DefaultHistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryProfile;
 import org.camunda.bpm.engine.impl.history.HistoryRemovalTimeProvider;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.history.event.HostnameProvider;
@@ -193,6 +200,8 @@ import org.camunda.bpm.engine.impl.history.handler.CompositeDbHistoryEventHandle
 import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxDrainer;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareCmmnHistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.producer.CacheAwareHistoryEventProducer;
@@ -222,6 +231,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
 import org.camunda.bpm.engine.impl.jobexecutor.NotifyAcquisitionRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.ProcessEventJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
@@ -240,6 +250,8 @@ import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupBatc
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupRemovalTime;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
 import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.metrics.MetricsReporterIdProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
@@ -287,6 +299,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
 import org.camunda.bpm.engine.impl.persistence.entity.CommentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentManager;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
@@ -305,13 +318,17 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
@@ -320,7 +337,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TransientProcessInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
 import org.camunda.bpm.engine.impl.repository.DefaultDeploymentHandlerFactory;
@@ -379,6 +398,8 @@ import org.camunda.bpm.engine.task.TaskQuery;
 import org.camunda.bpm.engine.test.mock.MocksResolverFactory;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.type.ValueType;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
 import org.camunda.connect.Connectors;
 import org.camunda.connect.spi.Connector;
 import org.camunda.connect.spi.ConnectorRequest;
@@ -505,9 +526,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If greater than zero, new jobs are assigned to one of this many partitions
+   * and each job executor only acquires jobs of the partitions it holds a lease for,
+   * see {@link JobPartitionLeases}. Must be the same on all nodes of a cluster.
+   */
+  protected int jobExecutorPartitionCount = 0;
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
 
+  /**
+   * The number of external tasks a {@link org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder}
+   * handles in a single transaction unless a chunk size is given to the builder.
+   */
+  protected int externalTaskBulkChunkSize = 100;
+
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
   protected SqlSessionFactory sqlSessionFactory;
@@ -519,6 +553,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator hands out ids without locking and fetches
+   * the next id block in the background, see {@link PrefetchingDbIdGenerator}.
+   */
+  protected boolean idBlockPrefetching = false;
+
+  /**
+   * The share of an id block that is used before the next block is prefetched,
+   * at least 0 and less than 1.
+   */
+  protected float idBlockPrefetchThreshold = PrefetchingDbIdGenerator.DEFAULT_PREFETCH_THRESHOLD;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -570,6 +616,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected String defaultSerializationFormat = Variables.SerializationDataFormats.JAVA.getName();
   protected boolean javaSerializationFormatEnabled = false;
+
+  /**
+   * If true, serialized object variables that are requested deserialized are only
+   * deserialized when their value is accessed for the first time. Values that are
+   * never accessed are neither deserialized nor serialized again on flush.
+   */
+  protected boolean lazyObjectDeserializationEnabled = false;
   protected String defaultCharsetName = null;
   protected Charset defaultCharset = null;
 
@@ -654,6 +707,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected List<HistoryLevel> customHistoryLevels;
 
+  /**
+   * history profiles which narrow the history of single process definitions,
+   * see {@link HistoryProfile}
+   */
+  protected List<HistoryProfile> historyProfiles = new ArrayList<>();
+
   protected List<BpmnParseListener> preParseListeners;
   protected List<BpmnParseListener> postParseListeners;
 
@@ -691,6 +750,28 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CorrelationHandler correlationHandler;
 
+  /**
+   * Maps message names to the names of the process variables that messages with this name
+   * are correlated by. The values of these variables are indexed when a message event
+   * subscription is created, so that a correlation by exactly these variables does not
+   * need to query the variables of all waiting executions.
+   */
+  protected Map<String, List<String>> messageCorrelationKeys;
+
+  /**
+   * The names of the messages for which a correlation by the declared correlation keys also
+   * queries the waiting executions whose subscriptions have no correlation key, e.g. because
+   * they were created before the keys were declared. This costs an additional query per
+   * correlation, so it should only be enabled until these subscriptions are gone.
+   */
+  protected Set<String> messageCorrelationKeyFallbacks = Collections.emptySet();
+
+  /**
+   * The number of messages a {@link org.camunda.bpm.engine.runtime.MessageCorrelationBulkBuilder}
+   * correlates in a single transaction unless a chunk size is given to the builder.
+   */
+  protected int messageCorrelationBulkChunkSize = 100;
+
   protected ConditionHandler conditionHandler;
 
   /**
@@ -738,6 +819,36 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean enableDefaultDbHistoryEventHandler = true;
 
+  /**
+   * If true, the default {@link DbHistoryEventHandler} is replaced by a {@link HistoryOutboxEventHandler}
+   * which stores the history events of a transaction in the history outbox. The {@link HistoryOutboxDrainer}
+   * writes them to the history tables asynchronously, so history becomes eventually consistent.
+   * The outbox is drained when the process engine is closed. Its entries are serialized with the
+   * history event classes of the engine version which wrote them, so all process engines must be
+   * closed and the outbox (ACT_RU_HISTORY_OUTBOX) must be empty before the engine is upgraded.
+   * Default setting is false.
+   */
+  protected boolean isHistoryOutboxEnabled = false;
+
+  /**
+   * The maximum time in milliseconds between two runs of the {@link HistoryOutboxDrainer}.
+   */
+  protected long historyOutboxMaxLag = 1000;
+
+  /**
+   * The number of history events in the outbox above which the {@link HistoryOutboxDrainer} runs
+   * right away instead of waiting for the next run. Committed transactions are never blocked.
+   */
+  protected long historyOutboxMaxQueueDepth = 10000;
+
+  /** The number of outbox entries the {@link HistoryOutboxDrainer} writes to the history tables per transaction. */
+  protected int historyOutboxDrainBatchSize = 100;
+
+  /** If false, the {@link HistoryOutboxDrainer} is not started with the process engine. */
+  protected boolean historyOutboxDrainerActivate = true;
+
+  protected HistoryOutboxDrainer historyOutboxDrainer;
+
   protected PermissionProvider permissionProvider;
 
   protected boolean isExecutionTreePrefetchEnabled = true;
@@ -759,6 +870,74 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isDbEntityCacheReuseEnabled = false;
 
+  /**
+   * If true, the first level entity cache detects changes of entities which count their
+   * modifications, like executions, by their modification count instead of comparing a
+   * copy of their persistent state. Default setting is false.
+   */
+  protected boolean isDbEntityModificationTrackingEnabled = false;
+
+  /**
+   * If true, entities of the {@link #sharedDbEntityCacheTypes} are cached across
+   * command contexts in a {@link SharedDbEntityCache}. Default setting is false.
+   */
+  protected boolean isSharedDbEntityCacheEnabled = false;
+
+  /**
+   * The maximum number of entities in the shared entity cache.
+   */
+  protected int sharedDbEntityCacheCapacity = 1000;
+
+  /**
+   * The entity types which are cached by the shared entity cache, they must implement
+   * {@link SharedDbEntity}. Defaults to deployments, process definitions, job definitions,
+   * tenants and the properties which never change. Cached entities are served without a
+   * revision check, so that a process definition suspended or a job definition changed
+   * by another node of a cluster is only noticed once it is queried. Restrict the types
+   * to deployments if this is not acceptable.
+   */
+  protected Set<Class<? extends DbEntity>> sharedDbEntityCacheTypes;
+
+  protected SharedDbEntityCache sharedDbEntityCache;
+
+  /**
+   * If true, byte arrays which reach the {@link #byteArrayCompressionThreshold} are compressed
+   * when written to ACT_GE_BYTEARRAY. Compressed byte arrays are readable regardless of this
+   * setting. Default setting is false.
+   */
+  protected boolean isByteArrayCompressionEnabled = false;
+
+  /**
+   * The minimum number of bytes of a byte array to be compressed.
+   */
+  protected int byteArrayCompressionThreshold = 1024;
+
+  /**
+   * If true, historic variable updates of a variable instance reuse the byte array of an
+   * earlier update with the same content instead of writing a copy. Default setting is false.
+   */
+  protected boolean isHistoryByteArrayDeduplicationEnabled = false;
+
+  /**
+   * The maximum number of content hashes remembered for deduplication.
+   */
+  protected int historyByteArrayDeduplicationCacheCapacity = 1000;
+
+  protected Cache<String, String> historyByteArrayDeduplicationCache;
+
+  /**
+   * If true and {@link #jdbcBatchProcessing} is enabled, the operations of a flush are
+   * grouped by their SQL such that they end up in as few JDBC batches as possible.
+   * Default setting is false.
+   */
+  protected boolean isJdbcBatchReorderingEnabled = false;
+
+  /**
+   * If true and {@link #jdbcBatchProcessing} is enabled, the number of JDBC batches and
+   * batched statements of each flush are reported as metrics. Default setting is false.
+   */
+  protected boolean isJdbcBatchMetricsEnabled = false;
+
   protected boolean isInvokeCustomVariableListeners = true;
 
   /**
@@ -813,6 +992,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isBpmnStacktraceVerbose = false;
 
+  /**
+   * If true, process instances of transient process definitions which end within the
+   * command that started them keep their historic process instance as a summary. All other
+   * history of such process instances is never written.
+   */
+  protected boolean transientHistorySummaryEnabled = false;
+
+  /**
+   * If true, the instances of all delegate classes referenced by <code>camunda:class</code>
+   * are reused as if the classes were annotated with {@link StatelessDelegate}.
+   */
+  protected boolean classDelegateInstanceReuseEnabled = false;
+
+  /**
+   * If true, the delegate classes referenced by <code>camunda:class</code> in a BPMN process
+   * are loaded when the process is deployed, and a class which cannot be loaded fails the
+   * deployment. The classes must be visible to the class loaders of the deploying thread.
+   */
+  protected boolean classDelegateResolutionOnDeployEnabled = false;
+
+  /**
+   * Number of evaluations after which an expression is compiled instead of interpreting
+   * its parse tree. The compiled form is shared by all expressions with the same text.
+   * A negative value (the default) disables the compilation of expressions.
+   */
+  protected int expressionCompileThreshold = -1;
+
+  /**
+   * If true, the variables resolved by expressions are cached while an atomic operation
+   * is executed, e.g. for the conditions of the outgoing sequence flows of a gateway.
+   * The cache is cleared by every variable write.
+   */
+  protected boolean variableResolutionCacheEnabled = false;
+
   protected boolean forceCloseMybatisConnectionPool = true;
 
   protected TenantIdProvider tenantIdProvider = null;
@@ -903,6 +1116,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * Size of batch in which history cleanup data will be deleted. {@link HistoryCleanupBatch#MAX_BATCH_SIZE} must be respected.
    */
   private int historyCleanupBatchSize = 500;
+  /**
+   * Maximum number of rows the removal-time-based history cleanup deletes from a table by one
+   * range delete. The range deletes don't select ids first, so {@link HistoryCleanupHandler#MAX_BATCH_SIZE}
+   * doesn't apply; {@link HistoryCleanupRemovalTime#MAX_RANGE_DELETE_BATCH_SIZE} must be respected.
+   * If 0, the historyCleanupBatchSize is used.
+   */
+  protected int historyCleanupRangeDeleteBatchSize = 0;
+  /**
+   * If true, the removal-time-based history cleanup drops the range partitions of the history
+   * tables whose upper bound is due, instead of deleting their rows. Only supported on PostgreSQL
+   * and Oracle, where the history tables must be range-partitioned by REMOVAL_TIME_.
+   */
+  protected boolean historyCleanupPartitionDropEnabled = false;
   /**
    * Indicates the minimal amount of data to trigger the history cleanup.
    */
@@ -1030,6 +1256,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initPermissionProvider();
     initHostName();
     initMetrics();
+    initHistoryOutbox();
+    initSharedDbEntityCache();
+    initHistoryByteArrayDeduplication();
     initTelemetry();
     initMigration();
     initCommandCheckers();
@@ -1102,6 +1331,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           String.format("value for batch size should be between 1 and %s", HistoryCleanupHandler.MAX_BATCH_SIZE));
     }
 
+    if (historyCleanupRangeDeleteBatchSize > HistoryCleanupRemovalTime.MAX_RANGE_DELETE_BATCH_SIZE || historyCleanupRangeDeleteBatchSize < 0) {
+      throw LOG.invalidPropertyValue("historyCleanupRangeDeleteBatchSize", String.valueOf(historyCleanupRangeDeleteBatchSize),
+          String.format("value for range delete batch size should be between 0 and %s", HistoryCleanupRemovalTime.MAX_RANGE_DELETE_BATCH_SIZE));
+    }
+
     if (historyCleanupBatchThreshold < 0) {
       throw LOG.invalidPropertyValue("historyCleanupBatchThreshold", String.valueOf(historyCleanupBatchThreshold),
           "History cleanup batch threshold cannot be negative.");
@@ -1458,6 +1692,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (service instanceof RepositoryServiceImpl) {
       ((RepositoryServiceImpl) service).setDeploymentCharset(getDefaultCharset());
     }
+    if (service instanceof ExternalTaskServiceImpl) {
+      ((ExternalTaskServiceImpl) service).setBulkChunkSize(getExternalTaskBulkChunkSize());
+    }
+    if (service instanceof RuntimeServiceImpl) {
+      ((RuntimeServiceImpl) service).setMessageCorrelationBulkChunkSize(getMessageCorrelationBulkChunkSize());
+    }
   }
 
   // DataSource ///////////////////////////////////////////////////////////////
@@ -1803,6 +2043,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       addSessionFactory(new GenericManagerFactory(AuthorizationManager.class));
       addSessionFactory(new GenericManagerFactory(FilterManager.class));
       addSessionFactory(new GenericManagerFactory(MeterLogManager.class));
+      addSessionFactory(new GenericManagerFactory(HistoryOutboxManager.class));
+      addSessionFactory(new GenericManagerFactory(TransientProcessInstanceManager.class));
       addSessionFactory(new GenericManagerFactory(ExternalTaskManager.class));
       addSessionFactory(new GenericManagerFactory(ReportManager.class));
       addSessionFactory(new GenericManagerFactory(BatchManager.class));
@@ -1846,6 +2088,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDbHistoryUsed(isDbHistoryUsed);
     dbSqlSessionFactory.setCmmnEnabled(cmmnEnabled);
     dbSqlSessionFactory.setDmnEnabled(dmnEnabled);
+    dbSqlSessionFactory.setJdbcBatchReordering(isJdbcBatchReorderingEnabled);
+    dbSqlSessionFactory.setJdbcBatchMetrics(isJdbcBatchMetricsEnabled);
     dbSqlSessionFactory.setDatabaseTablePrefix(databaseTablePrefix);
 
     //hack for the case when schema is defined via databaseTablePrefix parameter and not via databaseSchema parameter
@@ -2248,7 +2492,19 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (idBlockPrefetching) {
+        if (idBlockPrefetchThreshold < 0 || idBlockPrefetchThreshold >= 1) {
+          throw LOG.invalidPropertyValue("idBlockPrefetchThreshold", String.valueOf(idBlockPrefetchThreshold),
+              "value should be at least 0 and less than 1, so that the next block is prefetched before the "
+              + "idBlockSize ids of the current block are used up");
+        }
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setPrefetchThreshold(idBlockPrefetchThreshold);
+        dbIdGenerator = prefetchingDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -2300,6 +2556,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initHistoryOutbox() {
+    if (isHistoryOutboxEnabled && historyOutboxDrainer == null) {
+      historyOutboxDrainer = new HistoryOutboxDrainer(commandExecutorTxRequired, metricsRegistry);
+      historyOutboxDrainer.setMaxLag(historyOutboxMaxLag);
+      historyOutboxDrainer.setMaxQueueDepth(historyOutboxMaxQueueDepth);
+      historyOutboxDrainer.setBatchSize(historyOutboxDrainBatchSize);
+    }
+  }
+
+  protected void initSharedDbEntityCache() {
+    if (isSharedDbEntityCacheEnabled && sharedDbEntityCache == null) {
+      if (sharedDbEntityCacheTypes == null) {
+        sharedDbEntityCacheTypes = new HashSet<>();
+        sharedDbEntityCacheTypes.add(DeploymentEntity.class);
+        sharedDbEntityCacheTypes.add(ProcessDefinitionEntity.class);
+        sharedDbEntityCacheTypes.add(JobDefinitionEntity.class);
+        sharedDbEntityCacheTypes.add(TenantEntity.class);
+        sharedDbEntityCacheTypes.add(PropertyEntity.class);
+      }
+
+      sharedDbEntityCache = new SharedDbEntityCache(sharedDbEntityCacheCapacity, sharedDbEntityCacheTypes);
+      if (isMetricsEnabled) {
+        sharedDbEntityCache.setMetricsRegistry(metricsRegistry);
+      }
+    }
+  }
+
+  protected void initHistoryByteArrayDeduplication() {
+    if (isHistoryByteArrayDeduplicationEnabled && historyByteArrayDeduplicationCache == null) {
+      historyByteArrayDeduplicationCache = new ConcurrentLruCache<>(historyByteArrayDeduplicationCacheCapacity);
+    }
+  }
+
   protected void initHostName() {
     if (hostname == null) {
       if (hostnameProvider == null) {
@@ -2320,6 +2609,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createDbMeter(Metrics.JOB_FAILED);
     metricsRegistry.createDbMeter(Metrics.JOB_LOCKED_EXCLUSIVE);
     metricsRegistry.createDbMeter(Metrics.JOB_EXECUTION_REJECTED);
+    metricsRegistry.createDbMeter(Metrics.JOB_PICKUP_LATENCY);
+    metricsRegistry.createDbMeter(Metrics.SHARED_ENTITY_CACHE_HIT);
+    metricsRegistry.createDbMeter(Metrics.SHARED_ENTITY_CACHE_MISS);
+    metricsRegistry.createDbMeter(Metrics.JDBC_BATCHES);
+    metricsRegistry.createDbMeter(Metrics.JDBC_BATCHED_STATEMENTS);
+    metricsRegistry.createDbMeter(Metrics.HISTORY_OUTBOX_ENQUEUED);
+    metricsRegistry.createDbMeter(Metrics.HISTORY_OUTBOX_DRAINED);
 
     metricsRegistry.createMeter(Metrics.ROOT_PROCESS_INSTANCE_START);
 
@@ -2459,6 +2755,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       expressionManager = new ExpressionManager(beans);
     }
 
+    if (expressionCompileThreshold >= 0) {
+      Properties properties = new Properties();
+      properties.setProperty(ExpressionFactoryImpl.PROP_COMPILE_THRESHOLD, String.valueOf(expressionCompileThreshold));
+      expressionManager.setExpressionFactory(new ExpressionFactoryImpl(properties));
+    }
+
     // add function mapper for command context (eg currentUser(), currentUserGroups())
     expressionManager.addFunctionMapper(new CommandContextFunctionMapper());
     // add function mapper for date time (eg now(), dateTime())
@@ -2600,7 +2902,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      if (enableDefaultDbHistoryEventHandler) {
+      if (enableDefaultDbHistoryEventHandler && isHistoryOutboxEnabled) {
+        CompositeHistoryEventHandler compositeHistoryEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
+        compositeHistoryEventHandler.add(new HistoryOutboxEventHandler());
+        historyEventHandler = compositeHistoryEventHandler;
+      } else if (enableDefaultDbHistoryEventHandler) {
         historyEventHandler = new CompositeDbHistoryEventHandler(customHistoryEventHandlers);
       } else {
         historyEventHandler = new CompositeHistoryEventHandler(customHistoryEventHandlers);
@@ -2985,6 +3291,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.jobPriorityProvider = jobPriorityProvider;
   }
 
+  public int getJobExecutorPartitionCount() {
+    return jobExecutorPartitionCount;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionCount(int jobExecutorPartitionCount) {
+    this.jobExecutorPartitionCount = jobExecutorPartitionCount;
+    return this;
+  }
+
   public PriorityProvider<ExternalTaskActivityBehavior> getExternalTaskPriorityProvider() {
     return externalTaskPriorityProvider;
   }
@@ -2993,6 +3308,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public int getExternalTaskBulkChunkSize() {
+    return externalTaskBulkChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskBulkChunkSize(int externalTaskBulkChunkSize) {
+    this.externalTaskBulkChunkSize = externalTaskBulkChunkSize;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -3638,6 +3962,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdBlockPrefetching() {
+    return idBlockPrefetching;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetching(boolean idBlockPrefetching) {
+    this.idBlockPrefetching = idBlockPrefetching;
+    return this;
+  }
+
+  public float getIdBlockPrefetchThreshold() {
+    return idBlockPrefetchThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetchThreshold(float idBlockPrefetchThreshold) {
+    this.idBlockPrefetchThreshold = idBlockPrefetchThreshold;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3662,6 +4004,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.correlationHandler = correlationHandler;
   }
 
+  public Map<String, List<String>> getMessageCorrelationKeys() {
+    return messageCorrelationKeys;
+  }
+
+  public ProcessEngineConfigurationImpl setMessageCorrelationKeys(Map<String, List<String>> messageCorrelationKeys) {
+    this.messageCorrelationKeys = messageCorrelationKeys;
+    return this;
+  }
+
+  public Set<String> getMessageCorrelationKeyFallbacks() {
+    return messageCorrelationKeyFallbacks;
+  }
+
+  public ProcessEngineConfigurationImpl setMessageCorrelationKeyFallbacks(Set<String> messageCorrelationKeyFallbacks) {
+    this.messageCorrelationKeyFallbacks = messageCorrelationKeyFallbacks;
+    return this;
+  }
+
+  public int getMessageCorrelationBulkChunkSize() {
+    return messageCorrelationBulkChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMessageCorrelationBulkChunkSize(int messageCorrelationBulkChunkSize) {
+    this.messageCorrelationBulkChunkSize = messageCorrelationBulkChunkSize;
+    return this;
+  }
+
   public ConditionHandler getConditionHandler() {
     return conditionHandler;
   }
@@ -4054,6 +4423,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.javaSerializationFormatEnabled = javaSerializationFormatEnabled;
   }
 
+  public boolean isLazyObjectDeserializationEnabled() {
+    return lazyObjectDeserializationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setLazyObjectDeserializationEnabled(boolean lazyObjectDeserializationEnabled) {
+    this.lazyObjectDeserializationEnabled = lazyObjectDeserializationEnabled;
+    return this;
+  }
+
   public ProcessEngineConfigurationImpl setDefaultCharsetName(String defaultCharsetName) {
     this.defaultCharsetName = defaultCharsetName;
     return this;
@@ -4077,6 +4455,168 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isSharedDbEntityCacheEnabled() {
+    return isSharedDbEntityCacheEnabled;
+  }
+
+  public boolean isDbEntityModificationTrackingEnabled() {
+    return isDbEntityModificationTrackingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDbEntityModificationTrackingEnabled(boolean isDbEntityModificationTrackingEnabled) {
+    this.isDbEntityModificationTrackingEnabled = isDbEntityModificationTrackingEnabled;
+    return this;
+  }
+
+  public boolean isHistoryOutboxEnabled() {
+    return isHistoryOutboxEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxEnabled(boolean isHistoryOutboxEnabled) {
+    this.isHistoryOutboxEnabled = isHistoryOutboxEnabled;
+    return this;
+  }
+
+  public long getHistoryOutboxMaxLag() {
+    return historyOutboxMaxLag;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxMaxLag(long historyOutboxMaxLag) {
+    this.historyOutboxMaxLag = historyOutboxMaxLag;
+    return this;
+  }
+
+  public long getHistoryOutboxMaxQueueDepth() {
+    return historyOutboxMaxQueueDepth;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxMaxQueueDepth(long historyOutboxMaxQueueDepth) {
+    this.historyOutboxMaxQueueDepth = historyOutboxMaxQueueDepth;
+    return this;
+  }
+
+  public int getHistoryOutboxDrainBatchSize() {
+    return historyOutboxDrainBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxDrainBatchSize(int historyOutboxDrainBatchSize) {
+    this.historyOutboxDrainBatchSize = historyOutboxDrainBatchSize;
+    return this;
+  }
+
+  public boolean isHistoryOutboxDrainerActivate() {
+    return historyOutboxDrainerActivate;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxDrainerActivate(boolean historyOutboxDrainerActivate) {
+    this.historyOutboxDrainerActivate = historyOutboxDrainerActivate;
+    return this;
+  }
+
+  public HistoryOutboxDrainer getHistoryOutboxDrainer() {
+    return historyOutboxDrainer;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryOutboxDrainer(HistoryOutboxDrainer historyOutboxDrainer) {
+    this.historyOutboxDrainer = historyOutboxDrainer;
+    return this;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCacheEnabled(boolean isSharedDbEntityCacheEnabled) {
+    this.isSharedDbEntityCacheEnabled = isSharedDbEntityCacheEnabled;
+    return this;
+  }
+
+  public int getSharedDbEntityCacheCapacity() {
+    return sharedDbEntityCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCacheCapacity(int sharedDbEntityCacheCapacity) {
+    this.sharedDbEntityCacheCapacity = sharedDbEntityCacheCapacity;
+    return this;
+  }
+
+  public Set<Class<? extends DbEntity>> getSharedDbEntityCacheTypes() {
+    return sharedDbEntityCacheTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCacheTypes(Set<Class<? extends DbEntity>> sharedDbEntityCacheTypes) {
+    this.sharedDbEntityCacheTypes = sharedDbEntityCacheTypes;
+    return this;
+  }
+
+  public SharedDbEntityCache getSharedDbEntityCache() {
+    return sharedDbEntityCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSharedDbEntityCache(SharedDbEntityCache sharedDbEntityCache) {
+    this.sharedDbEntityCache = sharedDbEntityCache;
+    return this;
+  }
+
+  public boolean isByteArrayCompressionEnabled() {
+    return isByteArrayCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionEnabled(boolean isByteArrayCompressionEnabled) {
+    this.isByteArrayCompressionEnabled = isByteArrayCompressionEnabled;
+    return this;
+  }
+
+  public int getByteArrayCompressionThreshold() {
+    return byteArrayCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+    this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+    return this;
+  }
+
+  public boolean isHistoryByteArrayDeduplicationEnabled() {
+    return isHistoryByteArrayDeduplicationEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryByteArrayDeduplicationEnabled(boolean isHistoryByteArrayDeduplicationEnabled) {
+    this.isHistoryByteArrayDeduplicationEnabled = isHistoryByteArrayDeduplicationEnabled;
+    return this;
+  }
+
+  public int getHistoryByteArrayDeduplicationCacheCapacity() {
+    return historyByteArrayDeduplicationCacheCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryByteArrayDeduplicationCacheCapacity(int historyByteArrayDeduplicationCacheCapacity) {
+    this.historyByteArrayDeduplicationCacheCapacity = historyByteArrayDeduplicationCacheCapacity;
+    return this;
+  }
+
+  public Cache<String, String> getHistoryByteArrayDeduplicationCache() {
+    return historyByteArrayDeduplicationCache;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryByteArrayDeduplicationCache(Cache<String, String> historyByteArrayDeduplicationCache) {
+    this.historyByteArrayDeduplicationCache = historyByteArrayDeduplicationCache;
+    return this;
+  }
+
+  public boolean isJdbcBatchReorderingEnabled() {
+    return isJdbcBatchReorderingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchReorderingEnabled(boolean isJdbcBatchReorderingEnabled) {
+    this.isJdbcBatchReorderingEnabled = isJdbcBatchReorderingEnabled;
+    return this;
+  }
+
+  public boolean isJdbcBatchMetricsEnabled() {
+    return isJdbcBatchMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setJdbcBatchMetricsEnabled(boolean isJdbcBatchMetricsEnabled) {
+    this.isJdbcBatchMetricsEnabled = isJdbcBatchMetricsEnabled;
+    return this;
+  }
+
   public DbEntityCacheKeyMapping getDbEntityCacheKeyMapping() {
     return dbEntityCacheKeyMapping;
   }
@@ -4099,6 +4639,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return customHistoryLevels;
   }
 
+  public List<HistoryProfile> getHistoryProfiles() {
+    return historyProfiles;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryProfiles(List<HistoryProfile> historyProfiles) {
+    this.historyProfiles = historyProfiles;
+    return this;
+  }
+
   public boolean isInvokeCustomVariableListeners() {
     return isInvokeCustomVariableListeners;
   }
@@ -4109,6 +4658,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).shutdown();
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -4239,6 +4792,51 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this.isBpmnStacktraceVerbose;
   }
 
+  public boolean isTransientHistorySummaryEnabled() {
+    return transientHistorySummaryEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setTransientHistorySummaryEnabled(boolean transientHistorySummaryEnabled) {
+    this.transientHistorySummaryEnabled = transientHistorySummaryEnabled;
+    return this;
+  }
+
+  public boolean isClassDelegateInstanceReuseEnabled() {
+    return classDelegateInstanceReuseEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setClassDelegateInstanceReuseEnabled(boolean classDelegateInstanceReuseEnabled) {
+    this.classDelegateInstanceReuseEnabled = classDelegateInstanceReuseEnabled;
+    return this;
+  }
+
+  public boolean isClassDelegateResolutionOnDeployEnabled() {
+    return classDelegateResolutionOnDeployEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setClassDelegateResolutionOnDeployEnabled(boolean classDelegateResolutionOnDeployEnabled) {
+    this.classDelegateResolutionOnDeployEnabled = classDelegateResolutionOnDeployEnabled;
+    return this;
+  }
+
+  public int getExpressionCompileThreshold() {
+    return expressionCompileThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setExpressionCompileThreshold(int expressionCompileThreshold) {
+    this.expressionCompileThreshold = expressionCompileThreshold;
+    return this;
+  }
+
+  public boolean isVariableResolutionCacheEnabled() {
+    return variableResolutionCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableResolutionCacheEnabled(boolean variableResolutionCacheEnabled) {
+    this.variableResolutionCacheEnabled = variableResolutionCacheEnabled;
+    return this;
+  }
+
   public boolean isForceCloseMybatisConnectionPool() {
     return forceCloseMybatisConnectionPool;
   }
@@ -4586,6 +5184,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.historyCleanupBatchSize = historyCleanupBatchSize;
   }
 
+  public int getHistoryCleanupRangeDeleteBatchSize() {
+    return historyCleanupRangeDeleteBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupRangeDeleteBatchSize(int historyCleanupRangeDeleteBatchSize) {
+    this.historyCleanupRangeDeleteBatchSize = historyCleanupRangeDeleteBatchSize;
+    return this;
+  }
+
+  public boolean isHistoryCleanupPartitionDropEnabled() {
+    return historyCleanupPartitionDropEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupPartitionDropEnabled(boolean historyCleanupPartitionDropEnabled) {
+    this.historyCleanupPartitionDropEnabled = historyCleanupPartitionDropEnabled;
+    return this;
+  }
+
   public int getHistoryCleanupBatchThreshold() {
     return historyCleanupBatchThreshold;
   }
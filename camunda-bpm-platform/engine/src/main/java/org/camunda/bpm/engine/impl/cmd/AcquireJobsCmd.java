@@ -18,10 +18,13 @@ package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -33,7 +36,10 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.impl.jobexecutor.NonExclusiveJobBatch;
 import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
 
@@ -61,15 +67,17 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
-    List<AcquirableJobEntity> jobs = commandContext
-      .getJobManager()
-      .findNextJobsToExecute(new Page(0, numJobsToAcquire));
+    List<AcquirableJobEntity> jobs = findNextJobsToExecute(commandContext);
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
+    List<AcquirableJobEntity> nonExclusiveJobs = new ArrayList<AcquirableJobEntity>();
+
+    Date acquisitionTime = ClockUtil.getCurrentTime();
 
     for (AcquirableJobEntity job : jobs) {
 
       lockJob(job);
+      recordPickupLatency(job, acquisitionTime);
 
       if(job.isExclusive()) {
         List<String> list = exclusiveJobsByProcessInstance.get(job.getProcessInstanceId());
@@ -80,12 +88,14 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
         list.add(job.getId());
       }
       else {
-        acquiredJobs.addJobIdBatch(job.getId());
+        nonExclusiveJobs.add(job);
       }
     }
 
-    for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
-      acquiredJobs.addJobIdBatch(jobIds);
+    addNonExclusiveJobBatches(nonExclusiveJobs);
+
+    for (Map.Entry<String, List<String>> exclusiveJobs : exclusiveJobsByProcessInstance.entrySet()) {
+      acquiredJobs.addExclusiveJobIdBatch(exclusiveJobs.getKey(), exclusiveJobs.getValue());
     }
 
     // register an OptimisticLockingListener which is notified about jobs which cannot be acquired.
@@ -98,6 +108,50 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return acquiredJobs;
   }
 
+  /**
+   * Adds every non-exclusive job as a separate batch. If jobs are executed in shared
+   * transactions, non-exclusive jobs of different process instances are grouped into
+   * batches of up to {@link JobExecutor#getMaxJobsPerTransaction()} jobs instead.
+   */
+  protected void addNonExclusiveJobBatches(List<AcquirableJobEntity> jobs) {
+    int maxJobsPerTransaction = jobExecutor.getMaxJobsPerTransaction();
+
+    if (maxJobsPerTransaction <= 1) {
+      for (AcquirableJobEntity job : jobs) {
+        acquiredJobs.addJobIdBatch(job.getId());
+      }
+    }
+    else {
+      List<NonExclusiveJobBatch> batches = new ArrayList<NonExclusiveJobBatch>();
+      List<Set<String>> processInstanceIdsPerBatch = new ArrayList<Set<String>>();
+
+      for (AcquirableJobEntity job : jobs) {
+        String processInstanceId = job.getProcessInstanceId();
+
+        int batchIndex = 0;
+        while (batchIndex < batches.size()
+            && (batches.get(batchIndex).size() >= maxJobsPerTransaction
+              || processInstanceIdsPerBatch.get(batchIndex).contains(processInstanceId))) {
+          batchIndex++;
+        }
+
+        if (batchIndex == batches.size()) {
+          batches.add(new NonExclusiveJobBatch());
+          processInstanceIdsPerBatch.add(new HashSet<String>());
+        }
+
+        batches.get(batchIndex).add(job.getId());
+        if (processInstanceId != null) {
+          processInstanceIdsPerBatch.get(batchIndex).add(processInstanceId);
+        }
+      }
+
+      for (NonExclusiveJobBatch batch : batches) {
+        acquiredJobs.addJobIdBatch(batch);
+      }
+    }
+  }
+
   /**
    * When CockroachDB is used, this command may be retried multiple times until
    * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
@@ -117,6 +171,22 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     return true;
   }
 
+  protected List<AcquirableJobEntity> findNextJobsToExecute(CommandContext commandContext) {
+    Page page = new Page(0, numJobsToAcquire);
+    JobManager jobManager = commandContext.getJobManager();
+
+    JobPartitionLeases partitionLeases = jobExecutor.getJobPartitionLeases();
+    if (partitionLeases != null) {
+      String processEngineName = commandContext.getProcessEngineConfiguration().getProcessEngineName();
+      Set<Integer> ownedPartitions = partitionLeases.getOwnedPartitions(processEngineName);
+      if (ownedPartitions != null) {
+        return jobManager.findNextJobsToExecute(page, ownedPartitions);
+      }
+    }
+
+    return jobManager.findNextJobsToExecute(page);
+  }
+
   protected void lockJob(AcquirableJobEntity job) {
     String lockOwner = jobExecutor.getLockOwner();
     job.setLockOwner(lockOwner);
@@ -129,6 +199,20 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
     job.setLockExpirationTime(gregorianCalendar.getTime());
   }
 
+  protected void recordPickupLatency(AcquirableJobEntity job, Date acquisitionTime) {
+    Date executableSince = job.getCreateTime();
+    Date duedate = job.getDuedate();
+
+    if (executableSince == null || (duedate != null && duedate.after(executableSince))) {
+      executableSince = duedate;
+    }
+
+    if (executableSince != null) {
+      long pickupLatency = Math.max(0, acquisitionTime.getTime() - executableSince.getTime());
+      acquiredJobs.addPickupLatency(job.getId(), pickupLatency);
+    }
+  }
+
   @Override
   public Class<? extends DbEntity> getEntityType() {
     return AcquirableJobEntity.class;
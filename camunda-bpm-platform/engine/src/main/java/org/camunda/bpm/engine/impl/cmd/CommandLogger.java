@@ -308,4 +308,17 @@ public class CommandLogger extends ProcessEngineLogger {
       cause.getMessage());
   }
 
+  public ProcessEngineException exceptionBulkCorrelationToSameProcessInstance(String messageName, String processInstanceId) {
+    return new ProcessEngineException(exceptionMessage(
+      "046",
+      "Message '{}' is correlated to process instance '{}' which was already correlated in the same chunk.",
+      messageName, processInstanceId));
+  }
+
+  public void debugBulkCorrelationChunkFailed(int chunkSize, Throwable cause) {
+    logDebug("047",
+      "Correlation of a chunk of {} messages failed, correlating them one per transaction. Reason: {}",
+      chunkSize, cause.getMessage());
+  }
+
 }
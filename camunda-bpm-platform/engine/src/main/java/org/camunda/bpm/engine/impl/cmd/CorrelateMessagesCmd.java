@@ -0,0 +1,75 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationBulkResultImpl;
+import org.camunda.bpm.engine.impl.runtime.MessageCorrelationResultImpl;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+
+/**
+ * Correlates a chunk of messages in a single transaction. The messages do not see the
+ * unflushed changes of each other, so the command fails as soon as two messages are
+ * correlated to the same process instance; the caller then correlates the messages of
+ * the chunk one by one.
+ */
+public class CorrelateMessagesCmd implements Command<List<MessageCorrelationBulkResultImpl>> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected List<MessageCorrelationBuilderImpl> correlations;
+
+  public CorrelateMessagesCmd(List<MessageCorrelationBuilderImpl> correlations) {
+    this.correlations = correlations;
+  }
+
+  public List<MessageCorrelationBulkResultImpl> execute(CommandContext commandContext) {
+    List<MessageCorrelationBulkResultImpl> results = new ArrayList<>(correlations.size());
+    Set<String> correlatedProcessInstanceIds = new HashSet<>();
+
+    for (MessageCorrelationBuilderImpl correlation : correlations) {
+      CorrelateMessageCmd correlateMessageCmd = new CorrelateMessageCmd(correlation, false, false, correlation.isStartMessagesOnly());
+      MessageCorrelationResultImpl result = correlateMessageCmd.execute(commandContext);
+
+      String processInstanceId = getProcessInstanceId(result);
+      if (!correlatedProcessInstanceIds.add(processInstanceId)) {
+        throw LOG.exceptionBulkCorrelationToSameProcessInstance(correlation.getMessageName(), processInstanceId);
+      }
+
+      results.add(MessageCorrelationBulkResultImpl.success(correlation.getMessageName(), result));
+    }
+
+    return results;
+  }
+
+  protected String getProcessInstanceId(MessageCorrelationResultImpl result) {
+    if (MessageCorrelationResultType.Execution.equals(result.getResultType())) {
+      return result.getExecution().getProcessInstanceId();
+    } else {
+      return result.getProcessInstance().getId();
+    }
+  }
+
+}
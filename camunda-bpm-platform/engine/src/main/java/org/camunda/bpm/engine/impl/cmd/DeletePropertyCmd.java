@@ -51,6 +51,7 @@ public class DeletePropertyCmd implements Command<Object> {
 
     if(propertyEntity != null) {
       propertyManager.delete(propertyEntity);
+      commandContext.getDbEntityManager().evictSharedCachedEntity(PropertyEntity.class, name);
       
       commandContext.getOperationLogManager().logPropertyOperation(UserOperationLogEntry.OPERATION_TYPE_DELETE, 
           Collections.singletonList(new PropertyChange("name", null, name)));
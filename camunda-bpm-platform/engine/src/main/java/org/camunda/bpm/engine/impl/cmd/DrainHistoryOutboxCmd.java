@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
+
+/**
+ * Writes the history events of the oldest history outbox entries to the history tables
+ * and removes the entries from the outbox. Returns the number of drained history events.
+ */
+public class DrainHistoryOutboxCmd implements Command<Integer> {
+
+  protected int batchSize;
+  protected HistoryOutboxDbHistoryEventHandler historyEventHandler;
+
+  public DrainHistoryOutboxCmd(int batchSize, HistoryOutboxDbHistoryEventHandler historyEventHandler) {
+    this.batchSize = batchSize;
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    HistoryOutboxManager outboxManager = commandContext.getHistoryOutboxManager();
+    outboxManager.setDraining(true);
+
+    List<HistoryOutboxEntity> outboxEntries = outboxManager.findOutboxEntries(batchSize);
+
+    int drainedEvents = 0;
+    for (HistoryOutboxEntity outboxEntry : outboxEntries) {
+      if (drainedEvents > 0 && historyEventHandler.isUpdatingCachedEntity(outboxEntry)) {
+        // the remaining entries are drained by the next command
+        break;
+      }
+
+      historyEventHandler.handleOutboxEntry(outboxEntry);
+      drainedEvents += outboxEntry.getEventCount();
+
+      // the revision check of the delete lets a concurrent drain of the same entry fail
+      outboxManager.delete(outboxEntry);
+    }
+
+    return drainedEvents;
+  }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorLogger;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * <p>Executes acquired jobs in a single transaction. Only non-exclusive jobs of
+ * different process instances share the transaction, all other jobs are returned
+ * so that the caller executes them in separate transactions.</p>
+ *
+ * <p>If one of the jobs fails, the whole transaction is rolled back and the caller
+ * is responsible for executing the jobs in separate transactions, so that the
+ * failure is handled for the failing job only.</p>
+ */
+public class ExecuteNonExclusiveJobsCmd implements Command<List<String>> {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected List<String> jobIds;
+
+  /** the jobs which were executed by this command */
+  protected List<String> executedJobIds = new ArrayList<String>();
+
+  public ExecuteNonExclusiveJobsCmd(List<String> jobIds) {
+    this.jobIds = jobIds;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    List<JobEntity> jobs = new ArrayList<JobEntity>();
+    List<String> remainingJobIds = new ArrayList<String>();
+    Set<String> processInstanceIds = new HashSet<String>();
+
+    for (String jobId : jobIds) {
+      JobEntity job = dbEntityManager.selectById(JobEntity.class, jobId);
+
+      if (job == null) {
+        // the job was deleted after it was acquired, see ExecuteJobsCmd
+        LOG.debugAcquiredJobNotFound(jobId);
+      }
+      else if (job.isExclusive()
+          || (job.getProcessInstanceId() != null && !processInstanceIds.add(job.getProcessInstanceId()))) {
+        remainingJobIds.add(jobId);
+      }
+      else {
+        jobs.add(job);
+      }
+    }
+
+    for (JobEntity job : jobs) {
+      // a previous job of this transaction may have deleted the job
+      if (!dbEntityManager.isDeleted(job)) {
+        executeJob(job, commandContext);
+        executedJobIds.add(job.getId());
+      }
+    }
+
+    return remainingJobIds;
+  }
+
+  protected void executeJob(JobEntity job, CommandContext commandContext) {
+    IdentityService identityService = commandContext.getProcessEngineConfiguration().getIdentityService();
+    JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
+
+    if (jobExecutorContext != null) {
+      jobExecutorContext.setCurrentJob(job);
+    }
+
+    // set the tenant id of the job as authenticated tenant to enable tenant checks
+    String tenantId = job.getTenantId();
+    if (tenantId != null) {
+      identityService.setAuthentication(null, null, Collections.singletonList(tenantId));
+    }
+
+    try {
+      commandContext.setCurrentJob(job);
+      job.execute(commandContext);
+    }
+    finally {
+      commandContext.setCurrentJob(null);
+      if (jobExecutorContext != null) {
+        jobExecutorContext.setCurrentJob(null);
+      }
+      if (tenantId != null) {
+        identityService.clearAuthentication();
+      }
+    }
+  }
+
+  /**
+   * @return the ids of the jobs which were executed by this command. The jobs are
+   *   completed only if the command succeeded.
+   */
+  public List<String> getExecutedJobIds() {
+    return executedJobIds;
+  }
+
+}
@@ -47,6 +47,10 @@ public abstract class ExternalTaskCmd implements Command<Void> {
     this.externalTaskId = externalTaskId;
   }
 
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
   @Override
   public Void execute(CommandContext commandContext) {
     EnsureUtil.ensureNotNull("externalTaskId", externalTaskId);
@@ -17,10 +17,14 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -36,6 +40,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
 /**
@@ -47,6 +52,8 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
 
+  protected static final Random RANDOM = new Random();
+
   protected String workerId;
   protected int maxResults;
   protected boolean usePriority;
@@ -71,9 +78,15 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
       instruction.ensureVariablesInitialized();
     }
 
-    List<ExternalTaskEntity> externalTasks = commandContext
-      .getExternalTaskManager()
-      .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
+    List<ExternalTaskEntity> externalTasks;
+    if (isWeightedFairFetch()) {
+      externalTasks = selectExternalTasksWeightedFair(commandContext.getExternalTaskManager());
+    }
+    else {
+      externalTasks = commandContext
+        .getExternalTaskManager()
+        .selectExternalTasksForTopics(fetchInstructions.values(), maxResults, usePriority);
+    }
 
     final List<LockedExternalTask> result = new ArrayList<LockedExternalTask>();
 
@@ -99,6 +112,162 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     return result;
   }
 
+  protected boolean isWeightedFairFetch() {
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      if (instruction.getWeight() != null || instruction.getMaxTasks() != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Shares <code>maxResults</code> among the topics (and the tenants of a topic) in proportion
+   * to their weights and selects the tasks of every topic with a query limited to its share.
+   * A topic that has fewer tasks than its share or reaches its maximum number of tasks passes
+   * the rest of its share on to the other topics in the next round. Every round either fills
+   * <code>maxResults</code> or closes at least one topic, so there are at most as many rounds
+   * as topics.
+   */
+  protected List<ExternalTaskEntity> selectExternalTasksWeightedFair(ExternalTaskManager externalTaskManager) {
+    List<FetchShare> shares = new ArrayList<FetchShare>();
+    for (TopicFetchInstruction instruction : fetchInstructions.values()) {
+      String[] tenantIds = instruction.getTenantIds();
+      double weight = instruction.getWeight() != null ? instruction.getWeight() : 1;
+
+      if (tenantIds != null && tenantIds.length > 1) {
+        for (String tenantId : tenantIds) {
+          shares.add(new FetchShare(instruction.forTenant(tenantId), weight / tenantIds.length));
+        }
+      }
+      else {
+        shares.add(new FetchShare(instruction, weight));
+      }
+    }
+    // ties are broken in favor of the first shares, so their order must change from fetch to fetch
+    Collections.shuffle(shares, RANDOM);
+
+    Map<String, Integer> tasksPerTopic = new HashMap<String, Integer>();
+    int remaining = maxResults;
+    List<FetchShare> openShares = new ArrayList<FetchShare>(shares);
+
+    while (remaining > 0 && !openShares.isEmpty()) {
+      allocate(remaining, openShares, tasksPerTopic);
+
+      for (FetchShare share : openShares) {
+        if (share.allocated > 0) {
+          share.limit += share.allocated;
+          share.allocated = 0;
+
+          List<ExternalTaskEntity> tasks = externalTaskManager
+            .selectExternalTasksForTopics(Collections.singletonList(share.instruction), share.limit, usePriority);
+
+          int found = share.tasks.size();
+          for (ExternalTaskEntity task : tasks) {
+            if (share.tasks.size() < share.limit) {
+              share.tasks.put(task.getId(), task);
+            }
+          }
+          found = share.tasks.size() - found;
+
+          share.exhausted = tasks.size() < share.limit;
+          remaining -= found;
+          addTasksOfTopic(tasksPerTopic, share.instruction.getTopicName(), found);
+        }
+      }
+
+      Iterator<FetchShare> it = openShares.iterator();
+      while (it.hasNext()) {
+        FetchShare share = it.next();
+        if (share.exhausted || getRemainingTasksOfTopic(tasksPerTopic, share.instruction) == 0) {
+          it.remove();
+        }
+      }
+    }
+
+    List<ExternalTaskEntity> result = new ArrayList<ExternalTaskEntity>();
+    for (FetchShare share : shares) {
+      result.addAll(share.tasks.values());
+    }
+
+    if (usePriority) {
+      Collections.sort(result, new Comparator<ExternalTaskEntity>() {
+        public int compare(ExternalTaskEntity task1, ExternalTaskEntity task2) {
+          return Long.compare(task2.getPriority(), task1.getPriority());
+        }
+      });
+    }
+
+    return result;
+  }
+
+  /**
+   * Allocates the given number of tasks to the shares in proportion to their weights. The
+   * fractions are allocated at random, weighted by their size, so that a share that is
+   * always rounded down is not starved when the maximum number of tasks is small.
+   */
+  protected void allocate(int tasks, List<FetchShare> shares, Map<String, Integer> tasksPerTopic) {
+    double totalWeight = 0;
+    for (FetchShare share : shares) {
+      totalWeight += share.weight;
+    }
+
+    int allocated = 0;
+    double totalFraction = 0;
+    for (FetchShare share : shares) {
+      double exactShare = tasks * share.weight / totalWeight;
+      share.allocated = (int) exactShare;
+      share.fraction = exactShare - share.allocated;
+      allocated += share.allocated;
+      totalFraction += share.fraction;
+    }
+
+    for (int i = allocated; i < tasks && totalFraction > 0; i++) {
+      double pick = RANDOM.nextDouble() * totalFraction;
+      FetchShare pickedShare = null;
+      for (FetchShare share : shares) {
+        if (share.fraction > 0) {
+          pickedShare = share;
+          pick -= share.fraction;
+          if (pick < 0) {
+            break;
+          }
+        }
+      }
+      if (pickedShare == null) {
+        break;
+      }
+      totalFraction -= pickedShare.fraction;
+      pickedShare.fraction = 0;
+      pickedShare.allocated++;
+    }
+
+    // shares of the same topic are capped by the maximum number of tasks of the topic together
+    Map<String, Integer> capacityPerTopic = new HashMap<String, Integer>();
+    for (FetchShare share : shares) {
+      String topicName = share.instruction.getTopicName();
+      Integer capacity = capacityPerTopic.get(topicName);
+      if (capacity == null) {
+        capacity = getRemainingTasksOfTopic(tasksPerTopic, share.instruction);
+      }
+      share.allocated = Math.min(share.allocated, capacity);
+      capacityPerTopic.put(topicName, capacity - share.allocated);
+    }
+  }
+
+  protected int getRemainingTasksOfTopic(Map<String, Integer> tasksPerTopic, TopicFetchInstruction instruction) {
+    if (instruction.getMaxTasks() == null) {
+      return Integer.MAX_VALUE;
+    }
+    Integer tasks = tasksPerTopic.get(instruction.getTopicName());
+    return Math.max(instruction.getMaxTasks() - (tasks != null ? tasks : 0), 0);
+  }
+
+  protected void addTasksOfTopic(Map<String, Integer> tasksPerTopic, String topicName, int tasks) {
+    Integer previousTasks = tasksPerTopic.get(topicName);
+    tasksPerTopic.put(topicName, (previousTasks != null ? previousTasks : 0) + tasks);
+  }
+
   /**
    * When CockroachDB is used, this command may be retried multiple times until
    * it is successful, or the retries are exhausted. CockroachDB uses a stricter,
@@ -170,6 +339,29 @@ public class FetchExternalTasksCmd implements Command<List<LockedExternalTask>>
     for (TopicFetchInstruction instruction : fetchInstructions.values()) {
       EnsureUtil.ensureNotNull("topicName", instruction.getTopicName());
       EnsureUtil.ensurePositive("lockTime", instruction.getLockDuration());
+      if (instruction.getWeight() != null) {
+        EnsureUtil.ensureGreaterThanOrEqual("weight", instruction.getWeight(), 1);
+      }
+      if (instruction.getMaxTasks() != null) {
+        EnsureUtil.ensureGreaterThanOrEqual("maxTasks", instruction.getMaxTasks(), 0);
+      }
+    }
+  }
+
+  protected static class FetchShare {
+
+    protected TopicFetchInstruction instruction;
+    protected double weight;
+
+    protected int limit;
+    protected int allocated;
+    protected double fraction;
+    protected boolean exhausted;
+    protected Map<String, ExternalTaskEntity> tasks = new LinkedHashMap<String, ExternalTaskEntity>();
+
+    public FetchShare(TopicFetchInstruction instruction, double weight) {
+      this.instruction = instruction;
+      this.weight = weight;
     }
   }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskBulkResultImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+
+/**
+ * Handles a chunk of external tasks in a single transaction. The tasks are loaded with a
+ * single query; tasks that do not exist or are locked by a different worker are reported
+ * as failures. Any other failure fails the command, so that the caller can handle the tasks
+ * of the chunk one by one.
+ */
+public class HandleExternalTasksCmd implements Command<List<ExternalTaskBulkResultImpl>> {
+
+  private final static ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected List<HandleExternalTaskCmd> operations;
+
+  public HandleExternalTasksCmd(List<HandleExternalTaskCmd> operations) {
+    this.operations = operations;
+  }
+
+  public List<ExternalTaskBulkResultImpl> execute(CommandContext commandContext) {
+    Set<String> externalTaskIds = new LinkedHashSet<>();
+    for (HandleExternalTaskCmd operation : operations) {
+      operation.validateInput();
+
+      if (!externalTaskIds.add(operation.getExternalTaskId())) {
+        // the second operation would not see the outcome of the first one
+        throw LOG.exceptionBulkOperationsOnSameExternalTask(operation.getExternalTaskId());
+      }
+    }
+
+    // the operations find the loaded tasks in the entity cache
+    Map<String, ExternalTaskEntity> externalTasks = new HashMap<>();
+    for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager().findExternalTasksByIds(new ArrayList<>(externalTaskIds))) {
+      externalTasks.put(externalTask.getId(), externalTask);
+    }
+
+    List<ExternalTaskBulkResultImpl> results = new ArrayList<>(operations.size());
+    for (HandleExternalTaskCmd operation : operations) {
+      String externalTaskId = operation.getExternalTaskId();
+      ExternalTaskEntity externalTask = externalTasks.get(externalTaskId);
+
+      if (externalTask == null) {
+        results.add(ExternalTaskBulkResultImpl.failure(externalTaskId, "Cannot find external task with id " + externalTaskId));
+      }
+      else if (!operation.workerId.equals(externalTask.getWorkerId())) {
+        results.add(ExternalTaskBulkResultImpl.failure(externalTaskId,
+            operation.getErrorMessageOnWrongWorkerAccess() + "'. It is locked by worker '" + externalTask.getWorkerId() + "'."));
+      }
+      else {
+        operation.execute(commandContext);
+        results.add(ExternalTaskBulkResultImpl.success(externalTaskId));
+      }
+    }
+
+    return results;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
+
+/**
+ * Deletes all job partition leases held by the given lock owner.
+ *
+ * @see JobPartitionLeases
+ */
+public class ReleaseJobPartitionLeasesCmd implements Command<Void> {
+
+  protected final String lockOwner;
+
+  public ReleaseJobPartitionLeasesCmd(String lockOwner) {
+    this.lockOwner = lockOwner;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+
+    for (PropertyEntity lease : propertyManager.findPropertiesByNamePrefix(JobPartitionLeases.PROPERTY_NAME_PREFIX)) {
+      String value = lease.getValue();
+      int separatorIndex = value != null ? value.indexOf(RenewJobPartitionLeasesCmd.LEASE_VALUE_SEPARATOR) : -1;
+      if (separatorIndex > 0 && lockOwner.equals(value.substring(separatorIndex + 1))) {
+        propertyManager.delete(lease);
+      }
+    }
+
+    return null;
+  }
+
+}
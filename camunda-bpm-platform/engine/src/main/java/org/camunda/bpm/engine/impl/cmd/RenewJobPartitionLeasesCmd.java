@@ -0,0 +1,183 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Renews the job partition leases of a job executor and rebalances the
+ * partitions between the job executors which currently hold a lease.</p>
+ *
+ * <p>Every job executor aims for a fair share of the partitions. It releases
+ * partitions above its share, claims partitions without a valid lease and,
+ * if that is not enough, takes over partitions from job executors which hold
+ * more than their share. A job executor which joins the cluster therefore
+ * gets its share with its first renewal, while the job executors which lost
+ * a partition notice that with their next renewal.</p>
+ *
+ * <p>Returns the partitions the job executor holds a lease for. If another
+ * job executor modifies the leases concurrently, the command fails with an
+ * optimistic locking exception and nothing is changed.</p>
+ *
+ * @see JobPartitionLeases
+ */
+public class RenewJobPartitionLeasesCmd implements Command<Set<Integer>> {
+
+  protected static final String LEASE_VALUE_SEPARATOR = ":";
+
+  protected final String lockOwner;
+  protected final int partitionCount;
+  protected final long leaseTimeInMillis;
+
+  protected PropertyManager propertyManager;
+  protected Map<Integer, PropertyEntity> leases = new HashMap<>();
+  protected Map<String, List<Integer>> partitionsByOwner = new HashMap<>();
+
+  public RenewJobPartitionLeasesCmd(String lockOwner, int partitionCount, long leaseTimeInMillis) {
+    this.lockOwner = lockOwner;
+    this.partitionCount = partitionCount;
+    this.leaseTimeInMillis = leaseTimeInMillis;
+  }
+
+  public Set<Integer> execute(CommandContext commandContext) {
+    propertyManager = commandContext.getPropertyManager();
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    readLeases(now);
+
+    List<Integer> ownPartitions = partitionsByOwner.get(lockOwner);
+    if (ownPartitions == null) {
+      ownPartitions = new ArrayList<>();
+      partitionsByOwner.put(lockOwner, ownPartitions);
+    }
+    TreeSet<Integer> ownedPartitions = new TreeSet<>(ownPartitions);
+
+    int fairShare = (partitionCount + partitionsByOwner.size() - 1) / partitionsByOwner.size();
+
+    // release partitions above the fair share
+    while (ownedPartitions.size() > fairShare) {
+      Integer partition = ownedPartitions.pollLast();
+      propertyManager.delete(leases.get(partition));
+    }
+
+    // claim partitions without a valid lease
+    for (int partition = 0; partition < partitionCount && ownedPartitions.size() < fairShare; partition++) {
+      if (!isLeased(partition)) {
+        ownedPartitions.add(partition);
+      }
+    }
+
+    // take over partitions from job executors above the fair share
+    while (ownedPartitions.size() < fairShare) {
+      List<Integer> partitionsOfOtherOwner = findOwnerAboveFairShare(fairShare);
+      if (partitionsOfOtherOwner == null) {
+        break;
+      }
+      ownedPartitions.add(partitionsOfOtherOwner.remove(partitionsOfOtherOwner.size() - 1));
+    }
+
+    String leaseValue = (now + leaseTimeInMillis) + LEASE_VALUE_SEPARATOR + lockOwner;
+    for (Integer partition : ownedPartitions) {
+      PropertyEntity lease = leases.get(partition);
+      if (lease == null) {
+        propertyManager.insert(new PropertyEntity(JobPartitionLeases.PROPERTY_NAME_PREFIX + partition, leaseValue));
+      }
+      else {
+        lease.setValue(leaseValue);
+      }
+    }
+
+    return Collections.unmodifiableSet(ownedPartitions);
+  }
+
+  protected void readLeases(long now) {
+    List<PropertyEntity> properties = propertyManager.findPropertiesByNamePrefix(JobPartitionLeases.PROPERTY_NAME_PREFIX);
+
+    for (PropertyEntity property : properties) {
+      Integer partition = parsePartition(property.getName());
+      if (partition == null || partition >= partitionCount) {
+        continue;
+      }
+      leases.put(partition, property);
+
+      String value = property.getValue();
+      int separatorIndex = value != null ? value.indexOf(LEASE_VALUE_SEPARATOR) : -1;
+      if (separatorIndex > 0) {
+        long expirationTime = Long.parseLong(value.substring(0, separatorIndex));
+        String owner = value.substring(separatorIndex + 1);
+
+        if (expirationTime > now) {
+          List<Integer> partitions = partitionsByOwner.get(owner);
+          if (partitions == null) {
+            partitions = new ArrayList<>();
+            partitionsByOwner.put(owner, partitions);
+          }
+          partitions.add(partition);
+        }
+      }
+    }
+
+    for (List<Integer> partitions : partitionsByOwner.values()) {
+      Collections.sort(partitions);
+    }
+  }
+
+  protected Integer parsePartition(String propertyName) {
+    try {
+      return Integer.valueOf(propertyName.substring(JobPartitionLeases.PROPERTY_NAME_PREFIX.length()));
+    }
+    catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  protected boolean isLeased(int partition) {
+    for (List<Integer> partitions : partitionsByOwner.values()) {
+      if (partitions.contains(partition)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  protected List<Integer> findOwnerAboveFairShare(int fairShare) {
+    List<Integer> result = null;
+    for (Map.Entry<String, List<Integer>> entry : partitionsByOwner.entrySet()) {
+      List<Integer> partitions = entry.getValue();
+      if (!lockOwner.equals(entry.getKey())
+          && partitions.size() > fairShare
+          && (result == null || partitions.size() > result.size())) {
+        result = partitions;
+      }
+    }
+    return result;
+  }
+
+}
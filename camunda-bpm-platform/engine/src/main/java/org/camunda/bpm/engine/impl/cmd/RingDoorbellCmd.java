@@ -0,0 +1,76 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.UUID;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingResult;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
+
+/**
+ * Sets a doorbell property, e.g. the one of the
+ * {@link org.camunda.bpm.engine.impl.jobexecutor.DbJobAvailableSignal}, to a new value
+ * and returns that value. If another node rings the doorbell at the same time,
+ * the resulting optimistic locking failure is ignored since the doorbell has been rung anyway.
+ */
+public class RingDoorbellCmd implements Command<String>, OptimisticLockingListener {
+
+  protected final String propertyName;
+
+  public RingDoorbellCmd(String propertyName) {
+    this.propertyName = propertyName;
+  }
+
+  public String execute(CommandContext commandContext) {
+    String value = UUID.randomUUID().toString();
+
+    PropertyManager propertyManager = commandContext.getPropertyManager();
+    PropertyEntity property = propertyManager.findPropertyById(propertyName);
+    if (property == null) {
+      propertyManager.insert(new PropertyEntity(propertyName, value));
+    }
+    else {
+      property.setValue(value);
+    }
+
+    commandContext.getDbEntityManager().registerOptimisticLockingListener(this);
+
+    return value;
+  }
+
+  @Override
+  public Class<? extends DbEntity> getEntityType() {
+    return PropertyEntity.class;
+  }
+
+  @Override
+  public OptimisticLockingResult failedOperation(DbOperation operation) {
+    return OptimisticLockingResult.IGNORE;
+  }
+
+  @Override
+  public boolean isRetryable() {
+    return true;
+  }
+
+}
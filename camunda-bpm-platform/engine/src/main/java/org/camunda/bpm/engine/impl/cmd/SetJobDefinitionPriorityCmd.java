@@ -63,6 +63,7 @@ public class SetJobDefinitionPriorityCmd implements Command<Void> {
 
     Long currentPriority = jobDefinition.getOverridingJobPriority();
     jobDefinition.setJobPriority(priority);
+    commandContext.getDbEntityManager().evictSharedCachedEntity(JobDefinitionEntity.class, jobDefinitionId);
 
     UserOperationLogContext opLogContext = new UserOperationLogContext();
     createJobDefinitionOperationLogEntry(opLogContext, currentPriority, jobDefinition);
@@ -54,6 +54,7 @@ public class SetPropertyCmd implements Command<Object> {
     if(property != null) {
       // update
       property.setValue(value);
+      commandContext.getDbEntityManager().evictSharedCachedEntity(PropertyEntity.class, name);
       operation = UserOperationLogEntry.OPERATION_TYPE_UPDATE;
     } else {
       // create
@@ -53,6 +53,7 @@ public class UpdateProcessDefinitionHistoryTimeToLiveCmd implements Command<Void
     ProcessDefinitionEntity processDefinitionEntity = commandContext.getProcessDefinitionManager().findLatestProcessDefinitionById(processDefinitionId);
     logUserOperation(commandContext, processDefinitionEntity);
     processDefinitionEntity.setHistoryTimeToLive(historyTimeToLive);
+    commandContext.getDbEntityManager().evictSharedCachedEntity(ProcessDefinitionEntity.class, processDefinitionId);
 
     return null;
   }
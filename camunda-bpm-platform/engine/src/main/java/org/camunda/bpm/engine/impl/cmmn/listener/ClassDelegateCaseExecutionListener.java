@@ -16,8 +16,6 @@
  */
 package org.camunda.bpm.engine.impl.cmmn.listener;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 
 import org.camunda.bpm.engine.delegate.CaseExecutionListener;
@@ -55,7 +53,7 @@ public class ClassDelegateCaseExecutionListener extends ClassDelegate implements
   }
 
   protected CaseExecutionListener getListenerInstance() {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = delegateFactory.getDelegateInstance();
     if (delegateInstance instanceof CaseExecutionListener) {
       return (CaseExecutionListener) delegateInstance;
     } else {
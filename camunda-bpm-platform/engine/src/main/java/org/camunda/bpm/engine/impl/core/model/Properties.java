@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.core.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -30,7 +31,9 @@ import org.camunda.bpm.engine.ProcessEngineException;
  * @author Philipp Ossler
  *
  */
-public class Properties {
+public class Properties implements Serializable {
+
+  private static final long serialVersionUID = 1L;
 
   protected final Map<String, Object> properties;
 
@@ -32,6 +32,7 @@ import org.camunda.bpm.engine.impl.core.variable.VariableUtil;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEvent;
 import org.camunda.bpm.engine.impl.core.variable.event.VariableEventDispatcher;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
 import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
@@ -349,6 +350,7 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
 
   protected void invokeVariableLifecycleListenersCreate(CoreVariableInstance variableInstance, AbstractVariableScope sourceScope,
       List<VariableInstanceLifecycleListener<CoreVariableInstance>> lifecycleListeners) {
+    VariableResolutionCache.invalidateCurrent();
     for (VariableInstanceLifecycleListener<CoreVariableInstance> lifecycleListener : lifecycleListeners) {
       lifecycleListener.onCreate(variableInstance, sourceScope);
     }
@@ -360,6 +362,7 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
 
   protected void invokeVariableLifecycleListenersDelete(CoreVariableInstance variableInstance, AbstractVariableScope sourceScope,
       List<VariableInstanceLifecycleListener<CoreVariableInstance>> lifecycleListeners) {
+    VariableResolutionCache.invalidateCurrent();
     for (VariableInstanceLifecycleListener<CoreVariableInstance> lifecycleListener : lifecycleListeners) {
       lifecycleListener.onDelete(variableInstance, sourceScope);
     }
@@ -371,6 +374,7 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
 
   protected void invokeVariableLifecycleListenersUpdate(CoreVariableInstance variableInstance, AbstractVariableScope sourceScope,
       List<VariableInstanceLifecycleListener<CoreVariableInstance>> lifecycleListeners) {
+    VariableResolutionCache.invalidateCurrent();
     for (VariableInstanceLifecycleListener<CoreVariableInstance> lifecycleListener : lifecycleListeners) {
       lifecycleListener.onUpdate(variableInstance, sourceScope);
     }
@@ -28,6 +28,7 @@ import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
 
 /**
  * @author Thorben Lindhauer
@@ -122,6 +123,7 @@ public class VariableStore<T extends CoreVariableInstance> {
     }
 
     getVariablesMap().put(value.getName(), value);
+    VariableResolutionCache.invalidateCurrent();
 
     for (VariableStoreObserver<T> listener : observers) {
       listener.onAdd(value);
@@ -177,6 +179,7 @@ public class VariableStore<T extends CoreVariableInstance> {
     }
 
     T value = getVariablesMap().remove(variableName);
+    VariableResolutionCache.invalidateCurrent();
 
     for (VariableStoreObserver<T> observer : observers) {
       observer.onRemove(value);
@@ -191,6 +194,7 @@ public class VariableStore<T extends CoreVariableInstance> {
     Iterator<T> valuesIt = getVariablesMap().values().iterator();
 
     removedVariables.putAll(variables);
+    VariableResolutionCache.invalidateCurrent();
     while (valuesIt.hasNext()) {
       T nextVariable = valuesIt.next();
 
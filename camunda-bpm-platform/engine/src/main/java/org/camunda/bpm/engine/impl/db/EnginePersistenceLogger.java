@@ -844,4 +844,77 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
         "Error while fetching the telemetry initial message status property from the database: {}", exception.getMessage());
   }
 
+  public void idBlockPrefetchFailed(Throwable cause) {
+    logWarn(
+        "108",
+        "Prefetching the next id block failed, fetching it inline instead: {}", cause.getMessage(), cause);
+  }
+
+  public ProcessEngineException sharedEntityCacheTypeNotSupportedException(Class<?> entityType) {
+    return new ProcessEngineException(exceptionMessage(
+        "109",
+        "Entities of type '{}' cannot be cached by the shared entity cache, since the type does not implement '{}'",
+        entityType.getName(), SharedDbEntity.class.getName()));
+  }
+
+  public ProcessEngineException historyOutboxEntrySerializationException(String id, Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "110",
+        "Could not serialize or deserialize the history events of history outbox entry '{}': {}", id, cause.getMessage()), cause);
+  }
+
+  public void historyOutboxDrainFailure(Exception cause) {
+    logWarn(
+        "111",
+        "Could not drain the history outbox, the remaining events are drained in the next run: {}", cause.getMessage(), cause);
+  }
+
+  public void historyOutboxBackpressure(long queueDepth, long maxQueueDepth) {
+    logDebug(
+        "112",
+        "The history outbox holds {} events, which exceeds the maximum of {}. Draining it right away.", queueDepth, maxQueueDepth);
+  }
+
+  public void historyOutboxConcurrentDrain(OptimisticLockingException cause) {
+    logDebug(
+        "113",
+        "The history outbox entries were drained concurrently by another process engine: {}", cause.getMessage());
+  }
+
+  public void droppingHistoryTablePartition(TablePartition partition) {
+    logDebug(
+        "114",
+        "Dropping partition '{}' of history table '{}' with bound '{}'",
+        partition.getPartitionName(), partition.getTableName(), partition.getHighValue());
+  }
+
+  public ProcessEngineException unknownHistoryTablePartition(TablePartition partition) {
+    return new ProcessEngineException(exceptionMessage(
+        "115",
+        "Cannot drop partition '{}': table '{}' is not a history table of the process engine",
+        partition.getPartitionName(), partition.getTableName()));
+  }
+
+  public void skippingTransientProcessInstanceHistory(Collection<String> processInstanceIds) {
+    logDebug(
+        "116",
+        "Skipping the history of transient process instances {} which ended within the command", processInstanceIds);
+  }
+
+  public ProcessEngineException historyOutboxEntryFormatVersionMismatch(String id, int formatVersion, String engineVersion, int expectedFormatVersion) {
+    return new ProcessEngineException(exceptionMessage(
+        "117",
+        "Cannot read history outbox entry '{}': it has format version {} written by process engine version {}, expected format version {}. "
+        + "Drain the history outbox with the process engine version which wrote it.",
+        id, formatVersion, engineVersion, expectedFormatVersion));
+  }
+
+  public ProcessEngineException historyOutboxEntryDeserializationException(String id, String engineVersion, String currentEngineVersion, Exception cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "118",
+        "Cannot deserialize the history events of history outbox entry '{}' written by process engine version {} with version {}: {}. "
+        + "Drain the history outbox with the process engine version which wrote it.",
+        id, engineVersion, currentEngineVersion, cause.getMessage()), cause);
+  }
+
 }
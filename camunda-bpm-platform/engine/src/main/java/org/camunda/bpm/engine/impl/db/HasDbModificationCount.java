@@ -0,0 +1,34 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+/**
+ * <p>An entity which counts the modifications of its persistent state.</p>
+ *
+ * <p>If modification tracking is enabled, the entity cache uses the count to decide whether
+ * the entity is dirty, instead of taking a snapshot of the {@link DbEntity#getPersistentState()
+ * persistent state} when the entity is loaded and comparing it to the current state on flush.
+ * Thus, every change of a field which is part of the persistent state must change the count.</p>
+ */
+public interface HasDbModificationCount {
+
+  /**
+   * @return a value which changes whenever the persistent state of the entity changes
+   */
+  long getModificationCount();
+
+}
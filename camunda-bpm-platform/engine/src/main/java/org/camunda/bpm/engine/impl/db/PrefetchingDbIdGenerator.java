@@ -0,0 +1,191 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids of the current block without
+ * synchronization and fetches the next block in the background once a
+ * configurable share of the current block has been used.</p>
+ *
+ * <p>Threads only synchronize when switching from an exhausted block to the
+ * next one. If the prefetched block is available at that point, the switch
+ * does not touch the database. If prefetching failed, the next block is
+ * fetched inline, just like the {@link DbIdGenerator} does.</p>
+ *
+ * <p>The prefetching runs in a single daemon thread which is stopped by
+ * {@link #shutdown()} when the process engine is closed.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  public static final float DEFAULT_PREFETCH_THRESHOLD = 0.8f;
+
+  protected float prefetchThreshold;
+
+  protected volatile IdRange currentRange;
+  protected Future<IdBlock> prefetchedBlock;
+  protected ExecutorService prefetchExecutor;
+
+  public PrefetchingDbIdGenerator() {
+    // the constructor of the DbIdGenerator calls reset() before the
+    // fields of this class are initialized, so set them up explicitly
+    super();
+    this.prefetchThreshold = DEFAULT_PREFETCH_THRESHOLD;
+    this.currentRange = createExhaustedRange();
+    this.prefetchedBlock = null;
+  }
+
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange;
+      long id = range.nextId.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id == range.prefetchId) {
+          prefetchNextBlock();
+        }
+        return Long.toString(id);
+      }
+      else {
+        switchRange(range);
+      }
+    }
+  }
+
+  protected synchronized void switchRange(IdRange exhaustedRange) {
+    if (currentRange != exhaustedRange) {
+      // another thread already switched to the next block
+      return;
+    }
+
+    IdBlock idBlock = takePrefetchedBlock();
+    currentRange = new IdRange(idBlock, idBlockSize, prefetchThreshold);
+  }
+
+  protected synchronized void prefetchNextBlock() {
+    if (prefetchedBlock == null) {
+      prefetchedBlock = getPrefetchExecutor().submit(this::fetchBlock);
+    }
+  }
+
+  protected IdBlock takePrefetchedBlock() {
+    Future<IdBlock> prefetch = prefetchedBlock;
+    prefetchedBlock = null;
+
+    if (prefetch != null) {
+      try {
+        return prefetch.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.idBlockPrefetchFailed(e);
+      }
+      catch (ExecutionException e) {
+        LOG.idBlockPrefetchFailed(e.getCause());
+      }
+    }
+
+    return fetchBlock();
+  }
+
+  protected IdBlock fetchBlock() {
+    return commandExecutor.execute(new GetNextIdBlockCmd(idBlockSize));
+  }
+
+  protected synchronized ExecutorService getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "camunda-id-block-prefetch");
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return prefetchExecutor;
+  }
+
+  /**
+   * Stops the background thread. Ids of a block which has been prefetched but not
+   * yet used are lost, which is fine since ids only need to be unique.
+   */
+  public synchronized void shutdown() {
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+      prefetchExecutor = null;
+    }
+    prefetchedBlock = null;
+  }
+
+  /**
+   * Reset inner state so that the generator fetches a new block of IDs from the database
+   * when the next ID generation request is received. A block that is prefetched
+   * at this point is discarded.
+   */
+  @Override
+  public synchronized void reset() {
+    super.reset();
+    currentRange = createExhaustedRange();
+    if (prefetchedBlock != null) {
+      prefetchedBlock.cancel(false);
+      prefetchedBlock = null;
+    }
+  }
+
+  protected IdRange createExhaustedRange() {
+    return new IdRange(nextId, lastId, lastId);
+  }
+
+  public float getPrefetchThreshold() {
+    return prefetchThreshold;
+  }
+
+  /**
+   * @param prefetchThreshold the share of a block that has to be used before the next
+   *   block is fetched in the background, at least 0 and less than 1 so that the
+   *   prefetch is triggered by an id of the block
+   */
+  public void setPrefetchThreshold(float prefetchThreshold) {
+    this.prefetchThreshold = prefetchThreshold;
+  }
+
+  protected static class IdRange {
+
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+
+    public IdRange(IdBlock idBlock, int idBlockSize, float prefetchThreshold) {
+      this(idBlock.getNextId(), idBlock.getLastId(), idBlock.getNextId() + (long) (idBlockSize * prefetchThreshold));
+    }
+
+    public IdRange(long nextId, long lastId, long prefetchId) {
+      this.nextId = new AtomicLong(nextId);
+      this.lastId = lastId;
+      this.prefetchId = Math.min(prefetchId, lastId);
+    }
+  }
+
+}
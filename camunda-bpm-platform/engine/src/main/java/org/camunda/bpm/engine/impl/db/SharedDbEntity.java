@@ -0,0 +1,42 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
+
+/**
+ * Interface which needs to be implemented by {@link DbEntity DbEntities} which
+ * can be cached by the {@link SharedDbEntityCache}.
+ */
+public interface SharedDbEntity extends DbEntity {
+
+  /**
+   * @return a new instance holding the persistent state of this entity. The shared
+   *   entity cache keeps a copy of every loaded entity and hands out copies of it, so
+   *   that changes of a command never leak into other commands.
+   */
+  SharedDbEntity copy();
+
+  /**
+   * @return false if this entity must not be cached although its type is cached,
+   *   e.g. because it is updated frequently or by other process engines
+   */
+  default boolean isShareable() {
+    return true;
+  }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A range partition of a table, as listed by the catalog of the database.
+ */
+public class TablePartition {
+
+  /**
+   * Matches the timestamp literal of a partition bound, e.g. the upper bound
+   * <code>TO ('2020-02-01 00:00:00')</code> on PostgreSQL or
+   * <code>TIMESTAMP' 2020-02-01 00:00:00'</code> on Oracle. The bound of a
+   * <code>timestamp with time zone</code> column ends with its UTC offset, e.g. <code>+01</code>.
+   */
+  protected static final Pattern TIMESTAMP_PATTERN =
+      Pattern.compile("(\\d{4}-\\d{2}-\\d{2})( \\d{2}:\\d{2}:\\d{2}(\\.\\d+)?)?([+-]\\d{2}(:\\d{2})?)?'");
+
+  protected String tableName;
+  protected String partitionName;
+  protected String highValue;
+  protected Long rowCount;
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public void setTableName(String tableName) {
+    this.tableName = tableName;
+  }
+
+  public String getPartitionName() {
+    return partitionName;
+  }
+
+  public void setPartitionName(String partitionName) {
+    this.partitionName = partitionName;
+  }
+
+  /**
+   * @return the bound expression of the partition as provided by the catalog
+   */
+  public String getHighValue() {
+    return highValue;
+  }
+
+  public void setHighValue(String highValue) {
+    this.highValue = highValue;
+  }
+
+  /**
+   * @return the number of rows of the partition according to the table statistics
+   */
+  public Long getRowCount() {
+    return rowCount;
+  }
+
+  public void setRowCount(Long rowCount) {
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * @return the exclusive upper bound of the partition, or null if the partition is not
+   * bounded by a timestamp (e.g. a default partition or a MAXVALUE bound). A bound without
+   * UTC offset is read in the time zone of the JVM.
+   */
+  public Date getUpperBound() {
+    if (highValue == null) {
+      return null;
+    }
+
+    // on PostgreSQL, the bound expression contains the lower bound as well
+    String upperBoundExpression = highValue;
+    int upperBoundIndex = highValue.toUpperCase().indexOf(" TO ");
+    if (upperBoundIndex >= 0) {
+      upperBoundExpression = highValue.substring(upperBoundIndex);
+    }
+
+    Date upperBound = null;
+
+    Matcher matcher = TIMESTAMP_PATTERN.matcher(upperBoundExpression);
+    if (matcher.find()) {
+      String time = matcher.group(2) != null ? matcher.group(2) : " 00:00:00";
+      Timestamp timestamp = Timestamp.valueOf(matcher.group(1) + time);
+
+      String offset = matcher.group(4);
+      if (offset != null) {
+        LocalDateTime localDateTime = timestamp.toLocalDateTime();
+        upperBound = Date.from(localDateTime.toInstant(ZoneOffset.of(offset)));
+      } else {
+        upperBound = timestamp;
+      }
+    }
+
+    return upperBound;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[tableName=" + tableName
+        + ", partitionName=" + partitionName
+        + ", highValue=" + highValue
+        + ", rowCount=" + rowCount
+        + "]";
+  }
+
+}
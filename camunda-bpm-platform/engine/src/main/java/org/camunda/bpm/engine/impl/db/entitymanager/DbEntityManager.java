@@ -52,6 +52,9 @@ import org.camunda.bpm.engine.impl.TaskQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionContext;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -65,6 +68,7 @@ import org.camunda.bpm.engine.impl.db.PersistenceSession;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
@@ -74,6 +78,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
@@ -99,6 +104,9 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbEntityCache dbEntityCache;
 
+  protected SharedDbEntityCache sharedDbEntityCache;
+  protected long sharedDbEntityCacheEvictionStamp;
+
   protected DbOperationManager dbOperationManager;
 
   protected PersistenceSession persistenceSession;
@@ -111,6 +119,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
       this.persistenceSession.addEntityLoadListener(this);
     }
     initializeEntityCache();
+    initializeSharedEntityCache();
     initializeOperationManager();
   }
 
@@ -118,6 +127,18 @@ public class DbEntityManager implements Session, EntityLoadListener {
     dbOperationManager = new DbOperationManager();
   }
 
+  protected void initializeSharedEntityCache() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      sharedDbEntityCache = processEngineConfiguration.getSharedDbEntityCache();
+      if (sharedDbEntityCache != null) {
+        // taken before anything is loaded, so that entities which may have been
+        // loaded before a concurrent eviction are not cached
+        sharedDbEntityCacheEvictionStamp = sharedDbEntityCache.getEvictionStamp();
+      }
+    }
+  }
+
   protected void initializeEntityCache() {
 
     final JobExecutorContext jobExecutorContext = Context.getJobExecutorContext();
@@ -142,6 +163,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
       }
     }
 
+    if (processEngineConfiguration != null) {
+      dbEntityCache.setModificationTracking(processEngineConfiguration.isDbEntityModificationTrackingEnabled());
+    }
+
   }
 
   // selects /////////////////////////////////////////////////
@@ -208,6 +233,14 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return persistentObject;
     }
 
+    if (isSharedCached(entityClass)) {
+      persistentObject = sharedDbEntityCache.get(entityClass, id);
+      if (persistentObject != null) {
+        putLoadedEntity(persistentObject);
+        return persistentObject;
+      }
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
 
     if (persistentObject==null) {
@@ -255,6 +288,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   public void onEntityLoaded(DbEntity entity) {
     // we get a callback when the persistence session loads an object from the database
+    if (isSharedCached(entity.getClass())) {
+      // caches the entity or replaces an entry of a different revision
+      sharedDbEntityCache.put(entity, sharedDbEntityCacheEvictionStamp);
+    }
+
+    putLoadedEntity(entity);
+  }
+
+  protected void putLoadedEntity(DbEntity entity) {
     DbEntity cachedPersistentObject = dbEntityCache.get(entity.getClass(), entity.getId());
     if(cachedPersistentObject == null) {
       // only put into the cache if not already present
@@ -266,7 +308,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
         lifecycleAware.postLoad();
       }
     }
+  }
 
+  protected boolean isSharedCached(Class<?> entityType) {
+    return sharedDbEntityCache != null && sharedDbEntityCache.isCached(entityType);
   }
 
   public void lock(String statement) {
@@ -309,6 +354,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
     LOG.databaseFlushSummary(operationsToFlush);
 
+    if (sharedDbEntityCache != null) {
+      evictFromSharedEntityCache(operationsToFlush);
+    }
+
     // If we want to delete all table data as bulk operation, on tables which have self references,
     // We need to turn the foreign key check off on MySQL and MariaDB.
     // On other databases we have to do nothing, the mapped statement will be empty.
@@ -331,6 +380,77 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
   }
 
+  /**
+   * Evicts entities which are updated or deleted by the flush from the shared entity cache.
+   * Since another command may load the old state again until the transaction is
+   * committed, the entities are evicted once more when the transaction is completed.
+   */
+  protected void evictFromSharedEntityCache(List<DbOperation> operations) {
+    final List<DbOperation> evictingOperations = new ArrayList<>();
+
+    for (DbOperation operation : operations) {
+      DbOperationType operationType = operation.getOperationType();
+
+      if (operationType == UPDATE_BULK || operationType == DELETE_BULK) {
+        evictingOperations.add(operation);
+      }
+      else if ((operationType == UPDATE || operationType == DELETE) && isSharedCached(operation.getEntityType())) {
+        evictingOperations.add(operation);
+      }
+    }
+
+    if (!evictingOperations.isEmpty()) {
+      evictFromSharedEntityCache(sharedDbEntityCache, evictingOperations);
+
+      final SharedDbEntityCache cache = sharedDbEntityCache;
+      evictFromSharedEntityCacheOnCompletion(context -> evictFromSharedEntityCache(cache, evictingOperations));
+    }
+  }
+
+  /**
+   * Evicts an entity which the current command changes from the shared entity cache,
+   * both right away and once more when the transaction is completed.
+   */
+  public void evictSharedCachedEntity(final Class<? extends DbEntity> entityType, final String id) {
+    if (isSharedCached(entityType)) {
+      final SharedDbEntityCache cache = sharedDbEntityCache;
+      cache.evict(entityType, id);
+      evictFromSharedEntityCacheOnCompletion(context -> cache.evict(entityType, id));
+    }
+  }
+
+  /**
+   * Evicts all entities of a type from the shared entity cache, e.g. if the current
+   * command changes entities of the type which are not known by id.
+   */
+  public void evictSharedCachedEntities(final Class<? extends DbEntity> entityType) {
+    if (isSharedCached(entityType)) {
+      final SharedDbEntityCache cache = sharedDbEntityCache;
+      cache.evictAll(entityType);
+      evictFromSharedEntityCacheOnCompletion(context -> cache.evictAll(entityType));
+    }
+  }
+
+  protected void evictFromSharedEntityCacheOnCompletion(TransactionListener evictionListener) {
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext != null) {
+      TransactionContext transactionContext = commandContext.getTransactionContext();
+      transactionContext.addTransactionListener(TransactionState.COMMITTED, evictionListener);
+      transactionContext.addTransactionListener(TransactionState.ROLLED_BACK, evictionListener);
+    }
+  }
+
+  protected static void evictFromSharedEntityCache(SharedDbEntityCache cache, List<DbOperation> operations) {
+    for (DbOperation operation : operations) {
+      if (operation instanceof DbEntityOperation) {
+        cache.evict(operation.getEntityType(), ((DbEntityOperation) operation).getEntity().getId());
+      }
+      else {
+        cache.evictAll(operation.getEntityType());
+      }
+    }
+  }
+
   protected void flushDbOperations(List<DbOperation> operationsToFlush,
                                    List<DbOperation> allOperations) {
 
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.HasDbModificationCount;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.entitymanager.Recyclable;
 
@@ -35,6 +36,16 @@ public class CachedDbEntity implements Recyclable {
 
   protected Object copy;
 
+  /**
+   * If true and the entity implements {@link HasDbModificationCount}, no copy of the
+   * persistent state is made. Instead, the modification count is compared on flush.
+   */
+  protected boolean modificationTracking;
+
+  protected boolean isModificationCountCopied;
+
+  protected long modificationCount;
+
   protected DbEntityState entityState;
 
   /**
@@ -46,6 +57,7 @@ public class CachedDbEntity implements Recyclable {
     // clean out state
     dbEntity = null;
     copy = null;
+    isModificationCountCopied = false;
     entityState = null;
   }
 
@@ -54,16 +66,27 @@ public class CachedDbEntity implements Recyclable {
    * @return true if the entity is dirty (state has changed since it was put into the cache)
    */
   public boolean isDirty() {
+    if (isModificationCountCopied) {
+      return ((HasDbModificationCount) dbEntity).getModificationCount() != modificationCount;
+    }
     return !dbEntity.getPersistentState().equals(copy);
   }
 
   public void forceSetDirty() {
     // set the value of the copy to some value which will always be different from the new entity state.
+    this.isModificationCountCopied = false;
     this.copy = -1;
   }
 
   public void makeCopy() {
-    copy = dbEntity.getPersistentState();
+    if (modificationTracking && dbEntity instanceof HasDbModificationCount) {
+      modificationCount = ((HasDbModificationCount) dbEntity).getModificationCount();
+      isModificationCountCopied = true;
+      copy = null;
+    }
+    else {
+      copy = dbEntity.getPersistentState();
+    }
   }
 
   public String toString() {
@@ -109,4 +132,12 @@ public class CachedDbEntity implements Recyclable {
     return dbEntity.getClass();
   }
 
+  public boolean isModificationTracking() {
+    return modificationTracking;
+  }
+
+  public void setModificationTracking(boolean modificationTracking) {
+    this.modificationTracking = modificationTracking;
+  }
+
 }
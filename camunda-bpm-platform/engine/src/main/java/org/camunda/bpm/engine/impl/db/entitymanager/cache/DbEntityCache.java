@@ -33,6 +33,7 @@ import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbModificationCount;
 
 
 /**
@@ -59,6 +60,12 @@ public class DbEntityCache {
 
   protected DbEntityCacheKeyMapping cacheKeyMapping;
 
+  /**
+   * If true, entities implementing {@link HasDbModificationCount} are checked for
+   * changes by their modification count instead of a copy of their persistent state.
+   */
+  protected boolean modificationTracking = false;
+
   public DbEntityCache() {
     this.cacheKeyMapping = DbEntityCacheKeyMapping.emptyMapping();
   }
@@ -151,7 +158,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putTransient(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(TRANSIENT);
     putInternal(cachedDbEntity);
@@ -163,7 +170,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putPersistent(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(PERSISTENT);
     cachedDbEntity.determineEntityReferences();
@@ -178,7 +185,7 @@ public class DbEntityCache {
    * @param e the object to put into the cache
    */
   public void putMerged(DbEntity e) {
-    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    CachedDbEntity cachedDbEntity = createCachedDbEntity();
     cachedDbEntity.setEntity(e);
     cachedDbEntity.setEntityState(MERGED);
     cachedDbEntity.determineEntityReferences();
@@ -187,6 +194,12 @@ public class DbEntityCache {
     putInternal(cachedDbEntity);
   }
 
+  protected CachedDbEntity createCachedDbEntity() {
+    CachedDbEntity cachedDbEntity = new CachedDbEntity();
+    cachedDbEntity.setModificationTracking(modificationTracking);
+    return cachedDbEntity;
+  }
+
   protected void putInternal(CachedDbEntity entityToAdd) {
     Class<? extends DbEntity> type = entityToAdd.getEntity().getClass();
     Class<?> cacheKey = cacheKeyMapping.getEntityCacheKey(type);
@@ -372,7 +385,7 @@ public class DbEntityCache {
       }
     } else {
       // put a deleted merged into the cache
-      CachedDbEntity cachedDbEntity = new CachedDbEntity();
+      CachedDbEntity cachedDbEntity = createCachedDbEntity();
       cachedDbEntity.setEntity(dbEntity);
       cachedDbEntity.setEntityState(DELETED_MERGED);
       putInternal(cachedDbEntity);
@@ -390,4 +403,12 @@ public class DbEntityCache {
     }
   }
 
+  public boolean isModificationTracking() {
+    return modificationTracking;
+  }
+
+  public void setModificationTracking(boolean modificationTracking) {
+    this.modificationTracking = modificationTracking;
+  }
+
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+
+/**
+ * <p>Process engine wide cache for entities of a configurable set of types which
+ * rarely change. It complements the {@link DbEntityCache} which only lives as long
+ * as a single command context.</p>
+ *
+ * <p>The cached types must implement {@link SharedDbEntity}. The cache keeps a
+ * {@link SharedDbEntity#copy() copy} of every loaded entity and hands out copies of it,
+ * so that every command context works on its own instance and changes of a command
+ * never leak into other commands. The cache is bounded by a maximum number of entries
+ * and evicts the least recently used ones.</p>
+ *
+ * <p>Entries are invalidated
+ * <ul>
+ *   <li>when a command of the engine changes a cached entity, e.g. suspends a process
+ *   definition, see {@link org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager#evictSharedCachedEntity(Class, String)},</li>
+ *   <li>when the engine flushes an update or delete of a cached entity, both before
+ *   the flush and after the transaction is committed,</li>
+ *   <li>when the engine flushes a bulk update or delete of a cached entity type, in which
+ *   case all entries of the type are evicted, and</li>
+ *   <li>when an entity with a different revision than the cached one is loaded from the
+ *   database, e.g. by a query, in which case the entry is replaced.</li>
+ * </ul>
+ * Entries are served without checking their revision against the database. Changes
+ * made by other process engines sharing the database are therefore only noticed by the
+ * last mechanism, or when an update of a stale entity fails with an optimistic locking
+ * exception. In a cluster, process definitions suspended or job definitions changed by
+ * another node are therefore only noticed once they are queried.</p>
+ *
+ * <p>An entity which was loaded before a concurrent transaction evicted it must not be
+ * put back into the cache, since it may be the stale state. Every command context
+ * therefore takes an {@link #getEvictionStamp() eviction stamp} before it loads
+ * entities, and {@link #put(DbEntity, long)} ignores entities whose id was evicted
+ * after the stamp was taken. Puts and evictions of the same id are serialized by
+ * a lock striped by id.</p>
+ */
+public class SharedDbEntityCache {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final int LOCK_STRIPES = 64;
+
+  protected Set<Class<? extends DbEntity>> entityTypes;
+  protected Cache<String, CachedEntry> cache;
+  protected MetricsRegistry metricsRegistry;
+
+  protected AtomicLong evictionCounter = new AtomicLong();
+  protected Object[] locks = new Object[LOCK_STRIPES];
+  /** the value of the eviction counter at the last eviction of an id of the stripe */
+  protected long[] lastEvictions = new long[LOCK_STRIPES];
+
+  public SharedDbEntityCache(int capacity, Collection<Class<? extends DbEntity>> entityTypes) {
+    for (Class<? extends DbEntity> entityType : entityTypes) {
+      if (!SharedDbEntity.class.isAssignableFrom(entityType)) {
+        throw LOG.sharedEntityCacheTypeNotSupportedException(entityType);
+      }
+    }
+
+    this.entityTypes = new HashSet<Class<? extends DbEntity>>(entityTypes);
+    this.cache = new ConcurrentLruCache<String, CachedEntry>(capacity);
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  public boolean isCached(Class<?> entityType) {
+    return entityTypes.contains(entityType);
+  }
+
+  /**
+   * @return a copy of the cached entity or null if the entity is not cached
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> T get(Class<T> entityType, String id) {
+    CachedEntry entry = cache.get(getKey(entityType, id));
+
+    if (entry != null) {
+      markOccurrence(Metrics.SHARED_ENTITY_CACHE_HIT);
+      return (T) entry.entity.copy();
+    }
+
+    markOccurrence(Metrics.SHARED_ENTITY_CACHE_MISS);
+    return null;
+  }
+
+  /**
+   * @return a stamp to take before entities are loaded from the database, see
+   *   {@link #put(DbEntity, long)}
+   */
+  public long getEvictionStamp() {
+    return evictionCounter.get();
+  }
+
+  /**
+   * Caches the state of an entity which was loaded from the database. An existing
+   * entry is only replaced if its revision differs. The entity is not cached if its id
+   * was evicted after the given stamp was taken, since it may have been loaded before
+   * the change which caused the eviction was committed.
+   */
+  public void put(DbEntity entity, long evictionStamp) {
+    if (!(entity instanceof SharedDbEntity) || !((SharedDbEntity) entity).isShareable()) {
+      return;
+    }
+
+    String key = getKey(entity.getClass(), entity.getId());
+    int revision = getRevision(entity);
+    int stripe = getStripe(key);
+
+    synchronized (locks[stripe]) {
+      if (lastEvictions[stripe] > evictionStamp) {
+        return;
+      }
+
+      CachedEntry entry = cache.get(key);
+      if (entry == null || entry.revision != revision) {
+        cache.put(key, new CachedEntry(revision, ((SharedDbEntity) entity).copy()));
+      }
+    }
+  }
+
+  public void evict(Class<?> entityType, String id) {
+    String key = getKey(entityType, id);
+    int stripe = getStripe(key);
+
+    synchronized (locks[stripe]) {
+      cache.remove(key);
+      lastEvictions[stripe] = evictionCounter.incrementAndGet();
+    }
+  }
+
+  /**
+   * Evicts all entries of cached types which are assignable to the given type.
+   */
+  public void evictAll(Class<?> entityType) {
+    for (Class<? extends DbEntity> cachedType : entityTypes) {
+      if (entityType.isAssignableFrom(cachedType)) {
+        evictAllStripes();
+
+        String keyPrefix = getKey(cachedType, "");
+        for (String key : cache.keySet()) {
+          if (key.startsWith(keyPrefix)) {
+            cache.remove(key);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Prevents all entities loaded before from being put into the cache.
+   */
+  protected void evictAllStripes() {
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      synchronized (locks[i]) {
+        lastEvictions[i] = evictionCounter.incrementAndGet();
+      }
+    }
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  public Set<Class<? extends DbEntity>> getEntityTypes() {
+    return entityTypes;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  protected void markOccurrence(String name) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(name);
+    }
+  }
+
+  protected int getStripe(String key) {
+    return Math.floorMod(key.hashCode(), LOCK_STRIPES);
+  }
+
+  protected String getKey(Class<?> entityType, String id) {
+    return entityType.getName() + "#" + id;
+  }
+
+  protected int getRevision(DbEntity entity) {
+    if (entity instanceof HasDbRevision) {
+      return ((HasDbRevision) entity).getRevision();
+    }
+    return 0;
+  }
+
+  protected static class CachedEntry {
+
+    protected final int revision;
+    protected final SharedDbEntity entity;
+
+    public CachedEntry(int revision, SharedDbEntity entity) {
+      this.revision = revision;
+      this.entity = entity;
+    }
+  }
+
+}
@@ -22,23 +22,34 @@ import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.apache.ibatis.executor.BatchExecutorException;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.session.ExecutorType;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.FlushResult;
+import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * For mybatis {@link ExecutorType#BATCH}
@@ -55,6 +66,10 @@ public class BatchDbSqlSession extends DbSqlSession {
 
   @Override
   public FlushResult executeDbOperations(List<DbOperation> operations) {
+    if (dbSqlSessionFactory.isJdbcBatchReordering()) {
+      operations = groupOperationsBySql(operations);
+    }
+
     for (DbOperation operation : operations) {
 
       try {
@@ -76,9 +91,120 @@ public class BatchDbSqlSession extends DbSqlSession {
       return postProcessBatchFailure(operations, e);
     }
 
+    if (dbSqlSessionFactory.isJdbcBatchMetrics()) {
+      reportBatchSizes(batchResults);
+    }
+
     return postProcessBatchSuccess(operations, batchResults);
   }
 
+  /**
+   * <p>MyBatis only adds a statement to the current JDBC batch if it has the same SQL as
+   * the previous statement. Statements with dynamic SQL, like the updates of history events,
+   * produce different SQL depending on the entity, so that consecutive operations on the same
+   * entity type may end up in many small batches.</p>
+   *
+   * <p>This method reorders each run of consecutive INSERTs, UPDATEs or DELETEs of the same
+   * entity type such that operations with the same SQL follow each other. Operations are never
+   * moved out of their run, so the order between entity types determined by the
+   * {@link org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager} is kept.
+   * Bulk operations, entity types with references to entities of the same type and runs
+   * which contain several operations on the same entity are not reordered.</p>
+   */
+  protected List<DbOperation> groupOperationsBySql(List<DbOperation> operations) {
+    List<DbOperation> groupedOperations = new ArrayList<>(operations.size());
+
+    int runStart = 0;
+    for (int i = 1; i <= operations.size(); i++) {
+      if (i == operations.size() || !isSameRun(operations.get(runStart), operations.get(i))) {
+        addGroupedBySql(operations.subList(runStart, i), groupedOperations);
+        runStart = i;
+      }
+    }
+
+    return groupedOperations;
+  }
+
+  protected boolean isSameRun(DbOperation runStart, DbOperation operation) {
+    return runStart instanceof DbEntityOperation
+        && operation instanceof DbEntityOperation
+        && runStart.getOperationType() == operation.getOperationType()
+        && runStart.getEntityType() == operation.getEntityType()
+        && !HasDbReferences.class.isAssignableFrom(operation.getEntityType());
+  }
+
+  protected void addGroupedBySql(List<DbOperation> run, List<DbOperation> groupedOperations) {
+    MappedStatement mappedStatement = null;
+    if (run.size() > 1) {
+      mappedStatement = getMappedStatement((DbEntityOperation) run.get(0));
+    }
+
+    if (mappedStatement == null || !(mappedStatement.getSqlSource() instanceof DynamicSqlSource)) {
+      // all operations of the run have the same SQL
+      groupedOperations.addAll(run);
+      return;
+    }
+
+    Map<String, List<DbOperation>> operationsBySql = new LinkedHashMap<>();
+    Set<String> entityIds = new HashSet<>();
+    for (DbOperation operation : run) {
+      DbEntity entity = ((DbEntityOperation) operation).getEntity();
+      if (!entityIds.add(entity.getId())) {
+        // history events may update the same row several times, the order of these updates matters
+        groupedOperations.addAll(run);
+        return;
+      }
+      String sql = mappedStatement.getBoundSql(entity).getSql();
+      operationsBySql.computeIfAbsent(sql, key -> new ArrayList<>()).add(operation);
+    }
+
+    for (List<DbOperation> operationsWithSameSql : operationsBySql.values()) {
+      groupedOperations.addAll(operationsWithSameSql);
+    }
+  }
+
+  protected MappedStatement getMappedStatement(DbEntityOperation operation) {
+    String statement;
+    switch (operation.getOperationType()) {
+      case INSERT:
+        statement = dbSqlSessionFactory.getInsertStatement(operation.getEntity());
+        break;
+      case UPDATE:
+        statement = dbSqlSessionFactory.getUpdateStatement(operation.getEntity());
+        break;
+      case DELETE:
+        statement = dbSqlSessionFactory.getDeleteStatement(operation.getEntityType());
+        break;
+      default:
+        return null;
+    }
+
+    String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
+    org.apache.ibatis.session.Configuration configuration = sqlSession.getConfiguration();
+    if (!configuration.hasStatement(mappedStatement)) {
+      return null;
+    }
+    return configuration.getMappedStatement(mappedStatement);
+  }
+
+  protected void reportBatchSizes(List<BatchResult> batchResults) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (batchResults.isEmpty() || processEngineConfiguration == null || !processEngineConfiguration.isMetricsEnabled()) {
+      return;
+    }
+
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (metricsRegistry != null) {
+      long batchedStatements = 0;
+      for (BatchResult batchResult : batchResults) {
+        batchedStatements += batchResult.getUpdateCounts().length;
+      }
+
+      metricsRegistry.markOccurrence(Metrics.JDBC_BATCHES, batchResults.size());
+      metricsRegistry.markOccurrence(Metrics.JDBC_BATCHED_STATEMENTS, batchedStatements);
+    }
+  }
+
   protected FlushResult postProcessBatchSuccess(List<DbOperation> operations, List<BatchResult> batchResults) {
     Iterator<DbOperation> operationsIt = operations.iterator();
     List<DbOperation> failedOperations = new ArrayList<>();
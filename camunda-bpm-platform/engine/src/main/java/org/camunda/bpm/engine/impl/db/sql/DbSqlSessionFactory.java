@@ -298,6 +298,8 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(postgresLikeDatabase, "updateByteArray", "updateByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArray", "selectByteArray_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectByteArrays", "selectByteArrays_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "insertHistoryOutbox", "insertHistoryOutbox_postgres");
+      addDatabaseSpecificStatement(postgresLikeDatabase, "selectHistoryOutboxEntries", "selectHistoryOutboxEntries_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceName", "selectResourceByDeploymentIdAndResourceName_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceNames", "selectResourceByDeploymentIdAndResourceNames_postgres");
       addDatabaseSpecificStatement(postgresLikeDatabase, "selectResourceByDeploymentIdAndResourceId", "selectResourceByDeploymentIdAndResourceId_postgres");
@@ -354,6 +356,9 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDaysComparator.put(POSTGRES, "EXTRACT (DAY FROM #{currentTimestamp} - ${date}) >= ${days}");
     databaseSpecificNumericCast.put(POSTGRES, "");
 
+    addDatabaseSpecificStatement(POSTGRES, "selectHistoryTablePartitions", "selectHistoryTablePartitions_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "dropHistoryTablePartition", "dropHistoryTablePartition_postgres");
+
     // cockroachdb
     // CRDB doesn't currently support DAY extraction from intervals. The following is a workaround:
     databaseSpecificDaysComparator.put(CRDB, "CAST( EXTRACT (HOUR FROM #{currentTimestamp} - ${date}) / 24 AS INT ) >= ${days}");
@@ -424,6 +429,8 @@ public class DbSqlSessionFactory implements SessionFactory {
     addDatabaseSpecificStatement(ORACLE, "deleteByteArraysByRemovalTime", "deleteByteArraysByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteHistoricBatchesByRemovalTime", "deleteHistoricBatchesByRemovalTime_oracle");
     addDatabaseSpecificStatement(ORACLE, "deleteAuthorizationsByRemovalTime", "deleteAuthorizationsByRemovalTime_oracle");
+    addDatabaseSpecificStatement(ORACLE, "selectHistoryTablePartitions", "selectHistoryTablePartitions_oracle");
+    addDatabaseSpecificStatement(ORACLE, "dropHistoryTablePartition", "dropHistoryTablePartition_oracle");
 
     constants = new HashMap<>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -617,6 +624,8 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected boolean dmnEnabled = true;
 
   protected boolean jdbcBatchProcessing;
+  protected boolean jdbcBatchReordering;
+  protected boolean jdbcBatchMetrics;
 
   public DbSqlSessionFactory(boolean jdbcBatchProcessing) {
     this.jdbcBatchProcessing = jdbcBatchProcessing;
@@ -796,6 +805,22 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.dmnEnabled = dmnEnabled;
   }
 
+  public boolean isJdbcBatchReordering() {
+    return jdbcBatchReordering;
+  }
+
+  public void setJdbcBatchReordering(boolean jdbcBatchReordering) {
+    this.jdbcBatchReordering = jdbcBatchReordering;
+  }
+
+  public boolean isJdbcBatchMetrics() {
+    return jdbcBatchMetrics;
+  }
+
+  public void setJdbcBatchMetrics(boolean jdbcBatchMetrics) {
+    this.jdbcBatchMetrics = jdbcBatchMetrics;
+  }
+
   public void setDatabaseTablePrefix(String databaseTablePrefix) {
     this.databaseTablePrefix = databaseTablePrefix;
   }
@@ -28,10 +28,12 @@ public abstract class ClassDelegate {
 
   protected String className;
   protected List<FieldDeclaration> fieldDeclarations;
+  protected ClassDelegateFactory delegateFactory;
 
   public ClassDelegate(String className, List<FieldDeclaration> fieldDeclarations) {
     this.className = className;
     this.fieldDeclarations = fieldDeclarations;
+    this.delegateFactory = new ClassDelegateFactory(className, fieldDeclarations);
   }
 
   public ClassDelegate(Class<?> clazz, List<FieldDeclaration> fieldDeclarations) {
@@ -46,4 +48,8 @@ public abstract class ClassDelegate {
     return fieldDeclarations;
   }
 
+  public ClassDelegateFactory getDelegateFactory() {
+    return delegateFactory;
+  }
+
 }
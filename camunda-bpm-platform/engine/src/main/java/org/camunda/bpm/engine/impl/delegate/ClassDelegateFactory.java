@@ -0,0 +1,157 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.delegate;
+
+import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.applyFieldDeclaration;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ArtifactFactory;
+import org.camunda.bpm.engine.delegate.StatelessDelegate;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.parser.FieldDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+import org.camunda.bpm.engine.impl.util.EngineUtilLogger;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+
+/**
+ * <p>Creates the instances of a class delegate. Class delegates are part of the parsed
+ * process definition, so there is a factory per process definition and delegate.</p>
+ *
+ * <p>The delegate class is loaded once and cached together with the class loaders it was
+ * loaded with: the class loader of the process engine configuration and the context class
+ * loader, which is the class loader of the process application if the invocation is
+ * performed within one. The class is loaded again if an invocation is performed with other
+ * class loaders, e.g. after a process application has been redeployed.</p>
+ *
+ * <p>A delegate class which is annotated with {@link StatelessDelegate} is instantiated
+ * once per loaded class and the instance is reused, including its injected fields. With
+ * {@link ProcessEngineConfigurationImpl#isClassDelegateInstanceReuseEnabled()}, this
+ * applies to all delegate classes.</p>
+ */
+public class ClassDelegateFactory {
+
+  protected static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  protected final String className;
+  protected final List<FieldDeclaration> fieldDeclarations;
+
+  protected volatile ResolvedDelegateClass resolvedClass;
+
+  public ClassDelegateFactory(String className, List<FieldDeclaration> fieldDeclarations) {
+    this.className = className;
+    this.fieldDeclarations = fieldDeclarations;
+  }
+
+  /**
+   * @return an instance of the delegate class with the field declarations applied
+   */
+  public Object getDelegateInstance() {
+    ResolvedDelegateClass resolvedClass;
+    try {
+      resolvedClass = resolveClass();
+    }
+    catch (Exception e) {
+      throw LOG.exceptionWhileInstantiatingClass(className, e);
+    }
+
+    if (resolvedClass.isStateless) {
+      Object instance = resolvedClass.instance;
+      if (instance == null) {
+        synchronized (resolvedClass) {
+          instance = resolvedClass.instance;
+          if (instance == null) {
+            instance = newInstance(resolvedClass.delegateClass);
+            resolvedClass.instance = instance;
+          }
+        }
+      }
+      return instance;
+
+    } else {
+      return newInstance(resolvedClass.delegateClass);
+    }
+  }
+
+  /**
+   * Loads the delegate class with the current class loaders unless it has been loaded with
+   * them before.
+   *
+   * @throws org.camunda.bpm.engine.ClassLoadingException if the class cannot be loaded
+   */
+  public Class<?> getDelegateClass() {
+    return resolveClass().delegateClass;
+  }
+
+  protected ResolvedDelegateClass resolveClass() {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+    ClassLoader customClassLoader = configuration.getClassLoader();
+    ClassLoader contextClassLoader = ClassLoaderUtil.getContextClassloader();
+
+    ResolvedDelegateClass resolvedClass = this.resolvedClass;
+    if (resolvedClass == null
+        || resolvedClass.customClassLoader != customClassLoader
+        || resolvedClass.contextClassLoader != contextClassLoader) {
+
+      Class<?> delegateClass = ReflectUtil.loadClass(className);
+      boolean isStateless = configuration.isClassDelegateInstanceReuseEnabled()
+          || delegateClass.isAnnotationPresent(StatelessDelegate.class);
+
+      resolvedClass = new ResolvedDelegateClass(delegateClass, customClassLoader, contextClassLoader, isStateless);
+      this.resolvedClass = resolvedClass;
+    }
+
+    return resolvedClass;
+  }
+
+  protected Object newInstance(Class<?> delegateClass) {
+    ArtifactFactory artifactFactory = Context.getProcessEngineConfiguration().getArtifactFactory();
+
+    try {
+      Object instance = artifactFactory.getArtifact(delegateClass);
+      applyFieldDeclaration(fieldDeclarations, instance);
+      return instance;
+    }
+    catch (Exception e) {
+      throw LOG.exceptionWhileInstantiatingClass(className, e);
+    }
+  }
+
+  public String getClassName() {
+    return className;
+  }
+
+  protected static class ResolvedDelegateClass {
+
+    protected final Class<?> delegateClass;
+    protected final ClassLoader customClassLoader;
+    protected final ClassLoader contextClassLoader;
+    protected final boolean isStateless;
+
+    protected volatile Object instance;
+
+    public ResolvedDelegateClass(Class<?> delegateClass, ClassLoader customClassLoader, ClassLoader contextClassLoader, boolean isStateless) {
+      this.delegateClass = delegateClass;
+      this.customClassLoader = customClassLoader;
+      this.contextClassLoader = contextClassLoader;
+      this.isStateless = isStateless;
+    }
+  }
+
+}
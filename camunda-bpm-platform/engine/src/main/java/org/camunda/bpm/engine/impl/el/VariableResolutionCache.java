@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.el;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.ContextLogger;
+
+/**
+ * Memoizes the variables resolved by the {@link VariableScopeElResolver} while an
+ * atomic operation is executed, so that the expressions evaluated by one operation,
+ * e.g. the conditions of the outgoing sequence flows of a gateway, look up a variable
+ * in the hierarchy of variable scopes only once.
+ *
+ * The cache is opened for the outermost atomic operation of a command context and
+ * cleared when that operation completes. Every variable write clears the cache,
+ * including variables added to or removed from a {@link org.camunda.bpm.engine.impl.core.variable.scope.VariableStore}
+ * without a lifecycle event, e.g. when executions are expanded or compacted.
+ */
+public class VariableResolutionCache {
+
+  protected static final ContextLogger LOG = ProcessEngineLogger.CONTEXT_LOGGER;
+
+  /**
+   * Marks a variable which is not defined in the variable scope.
+   */
+  public static final Object UNDEFINED = new Object();
+
+  protected Map<VariableScope, Map<String, Object>> resolvedVariables = new IdentityHashMap<VariableScope, Map<String, Object>>();
+  protected int depth = 0;
+  protected int hits = 0;
+  protected int misses = 0;
+
+  public void open() {
+    depth++;
+  }
+
+  public void close() {
+    depth--;
+    if (depth == 0) {
+      resolvedVariables.clear();
+      if (hits + misses > 0) {
+        LOG.debugVariableResolutionCacheStatistics(hits, misses);
+      }
+      hits = 0;
+      misses = 0;
+    }
+  }
+
+  public boolean isOpen() {
+    return depth > 0;
+  }
+
+  /**
+   * @return the value of the variable, or {@link #UNDEFINED} if the variable
+   * is not defined in the variable scope or any of its parents
+   */
+  public Object resolve(VariableScope variableScope, String variableName) {
+    Map<String, Object> variables = resolvedVariables.get(variableScope);
+    if (variables == null) {
+      variables = new HashMap<String, Object>();
+      resolvedVariables.put(variableScope, variables);
+    }
+    else if (variables.containsKey(variableName)) {
+      hits++;
+      return variables.get(variableName);
+    }
+
+    misses++;
+    Object value = variableScope.hasVariable(variableName) ? variableScope.getVariable(variableName) : UNDEFINED;
+    variables.put(variableName, value);
+    return value;
+  }
+
+  public void invalidate() {
+    resolvedVariables.clear();
+  }
+
+  public int getHits() {
+    return hits;
+  }
+
+  public int getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the cache of the current command context if it is opened, <code>null</code> otherwise
+   */
+  public static VariableResolutionCache getCurrent() {
+    VariableResolutionCache cache = getCommandContextCache();
+    if (cache != null && cache.isOpen()) {
+      return cache;
+    }
+    return null;
+  }
+
+  /**
+   * Opens the cache of the current command context.
+   *
+   * @return the opened cache which must be closed by the caller,
+   * or <code>null</code> if the cache is disabled
+   */
+  public static VariableResolutionCache openCurrent() {
+    VariableResolutionCache cache = getCommandContextCache();
+    if (cache != null) {
+      cache.open();
+    }
+    return cache;
+  }
+
+  /**
+   * Clears the cache of the current command context after a variable write.
+   */
+  public static void invalidateCurrent() {
+    VariableResolutionCache cache = getCommandContextCache();
+    if (cache != null) {
+      cache.invalidate();
+    }
+  }
+
+  protected static VariableResolutionCache getCommandContextCache() {
+    CommandContext commandContext = Context.getCommandContext();
+    return commandContext != null ? commandContext.getVariableResolutionCache() : null;
+  }
+
+}
@@ -65,7 +65,15 @@ public class VariableScopeElResolver extends ELResolver {
           context.setPropertyResolved(true);
           return Context.getCommandContext().getAuthenticatedUserId();
         } else {
-          if (variableScope.hasVariable(variable)) {
+          VariableResolutionCache variableResolutionCache = VariableResolutionCache.getCurrent();
+          if (variableResolutionCache != null) {
+            Object value = variableResolutionCache.resolve(variableScope, variable);
+            if (value != VariableResolutionCache.UNDEFINED) {
+              context.setPropertyResolved(true);
+              return value;
+            }
+          }
+          else if (variableScope.hasVariable(variable)) {
             context.setPropertyResolved(true); // if not set, the next elResolver in the CompositeElResolver will be called
             return variableScope.getVariable(variable);
           }
@@ -0,0 +1,51 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dispatches the notification to all registered {@link ExternalTaskAvailableListener}s.
+ */
+public class CompositeExternalTaskAvailableListener implements ExternalTaskAvailableListener {
+
+  protected CopyOnWriteArrayList<ExternalTaskAvailableListener> listeners = new CopyOnWriteArrayList<>();
+
+  public void addListener(ExternalTaskAvailableListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(ExternalTaskAvailableListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public void externalTasksAvailable(String processEngineName, Set<String> topicNames) {
+    for (ExternalTaskAvailableListener listener : listeners) {
+      listener.externalTasksAvailable(processEngineName, topicNames);
+    }
+  }
+
+  @Override
+  public void externalTasksReleased(String processEngineName, Set<String> externalTaskIds) {
+    for (ExternalTaskAvailableListener listener : listeners) {
+      listener.externalTasksReleased(processEngineName, externalTaskIds);
+    }
+  }
+
+}
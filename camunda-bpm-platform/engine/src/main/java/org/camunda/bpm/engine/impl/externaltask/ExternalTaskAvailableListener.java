@@ -0,0 +1,47 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.Set;
+
+/**
+ * Is notified after a transaction which created, unlocked or released external tasks has been committed.
+ * Listeners are registered with {@link org.camunda.bpm.engine.impl.ProcessEngineImpl#EXT_TASK_AVAILABLE_LISTENERS}.
+ */
+public interface ExternalTaskAvailableListener {
+
+  /**
+   * Called on the thread which committed the transaction, so implementations
+   * must return quickly.
+   *
+   * @param processEngineName the name of the process engine that committed the transaction
+   * @param topicNames the topics of the external tasks that became available; contains
+   *          <code>null</code> if tasks of unknown topics became available
+   */
+  void externalTasksAvailable(String processEngineName, Set<String> topicNames);
+
+  /**
+   * Called on the thread which committed a transaction that completed, failed, unlocked or
+   * deleted locked external tasks, so that their workers can take new tasks.
+   *
+   * @param processEngineName the name of the process engine that committed the transaction
+   * @param externalTaskIds the ids of the external tasks that are no longer locked by their worker
+   */
+  default void externalTasksReleased(String processEngineName, Set<String> externalTaskIds) {
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureGreaterThanOrEqual;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkResult;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.CompleteExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.ExtendLockOnExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTaskFailureCmd;
+import org.camunda.bpm.engine.impl.cmd.HandleExternalTasksCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+
+public class ExternalTaskBulkBuilderImpl implements ExternalTaskBulkBuilder {
+
+  private final static ExternalTaskLogger LOG = ProcessEngineLogger.EXTERNAL_TASK_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected String workerId;
+
+  protected List<HandleExternalTaskCmd> operations = new ArrayList<>();
+  protected int chunkSize;
+
+  public ExternalTaskBulkBuilderImpl(CommandExecutor commandExecutor, String workerId, int defaultChunkSize) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    ensureNotNull("workerId", workerId);
+    ensureGreaterThanOrEqual("defaultChunkSize", defaultChunkSize, 1);
+    this.commandExecutor = commandExecutor;
+    this.workerId = workerId;
+    this.chunkSize = defaultChunkSize;
+  }
+
+  @Override
+  public ExternalTaskBulkBuilder complete(String externalTaskId) {
+    return complete(externalTaskId, null, null);
+  }
+
+  @Override
+  public ExternalTaskBulkBuilder complete(String externalTaskId, Map<String, Object> variables, Map<String, Object> localVariables) {
+    ensureNotNull("externalTaskId", externalTaskId);
+    operations.add(new CompleteExternalTaskCmd(externalTaskId, workerId, variables, localVariables));
+    return this;
+  }
+
+  @Override
+  public ExternalTaskBulkBuilder extendLock(String externalTaskId, long newLockDuration) {
+    ensureNotNull("externalTaskId", externalTaskId);
+    operations.add(new ExtendLockOnExternalTaskCmd(externalTaskId, workerId, newLockDuration));
+    return this;
+  }
+
+  @Override
+  public ExternalTaskBulkBuilder handleFailure(String externalTaskId, String errorMessage, String errorDetails, int retries, long retryTimeout) {
+    ensureNotNull("externalTaskId", externalTaskId);
+    operations.add(new HandleExternalTaskFailureCmd(externalTaskId, workerId, errorMessage, errorDetails, retries, retryTimeout));
+    return this;
+  }
+
+  @Override
+  public ExternalTaskBulkBuilder chunkSize(int chunkSize) {
+    ensureGreaterThanOrEqual("chunkSize", chunkSize, 1);
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  @Override
+  public List<ExternalTaskBulkResult> execute() {
+    List<ExternalTaskBulkResult> results = new ArrayList<>(operations.size());
+
+    for (int from = 0; from < operations.size(); from += chunkSize) {
+      List<HandleExternalTaskCmd> chunk = operations.subList(from, Math.min(from + chunkSize, operations.size()));
+      results.addAll(executeChunk(chunk));
+    }
+
+    return results;
+  }
+
+  protected List<ExternalTaskBulkResultImpl> executeChunk(List<HandleExternalTaskCmd> chunk) {
+    try {
+      return commandExecutor.execute(new HandleExternalTasksCmd(chunk));
+
+    } catch (RuntimeException e) {
+      if (chunk.size() == 1) {
+        HandleExternalTaskCmd operation = chunk.get(0);
+        return Collections.singletonList(ExternalTaskBulkResultImpl.failure(operation.getExternalTaskId(), e.getMessage()));
+      }
+
+      LOG.debugBulkChunkFailed(chunk.size(), e);
+
+      List<ExternalTaskBulkResultImpl> results = new ArrayList<>(chunk.size());
+      for (HandleExternalTaskCmd operation : chunk) {
+        results.addAll(executeChunk(Collections.singletonList(operation)));
+      }
+      return results;
+    }
+  }
+
+}
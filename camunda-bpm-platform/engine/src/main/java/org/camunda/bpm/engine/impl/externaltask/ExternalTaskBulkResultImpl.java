@@ -0,0 +1,66 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkResult;
+
+public class ExternalTaskBulkResultImpl implements ExternalTaskBulkResult {
+
+  protected String externalTaskId;
+  protected boolean successful;
+  protected String errorMessage;
+
+  public static ExternalTaskBulkResultImpl success(String externalTaskId) {
+    ExternalTaskBulkResultImpl result = new ExternalTaskBulkResultImpl();
+    result.externalTaskId = externalTaskId;
+    result.successful = true;
+    return result;
+  }
+
+  public static ExternalTaskBulkResultImpl failure(String externalTaskId, String errorMessage) {
+    ExternalTaskBulkResultImpl result = new ExternalTaskBulkResultImpl();
+    result.externalTaskId = externalTaskId;
+    result.successful = false;
+    result.errorMessage = errorMessage;
+    return result;
+  }
+
+  @Override
+  public String getExternalTaskId() {
+    return externalTaskId;
+  }
+
+  @Override
+  public boolean isSuccessful() {
+    return successful;
+  }
+
+  @Override
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "ExternalTaskBulkResultImpl ["
+        + "externalTaskId=" + externalTaskId
+        + ", successful=" + successful
+        + ", errorMessage=" + errorMessage
+        + "]";
+  }
+
+}
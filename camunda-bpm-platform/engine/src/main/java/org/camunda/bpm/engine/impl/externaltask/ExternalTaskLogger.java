@@ -40,4 +40,18 @@ public class ExternalTaskLogger extends ProcessEngineLogger {
         "Could not determine priority for external task created in context of execution {}. Using default priority {}",
         execution, value, e);
   }
+
+  public ProcessEngineException exceptionBulkOperationsOnSameExternalTask(String externalTaskId) {
+    return new ProcessEngineException(exceptionMessage(
+        "002",
+        "Cannot handle external task '{}' more than once in the same transaction",
+        externalTaskId));
+  }
+
+  public void debugBulkChunkFailed(int chunkSize, RuntimeException e) {
+    logDebug(
+        "003",
+        "Handling a chunk of {} external tasks failed, handling the tasks one by one: {}",
+        chunkSize, e.getMessage());
+  }
 }
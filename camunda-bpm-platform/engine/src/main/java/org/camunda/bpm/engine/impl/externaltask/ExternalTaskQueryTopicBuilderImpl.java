@@ -151,4 +151,14 @@ public class ExternalTaskQueryTopicBuilderImpl implements ExternalTaskQueryTopic
     return this;
   }
 
+  public ExternalTaskQueryTopicBuilder weight(int weight) {
+    currentInstruction.setWeight(weight);
+    return this;
+  }
+
+  public ExternalTaskQueryTopicBuilder maxTasks(int maxTasks) {
+    currentInstruction.setMaxTasks(maxTasks);
+    return this;
+  }
+
 }
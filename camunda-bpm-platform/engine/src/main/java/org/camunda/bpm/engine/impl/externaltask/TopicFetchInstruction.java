@@ -51,12 +51,43 @@ public class TopicFetchInstruction implements Serializable {
   protected boolean localVariables = false;
   protected boolean includeExtensionProperties = false;
 
+  /**
+   * The weight of the topic in a weighted-fair fetch; <code>null</code> means 1.
+   */
+  protected Integer weight;
+  /**
+   * The maximum number of tasks fetched for the topic; <code>null</code> means unlimited.
+   */
+  protected Integer maxTasks;
+
   public TopicFetchInstruction(String topicName, long lockDuration) {
     this.topicName = topicName;
     this.lockDuration = lockDuration;
     this.filterVariables = new ArrayList<QueryVariableValue>();
   }
 
+  /**
+   * @return a copy of this instruction that only fetches tasks of the given tenant
+   */
+  public TopicFetchInstruction forTenant(String tenantId) {
+    TopicFetchInstruction instruction = new TopicFetchInstruction(topicName, lockDuration);
+    instruction.businessKey = businessKey;
+    instruction.processDefinitionId = processDefinitionId;
+    instruction.processDefinitionIds = processDefinitionIds;
+    instruction.processDefinitionKey = processDefinitionKey;
+    instruction.processDefinitionKeys = processDefinitionKeys;
+    instruction.processDefinitionVersionTag = processDefinitionVersionTag;
+    instruction.variablesToFetch = variablesToFetch;
+    instruction.filterVariables = filterVariables;
+    instruction.deserializeVariables = deserializeVariables;
+    instruction.localVariables = localVariables;
+    instruction.includeExtensionProperties = includeExtensionProperties;
+    instruction.weight = weight;
+    instruction.maxTasks = maxTasks;
+    instruction.setTenantIds(new String[] { tenantId });
+    return instruction;
+  }
+
   public List<String> getVariablesToFetch() {
     return variablesToFetch;
   }
@@ -190,4 +221,20 @@ public class TopicFetchInstruction implements Serializable {
     this.includeExtensionProperties = includeExtensionProperties;
   }
 
+  public Integer getWeight() {
+    return weight;
+  }
+
+  public void setWeight(Integer weight) {
+    this.weight = weight;
+  }
+
+  public Integer getMaxTasks() {
+    return maxTasks;
+  }
+
+  public void setMaxTasks(Integer maxTasks) {
+    this.maxTasks = maxTasks;
+  }
+
 }
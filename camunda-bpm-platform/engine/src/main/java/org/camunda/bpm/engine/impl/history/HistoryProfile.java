@@ -0,0 +1,134 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+
+/**
+ * <p>Narrows the history produced for the process definitions it is assigned to, on top of
+ * the {@link HistoryLevel} of the engine. A profile is assigned to a process definition either
+ * by the extension property {@value #EXTENSION_PROPERTY_NAME} of the process or by listing the
+ * process definition key in {@link #getProcessDefinitionKeys()}.
+ *
+ * <p>The activity decisions are made when the process definition is parsed: excluded activities
+ * get no history listeners and therefore never produce historic activity instances. Changes to
+ * a profile only affect process definitions parsed afterwards.
+ */
+public class HistoryProfile implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Name of the camunda extension property of a process which references a profile by name.
+   */
+  public static final String EXTENSION_PROPERTY_NAME = "historyProfile";
+
+  protected String name;
+
+  protected Set<String> processDefinitionKeys = new HashSet<>();
+
+  protected Set<String> excludedActivityIds = new HashSet<>();
+
+  protected Set<String> excludedActivityTypes = new HashSet<>();
+
+  protected String excludedVariableNamePattern;
+  protected Pattern excludedVariableNameRegex;
+
+  public HistoryProfile() {
+  }
+
+  public HistoryProfile(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return true if the historic activity instances of the given activity are produced
+   */
+  public boolean isActivityHistoryProduced(ActivityImpl activity) {
+    return !excludedActivityIds.contains(activity.getId())
+        && !excludedActivityTypes.contains(activity.getProperties().get(BpmnProperties.TYPE));
+  }
+
+  /**
+   * @return true if the history of variables with the given name is produced
+   */
+  public boolean isVariableHistoryProduced(String variableName) {
+    return excludedVariableNameRegex == null
+        || variableName == null
+        || !excludedVariableNameRegex.matcher(variableName).matches();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public HistoryProfile setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  public Set<String> getProcessDefinitionKeys() {
+    return processDefinitionKeys;
+  }
+
+  public HistoryProfile setProcessDefinitionKeys(Set<String> processDefinitionKeys) {
+    this.processDefinitionKeys = processDefinitionKeys;
+    return this;
+  }
+
+  public Set<String> getExcludedActivityIds() {
+    return excludedActivityIds;
+  }
+
+  public HistoryProfile setExcludedActivityIds(Set<String> excludedActivityIds) {
+    this.excludedActivityIds = excludedActivityIds;
+    return this;
+  }
+
+  /**
+   * @return the activity types, such as <code>exclusiveGateway</code> or <code>serviceTask</code>,
+   * for which no historic activity instances are produced
+   */
+  public Set<String> getExcludedActivityTypes() {
+    return excludedActivityTypes;
+  }
+
+  public HistoryProfile setExcludedActivityTypes(Set<String> excludedActivityTypes) {
+    this.excludedActivityTypes = excludedActivityTypes;
+    return this;
+  }
+
+  /**
+   * @return the regular expression matching the names of the variables for which no history is produced
+   */
+  public String getExcludedVariableNamePattern() {
+    return excludedVariableNamePattern;
+  }
+
+  public HistoryProfile setExcludedVariableNamePattern(String excludedVariableNamePattern) {
+    this.excludedVariableNamePattern = excludedVariableNamePattern;
+    this.excludedVariableNameRegex = excludedVariableNamePattern != null ? Pattern.compile(excludedVariableNamePattern) : null;
+    return this;
+  }
+
+}
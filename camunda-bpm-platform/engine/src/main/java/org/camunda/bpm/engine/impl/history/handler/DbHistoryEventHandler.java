@@ -26,9 +26,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
-import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEntity;
-import org.camunda.bpm.engine.repository.ResourceTypes;
 
 /**
  * <p>History event handler that writes history events to the process engine
@@ -94,15 +92,11 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       // insert byte array entity (if applicable)
       byte[] byteValue = historyEvent.getByteValue();
       if(byteValue != null) {
-        ByteArrayEntity byteArrayEntity = new ByteArrayEntity(historyEvent.getVariableName(), byteValue, ResourceTypes.HISTORY);
-        byteArrayEntity.setRootProcessInstanceId(historyEvent.getRootProcessInstanceId());
-        byteArrayEntity.setRemovalTime(historyEvent.getRemovalTime());
-
-        Context
-        .getCommandContext()
-        .getByteArrayManager()
-        .insertByteArray(byteArrayEntity);
-        historyEvent.setByteArrayId(byteArrayEntity.getId());
+        String byteArrayId = Context
+          .getCommandContext()
+          .getByteArrayManager()
+          .insertHistoricVariableUpdateByteArray(historyEvent);
+        historyEvent.setByteArrayId(byteArrayId);
 
       }
       dbEntityManager.insert(historyEvent);
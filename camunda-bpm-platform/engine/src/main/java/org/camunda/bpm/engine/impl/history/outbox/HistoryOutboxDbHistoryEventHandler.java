@@ -0,0 +1,263 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_END;
+import static org.camunda.bpm.engine.ProcessEngineConfiguration.HISTORY_REMOVAL_TIME_STRATEGY_START;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricIncidentEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricJobLogEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntity;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * <p>Writes the history events of the history outbox to the history tables.</p>
+ *
+ * <p>Within one outbox entry, an event object which was updated by the transaction
+ * (e.g. an activity instance that was started and ended) is contained once per update,
+ * but in its latest state. It is handled once with the type it had when it was added
+ * first, which leads to the same inserts and updates as writing the history in the
+ * transaction itself.</p>
+ *
+ * <p>Events of different entries are separate objects though, and the update statements
+ * only write the columns affected by the respective event. Entries which update a historic
+ * instance that has already been written by the current command are therefore left for the
+ * next command, see {@link #isUpdatingCachedEntity(HistoryOutboxEntity)}.</p>
+ *
+ * <p>The removal time of an event is resolved from its root process instance or batch
+ * when the event is produced. If these have not been drained yet, the removal time is
+ * resolved when the event is drained instead, and the removal time of a root process
+ * instance or batch is added to its hierarchy once more when the root is drained, see
+ * {@link #addRemovalTimeToHierarchy(HistoryEvent, String)}.</p>
+ *
+ * <p>A {@link HistoryOutboxDeletionEvent} repeats the deletion of history which was
+ * written again by entries committed before the deletion.</p>
+ */
+public class HistoryOutboxDbHistoryEventHandler extends DbHistoryEventHandler {
+
+  /**
+   * @return true if the event is inserted into the history tables, false if it updates them
+   */
+  public boolean isInsert(HistoryEvent historyEvent) {
+    return historyEvent instanceof HistoricVariableUpdateEventEntity || isInitialEvent(historyEvent);
+  }
+
+  public void handleOutboxEntry(HistoryOutboxEntity outboxEntry) {
+    List<HistoryEvent> historyEvents = outboxEntry.getEvents();
+    List<String> eventTypes = outboxEntry.getEventTypes();
+
+    Set<HistoryEvent> handledEvents = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (int i = 0; i < historyEvents.size(); i++) {
+      HistoryEvent historyEvent = historyEvents.get(i);
+
+      if (historyEvent instanceof HistoryOutboxDeletionEvent) {
+        handleDeletionEvent((HistoryOutboxDeletionEvent) historyEvent);
+
+      } else if (handledEvents.add(historyEvent)) {
+        String latestEventType = historyEvent.getEventType();
+
+        historyEvent.setEventType(eventTypes.get(i));
+        provideRemovalTime(historyEvent);
+        handleEvent(historyEvent);
+        historyEvent.setEventType(latestEventType);
+
+        addRemovalTimeToHierarchy(historyEvent, eventTypes.get(i));
+      }
+    }
+  }
+
+  protected void handleDeletionEvent(HistoryOutboxDeletionEvent deletionEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (!deletionEvent.getProcessInstanceIds().isEmpty()) {
+      commandContext.getHistoricProcessInstanceManager()
+        .deleteHistoricProcessInstanceByIds(deletionEvent.getProcessInstanceIds());
+    }
+
+    if (!deletionEvent.getCaseInstanceIds().isEmpty()) {
+      commandContext.getHistoricCaseInstanceManager()
+        .deleteHistoricCaseInstancesByIds(deletionEvent.getCaseInstanceIds());
+    }
+  }
+
+  protected void provideRemovalTime(HistoryEvent historyEvent) {
+    if (historyEvent.getRemovalTime() != null || isHistoryRemovalTimeStrategyNone()) {
+      return;
+    }
+
+    String rootProcessInstanceId = historyEvent.getRootProcessInstanceId();
+
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.getProcessInstanceId().equals(rootProcessInstanceId)) {
+      HistoricProcessInstanceEventEntity historicRootProcessInstance = (HistoricProcessInstanceEventEntity) historyEvent;
+      if (historicRootProcessInstance.getEndTime() != null && isHistoryRemovalTimeStrategyEnd()) {
+        historyEvent.setRemovalTime(calculateRemovalTime(historicRootProcessInstance));
+      }
+
+    } else if (rootProcessInstanceId != null) {
+      HistoricProcessInstanceEventEntity historicRootProcessInstance = getDbEntityManager()
+        .selectById(HistoricProcessInstanceEventEntity.class, rootProcessInstanceId);
+      if (historicRootProcessInstance != null) {
+        historyEvent.setRemovalTime(historicRootProcessInstance.getRemovalTime());
+      }
+
+    } else if (isHistoryRemovalTimeStrategyStart()) {
+      HistoricBatchEntity historicBatch = findHistoricBatch(historyEvent);
+      if (historicBatch != null) {
+        historyEvent.setRemovalTime(historicBatch.getRemovalTime());
+      }
+    }
+  }
+
+  protected HistoricBatchEntity findHistoricBatch(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (historyEvent instanceof HistoricJobLogEvent) {
+      String historicBatchId = ((HistoricJobLogEvent) historyEvent).getJobDefinitionConfiguration();
+      if (historicBatchId != null) {
+        return commandContext.getHistoricBatchManager().findHistoricBatchById(historicBatchId);
+      }
+
+    } else if (historyEvent instanceof HistoricIncidentEventEntity) {
+      String jobId = ((HistoricIncidentEventEntity) historyEvent).getConfiguration();
+      if (jobId != null) {
+        return commandContext.getHistoricBatchManager().findHistoricBatchByJobId(jobId);
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Adds the removal time of a root process instance or batch to the history written
+   * before the root was drained, once per removal time strategy: when the root is started
+   * for the start strategy and when it is ended for the end strategy.
+   */
+  protected void addRemovalTimeToHierarchy(HistoryEvent historyEvent, String eventType) {
+    Date removalTime = historyEvent.getRemovalTime();
+    if (removalTime == null) {
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.getProcessInstanceId().equals(historyEvent.getRootProcessInstanceId())
+        && isRemovalTimeProvided(eventType, HistoryEventTypes.PROCESS_INSTANCE_START, HistoryEventTypes.PROCESS_INSTANCE_END,
+            ((HistoricProcessInstanceEventEntity) historyEvent).getEndTime())) {
+
+      String rootProcessInstanceId = historyEvent.getRootProcessInstanceId();
+
+      commandContext.getHistoricProcessInstanceManager()
+        .addRemovalTimeToProcessInstancesByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+
+      if (getProcessEngineConfiguration().isDmnEnabled()) {
+        commandContext.getHistoricDecisionInstanceManager()
+          .addRemovalTimeToDecisionsByRootProcessInstanceId(rootProcessInstanceId, removalTime);
+      }
+
+    } else if (historyEvent instanceof HistoricBatchEntity
+        && isRemovalTimeProvided(eventType, HistoryEventTypes.BATCH_START, HistoryEventTypes.BATCH_END,
+            ((HistoricBatchEntity) historyEvent).getEndTime())) {
+
+      commandContext.getHistoricJobLogManager()
+        .addRemovalTimeToJobLogByBatchId(historyEvent.getId(), removalTime);
+
+      commandContext.getHistoricIncidentManager()
+        .addRemovalTimeToHistoricIncidentsByBatchId(historyEvent.getId(), removalTime);
+    }
+  }
+
+  protected boolean isRemovalTimeProvided(String eventType, HistoryEventTypes startEventType, HistoryEventTypes endEventType, Date endTime) {
+    boolean isStart = startEventType.getEventName().equals(eventType);
+    boolean isEnd = endEventType.getEventName().equals(eventType);
+
+    if (isHistoryRemovalTimeStrategyStart()) {
+      return isStart;
+
+    } else if (isHistoryRemovalTimeStrategyEnd()) {
+      // the root may be started and ended by the same transaction
+      return (isStart || isEnd) && endTime != null;
+
+    } else {
+      return false;
+    }
+  }
+
+  protected Date calculateRemovalTime(HistoricProcessInstanceEventEntity historicRootProcessInstance) {
+    ProcessDefinition processDefinition = getProcessEngineConfiguration()
+      .getDeploymentCache()
+      .findDeployedProcessDefinitionById(historicRootProcessInstance.getProcessDefinitionId());
+
+    return getProcessEngineConfiguration()
+      .getHistoryRemovalTimeProvider()
+      .calculateRemovalTime(historicRootProcessInstance, processDefinition);
+  }
+
+  protected boolean isHistoryRemovalTimeStrategyStart() {
+    return HISTORY_REMOVAL_TIME_STRATEGY_START.equals(getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+  }
+
+  protected boolean isHistoryRemovalTimeStrategyEnd() {
+    return HISTORY_REMOVAL_TIME_STRATEGY_END.equals(getProcessEngineConfiguration().getHistoryRemovalTimeStrategy());
+  }
+
+  protected boolean isHistoryRemovalTimeStrategyNone() {
+    return !isHistoryRemovalTimeStrategyStart() && !isHistoryRemovalTimeStrategyEnd();
+  }
+
+  protected ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
+    return Context.getProcessEngineConfiguration();
+  }
+
+  /**
+   * @return true if the entry updates a historic instance which has been written
+   * by the current command already
+   */
+  public boolean isUpdatingCachedEntity(HistoryOutboxEntity outboxEntry) {
+    for (HistoryEvent historyEvent : outboxEntry.getEvents()) {
+      if (historyEvent instanceof HistoricVariableUpdateEventEntity
+          || historyEvent instanceof HistoricDecisionEvaluationEvent
+          || historyEvent.getId() == null) {
+        continue;
+      }
+
+      if (getDbEntityManager().getCachedEntity(historyEvent.getClass(), historyEvent.getId()) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
+
+/**
+ * Marks the history of process and case instances as deleted. It is written to the
+ * history outbox when history is deleted, so that the deletion is repeated once the
+ * outbox entries committed before the deletion have been drained, see
+ * {@link HistoryOutboxManager#addDeletedProcessInstances(List)}.
+ */
+public class HistoryOutboxDeletionEvent extends HistoryEvent {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final String EVENT_TYPE = "delete-history";
+
+  protected List<String> processInstanceIds = new ArrayList<>();
+  protected List<String> caseInstanceIds = new ArrayList<>();
+
+  public HistoryOutboxDeletionEvent() {
+    eventType = EVENT_TYPE;
+  }
+
+  public List<String> getProcessInstanceIds() {
+    return processInstanceIds;
+  }
+
+  public List<String> getCaseInstanceIds() {
+    return caseInstanceIds;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[processInstanceIds=" + processInstanceIds
+        + ", caseInstanceIds=" + caseInstanceIds
+        + "]";
+  }
+
+}
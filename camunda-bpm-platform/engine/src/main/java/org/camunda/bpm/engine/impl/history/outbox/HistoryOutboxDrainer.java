@@ -0,0 +1,222 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.DrainHistoryOutboxCmd;
+import org.camunda.bpm.engine.impl.cmd.GetHistoryOutboxEventCountCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Writes the history events of the history outbox to the history tables in the background.</p>
+ *
+ * <p>The drainer runs at least once per {@link #maxLag}. While the outbox holds more than
+ * {@link #maxQueueDepth} events, the next run is scheduled right away instead. Committed
+ * transactions are never blocked, see {@link #eventsEnqueued(int)}.</p>
+ *
+ * <p>The queue depth is counted in the outbox table after every run, so that it includes
+ * the events which other process engines of a cluster added or drained. In between,
+ * the events added by this process engine are counted on top.</p>
+ *
+ * <p>Process engines of a cluster may drain the outbox concurrently, in this case the
+ * transaction of one of them is rolled back and it retries in its next run.</p>
+ */
+public class HistoryOutboxDrainer {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected MetricsRegistry metricsRegistry;
+  protected HistoryOutboxDbHistoryEventHandler historyEventHandler = new HistoryOutboxDbHistoryEventHandler();
+
+  protected long maxLag = 1000;
+  protected long maxQueueDepth = 10000;
+  protected int batchSize = 100;
+
+  protected final AtomicLong queueDepth = new AtomicLong();
+  protected final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+
+  private Timer timer;
+
+  public HistoryOutboxDrainer(CommandExecutor commandExecutor, MetricsRegistry metricsRegistry) {
+    this.commandExecutor = commandExecutor;
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  public synchronized void start() {
+    if (timer == null) {
+      timer = new Timer("Camunda History Outbox Drainer", true);
+      timer.schedule(new DrainTask(), maxLag, maxLag);
+    }
+  }
+
+  public void stop() {
+    Timer stoppedTimer;
+    synchronized (this) {
+      stoppedTimer = timer;
+      timer = null;
+    }
+
+    if (stoppedTimer != null) {
+      stoppedTimer.cancel();
+      // write the remaining events before the process engine is closed
+      drain();
+    }
+  }
+
+  public boolean isActive() {
+    return timer != null;
+  }
+
+  /**
+   * Writes the history events of the outbox to the history tables until the outbox is empty.
+   *
+   * @return the number of drained history events
+   */
+  public long drain() {
+    long drainedEvents = 0;
+
+    synchronized (this) {
+      isDrainScheduled.set(false);
+
+      try {
+        int drainedBatch;
+        do {
+          drainedBatch = commandExecutor.execute(new DrainHistoryOutboxCmd(batchSize, historyEventHandler));
+          drainedEvents += drainedBatch;
+
+          if (drainedBatch > 0) {
+            if (metricsRegistry != null) {
+              metricsRegistry.markOccurrence(Metrics.HISTORY_OUTBOX_DRAINED, drainedBatch);
+            }
+            decreaseQueueDepth(drainedBatch);
+          }
+        } while (drainedBatch > 0);
+
+      } catch (OptimisticLockingException e) {
+        LOG.historyOutboxConcurrentDrain(e);
+
+      } catch (Exception e) {
+        LOG.historyOutboxDrainFailure(e);
+
+      }
+
+      refreshQueueDepth();
+    }
+
+    return drainedEvents;
+  }
+
+  /**
+   * Called after a transaction which added history events to the outbox has been committed.
+   * It never blocks the committing thread: while the outbox holds more than {@link #maxQueueDepth}
+   * events, a run of the drainer is scheduled right away and the transaction proceeds.
+   */
+  public void eventsEnqueued(int eventCount) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(Metrics.HISTORY_OUTBOX_ENQUEUED, eventCount);
+    }
+
+    long depth = queueDepth.addAndGet(eventCount);
+    if (depth > maxQueueDepth && isDrainScheduled.compareAndSet(false, true)) {
+      LOG.historyOutboxBackpressure(depth, maxQueueDepth);
+      scheduleDrain();
+    }
+  }
+
+  protected synchronized void scheduleDrain() {
+    if (timer != null) {
+      timer.schedule(new DrainTask(), 0);
+    }
+  }
+
+  /**
+   * Counts the events in the outbox table, since other process engines may have added
+   * or drained events. Events which this process engine adds while they are counted
+   * are only counted by the next run.
+   */
+  protected void refreshQueueDepth() {
+    try {
+      queueDepth.set(commandExecutor.execute(new GetHistoryOutboxEventCountCmd()));
+
+    } catch (Exception e) {
+      LOG.historyOutboxDrainFailure(e);
+
+    }
+  }
+
+  protected void decreaseQueueDepth(final long drainedEvents) {
+    queueDepth.updateAndGet(depth -> Math.max(0, depth - drainedEvents));
+  }
+
+  /**
+   * @return the number of history events in the outbox as counted by the last run,
+   * plus the events which were added by this process engine since
+   */
+  public long getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  public long getMaxLag() {
+    return maxLag;
+  }
+
+  public void setMaxLag(long maxLag) {
+    this.maxLag = maxLag;
+  }
+
+  public long getMaxQueueDepth() {
+    return maxQueueDepth;
+  }
+
+  public void setMaxQueueDepth(long maxQueueDepth) {
+    this.maxQueueDepth = maxQueueDepth;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public HistoryOutboxDbHistoryEventHandler getHistoryEventHandler() {
+    return historyEventHandler;
+  }
+
+  public void setHistoryEventHandler(HistoryOutboxDbHistoryEventHandler historyEventHandler) {
+    this.historyEventHandler = historyEventHandler;
+  }
+
+  protected class DrainTask extends TimerTask {
+
+    public void run() {
+      drain();
+    }
+  }
+
+}
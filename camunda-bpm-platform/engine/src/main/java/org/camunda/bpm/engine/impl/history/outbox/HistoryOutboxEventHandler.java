@@ -0,0 +1,107 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.outbox;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>History event handler that writes the history events of a transaction as a single
+ * entry into the history outbox instead of writing them to the history tables. The
+ * {@link HistoryOutboxDrainer} writes them to the history tables asynchronously.</p>
+ *
+ * <p>Decision evaluation events are written to the history tables right away, since
+ * they are only ever inserted and hold typed values which are not serializable. The
+ * same applies to all events of commands which bypass the outbox, see
+ * {@link HistoryOutboxManager#bypassOutbox()}.</p>
+ */
+public class HistoryOutboxEventHandler implements HistoryEventHandler {
+
+  protected static final AtomicLong LAST_SEQUENCE = new AtomicLong();
+
+  protected HistoryOutboxDbHistoryEventHandler dbHistoryEventHandler = new HistoryOutboxDbHistoryEventHandler();
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    CommandContext commandContext = Context.getCommandContext();
+    HistoryOutboxManager outboxManager = commandContext.getHistoryOutboxManager();
+
+    if (historyEvent instanceof HistoricDecisionEvaluationEvent || outboxManager.isOutboxBypassed()) {
+      dbHistoryEventHandler.handleEvent(historyEvent);
+      return;
+    }
+
+    HistoryOutboxEntity outboxEntry = outboxManager.findTransientOutboxEntry();
+    if (outboxEntry == null) {
+      outboxEntry = new HistoryOutboxEntity(nextSequence(), ClockUtil.getCurrentTime());
+      outboxManager.insert(outboxEntry);
+
+      commandContext.getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new OutboxEntryCommittedListener(outboxEntry));
+    }
+
+    if (historyEvent.getId() == null && dbHistoryEventHandler.isInsert(historyEvent)) {
+      // other entities of the transaction may reference the event, e.g. an incident its job log
+      historyEvent.setId(commandContext.getProcessEngineConfiguration().getIdGenerator().getNextId());
+    }
+
+    outboxEntry.addEvent(historyEvent);
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    for (HistoryEvent historyEvent : historyEvents) {
+      handleEvent(historyEvent);
+    }
+  }
+
+  /**
+   * The sequence orders the outbox entries by the time they were written. It is based
+   * on the system clock, so that the entries written by different process engines are
+   * ordered as well as long as their clocks are synchronized.
+   */
+  public static long nextSequence() {
+    final long now = System.currentTimeMillis() * 1000;
+    return LAST_SEQUENCE.updateAndGet(last -> Math.max(last + 1, now));
+  }
+
+  public static class OutboxEntryCommittedListener implements TransactionListener {
+
+    protected final HistoryOutboxEntity outboxEntry;
+
+    public OutboxEntryCommittedListener(HistoryOutboxEntity outboxEntry) {
+      this.outboxEntry = outboxEntry;
+    }
+
+    public void execute(CommandContext commandContext) {
+      HistoryOutboxDrainer drainer = commandContext.getProcessEngineConfiguration().getHistoryOutboxDrainer();
+      if (drainer != null && !commandContext.getHistoryOutboxManager().isOutboxBypassed()) {
+        drainer.eventsEnqueued(outboxEntry.getEventCount());
+      }
+    }
+  }
+
+}
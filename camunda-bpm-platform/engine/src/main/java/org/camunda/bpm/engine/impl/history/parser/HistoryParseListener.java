@@ -17,13 +17,19 @@
 package org.camunda.bpm.engine.impl.history.parser;
 
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryProfile;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
@@ -54,6 +60,8 @@ import org.camunda.bpm.engine.impl.variable.VariableDeclaration;
  */
 public class HistoryParseListener implements BpmnParseListener {
 
+  protected static final BpmnParseLogger LOG = ProcessEngineLogger.BPMN_PARSE_LOGGER;
+
   // Cached listeners
   // listeners can be reused for a given process engine instance but cannot be cached in static fields since
   // different process engine instances on the same Classloader may have different HistoryEventProducer
@@ -124,7 +132,8 @@ public class HistoryParseListener implements BpmnParseListener {
     ensureHistoryLevelInitialized();
     addActivityHandlers(activity);
 
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, null)) {
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.TASK_INSTANCE_CREATE, null)
+        && !isHistoryExcluded(activity)) {
       TaskDefinition taskDefinition = ((UserTaskActivityBehavior) activity.getActivityBehavior()).getTaskDefinition();
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_ASSIGNMENT, USER_TASK_ASSIGNMENT_HANDLER);
       taskDefinition.addBuiltInTaskListener(TaskListener.EVENTNAME_CREATE, USER_TASK_ID_HANDLER);
@@ -236,6 +245,14 @@ public class HistoryParseListener implements BpmnParseListener {
 
   protected void addActivityHandlers(ActivityImpl activity) {
     ensureHistoryLevelInitialized();
+
+    HistoryProfile historyProfile = getHistoryProfile((ProcessDefinitionEntity) activity.getProcessDefinition());
+    if (historyProfile != null && !historyProfile.isActivityHistoryProduced(activity)) {
+      // the activity never produces historic activity instances, so no listeners are needed
+      activity.getProperties().set(BpmnProperties.HISTORY_EXCLUDED, true);
+      return;
+    }
+
     if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_START, null)) {
       activity.addBuiltInListener(PvmEvent.EVENTNAME_START, ACTIVITY_INSTANCE_START_LISTENER, 0);
     }
@@ -244,6 +261,49 @@ public class HistoryParseListener implements BpmnParseListener {
     }
   }
   
+  protected boolean isHistoryExcluded(ActivityImpl activity) {
+    return Boolean.TRUE.equals(activity.getProperties().get(BpmnProperties.HISTORY_EXCLUDED));
+  }
+
+  /**
+   * @return the history profile of the process definition, resolved once per process definition
+   * from its extension property {@value HistoryProfile#EXTENSION_PROPERTY_NAME} or its key
+   */
+  protected HistoryProfile getHistoryProfile(ProcessDefinitionEntity processDefinition) {
+    Properties properties = processDefinition.getProperties();
+    if (!properties.contains(BpmnProperties.HISTORY_PROFILE)) {
+      properties.set(BpmnProperties.HISTORY_PROFILE, resolveHistoryProfile(processDefinition));
+    }
+    return properties.get(BpmnProperties.HISTORY_PROFILE);
+  }
+
+  protected HistoryProfile resolveHistoryProfile(ProcessDefinitionEntity processDefinition) {
+    List<HistoryProfile> historyProfiles = Context.getProcessEngineConfiguration().getHistoryProfiles();
+    if (historyProfiles == null || historyProfiles.isEmpty()) {
+      return null;
+    }
+
+    Map<String, String> extensionProperties = processDefinition.getProperties().get(BpmnProperties.EXTENSION_PROPERTIES);
+    String profileName = extensionProperties != null ? extensionProperties.get(HistoryProfile.EXTENSION_PROPERTY_NAME) : null;
+
+    for (HistoryProfile historyProfile : historyProfiles) {
+      if (profileName != null) {
+        if (profileName.equals(historyProfile.getName())) {
+          return historyProfile;
+        }
+      } else if (historyProfile.getProcessDefinitionKeys() != null
+          && historyProfile.getProcessDefinitionKeys().contains(processDefinition.getKey())) {
+        return historyProfile;
+      }
+    }
+
+    if (profileName != null) {
+      throw LOG.unknownHistoryProfile(processDefinition.getKey(), profileName);
+    }
+
+    return null;
+  }
+
   protected void ensureHistoryLevelInitialized() {
     if (historyLevel == null) {
       historyLevel = Context.getProcessEngineConfiguration().getHistoryLevel();
@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.HistoricCaseActivityInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricCaseInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 
 /**
  * @author Sebastian Menski
@@ -59,9 +60,16 @@ public class CacheAwareCmmnHistoryEventProducer extends DefaultCmmnHistoryEventP
 
   /** find a cached entity by primary key */
   protected <T extends HistoryEvent> T findInCache(Class<T> type, String id) {
-    return Context.getCommandContext()
-      .getDbEntityManager()
-      .getCachedEntity(type, id);
+    CommandContext commandContext = Context.getCommandContext();
+
+    T cachedEntity = commandContext.getDbEntityManager().getCachedEntity(type, id);
+
+    if (cachedEntity == null && commandContext.getProcessEngineConfiguration().isHistoryOutboxEnabled()) {
+      // the history events of the current command are held by the history outbox
+      cachedEntity = commandContext.getHistoryOutboxManager().findTransientOutboxEvent(type, id);
+    }
+
+    return cachedEntity;
   }
 
 }
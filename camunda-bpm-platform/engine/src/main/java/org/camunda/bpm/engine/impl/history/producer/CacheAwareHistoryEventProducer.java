@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.history.event.*;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.runtime.Incident;
 
@@ -109,9 +110,16 @@ public class CacheAwareHistoryEventProducer extends DefaultHistoryEventProducer
 
   /** find a cached entity by primary key */
   protected <T extends HistoryEvent> T findInCache(Class<T> type, String id) {
-    return Context.getCommandContext()
-      .getDbEntityManager()
-      .getCachedEntity(type, id);
+    CommandContext commandContext = Context.getCommandContext();
+
+    T cachedEntity = commandContext.getDbEntityManager().getCachedEntity(type, id);
+
+    if (cachedEntity == null && commandContext.getProcessEngineConfiguration().isHistoryOutboxEnabled()) {
+      // the history events of the current command are held by the history outbox
+      cachedEntity = commandContext.getHistoryOutboxManager().findTransientOutboxEvent(type, id);
+    }
+
+    return cachedEntity;
   }
 
 }
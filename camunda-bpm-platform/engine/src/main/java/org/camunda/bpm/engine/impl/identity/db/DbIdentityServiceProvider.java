@@ -253,6 +253,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       operation = IdentityOperationResult.OPERATION_UPDATE;
       checkAuthorization(Permissions.UPDATE, Resources.TENANT, tenant.getId());
       getDbEntityManager().merge(tenantEntity);
+      getDbEntityManager().evictSharedCachedEntity(TenantEntity.class, tenantEntity.getId());
     }
     return new IdentityOperationResult(tenantEntity, operation);
   }
@@ -265,6 +266,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
 
       deleteAuthorizations(Resources.TENANT, tenantId);
       getDbEntityManager().delete(tenant);
+      getDbEntityManager().evictSharedCachedEntity(TenantEntity.class, tenantId);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
     }
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_NONE);
@@ -49,6 +49,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSession;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManager;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionManager;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
@@ -78,6 +79,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricStatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
@@ -95,6 +97,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TransientProcessInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
 
@@ -125,6 +128,8 @@ public class CommandContext {
 
   protected String operationId;
 
+  protected VariableResolutionCache variableResolutionCache;
+
   public CommandContext(ProcessEngineConfigurationImpl processEngineConfiguration) {
     this(processEngineConfiguration, processEngineConfiguration.getTransactionContextFactory());
   }
@@ -135,6 +140,9 @@ public class CommandContext {
     sessionFactories = processEngineConfiguration.getSessionFactories();
     this.transactionContext = transactionContextFactory.openTransactionContext(this);
     this.restrictUserOperationLogToAuthenticatedUsers = processEngineConfiguration.isRestrictUserOperationLogToAuthenticatedUsers();
+    if (processEngineConfiguration.isVariableResolutionCacheEnabled()) {
+      this.variableResolutionCache = new VariableResolutionCache();
+    }
   }
 
   public void performOperation(final CmmnAtomicOperation executionOperation, final CaseExecutionEntity execution) {
@@ -150,6 +158,7 @@ public class CommandContext {
       }, targetProcessApplication, new InvocationContext(execution));
 
     } else {
+      VariableResolutionCache variableResolutionCache = VariableResolutionCache.openCurrent();
       try {
         Context.setExecutionContext(execution);
         LOG.debugExecutingAtomicOperation(executionOperation, execution);
@@ -157,6 +166,9 @@ public class CommandContext {
         executionOperation.execute(execution);
       } finally {
         Context.removeExecutionContext();
+        if (variableResolutionCache != null) {
+          variableResolutionCache.close();
+        }
       }
     }
   }
@@ -337,6 +349,14 @@ public class CommandContext {
     return getSession(MeterLogManager.class);
   }
 
+  public HistoryOutboxManager getHistoryOutboxManager() {
+    return getSession(HistoryOutboxManager.class);
+  }
+
+  public TransientProcessInstanceManager getTransientProcessInstanceManager() {
+    return getSession(TransientProcessInstanceManager.class);
+  }
+
   public IdentityLinkManager getIdentityLinkManager() {
     return getSession(IdentityLinkManager.class);
   }
@@ -656,4 +676,8 @@ public class CommandContext {
   public OptimizeManager getOptimizeManager() {
     return getSession(OptimizeManager.class);
   }
+
+  public VariableResolutionCache getVariableResolutionCache() {
+    return variableResolutionCache;
+  }
 }
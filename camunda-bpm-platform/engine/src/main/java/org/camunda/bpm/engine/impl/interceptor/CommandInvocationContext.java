@@ -29,6 +29,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.context.ProcessApplicationContextUtil;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.AtomicOperation;
 
@@ -127,6 +128,7 @@ public class CommandInvocationContext {
 
   protected void invokeNext() {
     AtomicOperationInvocation invocation = queuedInvocations.remove(0);
+    VariableResolutionCache variableResolutionCache = VariableResolutionCache.openCurrent();
     try {
       invocation.execute(bpmnStackTrace, processDataContext);
     } catch(RuntimeException e) {
@@ -134,6 +136,10 @@ public class CommandInvocationContext {
       bpmnStackTrace.printStackTrace(Context.getProcessEngineConfiguration().isBpmnStacktraceVerbose());
       // rethrow
       throw e;
+    } finally {
+      if (variableResolutionCache != null) {
+        variableResolutionCache.close();
+      }
     }
   }
 
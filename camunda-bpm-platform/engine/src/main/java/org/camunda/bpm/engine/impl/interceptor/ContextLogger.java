@@ -62,4 +62,11 @@ public class ContextLogger extends ProcessEngineLogger {
         string);
   }
 
+  public void debugVariableResolutionCacheStatistics(int hits, int misses) {
+    logDebug(
+        "007",
+        "Variable resolution cache of atomic operation: {} hits, {} misses, hit rate {}%",
+        hits, misses, (100 * hits) / (hits + misses));
+  }
+
 }
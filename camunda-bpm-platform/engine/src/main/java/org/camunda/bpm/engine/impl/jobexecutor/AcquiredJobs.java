@@ -17,9 +17,11 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
@@ -33,6 +35,8 @@ public class AcquiredJobs {
 
   protected List<List<String>> acquiredJobBatches = new ArrayList<List<String>>();
   protected Set<String> acquiredJobs = new HashSet<String>();
+  protected Map<String, Long> pickupLatencies = new HashMap<String, Long>();
+  protected Map<String, String> exclusiveJobProcessInstanceIds = new HashMap<String, String>();
 
   protected int numberOfJobsFailedToLock = 0;
 
@@ -51,6 +55,26 @@ public class AcquiredJobs {
     }
   }
 
+  /**
+   * Adds a batch of exclusive jobs which belong to the given process instance.
+   */
+  public void addExclusiveJobIdBatch(String processInstanceId, List<String> jobIds) {
+    addJobIdBatch(jobIds);
+    if (processInstanceId != null) {
+      for (String jobId : jobIds) {
+        exclusiveJobProcessInstanceIds.put(jobId, processInstanceId);
+      }
+    }
+  }
+
+  /**
+   * @return the process instance of the given job if it was acquired as part of a
+   *   batch of exclusive jobs, null otherwise
+   */
+  public String getExclusiveJobProcessInstanceId(String jobId) {
+    return exclusiveJobProcessInstanceIds.get(jobId);
+  }
+
   public void addJobIdBatch(String jobId) {
     ArrayList<String> list = new ArrayList<String>();
     list.add(jobId);
@@ -70,6 +94,8 @@ public class AcquiredJobs {
     numberOfJobsFailedToLock++;
 
     acquiredJobs.remove(id);
+    pickupLatencies.remove(id);
+    exclusiveJobProcessInstanceIds.remove(id);
 
     Iterator<List<String>> batchIterator = acquiredJobBatches.iterator();
     while (batchIterator.hasNext()) {
@@ -84,6 +110,24 @@ public class AcquiredJobs {
     }
   }
 
+  /**
+   * Records the milliseconds between the job becoming executable and being acquired.
+   */
+  public void addPickupLatency(String jobId, long pickupLatencyInMillis) {
+    pickupLatencies.put(jobId, pickupLatencyInMillis);
+  }
+
+  /**
+   * @return the sum of the pickup latencies of all jobs that were acquired successfully
+   */
+  public long getTotalPickupLatency() {
+    long totalPickupLatency = 0;
+    for (Long pickupLatency : pickupLatencies.values()) {
+      totalPickupLatency += pickupLatency;
+    }
+    return totalPickupLatency;
+  }
+
   public int getNumberOfJobsFailedToLock() {
     return numberOfJobsFailedToLock;
   }
@@ -0,0 +1,146 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.RingDoorbellCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+
+/**
+ * <p>{@link JobAvailableSignal} which uses a doorbell row in the
+ * <code>ACT_GE_PROPERTY</code> table to wake up the job acquisition on all nodes
+ * that share the database.</p>
+ *
+ * <p>After a transaction created jobs, the job executor wakes up its local job acquisition
+ * right away. In addition, a background thread rings the doorbell by updating the property
+ * with a new value. Rings of one poll interval are coalesced into a single update.
+ * The same thread reads the property every {@link #getPollIntervalMillis() poll interval}
+ * and wakes up the local job acquisition if another node has rung the doorbell.</p>
+ *
+ * <p>Reading the doorbell is a primary key lookup and much cheaper than the
+ * job acquisition query, so the job executor can be configured with a long
+ * {@link JobExecutor#getMaxWait() maximum idle wait time}.</p>
+ */
+public class DbJobAvailableSignal extends LocalJobAvailableSignal implements Runnable {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final String DOORBELL_PROPERTY_NAME = "job.doorbell";
+
+  protected long pollIntervalMillis = 100;
+
+  protected Set<String> pendingRings = ConcurrentHashMap.newKeySet();
+  protected Map<String, String> lastDoorbellValues = new HashMap<String, String>();
+
+  protected volatile boolean isStopped = true;
+  protected Thread doorbellThread;
+
+  @Override
+  public synchronized void start(JobExecutor jobExecutor) {
+    super.start(jobExecutor);
+
+    isStopped = false;
+    doorbellThread = new Thread(this, jobExecutor.getName() + "[doorbell]");
+    doorbellThread.setDaemon(true);
+    doorbellThread.start();
+  }
+
+  @Override
+  public synchronized void stop() {
+    isStopped = true;
+
+    if (doorbellThread != null) {
+      doorbellThread.interrupt();
+      try {
+        doorbellThread.join();
+      }
+      catch (InterruptedException e) {
+        LOG.interruptedWhileShuttingDownjobExecutor(e);
+      }
+      doorbellThread = null;
+    }
+
+    pendingRings.clear();
+    lastDoorbellValues.clear();
+  }
+
+  @Override
+  public void jobsCommitted(String processEngineName) {
+    pendingRings.add(processEngineName);
+  }
+
+  public void run() {
+    while (!isStopped) {
+      Iterator<ProcessEngineImpl> engineIterator = jobExecutor.engineIterator();
+      while (engineIterator.hasNext()) {
+        ProcessEngineImpl processEngine = engineIterator.next();
+        try {
+          checkDoorbell(processEngine);
+        }
+        catch (Exception e) {
+          LOG.exceptionWhileCheckingJobDoorbell(processEngine.getName(), e);
+        }
+      }
+
+      try {
+        Thread.sleep(pollIntervalMillis);
+      }
+      catch (InterruptedException e) {
+        // stopped
+      }
+    }
+  }
+
+  protected void checkDoorbell(ProcessEngineImpl processEngine) {
+    String processEngineName = processEngine.getName();
+    CommandExecutor commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    if (pendingRings.remove(processEngineName)) {
+      String doorbellValue = commandExecutor.execute(new RingDoorbellCmd(DOORBELL_PROPERTY_NAME));
+      lastDoorbellValues.put(processEngineName, doorbellValue);
+    }
+    else {
+      String doorbellValue = commandExecutor.execute(commandContext -> {
+        PropertyEntity property = commandContext.getPropertyManager().findPropertyById(DOORBELL_PROPERTY_NAME);
+        return property != null ? property.getValue() : null;
+      });
+
+      String lastDoorbellValue = lastDoorbellValues.put(processEngineName, doorbellValue);
+      if (doorbellValue != null && !doorbellValue.equals(lastDoorbellValue)) {
+        LOG.debugJobDoorbellRung(processEngineName);
+        jobExecutor.jobWasAdded();
+      }
+    }
+  }
+
+  public long getPollIntervalMillis() {
+    return pollIntervalMillis;
+  }
+
+  public void setPollIntervalMillis(long pollIntervalMillis) {
+    this.pollIntervalMillis = pollIntervalMillis;
+  }
+
+}
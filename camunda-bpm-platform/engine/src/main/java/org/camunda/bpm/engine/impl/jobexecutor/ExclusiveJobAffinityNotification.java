@@ -0,0 +1,53 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * Hands an exclusive job which was created and locked by a running job directly
+ * to the job executor once the transaction is committed, so that the job does not
+ * have to be acquired. See {@link JobExecutor#executeExclusiveJobs}.
+ */
+public class ExclusiveJobAffinityNotification implements TransactionListener {
+
+  protected final String jobId;
+  protected final String processInstanceId;
+  protected final JobExecutor jobExecutor;
+
+  public ExclusiveJobAffinityNotification(String jobId, String processInstanceId, JobExecutor jobExecutor) {
+    this.jobId = jobId;
+    this.processInstanceId = processInstanceId;
+    this.jobExecutor = jobExecutor;
+  }
+
+  public void execute(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+
+    jobExecutor.executeExclusiveJobs(processInstanceId, Collections.singletonList(jobId), engineConfiguration.getProcessEngine());
+
+    if (engineConfiguration.isMetricsEnabled()) {
+      engineConfiguration.getMetricsRegistry().markOccurrence(Metrics.JOB_LOCKED_EXCLUSIVE);
+    }
+  }
+
+}
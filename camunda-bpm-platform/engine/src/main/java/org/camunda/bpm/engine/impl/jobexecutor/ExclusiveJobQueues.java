@@ -0,0 +1,117 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Keeps a queue of exclusive jobs for every process instance whose exclusive
+ * jobs are currently executed by a worker of the job executor.</p>
+ *
+ * <p>A batch of exclusive jobs either becomes the owner of its process instance or,
+ * if another batch of the same process instance is already being executed, is
+ * appended to the queue of that process instance. The worker executing the owning
+ * batch polls the queue once it is done with its own jobs, so that all exclusive
+ * jobs of a process instance which are locked by this job executor run on the same
+ * worker one after another instead of concurrently.</p>
+ *
+ * <p>Ownership is tracked by the id of the first job of the owning batch, since the
+ * list of job ids may be copied when it is handed to the worker.</p>
+ */
+public class ExclusiveJobQueues {
+
+  protected Map<String, String> processInstanceIdsByOwnerJobId = new HashMap<String, String>();
+  protected Map<String, List<String>> queuedJobIdsByProcessInstanceId = new HashMap<String, List<String>>();
+
+  /**
+   * @return true if the jobs were appended to the queue of a batch which is already
+   *   executed; false if the given batch became the owner of the process instance
+   *   and has to be executed by the caller
+   */
+  public synchronized boolean queueJobs(String processInstanceId, List<String> jobIds) {
+    List<String> queuedJobIds = queuedJobIdsByProcessInstanceId.get(processInstanceId);
+
+    if (queuedJobIds != null) {
+      queuedJobIds.addAll(jobIds);
+      return true;
+    }
+    else {
+      queuedJobIdsByProcessInstanceId.put(processInstanceId, new ArrayList<String>());
+      processInstanceIdsByOwnerJobId.put(jobIds.get(0), processInstanceId);
+      return false;
+    }
+  }
+
+  /**
+   * Removes and returns the jobs which were queued for the process instance owned by the
+   * given batch. If there are no queued jobs, the batch releases the ownership of
+   * the process instance.
+   */
+  public synchronized List<String> pollQueuedJobs(List<String> ownerJobIds) {
+    List<String> jobIds = new ArrayList<String>();
+
+    if (!ownerJobIds.isEmpty()) {
+      String ownerJobId = ownerJobIds.get(0);
+      String processInstanceId = processInstanceIdsByOwnerJobId.get(ownerJobId);
+
+      if (processInstanceId != null) {
+        List<String> queuedJobIds = queuedJobIdsByProcessInstanceId.get(processInstanceId);
+
+        if (queuedJobIds.isEmpty()) {
+          queuedJobIdsByProcessInstanceId.remove(processInstanceId);
+          processInstanceIdsByOwnerJobId.remove(ownerJobId);
+        }
+        else {
+          jobIds.addAll(queuedJobIds);
+          queuedJobIds.clear();
+        }
+      }
+    }
+
+    return jobIds;
+  }
+
+  /**
+   * Releases the ownership of the process instance owned by the given batch, regardless
+   * of whether jobs are queued for it. Used if the batch is not executed to the end,
+   * e.g. because it was rejected or its worker failed.
+   *
+   * @return the jobs which were queued for the batch and are no longer executed by it
+   */
+  public synchronized List<String> releaseOwnership(List<String> ownerJobIds) {
+    List<String> jobIds = new ArrayList<String>();
+
+    if (!ownerJobIds.isEmpty()) {
+      String processInstanceId = processInstanceIdsByOwnerJobId.remove(ownerJobIds.get(0));
+
+      if (processInstanceId != null) {
+        jobIds.addAll(queuedJobIdsByProcessInstanceId.remove(processInstanceId));
+      }
+    }
+
+    return jobIds;
+  }
+
+  public synchronized void clear() {
+    processInstanceIdsByOwnerJobId.clear();
+    queuedJobIdsByProcessInstanceId.clear();
+  }
+
+}
@@ -21,12 +21,15 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.ExecuteJobsCmd;
+import org.camunda.bpm.engine.impl.cmd.ExecuteNonExclusiveJobsCmd;
 import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.ProcessDataContext;
 import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+import org.camunda.bpm.engine.management.Metrics;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -62,25 +65,20 @@ public class ExecuteJobsRunnable implements Runnable {
     ClassLoader classLoaderBeforeExecution = switchClassLoader();
 
     try {
+      // exclusive batches and single jobs never share a transaction,
+      // so they do not need to be selected up front
+      if (jobIds instanceof NonExclusiveJobBatch
+          && jobIds.size() > 1
+          && jobExecutor.getMaxJobsPerTransaction() > 1
+          && jobExecutor.isActive()) {
+        executeJobsInSharedTransactions(currentProcessorJobQueue, commandExecutor);
+      }
+
       while (!currentProcessorJobQueue.isEmpty()) {
 
         String nextJobId = currentProcessorJobQueue.remove(0);
         if (jobExecutor.isActive()) {
-          JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
-          try {
-            executeJob(nextJobId, commandExecutor, jobFailureCollector);
-          } catch(Throwable t) {
-            if (ProcessEngineLogger.shouldLogJobException(engineConfiguration, jobFailureCollector.getJob())) {
-              ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
-            }
-          } finally {
-            /*
-             * clear MDC of potential leftovers from command execution
-             * that have not been cleared in Context#removeCommandInvocationContext()
-             * in case of exceptions in command execution
-             */
-            new ProcessDataContext(engineConfiguration).clearMdc();
-          }
+          executeNextJob(nextJobId, commandExecutor, engineConfiguration);
         } else {
             try {
               unlockJob(nextJobId, commandExecutor);
@@ -89,6 +87,11 @@ public class ExecuteJobsRunnable implements Runnable {
               LOG.exceptionWhileUnlockingJob(nextJobId, t);
             }
         }
+
+        if (currentProcessorJobQueue.isEmpty()) {
+          // continue with exclusive jobs which were queued for this worker in the meantime
+          currentProcessorJobQueue.addAll(jobExecutor.getExclusiveJobQueues().pollQueuedJobs(jobIds));
+        }
       }
 
       // if there were only exclusive jobs then the job executor
@@ -99,6 +102,78 @@ public class ExecuteJobsRunnable implements Runnable {
     } finally {
       Context.removeJobExecutorContext();
       ClassLoaderUtil.setContextClassloader(classLoaderBeforeExecution);
+      releaseQueuedExclusiveJobs();
+    }
+  }
+
+  /**
+   * If the jobs were not executed to the end, the batch may still own its process
+   * instance in the {@link ExclusiveJobQueues}. Releases the ownership, so that later
+   * exclusive jobs of the process instance are not queued for this worker anymore,
+   * and hands the jobs queued in the meantime back to the job executor.
+   */
+  protected void releaseQueuedExclusiveJobs() {
+    List<String> queuedJobIds = jobExecutor.getExclusiveJobQueues().releaseOwnership(jobIds);
+    if (!queuedJobIds.isEmpty()) {
+      jobExecutor.executeJobs(queuedJobIds, processEngine);
+    }
+  }
+
+  protected void executeNextJob(String nextJobId, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+    JobFailureCollector jobFailureCollector = new JobFailureCollector(nextJobId);
+    try {
+      executeJob(nextJobId, commandExecutor, jobFailureCollector);
+    } catch(Throwable t) {
+      if (ProcessEngineLogger.shouldLogJobException(engineConfiguration, jobFailureCollector.getJob())) {
+        ExecuteJobHelper.LOGGING_HANDLER.exceptionWhileExecutingJob(nextJobId, t);
+      }
+    } finally {
+      /*
+       * clear MDC of potential leftovers from command execution
+       * that have not been cleared in Context#removeCommandInvocationContext()
+       * in case of exceptions in command execution
+       */
+      new ProcessDataContext(engineConfiguration).clearMdc();
+    }
+  }
+
+  /**
+   * Executes the non-exclusive jobs of the queue in shared transactions of up to
+   * {@link JobExecutor#getMaxJobsPerTransaction()} jobs. Jobs which cannot share a
+   * transaction remain in the queue. If a shared transaction fails, its jobs
+   * remain in the queue as well, so that they are executed (and fail) separately.
+   * Non-transactional side effects of the jobs which succeeded in the failed
+   * shared transaction therefore happen again.
+   */
+  protected void executeJobsInSharedTransactions(List<String> jobQueue, CommandExecutor commandExecutor) {
+    int maxJobsPerTransaction = jobExecutor.getMaxJobsPerTransaction();
+    List<String> remainingJobIds = new ArrayList<String>();
+
+    while (jobQueue.size() > 1) {
+      List<String> jobIds = new ArrayList<String>(jobQueue.subList(0, Math.min(maxJobsPerTransaction, jobQueue.size())));
+      jobQueue.subList(0, jobIds.size()).clear();
+
+      ExecuteNonExclusiveJobsCmd cmd = new ExecuteNonExclusiveJobsCmd(jobIds);
+      try {
+        remainingJobIds.addAll(commandExecutor.execute(cmd));
+        logJobsSuccess(cmd.getExecutedJobIds().size());
+      }
+      catch (Throwable t) {
+        LOG.debugSharedJobTransactionFailed(jobIds, t);
+        remainingJobIds.addAll(jobIds);
+      }
+      finally {
+        new ProcessDataContext(processEngine.getProcessEngineConfiguration()).clearMdc();
+      }
+    }
+
+    jobQueue.addAll(0, remainingJobIds);
+  }
+
+  protected void logJobsSuccess(int numberOfJobs) {
+    ProcessEngineConfigurationImpl engineConfiguration = processEngine.getProcessEngineConfiguration();
+    if (numberOfJobs > 0 && engineConfiguration.isMetricsEnabled()) {
+      engineConfiguration.getMetricsRegistry().markOccurrence(Metrics.JOB_SUCCESSFUL, numberOfJobs);
     }
   }
 
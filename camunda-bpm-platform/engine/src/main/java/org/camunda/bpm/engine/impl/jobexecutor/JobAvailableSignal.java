@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+/**
+ * <p>Wakes up the job acquisition of a {@link JobExecutor} when new jobs become available.</p>
+ *
+ * <p>Without a signal, the job acquisition only learns about new jobs by polling the database.
+ * A signal allows the acquisition to wait longer while idle and still pick up new jobs shortly
+ * after they have been committed.</p>
+ *
+ * @see LocalJobAvailableSignal
+ * @see DbJobAvailableSignal
+ */
+public interface JobAvailableSignal {
+
+  /**
+   * Invoked when the job executor is started. From now on, the signal wakes up
+   * the job acquisition via {@link JobExecutor#jobWasAdded()} whenever jobs become available.
+   */
+  void start(JobExecutor jobExecutor);
+
+  /**
+   * Invoked when the job executor is shut down.
+   */
+  void stop();
+
+  /**
+   * Invoked after a transaction which created executable jobs has been committed
+   * by the given process engine on this node. At this point, the job executor has already
+   * woken up its own job acquisition.
+   */
+  void jobsCommitted(String processEngineName);
+
+}
@@ -16,6 +16,7 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
@@ -49,6 +50,9 @@ public abstract class JobExecutor {
   protected AcquireJobsCommandFactory acquireJobsCmdFactory;
   protected AcquireJobsRunnable acquireJobsRunnable;
   protected RejectedJobsHandler rejectedJobsHandler;
+  protected JobAvailableSignal jobAvailableSignal = new LocalJobAvailableSignal();
+  protected JobPartitionLeases jobPartitionLeases = new JobPartitionLeases(this);
+  protected ExclusiveJobQueues exclusiveJobQueues = new ExclusiveJobQueues();
   protected Thread jobAcquisitionThread;
 
   protected boolean isAutoActivate = false;
@@ -56,6 +60,26 @@ public abstract class JobExecutor {
 
   protected int maxJobsPerAcquisition = 3;
 
+  /**
+   * <p>The maximum number of non-exclusive jobs of different process instances
+   * which are executed in a shared transaction. The default value <code>1</code>
+   * executes every job in its own transaction.</p>
+   *
+   * <p><strong>Note:</strong> if one job of a shared transaction fails, the whole
+   * transaction is rolled back and all of its jobs are executed again, each in its
+   * own transaction. Non-transactional side effects of the jobs which had already
+   * succeeded, such as calls to external systems or sent mails, therefore happen
+   * twice. Only use shared transactions for jobs which are idempotent or free of
+   * such side effects.</p>
+   */
+  protected int maxJobsPerTransaction = 1;
+
+  /**
+   * If true, exclusive jobs of a process instance which is already executed
+   * by a worker of this job executor are queued for that worker.
+   */
+  protected boolean exclusiveJobAffinity = false;
+
   // waiting when job acquisition is idle
   protected int waitTimeInMillis = 5 * 1000;
   protected float waitIncreaseFactor = 2;
@@ -82,6 +106,7 @@ public abstract class JobExecutor {
     ensureInitialization();
     startExecutingJobs();
     isActive = true;
+    jobAvailableSignal.start(this);
   }
 
   public synchronized void shutdown() {
@@ -89,8 +114,13 @@ public abstract class JobExecutor {
       return;
     }
     LOG.shuttingDownTheJobExecutor(getClass().getName());
+    jobAvailableSignal.stop();
     acquireJobsRunnable.stop();
+    for (ProcessEngineImpl processEngine : processEngines) {
+      jobPartitionLeases.releaseLeases(processEngine);
+    }
     stopExecutingJobs();
+    exclusiveJobQueues.clear();
     ensureCleanup();
     isActive = false;
   }
@@ -111,6 +141,18 @@ public abstract class JobExecutor {
     }
   }
 
+  /**
+   * Invoked after a transaction of the given process engine has committed new jobs.
+   * Wakes up the job acquisition of this node and passes the information to the
+   * {@link JobAvailableSignal}, which may wake up the job acquisition of other nodes.
+   */
+  public void jobsCommitted(String processEngineName) {
+    jobWasAdded();
+    if(isActive) {
+      jobAvailableSignal.jobsCommitted(processEngineName);
+    }
+  }
+
   public synchronized void registerProcessEngine(ProcessEngineImpl processEngine) {
     processEngines.add(processEngine);
 
@@ -121,6 +163,7 @@ public abstract class JobExecutor {
   }
 
   public synchronized void unregisterProcessEngine(ProcessEngineImpl processEngine) {
+    jobPartitionLeases.releaseLeases(processEngine);
     processEngines.remove(processEngine);
 
     // if we unregister the last process engine, auto-shutdown the jobexecutor
@@ -133,6 +176,39 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * Executes a batch of exclusive jobs of the given process instance. If exclusive job
+   * affinity is enabled and exclusive jobs of the process instance are currently executed,
+   * the jobs are queued for the worker which executes them instead.
+   */
+  public void executeExclusiveJobs(String processInstanceId, List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (exclusiveJobAffinity && processInstanceId != null && !jobIds.isEmpty()) {
+      if (exclusiveJobQueues.queueJobs(processInstanceId, jobIds)) {
+        LOG.debugQueuedExclusiveJobs(processInstanceId, jobIds);
+        return;
+      }
+    }
+    executeJobs(jobIds, processEngine);
+  }
+
+  /**
+   * Hands jobs which could not be scheduled for execution to the {@link RejectedJobsHandler}.
+   * If the jobs are a batch of exclusive jobs which owns its process instance, the ownership
+   * is released and the jobs queued for the batch in the meantime are rejected along with it.
+   */
+  protected void rejectJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    List<String> rejectedJobIds = jobIds;
+
+    List<String> queuedJobIds = exclusiveJobQueues.releaseOwnership(jobIds);
+    if (!queuedJobIds.isEmpty()) {
+      rejectedJobIds = new ArrayList<String>(jobIds);
+      rejectedJobIds.addAll(queuedJobIds);
+    }
+
+    logRejectedExecution(processEngine, rejectedJobIds.size());
+    rejectedJobsHandler.jobsRejected(rejectedJobIds, processEngine, this);
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -168,6 +244,14 @@ public abstract class JobExecutor {
     }
   }
 
+  public void logJobPickupLatency(ProcessEngineImpl engine, long pickupLatencyInMillis) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      engine.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .markOccurrence(Metrics.JOB_PICKUP_LATENCY, pickupLatencyInMillis);
+    }
+  }
+
   public void logRejectedExecution(ProcessEngineImpl engine, int numJobs) {
     if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
       engine.getProcessEngineConfiguration()
@@ -270,6 +354,30 @@ public abstract class JobExecutor {
     this.maxJobsPerAcquisition = maxJobsPerAcquisition;
   }
 
+  public boolean isExclusiveJobAffinity() {
+    return exclusiveJobAffinity;
+  }
+
+  public void setExclusiveJobAffinity(boolean exclusiveJobAffinity) {
+    this.exclusiveJobAffinity = exclusiveJobAffinity;
+  }
+
+  public ExclusiveJobQueues getExclusiveJobQueues() {
+    return exclusiveJobQueues;
+  }
+
+  public void setExclusiveJobQueues(ExclusiveJobQueues exclusiveJobQueues) {
+    this.exclusiveJobQueues = exclusiveJobQueues;
+  }
+
+  public int getMaxJobsPerTransaction() {
+    return maxJobsPerTransaction;
+  }
+
+  public void setMaxJobsPerTransaction(int maxJobsPerTransaction) {
+    this.maxJobsPerTransaction = maxJobsPerTransaction;
+  }
+
   public float getWaitIncreaseFactor() {
     return waitIncreaseFactor;
   }
@@ -330,6 +438,22 @@ public abstract class JobExecutor {
     this.rejectedJobsHandler = rejectedJobsHandler;
   }
 
+  public JobPartitionLeases getJobPartitionLeases() {
+    return jobPartitionLeases;
+  }
+
+  public void setJobPartitionLeases(JobPartitionLeases jobPartitionLeases) {
+    this.jobPartitionLeases = jobPartitionLeases;
+  }
+
+  public JobAvailableSignal getJobAvailableSignal() {
+    return jobAvailableSignal;
+  }
+
+  public void setJobAvailableSignal(JobAvailableSignal jobAvailableSignal) {
+    this.jobAvailableSignal = jobAvailableSignal;
+  }
+
   protected void startJobAcquisitionThread() {
 		if (jobAcquisitionThread == null) {
 			jobAcquisitionThread = new Thread(acquireJobsRunnable, getName());
@@ -192,4 +192,59 @@ public class JobExecutorLogger extends ProcessEngineLogger {
       "Batch window for history cleanup was not calculated. History cleanup job(s) will be suspended.");
   }
 
+  public void exceptionWhileCheckingJobDoorbell(String processEngine, Exception e) {
+    logWarn(
+        "029",
+        "Exception while checking the job doorbell of process engine '{}': {}", processEngine, e.getMessage(), e);
+  }
+
+  public void debugJobDoorbellRung(String processEngine) {
+    logDebug(
+        "030",
+        "Job doorbell of process engine '{}' was rung by another node", processEngine);
+  }
+
+  public void exceptionWhileRenewingJobPartitionLeases(String processEngine, Exception e) {
+    logWarn(
+        "031",
+        "Exception while renewing the job partition leases for process engine '{}': {}", processEngine, e.getMessage(), e);
+  }
+
+  public void debugConcurrentJobPartitionLeaseRenewal(String processEngine) {
+    logDebug(
+        "032",
+        "Job partition leases of process engine '{}' were modified concurrently by another node. Retrying with the next acquisition cycle.",
+        processEngine);
+  }
+
+  public void debugAcquiredJobPartitions(String processEngine, Collection<Integer> partitions) {
+    logDebug(
+        "033",
+        "Acquired job partitions {} for process engine '{}'", partitions, processEngine);
+  }
+
+  public void executingJobsOnVirtualThreads(String name, int concurrencyLimit) {
+    logInfo(
+        "034", "{} executes jobs on virtual threads with a concurrency limit of {}", name, concurrencyLimit);
+  }
+
+  public void virtualThreadsNotSupported(String name, int poolSize, Exception e) {
+    logInfo(
+        "035",
+        "Virtual threads are not supported by this JVM: {}. {} falls back to a pool of {} platform threads",
+        e.getMessage(), name, poolSize);
+  }
+
+  public void debugSharedJobTransactionFailed(Collection<String> jobIds, Throwable t) {
+    logDebug(
+        "036",
+        "Shared transaction of jobs {} failed: {}. Executing the jobs in separate transactions", jobIds, t.getMessage());
+  }
+
+  public void debugQueuedExclusiveJobs(String processInstanceId, Collection<String> jobIds) {
+    logDebug(
+        "037",
+        "Queued exclusive jobs {} for the worker which executes process instance '{}'", jobIds, processInstanceId);
+  }
+
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.OptimisticLockingException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ReleaseJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+
+/**
+ * <p>Keeps track of the job partitions a {@link JobExecutor} holds a lease for.</p>
+ *
+ * <p>If {@link ProcessEngineConfigurationImpl#getJobExecutorPartitionCount()} is
+ * greater than zero, every job is assigned to a partition when it is created.
+ * The job executors of a cluster then share the partitions among each other so that
+ * every job executor only acquires jobs of its own partitions and jobs
+ * without a partition. This way, job executors no longer compete for the same jobs.</p>
+ *
+ * <p>A lease is stored as a property named {@value #PROPERTY_NAME_PREFIX}&lt;partition&gt;
+ * and expires if it is not renewed within the lease time. Leases are renewed
+ * during job acquisition, see {@link RenewJobPartitionLeasesCmd}. When job executors
+ * join or leave the cluster, the partitions are rebalanced with the next renewal.</p>
+ */
+public class JobPartitionLeases {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final String PROPERTY_NAME_PREFIX = "job.partition.";
+
+  protected JobExecutor jobExecutor;
+
+  /**
+   * time after which a lease expires if it is not renewed
+   */
+  protected long leaseTimeInMillis = 2 * 60 * 1000;
+
+  protected Map<String, Set<Integer>> ownedPartitions = new ConcurrentHashMap<>();
+  protected Map<String, Long> lastRenewals = new ConcurrentHashMap<>();
+
+  public JobPartitionLeases(JobExecutor jobExecutor) {
+    this.jobExecutor = jobExecutor;
+  }
+
+  /**
+   * Renews the leases of the given process engine if a quarter of the lease time
+   * has passed since the last successful renewal. Does nothing if jobs of the
+   * process engine are not partitioned.
+   */
+  public void renewLeases(ProcessEngineImpl processEngine) {
+    ProcessEngineConfigurationImpl configuration = processEngine.getProcessEngineConfiguration();
+    int partitionCount = configuration.getJobExecutorPartitionCount();
+    if (partitionCount <= 0) {
+      return;
+    }
+
+    String processEngineName = processEngine.getName();
+    long now = ClockUtil.getCurrentTime().getTime();
+    Long lastRenewal = lastRenewals.get(processEngineName);
+    if (lastRenewal != null && now - lastRenewal < leaseTimeInMillis / 4) {
+      return;
+    }
+
+    try {
+      Set<Integer> partitions = configuration.getCommandExecutorTxRequired()
+          .execute(new RenewJobPartitionLeasesCmd(jobExecutor.getLockOwner(), partitionCount, leaseTimeInMillis));
+
+      ownedPartitions.put(processEngineName, partitions);
+      lastRenewals.put(processEngineName, now);
+
+      LOG.debugAcquiredJobPartitions(processEngineName, partitions);
+    }
+    catch (OptimisticLockingException e) {
+      LOG.debugConcurrentJobPartitionLeaseRenewal(processEngineName);
+      discardExpiredLeases(processEngineName, now);
+    }
+    catch (ProcessEngineException e) {
+      if (ExceptionUtil.checkConstraintViolationException(e)) {
+        // another node inserted the lease of a free partition first;
+        // the partition is lost to that node
+        LOG.debugConcurrentJobPartitionLeaseRenewal(processEngineName);
+      }
+      else {
+        LOG.exceptionWhileRenewingJobPartitionLeases(processEngineName, e);
+      }
+      discardExpiredLeases(processEngineName, now);
+    }
+    catch (Exception e) {
+      LOG.exceptionWhileRenewingJobPartitionLeases(processEngineName, e);
+      discardExpiredLeases(processEngineName, now);
+    }
+  }
+
+  /**
+   * The leases of the last successful renewal stay valid until the lease time
+   * has passed. After that, other job executors may have taken over the partitions,
+   * so the job executor only acquires jobs without a partition until the next
+   * successful renewal.
+   */
+  protected void discardExpiredLeases(String processEngineName, long now) {
+    Long lastRenewal = lastRenewals.get(processEngineName);
+    if (lastRenewal != null && now - lastRenewal >= leaseTimeInMillis) {
+      ownedPartitions.put(processEngineName, Collections.<Integer>emptySet());
+      lastRenewals.remove(processEngineName);
+    }
+  }
+
+  /**
+   * Releases all leases of the given process engine so that other job executors
+   * can take over the partitions right away.
+   */
+  public void releaseLeases(ProcessEngineImpl processEngine) {
+    String processEngineName = processEngine.getName();
+    lastRenewals.remove(processEngineName);
+    Set<Integer> partitions = ownedPartitions.remove(processEngineName);
+
+    if (partitions != null && !partitions.isEmpty()) {
+      try {
+        processEngine.getProcessEngineConfiguration()
+          .getCommandExecutorTxRequired()
+          .execute(new ReleaseJobPartitionLeasesCmd(jobExecutor.getLockOwner()));
+      }
+      catch (Exception e) {
+        // the leases expire anyway
+        LOG.exceptionWhileRenewingJobPartitionLeases(processEngineName, e);
+      }
+    }
+  }
+
+  /**
+   * @return the partitions the job executor holds a lease for or <code>null</code>
+   *   if jobs of the given process engine are not partitioned or no lease has
+   *   been acquired yet
+   */
+  public Set<Integer> getOwnedPartitions(String processEngineName) {
+    return ownedPartitions.get(processEngineName);
+  }
+
+  public long getLeaseTimeInMillis() {
+    return leaseTimeInMillis;
+  }
+
+  public void setLeaseTimeInMillis(long leaseTimeInMillis) {
+    this.leaseTimeInMillis = leaseTimeInMillis;
+  }
+
+}
@@ -36,6 +36,6 @@ public class MessageAddedNotification implements TransactionListener {
 
   public void execute(CommandContext commandContext) {
     LOG.debugNotifyingJobExecutor("notifying job executor of new job");
-    jobExecutor.jobWasAdded();
+    jobExecutor.jobsCommitted(commandContext.getProcessEngineConfiguration().getProcessEngineName());
   }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.ArrayList;
+
+/**
+ * <p>A batch of acquired non-exclusive jobs of different process instances.</p>
+ *
+ * <p>Only such batches are executed in shared transactions, see
+ * {@link JobExecutor#getMaxJobsPerTransaction()}. Any other batch is executed
+ * one job per transaction right away, without selecting its jobs first to find
+ * out whether they may share a transaction.</p>
+ */
+public class NonExclusiveJobBatch extends ArrayList<String> {
+
+  private static final long serialVersionUID = 1L;
+
+}
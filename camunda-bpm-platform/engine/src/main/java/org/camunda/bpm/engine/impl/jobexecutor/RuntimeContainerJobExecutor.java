@@ -57,8 +57,7 @@ public class RuntimeContainerJobExecutor extends JobExecutor {
     // delegate job execution to runtime container
     if(!executorService.schedule(executeJobsRunnable, false)) {
 
-      logRejectedExecution(processEngine, jobIds.size());
-      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      rejectJobs(jobIds, processEngine);
     }
   }
 
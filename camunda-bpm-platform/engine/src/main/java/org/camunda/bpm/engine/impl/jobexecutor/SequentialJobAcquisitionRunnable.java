@@ -138,7 +138,13 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
       LOG.executeJobs(currentProcessEngine.getName(), jobIds);
 
-      jobExecutor.executeJobs(jobIds, currentProcessEngine);
+      String processInstanceId = acquiredJobs.getExclusiveJobProcessInstanceId(jobIds.get(0));
+      if (processInstanceId != null) {
+        jobExecutor.executeExclusiveJobs(processInstanceId, jobIds, currentProcessEngine);
+      }
+      else {
+        jobExecutor.executeJobs(jobIds, currentProcessEngine);
+      }
     }
   }
 
@@ -154,6 +160,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     AcquiredJobs acquiredJobs = null;
 
     if (numJobsToAcquire > 0) {
+      jobExecutor.getJobPartitionLeases().renewLeases(currentProcessEngine);
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
       acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
     }
@@ -165,6 +172,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
 
     jobExecutor.logAcquiredJobs(currentProcessEngine, acquiredJobs.size());
     jobExecutor.logAcquisitionFailureJobs(currentProcessEngine, acquiredJobs.getNumberOfJobsFailedToLock());
+    jobExecutor.logJobPickupLatency(currentProcessEngine, acquiredJobs.getTotalPickupLatency());
 
     LOG.acquiredJobs(currentProcessEngine.getName(), acquiredJobs);
 
@@ -44,8 +44,7 @@ public class ThreadPoolJobExecutor extends JobExecutor {
 
     } catch (RejectedExecutionException e) {
 
-      logRejectedExecution(processEngine, jobIds.size());
-      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      rejectJobs(jobIds, processEngine);
 
     }
   }
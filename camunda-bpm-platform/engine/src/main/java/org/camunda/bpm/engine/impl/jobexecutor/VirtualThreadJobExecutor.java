@@ -0,0 +1,171 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} which executes every acquired batch of jobs on its own
+ * virtual thread. Virtual threads are cheap to block, so jobs which mostly wait
+ * for the database or remote calls are not limited by the size of a thread pool.</p>
+ *
+ * <p>Instead of a queue size, the number of job batches executed at the same time
+ * is limited by the {@link #setConcurrencyLimit(int) concurrency limit}. Batches
+ * above the limit are handed to the {@link RejectedJobsHandler}, just like
+ * the {@link ThreadPoolJobExecutor} does when its queue is full.</p>
+ *
+ * <p>If the JVM does not support virtual threads, the jobs are executed on a pool
+ * of platform threads, the size of which is the concurrency limit.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  protected static final String THREAD_NAME_PREFIX = "camunda-job-";
+
+  protected int concurrencyLimit = 100;
+
+  protected ExecutorService executorService;
+  protected Semaphore concurrencyPermits;
+  protected boolean virtualThreads;
+
+  protected void startExecutingJobs() {
+    if (executorService == null || executorService.isShutdown()) {
+      concurrencyPermits = new Semaphore(concurrencyLimit);
+      executorService = createVirtualThreadExecutor();
+
+      if (executorService != null) {
+        virtualThreads = true;
+        LOG.executingJobsOnVirtualThreads(getName(), concurrencyLimit);
+      }
+      else {
+        virtualThreads = false;
+        executorService = createPlatformThreadExecutor();
+      }
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    executorService.shutdown();
+
+    // Waits for 1 minute to finish all currently executing jobs
+    try {
+      if(!executorService.awaitTermination(60L, TimeUnit.SECONDS)) {
+        LOG.timeoutDuringShutdown();
+      }
+    } catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!concurrencyPermits.tryAcquire()) {
+      rejectJobs(jobIds, processEngine);
+      return;
+    }
+
+    final Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      executorService.execute(() -> {
+        try {
+          executeJobsRunnable.run();
+        }
+        finally {
+          concurrencyPermits.release();
+        }
+      });
+
+    } catch (RejectedExecutionException e) {
+      concurrencyPermits.release();
+      rejectJobs(jobIds, processEngine);
+    }
+  }
+
+  /**
+   * Uses reflection since the engine is compiled for JVMs without virtual threads.
+   *
+   * @return an executor starting a new virtual thread per task or <code>null</code>
+   *   if the JVM does not support virtual threads
+   */
+  protected ExecutorService createVirtualThreadExecutor() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, THREAD_NAME_PREFIX, 0L);
+      ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+      Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+
+    } catch (Exception e) {
+      // includes JVMs on which virtual threads are a preview feature which is not enabled
+      LOG.virtualThreadsNotSupported(getName(), concurrencyLimit, e);
+      return null;
+    }
+  }
+
+  protected ExecutorService createPlatformThreadExecutor() {
+    ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(concurrencyLimit, concurrencyLimit,
+        60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    threadPoolExecutor.allowCoreThreadTimeOut(true);
+    return threadPoolExecutor;
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getConcurrencyLimit() {
+    return concurrencyLimit;
+  }
+
+  /**
+   * @param concurrencyLimit the maximum number of job batches executed at the same time
+   */
+  public void setConcurrencyLimit(int concurrencyLimit) {
+    this.concurrencyLimit = concurrencyLimit;
+  }
+
+  /**
+   * @return the number of job batches which can be executed in addition to the currently executing ones
+   */
+  public int getAvailableConcurrency() {
+    return concurrencyPermits != null ? concurrencyPermits.availablePermits() : concurrencyLimit;
+  }
+
+  /**
+   * @return true if the jobs are executed on virtual threads
+   */
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+}
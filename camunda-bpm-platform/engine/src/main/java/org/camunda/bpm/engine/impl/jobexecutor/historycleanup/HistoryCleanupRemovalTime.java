@@ -16,15 +16,23 @@
  */
 package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.impl.batch.history.HistoricBatchEntity;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.TablePartition;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 
@@ -33,9 +41,26 @@ import org.camunda.bpm.engine.management.Metrics;
  */
 public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
 
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * Maximum allowed batch size of a range delete.
+   */
+  public final static int MAX_RANGE_DELETE_BATCH_SIZE = 100000;
+
   protected Map<Class<? extends DbEntity>, DbOperation> deleteOperations = new HashMap<>();
 
+  protected long removedPartitionRows;
+  protected long cleanupStartTime;
+
   public void performCleanup() {
+    cleanupStartTime = System.currentTimeMillis();
+
+    // all due partitions are dropped at once, by the first of the parallel cleanup jobs
+    if (isPartitionDropEnabled() && configuration.getMinuteFrom() == 0) {
+      removedPartitionRows = performPartitionCleanup();
+    }
+
     deleteOperations.putAll(performProcessCleanup());
 
     if (isDmnEnabled()) {
@@ -47,6 +72,64 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     deleteOperations.put(batchCleanup.getEntityType(), batchCleanup);
   }
 
+  protected long performPartitionCleanup() {
+    TableDataManager tableDataManager = Context.getCommandContext().getTableDataManager();
+
+    long removedRows = 0;
+    for (TablePartition partition : findDuePartitions(tableDataManager.findHistoryTablePartitions())) {
+      LOG.droppingHistoryTablePartition(partition);
+      tableDataManager.dropHistoryTablePartition(partition);
+
+      if (partition.getRowCount() != null) {
+        removedRows += partition.getRowCount();
+      }
+    }
+
+    return removedRows;
+  }
+
+  /**
+   * @return the partitions which only contain rows that are due for removal. The last partition
+   * of a table is kept in any case, e.g. Oracle cannot drop the last range partition of an
+   * interval-partitioned table.
+   */
+  protected List<TablePartition> findDuePartitions(List<TablePartition> partitions) {
+    Date removalTime = ClockUtil.getCurrentTime();
+
+    Map<String, TablePartition> lastPartitions = new HashMap<>();
+    for (TablePartition partition : partitions) {
+      TablePartition lastPartition = lastPartitions.get(partition.getTableName());
+      if (lastPartition == null || isAfter(partition.getUpperBound(), lastPartition.getUpperBound())) {
+        lastPartitions.put(partition.getTableName(), partition);
+      }
+    }
+
+    List<TablePartition> duePartitions = new ArrayList<>();
+    for (TablePartition partition : partitions) {
+      Date upperBound = partition.getUpperBound();
+      if (upperBound != null
+          && !upperBound.after(removalTime)
+          && partition != lastPartitions.get(partition.getTableName())) {
+        duePartitions.add(partition);
+      }
+    }
+
+    return duePartitions;
+  }
+
+  /**
+   * @return true if the first upper bound is after the second one, where null means unbounded
+   */
+  protected boolean isAfter(Date upperBound, Date otherUpperBound) {
+    if (otherUpperBound == null) {
+      return false;
+    } else if (upperBound == null) {
+      return true;
+    } else {
+      return upperBound.after(otherUpperBound);
+    }
+  }
+
   protected Map<Class<? extends DbEntity>, DbOperation> performDmnCleanup() {
     return Context
         .getCommandContext()
@@ -89,6 +172,18 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
       reports.put(Metrics.HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS, (long) deleteOperationBatch.getRowsAffected());
     }
 
+    long removedRows = removedPartitionRows;
+    for (DbOperation deleteOperation : deleteOperations.values()) {
+      removedRows += deleteOperation.getRowsAffected();
+    }
+
+    // the rows are removed when the transaction of the cleanup job is flushed
+    long duration = Math.max(1, System.currentTimeMillis() - cleanupStartTime);
+
+    // the rate is computed from the sums when the metrics are read, rates of several jobs cannot be summed
+    reports.put(Metrics.HISTORY_CLEANUP_REMOVED_ROWS, removedRows);
+    reports.put(Metrics.HISTORY_CLEANUP_DURATION, duration);
+
     return reports;
   }
 
@@ -110,10 +205,21 @@ public class HistoryCleanupRemovalTime extends HistoryCleanupHandler {
     return false;
   }
 
-  public int getBatchSize() {
+  protected boolean isPartitionDropEnabled() {
     return Context
         .getProcessEngineConfiguration()
-        .getHistoryCleanupBatchSize();
+        .isHistoryCleanupPartitionDropEnabled();
+  }
+
+  public int getBatchSize() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    int rangeDeleteBatchSize = processEngineConfiguration.getHistoryCleanupRangeDeleteBatchSize();
+    if (rangeDeleteBatchSize > 0) {
+      return rangeDeleteBatchSize;
+    } else {
+      return processEngineConfiguration.getHistoryCleanupBatchSize();
+    }
   }
 
 }
@@ -66,6 +66,9 @@ import org.camunda.bpm.engine.impl.juel.Builder.Feature;
  * <li>
  * <code>javax.el.varArgs</code> - support function/method calls using varargs (boolean, default is
  * <code>false</code>).</li>
+ * <li>
+ * <code>javax.el.compileThreshold</code> - number of evaluations after which an expression tree is
+ * compiled by the {@link TreeCompiler} (int, default is <code>-1</code>, which disables compilation).</li>
  * </ul>
  * 
  * @author Christoph Beck
@@ -124,6 +127,11 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 	 */
 	public static final String PROP_CACHE_SIZE = "javax.el.cacheSize";
 
+	/**
+	 * <code>javax.el.compileThreshold</code>
+	 */
+	public static final String PROP_COMPILE_THRESHOLD = "javax.el.compileThreshold";
+
 	private final TreeStore store;
 	private final TypeConverter converter;
 
@@ -304,7 +312,8 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 	 * Create the factory's tree store. This implementation creates a new tree store using the
 	 * default builder and cache implementations. The builder and cache are configured using the
 	 * specified properties. The maximum cache size will be as specified unless overridden by
-	 * property <code>javax.el.cacheSize</code>.
+	 * property <code>javax.el.cacheSize</code>, trees are compiled if property
+	 * <code>javax.el.compileThreshold</code> is set.
 	 */
 	protected TreeStore createTreeStore(int defaultCacheSize, Profile profile, Properties properties) {
 		// create builder
@@ -336,7 +345,17 @@ public class ExpressionFactoryImpl extends org.camunda.bpm.engine.impl.javax.el.
 		}
 		Cache cache = cacheSize > 0 ? new Cache(cacheSize) : null;
 
-		return new TreeStore(builder, cache);
+		// compile threshold
+		int compileThreshold = -1;
+		if (properties != null && properties.containsKey(PROP_COMPILE_THRESHOLD)) {
+			try {
+				compileThreshold = Integer.parseInt(properties.getProperty(PROP_COMPILE_THRESHOLD));
+			} catch (NumberFormatException e) {
+				throw new ELException("Cannot parse EL property " + PROP_COMPILE_THRESHOLD, e);
+			}
+		}
+
+		return new TreeStore(builder, cache, compileThreshold);
 	}
 
 	/**
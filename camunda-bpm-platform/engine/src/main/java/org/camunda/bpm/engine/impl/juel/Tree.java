@@ -17,6 +17,7 @@ package org.camunda.bpm.engine.impl.juel;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.camunda.bpm.engine.impl.javax.el.ELException;
 import org.camunda.bpm.engine.impl.javax.el.FunctionMapper;
@@ -39,6 +40,8 @@ public class Tree {
 	private final Collection<FunctionNode> functions;
 	private final Collection<IdentifierNode> identifiers;
 	private final boolean deferred;
+	private volatile TreeCompiler.CompiledNode compiledRoot;
+	private final AtomicInteger evaluations = new AtomicInteger();
 
 	/**
 	 * 
@@ -76,6 +79,24 @@ public class Tree {
 		return root;
 	}
 	
+	/**
+	 * Get the compiled root node. The root node is compiled by the {@link TreeCompiler}
+	 * once the tree has been evaluated <code>compileThreshold</code> times.
+	 * The tree is shared by all expressions with the same text, so the evaluations are counted
+	 * atomically. Threads reaching the threshold at the same time may each compile the tree;
+	 * the compiled nodes are equivalent, so whichever is published last is kept.
+	 * @param compileThreshold number of interpreted evaluations before the tree is compiled,
+	 * a negative value disables compilation
+	 * @return compiled root node or <code>null</code> if the tree is still interpreted
+	 */
+	public TreeCompiler.CompiledNode getCompiledRoot(int compileThreshold) {
+		TreeCompiler.CompiledNode compiled = compiledRoot;
+		if (compiled == null && compileThreshold >= 0 && evaluations.getAndIncrement() >= compileThreshold) {
+			compiledRoot = compiled = TreeCompiler.compile(root);
+		}
+		return compiled;
+	}
+
 	public boolean isDeferred() {
 		return deferred;
 	}
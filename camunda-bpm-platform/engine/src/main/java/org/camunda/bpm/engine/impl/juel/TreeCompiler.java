@@ -0,0 +1,249 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.juel;
+
+import org.camunda.bpm.engine.impl.javax.el.ELContext;
+
+
+/**
+ * Compiles the root node of a {@link Tree} into a tree of {@link CompiledNode}s.
+ * Literals are evaluated once at compile time, logical operators, comparisons and
+ * integral arithmetic skip the operator dispatch of the {@link AstNode}s for
+ * <code>Boolean</code> and integral operands and use {@link BooleanOperations} and
+ * {@link NumberOperations} for all other operands.
+ * Nodes the compiler does not support (identifiers, property and method access,
+ * functions, composite text) are evaluated by the interpreter, which keeps the
+ * semantics of the configured <code>ELResolver</code>s.
+ */
+public class TreeCompiler {
+
+	/**
+	 * Compiled form of an expression node.
+	 */
+	public interface CompiledNode {
+		/**
+		 * Evaluate the node.
+		 * @param bindings bindings of the evaluated expression
+		 * @param context evaluation context
+		 * @return evaluated node (not coerced to the expected type)
+		 */
+		Object eval(Bindings bindings, ELContext context);
+	}
+
+	/**
+	 * Compile the given expression root.
+	 * @param root the root node of a tree
+	 * @return the compiled form of the root node
+	 */
+	public static CompiledNode compile(final ExpressionNode root) {
+		if (root instanceof AstNode) {
+			return compileNode((AstNode) root);
+		}
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				return root.getValue(bindings, context, null);
+			}
+		};
+	}
+
+	protected static CompiledNode compileNode(AstNode node) {
+		if (node instanceof AstEval || node instanceof AstNested) {
+			return compileNode((AstNode) node.getChild(0));
+		}
+		if (node instanceof AstNumber || node instanceof AstString || node instanceof AstBoolean
+				|| node instanceof AstNull || node instanceof AstText) {
+			return constant(node.eval(null, null));
+		}
+		if (node instanceof AstBinary) {
+			return compileBinary((AstBinary) node);
+		}
+		if (node instanceof AstUnary) {
+			return compileUnary((AstUnary) node);
+		}
+		if (node instanceof AstChoice) {
+			return compileChoice((AstChoice) node);
+		}
+		return interpreted(node);
+	}
+
+	protected static CompiledNode compileBinary(AstBinary node) {
+		final CompiledNode left = compileNode(node.getChild(0));
+		final CompiledNode right = compileNode(node.getChild(1));
+		AstBinary.Operator operator = node.getOperator();
+
+		if (operator == AstBinary.AND) {
+			return new CompiledNode() {
+				public Object eval(Bindings bindings, ELContext context) {
+					if (!toBoolean(bindings, left.eval(bindings, context))) {
+						return Boolean.FALSE;
+					}
+					return toBoolean(bindings, right.eval(bindings, context));
+				}
+			};
+		}
+		if (operator == AstBinary.OR) {
+			return new CompiledNode() {
+				public Object eval(Bindings bindings, ELContext context) {
+					if (toBoolean(bindings, left.eval(bindings, context))) {
+						return Boolean.TRUE;
+					}
+					return toBoolean(bindings, right.eval(bindings, context));
+				}
+			};
+		}
+		if (operator == AstBinary.GT || operator == AstBinary.GE || operator == AstBinary.LT || operator == AstBinary.LE) {
+			return compileComparison(left, right, (AstBinary.SimpleOperator) operator);
+		}
+		if (operator == AstBinary.EQ || operator == AstBinary.NE) {
+			return compileEquality(left, right, operator == AstBinary.NE);
+		}
+		if (operator == AstBinary.ADD || operator == AstBinary.SUB || operator == AstBinary.MUL) {
+			return compileArithmetic(left, right, (AstBinary.SimpleOperator) operator);
+		}
+		if (operator instanceof AstBinary.SimpleOperator) {
+			final AstBinary.SimpleOperator simpleOperator = (AstBinary.SimpleOperator) operator;
+			return new CompiledNode() {
+				public Object eval(Bindings bindings, ELContext context) {
+					return simpleOperator.apply(bindings, left.eval(bindings, context), right.eval(bindings, context));
+				}
+			};
+		}
+		return interpreted(node);
+	}
+
+	protected static CompiledNode compileComparison(final CompiledNode left, final CompiledNode right, final AstBinary.SimpleOperator operator) {
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				Object o1 = left.eval(bindings, context);
+				Object o2 = right.eval(bindings, context);
+				if (isIntegral(o1) && isIntegral(o2)) {
+					long l1 = ((Number) o1).longValue();
+					long l2 = ((Number) o2).longValue();
+					if (operator == AstBinary.GT) {
+						return l1 > l2;
+					} else if (operator == AstBinary.GE) {
+						return l1 >= l2;
+					} else if (operator == AstBinary.LT) {
+						return l1 < l2;
+					} else {
+						return l1 <= l2;
+					}
+				}
+				return operator.apply(bindings, o1, o2);
+			}
+		};
+	}
+
+	protected static CompiledNode compileEquality(final CompiledNode left, final CompiledNode right, final boolean negate) {
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				Object o1 = left.eval(bindings, context);
+				Object o2 = right.eval(bindings, context);
+				boolean equal;
+				if (isIntegral(o1) && isIntegral(o2)) {
+					equal = ((Number) o1).longValue() == ((Number) o2).longValue();
+				} else if ((o1 instanceof String && o2 instanceof String) || (o1 instanceof Boolean && o2 instanceof Boolean)) {
+					equal = o1.equals(o2);
+				} else {
+					equal = BooleanOperations.eq(bindings, o1, o2);
+				}
+				return negate != equal;
+			}
+		};
+	}
+
+	protected static CompiledNode compileArithmetic(final CompiledNode left, final CompiledNode right, final AstBinary.SimpleOperator operator) {
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				Object o1 = left.eval(bindings, context);
+				Object o2 = right.eval(bindings, context);
+				if (isIntegral(o1) && isIntegral(o2)) {
+					long l1 = ((Number) o1).longValue();
+					long l2 = ((Number) o2).longValue();
+					if (operator == AstBinary.ADD) {
+						return l1 + l2;
+					} else if (operator == AstBinary.SUB) {
+						return l1 - l2;
+					} else {
+						return l1 * l2;
+					}
+				}
+				return operator.apply(bindings, o1, o2);
+			}
+		};
+	}
+
+	protected static CompiledNode compileUnary(AstUnary node) {
+		final CompiledNode child = compileNode(node.getChild(0));
+		AstUnary.Operator operator = node.getOperator();
+
+		if (operator == AstUnary.NOT) {
+			return new CompiledNode() {
+				public Object eval(Bindings bindings, ELContext context) {
+					return !toBoolean(bindings, child.eval(bindings, context));
+				}
+			};
+		}
+		if (operator instanceof AstUnary.SimpleOperator) {
+			final AstUnary.SimpleOperator simpleOperator = (AstUnary.SimpleOperator) operator;
+			return new CompiledNode() {
+				public Object eval(Bindings bindings, ELContext context) {
+					return simpleOperator.apply(bindings, child.eval(bindings, context));
+				}
+			};
+		}
+		return interpreted(node);
+	}
+
+	protected static CompiledNode compileChoice(AstChoice node) {
+		final CompiledNode question = compileNode(node.getChild(0));
+		final CompiledNode yes = compileNode(node.getChild(1));
+		final CompiledNode no = compileNode(node.getChild(2));
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				return toBoolean(bindings, question.eval(bindings, context)) ? yes.eval(bindings, context) : no.eval(bindings, context);
+			}
+		};
+	}
+
+	protected static CompiledNode constant(final Object value) {
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				return value;
+			}
+		};
+	}
+
+	protected static CompiledNode interpreted(final AstNode node) {
+		return new CompiledNode() {
+			public Object eval(Bindings bindings, ELContext context) {
+				return node.eval(bindings, context);
+			}
+		};
+	}
+
+	protected static boolean toBoolean(Bindings bindings, Object value) {
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		return bindings.convert(value, Boolean.class);
+	}
+
+	protected static boolean isIntegral(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+}
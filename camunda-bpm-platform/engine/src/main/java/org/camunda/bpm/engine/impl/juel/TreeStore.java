@@ -27,6 +27,7 @@ package org.camunda.bpm.engine.impl.juel;
 public class TreeStore {
 	private final TreeCache cache;
 	private final TreeBuilder builder;
+	private final int compileThreshold;
 
 	/**
 	 * Constructor.
@@ -34,15 +35,31 @@ public class TreeStore {
 	 * @param cache the tree cache (may be <code>null</code>)
 	 */
 	public TreeStore(TreeBuilder builder, TreeCache cache) {
+		this(builder, cache, -1);
+	}
+
+	/**
+	 * Constructor.
+	 * @param builder the tree builder
+	 * @param cache the tree cache (may be <code>null</code>)
+	 * @param compileThreshold number of evaluations after which a tree is compiled
+	 * by the {@link TreeCompiler} (a negative value disables compilation)
+	 */
+	public TreeStore(TreeBuilder builder, TreeCache cache, int compileThreshold) {
 		super();
 
 		this.builder = builder;
 		this.cache = cache;
+		this.compileThreshold = compileThreshold;
 	}
 
 	public TreeBuilder getBuilder() {
 		return builder;
 	}
+
+	public int getCompileThreshold() {
+		return compileThreshold;
+	}
 	
 	/**
 	 * Get a {@link Tree}.
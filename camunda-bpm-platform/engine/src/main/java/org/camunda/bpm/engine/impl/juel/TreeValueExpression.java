@@ -45,6 +45,8 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 	private final boolean deferred;
 
 	private transient ExpressionNode node;
+	private transient Tree tree;
+	private final int compileThreshold;
 
 	private String structure;
 
@@ -66,6 +68,8 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
 		this.expr = expr;
 		this.type = type;
 		this.node = tree.getRoot();
+		this.tree = tree;
+		this.compileThreshold = store.getCompileThreshold();
 		this.deferred = tree.isDeferred();
 		
 		if (type == null) {
@@ -111,6 +115,12 @@ public final class TreeValueExpression extends org.camunda.bpm.engine.impl.javax
    */
 	@Override
 	public Object getValue(ELContext context) throws ELException {
+		if (tree != null) {
+			TreeCompiler.CompiledNode compiledRoot = tree.getCompiledRoot(compileThreshold);
+			if (compiledRoot != null) {
+				return bindings.convert(compiledRoot.eval(bindings, context), type);
+			}
+		}
 		return node.getValue(bindings, context, type);
 	}
 
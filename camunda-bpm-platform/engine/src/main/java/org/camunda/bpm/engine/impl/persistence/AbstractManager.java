@@ -55,6 +55,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricProcessInstanceMan
 import org.camunda.bpm.engine.impl.persistence.entity.ReportManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricTaskInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceManager;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
@@ -198,6 +199,10 @@ public abstract class AbstractManager implements Session {
     return getSession(HistoricExternalTaskLogManager.class);
   }
 
+  protected HistoryOutboxManager getHistoryOutboxManager() {
+    return getSession(HistoryOutboxManager.class);
+  }
+
   protected JobManager getJobManager() {
     return getSession(JobManager.class);
   }
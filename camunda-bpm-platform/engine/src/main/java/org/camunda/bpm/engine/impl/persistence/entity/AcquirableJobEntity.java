@@ -33,6 +33,7 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
   protected String lockOwner = null;
   protected Date lockExpirationTime = null;
   protected Date duedate;
+  protected Date createTime;
 
   protected String processInstanceId = null;
 
@@ -83,6 +84,14 @@ public class AcquirableJobEntity implements DbEntity, HasDbRevision {
     this.duedate = duedate;
   }
 
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
   public String getLockOwner() {
     return lockOwner;
   }
@@ -19,7 +19,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
 import org.camunda.bpm.engine.repository.ResourceType;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 
@@ -71,6 +74,33 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
     return bytes;
   }
 
+  /**
+   * @return the bytes as they are written to the database, compressed if
+   * {@link ProcessEngineConfigurationImpl#isByteArrayCompressionEnabled()} and the bytes
+   * reach the compression threshold
+   */
+  public byte[] getPersistentBytes() {
+    ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
+
+    if (bytes != null
+        && configuration != null
+        && configuration.isByteArrayCompressionEnabled()
+        && (bytes.length >= configuration.getByteArrayCompressionThreshold() || CompressionUtil.isCompressed(bytes))) {
+      return CompressionUtil.compress(bytes);
+    }
+    else {
+      return bytes;
+    }
+  }
+
+  /**
+   * Sets the bytes as they are read from the database; compressed bytes are decompressed
+   * independent of the configuration, so that rows stay readable when compression is disabled.
+   */
+  public void setPersistentBytes(byte[] persistentBytes) {
+    this.bytes = CompressionUtil.decompress(persistentBytes);
+  }
+
   public Object getPersistentState() {
     return (bytes != null ? bytes : PERSISTENTSTATE_NULL);
   }
@@ -20,10 +20,16 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.camunda.bpm.engine.repository.ResourceTypes;
+import org.camunda.commons.utils.cache.Cache;
 
 /**
  * @author Joram Barrez
@@ -45,6 +51,53 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().insert(arr);
   }
 
+  /**
+   * Inserts the bytes of a historic variable update. If history byte array deduplication is enabled
+   * and an earlier update of the same variable instance wrote the same content, the byte array
+   * of that update is reused instead.
+   *
+   * @return the id of the inserted or reused byte array
+   */
+  public String insertHistoricVariableUpdateByteArray(HistoricVariableUpdateEventEntity historyEvent) {
+    byte[] bytes = historyEvent.getByteValue();
+
+    Cache<String, String> deduplicationCache = Context.getProcessEngineConfiguration().getHistoryByteArrayDeduplicationCache();
+    String contentKey = null;
+
+    if (deduplicationCache != null && historyEvent.getVariableInstanceId() != null) {
+      contentKey = historyEvent.getVariableInstanceId() + ":" + CompressionUtil.contentHash(bytes);
+
+      String byteArrayId = deduplicationCache.get(contentKey);
+      if (byteArrayId != null && isByteArrayPresent(byteArrayId)) {
+        return byteArrayId;
+      }
+    }
+
+    ByteArrayEntity byteArrayEntity = new ByteArrayEntity(historyEvent.getVariableName(), bytes, ResourceTypes.HISTORY);
+    byteArrayEntity.setRootProcessInstanceId(historyEvent.getRootProcessInstanceId());
+    byteArrayEntity.setRemovalTime(historyEvent.getRemovalTime());
+    insertByteArray(byteArrayEntity);
+
+    if (contentKey != null) {
+      // a byte array of a rolled back or concurrent transaction is not present for later lookups
+      deduplicationCache.put(contentKey, byteArrayEntity.getId());
+    }
+
+    return byteArrayEntity.getId();
+  }
+
+  protected boolean isByteArrayPresent(String byteArrayId) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    ByteArrayEntity cachedByteArray = dbEntityManager.getCachedEntity(ByteArrayEntity.class, byteArrayId);
+    if (cachedByteArray != null) {
+      return !dbEntityManager.isDeleted(cachedByteArray);
+    }
+
+    Long count = (Long) dbEntityManager.selectOne("selectByteArrayCountById", byteArrayId);
+    return count != null && count > 0;
+  }
+
   public void addRemovalTimeToByteArraysByRootProcessInstanceId(String rootProcessInstanceId, Date removalTime) {
     Map<String, Object> parameters = new HashMap<>();
     parameters.put("rootProcessInstanceId", rootProcessInstanceId);
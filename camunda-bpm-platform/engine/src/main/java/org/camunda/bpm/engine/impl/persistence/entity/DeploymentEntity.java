@@ -25,7 +25,7 @@ import java.util.Map;
 
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
-import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
@@ -35,7 +35,7 @@ import org.camunda.bpm.engine.repository.*;
 /**
  * @author Tom Baeyens
  */
-public class DeploymentEntity implements Serializable, DeploymentWithDefinitions, DbEntity {
+public class DeploymentEntity implements Serializable, DeploymentWithDefinitions, SharedDbEntity {
 
   private static final long serialVersionUID = 1L;
 
@@ -93,6 +93,16 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
     return DeploymentEntity.class;
   }
 
+  public DeploymentEntity copy() {
+    DeploymentEntity copy = new DeploymentEntity();
+    copy.id = id;
+    copy.name = name;
+    copy.source = source;
+    copy.deploymentTime = deploymentTime;
+    copy.tenantId = tenantId;
+    return copy;
+  }
+
   // Deployed artifacts manipulation //////////////////////////////////////////
 
   public void addDeployedArtifact(ResourceDefinitionEntity deployedArtifact) {
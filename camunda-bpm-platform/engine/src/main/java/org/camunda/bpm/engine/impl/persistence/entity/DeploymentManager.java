@@ -72,6 +72,9 @@ public class DeploymentManager extends AbstractManager {
   public void deleteDeployment(String deploymentId, final boolean cascade, final boolean skipCustomListeners, boolean skipIoMappings) {
     List<ProcessDefinition> processDefinitions = getProcessDefinitionManager().findProcessDefinitionsByDeploymentId(deploymentId);
     if (cascade) {
+      // the history of the deployment includes the history of deleting its instances
+      getHistoryOutboxManager().bypassOutbox();
+
       // *NOTE*:
       // The process instances of ALL process definitions must be
       // deleted, before every process definition can be deleted!
@@ -57,6 +57,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
   protected String configuration;
   protected Date created;
   protected String tenantId;
+  protected String correlationKey;
 
   // runtime state /////////////////////////////
   protected ExecutionEntity execution;
@@ -174,6 +175,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
     persistentState.put("configuration", configuration);
     persistentState.put("activityId", activityId);
     persistentState.put("eventName", eventName);
+    persistentState.put("correlationKey", correlationKey);
     return persistentState;
   }
 
@@ -328,6 +330,18 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
     this.tenantId = tenantId;
   }
 
+  /**
+   * @return the indexed values of the correlation variables declared for the message
+   *   or null if the subscription is not indexed
+   */
+  public String getCorrelationKey() {
+    return correlationKey;
+  }
+
+  public void setCorrelationKey(String correlationKey) {
+    this.correlationKey = correlationKey;
+  }
+
   @Override
   public int hashCode() {
     final int prime = 31;
@@ -381,6 +395,7 @@ public class EventSubscriptionEntity implements EventSubscription, DbEntity, Has
            + ", activityId=" + activityId
            + ", tenantId=" + tenantId
            + ", configuration=" + configuration
+           + ", correlationKey=" + correlationKey
            + ", revision=" + revision
            + ", created=" + created
            + "]";
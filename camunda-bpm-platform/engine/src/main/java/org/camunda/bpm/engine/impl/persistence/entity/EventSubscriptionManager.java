@@ -284,6 +284,30 @@ public class EventSubscriptionManager extends AbstractManager {
     return (EventSubscriptionEntity) getDbEntityManager().selectOne("selectMessageStartEventSubscriptionByNameAndTenantId", parameters);
   }
 
+  /**
+   * @return the message event subscriptions of executions with the given message name and
+   *   correlation key
+   *
+   * @see org.camunda.bpm.engine.impl.util.CorrelationKeyUtil
+   */
+  @SuppressWarnings("unchecked")
+  public List<EventSubscriptionEntity> findMessageEventSubscriptionsByCorrelationKey(String messageName, String correlationKey) {
+    Map<String, String> parameters = new HashMap<String, String>();
+    parameters.put("eventName", messageName);
+    parameters.put("correlationKey", correlationKey);
+
+    return getDbEntityManager().selectList("selectMessageEventSubscriptionsByCorrelationKey", configureParameterizedQuery(parameters));
+  }
+
+  /**
+   * @return true if there are message event subscriptions of executions with the given
+   *   message name that have no correlation key
+   */
+  public boolean hasMessageEventSubscriptionsWithoutCorrelationKey(String messageName) {
+    Long count = (Long) getDbEntityManager().selectOne("selectMessageEventSubscriptionCountWithoutCorrelationKey", configureParameterizedQuery(messageName));
+    return count != null && count > 0;
+  }
+
   /**
    * @param tenantId
    * @return the conditional start event subscriptions with the given tenant id
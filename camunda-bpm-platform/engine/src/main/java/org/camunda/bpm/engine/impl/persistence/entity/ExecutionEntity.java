@@ -23,12 +23,14 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineServices;
 import org.camunda.bpm.engine.delegate.ExecutionListener;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -51,8 +53,10 @@ import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore;
 import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbModificationCount;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
@@ -96,7 +100,7 @@ import org.camunda.bpm.model.xml.type.ModelElementType;
  * @author Daniel Meyer
  * @author Falko Menge
  */
-public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, VariablesProvider<VariableInstanceEntity> {
+public class ExecutionEntity extends PvmExecutionImpl implements Execution, ProcessInstance, DbEntity, HasDbRevision, HasDbReferences, HasDbModificationCount, VariablesProvider<VariableInstanceEntity> {
 
   private static final long serialVersionUID = 1L;
 
@@ -273,7 +277,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     createdExecution.setSuspensionState(getSuspensionState());
 
     // make created execution start in same activity instance
-    createdExecution.activityInstanceId = activityInstanceId;
+    createdExecution.setActivityInstanceId(activityInstanceId);
 
     // inherit the tenant id from parent execution
     if(tenantId != null) {
@@ -367,7 +371,8 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void fireHistoricActivityInstanceUpdate() {
     ProcessEngineConfigurationImpl configuration = Context.getProcessEngineConfiguration();
     HistoryLevel historyLevel = configuration.getHistoryLevel();
-    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, this)) {
+    if (historyLevel.isHistoryEventProduced(HistoryEventTypes.ACTIVITY_INSTANCE_UPDATE, this)
+        && !isActivityHistoryExcluded()) {
       // publish update event for current activity instance (containing the id
       // of the sub process/case)
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
@@ -379,6 +384,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     }
   }
 
+  protected boolean isActivityHistoryExcluded() {
+    ActivityImpl activity = getActivity();
+    return activity != null && Boolean.TRUE.equals(activity.getProperties().get(BpmnProperties.HISTORY_EXCLUDED));
+  }
+
   // scopes ///////////////////////////////////////////////////////////////////
 
   @Override
@@ -455,6 +465,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     // determine tenant Id if null
     provideTenantId(variables);
+    registerTransientProcessInstance();
     super.start(variables, formProperties);
   }
 
@@ -462,9 +473,16 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void startWithoutExecuting(Map<String, Object> variables) {
     setRootProcessInstanceId(getProcessInstanceId());
     provideTenantId(variables);
+    registerTransientProcessInstance();
     super.startWithoutExecuting(variables);
   }
 
+  protected void registerTransientProcessInstance() {
+    if (Boolean.TRUE.equals(getProcessDefinition().getProperties().get(BpmnProperties.TRANSIENT))) {
+      Context.getCommandContext().getTransientProcessInstanceManager().registerProcessInstance(this);
+    }
+  }
+
   protected void provideTenantId(Map<String, Object> variables) {
     if (tenantId == null) {
       TenantIdProvider tenantIdProvider = Context.getProcessEngineConfiguration().getTenantIdProvider();
@@ -687,7 +705,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
   @Override
   public void inactivate() {
-    this.isActive = false;
+    setActive(false);
   }
 
   // executions ///////////////////////////////////////////////////////////////
@@ -751,7 +769,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setProcessDefinitionId(String processDefinitionId) {
-    this.processDefinitionId = processDefinitionId;
+    if (!Objects.equals(this.processDefinitionId, processDefinitionId)) {
+      this.processDefinitionId = processDefinitionId;
+      modificationCount++;
+    }
   }
 
   public String getProcessDefinitionId() {
@@ -774,10 +795,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void setProcessDefinition(ProcessDefinitionImpl processDefinition) {
     this.processDefinition = processDefinition;
     if (processDefinition != null) {
-      this.processDefinitionId = processDefinition.getId();
+      setProcessDefinitionId(processDefinition.getId());
     }
     else {
-      this.processDefinitionId = null;
+      setProcessDefinitionId(null);
     }
 
   }
@@ -858,10 +879,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   public void setActivity(PvmActivity activity) {
     super.setActivity(activity);
     if (activity != null) {
-      this.activityId = activity.getId();
+      setActivityId(activity.getId());
       this.activityName = (String) activity.getProperty("name");
     } else {
-      this.activityId = null;
+      setActivityId(null);
       this.activityName = null;
     }
 
@@ -914,9 +935,9 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.parent = (ExecutionEntity) parent;
 
     if (parent != null) {
-      this.parentId = parent.getId();
+      setParentId(parent.getId());
     } else {
-      this.parentId = null;
+      setParentId(null);
     }
   }
 
@@ -942,10 +963,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.superExecution = (ExecutionEntity) superExecution;
 
     if (superExecution != null) {
-      this.superExecutionId = superExecution.getId();
+      setSuperExecutionId(superExecution.getId());
       this.superExecution.setSubProcessInstance(this);
     } else {
-      this.superExecutionId = null;
+      setSuperExecutionId(null);
     }
   }
 
@@ -980,7 +1001,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setSuperCaseExecutionId(String superCaseExecutionId) {
-    this.superCaseExecutionId = superCaseExecutionId;
+    if (!Objects.equals(this.superCaseExecutionId, superCaseExecutionId)) {
+      this.superCaseExecutionId = superCaseExecutionId;
+      modificationCount++;
+    }
   }
 
   @Override
@@ -994,11 +1018,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     this.superCaseExecution = (CaseExecutionEntity) superCaseExecution;
 
     if (superCaseExecution != null) {
-      this.superCaseExecutionId = superCaseExecution.getId();
-      this.caseInstanceId = superCaseExecution.getCaseInstanceId();
+      setSuperCaseExecutionId(superCaseExecution.getId());
+      setCaseInstanceId(superCaseExecution.getCaseInstanceId());
     } else {
-      this.superCaseExecutionId = null;
-      this.caseInstanceId = null;
+      setSuperCaseExecutionId(null);
+      setCaseInstanceId(null);
     }
   }
 
@@ -1440,6 +1464,20 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return persistentState;
   }
 
+  public long getModificationCount() {
+    // the cached entity state is derived from the initialized collections of this execution
+    // instead of being set, so it is added to the count of the modifications
+    return ((long) modificationCount << Integer.SIZE) | (getCachedEntityState() & 0xffffffffL);
+  }
+
+  @Override
+  public void setBusinessKey(String businessKey) {
+    if (!Objects.equals(this.businessKey, businessKey)) {
+      super.setBusinessKey(businessKey);
+      modificationCount++;
+    }
+  }
+
   public void insert() {
     Context.getCommandContext().getExecutionManager().insertExecution(this);
   }
@@ -1668,6 +1706,11 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
 
     listeners.add((VariableInstanceLifecycleListener) new VariableListenerInvocationListener(this));
 
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.getMessageCorrelationKeys() != null) {
+      listeners.add((VariableInstanceLifecycleListener) MessageCorrelationKeyListener.INSTANCE);
+    }
+
     listeners.addAll((List) registeredVariableListeners);
 
     return listeners;
@@ -1693,6 +1736,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
       VariableInstanceEntity existingVariable = variableStore.getVariable(variable.getName());
       existingVariable.setValue(variable.getTypedValue());
       variable.delete();
+      VariableResolutionCache.invalidateCurrent();
     }
     else {
       variableStore.addVariable(variable);
@@ -1812,7 +1856,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setParentId(String parentId) {
-    this.parentId = parentId;
+    if (!Objects.equals(this.parentId, parentId)) {
+      this.parentId = parentId;
+      modificationCount++;
+    }
   }
 
   public int getRevision() {
@@ -1824,11 +1871,17 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setActivityId(String activityId) {
-    this.activityId = activityId;
+    if (!Objects.equals(this.activityId, activityId)) {
+      this.activityId = activityId;
+      modificationCount++;
+    }
   }
 
   public void setSuperExecutionId(String superExecutionId) {
-    this.superExecutionId = superExecutionId;
+    if (!Objects.equals(this.superExecutionId, superExecutionId)) {
+      this.superExecutionId = superExecutionId;
+      modificationCount++;
+    }
   }
 
   @Override
@@ -1870,7 +1923,10 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
   }
 
   public void setSuspensionState(int suspensionState) {
-    this.suspensionState = suspensionState;
+    if (this.suspensionState != suspensionState) {
+      this.suspensionState = suspensionState;
+      modificationCount++;
+    }
   }
 
   public boolean isSuspended() {
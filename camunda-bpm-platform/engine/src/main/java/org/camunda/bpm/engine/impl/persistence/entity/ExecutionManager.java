@@ -91,6 +91,7 @@ public class ExecutionManager extends AbstractManager {
     execution.deleteCascade(deleteReason, skipCustomListeners, skipIoMappings, externallyTerminated, skipSubprocesses);
 
     if (cascade) {
+      getHistoryOutboxManager().bypassOutbox();
       getHistoricProcessInstanceManager().deleteHistoricProcessInstanceByIds(Arrays.asList(processInstanceId));
     }
   }
@@ -390,6 +390,10 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
     this.lockExpirationTime = new Date(ClockUtil.getCurrentTime().getTime() + retryDuration);
     produceHistoricExternalTaskFailedEvent();
     setRetriesAndManageIncidents(retries);
+
+    Context.getCommandContext()
+      .getExternalTaskManager()
+      .fireExternalTaskReleasedEvent(id);
   }
 
   public void bpmnError(String errorCode, String errorMessage, Map<String, Object> variables) {
@@ -504,12 +508,15 @@ public class ExternalTaskEntity implements ExternalTask, DbEntity, HasDbRevision
   }
 
   public void unlock() {
+    ExternalTaskManager externalTaskManager = Context.getCommandContext().getExternalTaskManager();
+    if (workerId != null) {
+      externalTaskManager.fireExternalTaskReleasedEvent(id);
+    }
+
     workerId = null;
     lockExpirationTime = null;
 
-    Context.getCommandContext()
-      .getExternalTaskManager()
-      .fireExternalTaskAvailableEvent();
+    externalTaskManager.fireExternalTaskAvailableEvent(topicName);
   }
 
   public static ExternalTaskEntity createAndInsert(ExecutionEntity execution, String topic, long priority) {
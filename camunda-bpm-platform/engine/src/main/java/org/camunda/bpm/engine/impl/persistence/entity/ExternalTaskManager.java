@@ -19,8 +19,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.externaltask.ExternalTask;
 import org.camunda.bpm.engine.impl.Direction;
@@ -38,6 +40,7 @@ import org.camunda.bpm.engine.impl.externaltask.TopicFetchInstruction;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
 import org.camunda.bpm.engine.impl.util.DatabaseUtil;
 import org.camunda.bpm.engine.impl.util.ImmutablePair;
 
@@ -49,17 +52,36 @@ public class ExternalTaskManager extends AbstractManager {
 
   public static QueryOrderingProperty EXT_TASK_PRIORITY_ORDERING_PROPERTY = new QueryOrderingProperty(ExternalTaskQueryProperty.PRIORITY, Direction.DESCENDING);
 
+  protected Set<String> availableTopicNames;
+  protected Set<String> releasedTaskIds;
+
   public ExternalTaskEntity findExternalTaskById(String id) {
     return getDbEntityManager().selectById(ExternalTaskEntity.class, id);
   }
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
-    fireExternalTaskAvailableEvent();
+    fireExternalTaskAvailableEvent(externalTask.getTopicName());
   }
 
   public void delete(ExternalTaskEntity externalTask) {
     getDbEntityManager().delete(externalTask);
+
+    if (externalTask.getWorkerId() != null) {
+      fireExternalTaskReleasedEvent(externalTask.getId());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByIds(List<String> ids) {
+    List<ExternalTaskEntity> externalTasks = new ArrayList<>();
+
+    // break down parameter list to not hit query parameter limitations
+    for (List<String> partition : CollectionUtil.partition(ids, DbSqlSessionFactory.MAXIMUM_NUMBER_PARAMS)) {
+      externalTasks.addAll(getDbEntityManager().selectList("selectExternalTasksByIds", partition));
+    }
+
+    return externalTasks;
   }
 
   @SuppressWarnings("unchecked")
@@ -171,14 +193,53 @@ public class ExternalTaskManager extends AbstractManager {
   }
 
   public void fireExternalTaskAvailableEvent() {
-    Context.getCommandContext()
-      .getTransactionContext()
-      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
-        @Override
-        public void execute(CommandContext commandContext) {
-          ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
-        }
-      });
+    fireExternalTaskAvailableEvent(null);
+  }
+
+  /**
+   * Signals the external task conditions and notifies the external task available listeners
+   * once the transaction is committed. All events of a transaction are combined into a
+   * single notification.
+   *
+   * @param topicName the topic of the available external task or null if unknown
+   */
+  public void fireExternalTaskAvailableEvent(String topicName) {
+    if (availableTopicNames == null) {
+      availableTopicNames = new HashSet<>();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          @Override
+          public void execute(CommandContext commandContext) {
+            ProcessEngineImpl.EXT_TASK_CONDITIONS.signalAll();
+
+            String processEngineName = commandContext.getProcessEngineConfiguration().getProcessEngineName();
+            ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.externalTasksAvailable(processEngineName, availableTopicNames);
+          }
+        });
+    }
+    availableTopicNames.add(topicName);
+  }
+
+  /**
+   * Notifies the external task available listeners once the transaction is committed
+   * that the external task is no longer locked by its worker. All events of a transaction
+   * are combined into a single notification.
+   */
+  public void fireExternalTaskReleasedEvent(String externalTaskId) {
+    if (releasedTaskIds == null) {
+      releasedTaskIds = new HashSet<>();
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          @Override
+          public void execute(CommandContext commandContext) {
+            String processEngineName = commandContext.getProcessEngineConfiguration().getProcessEngineName();
+            ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.externalTasksReleased(processEngineName, releasedTaskIds);
+          }
+        });
+    }
+    releasedTaskIds.add(externalTaskId);
   }
 }
 
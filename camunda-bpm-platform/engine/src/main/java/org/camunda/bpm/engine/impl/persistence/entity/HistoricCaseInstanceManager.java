@@ -77,6 +77,8 @@ public class HistoricCaseInstanceManager extends AbstractHistoricManager {
       getHistoricTaskInstanceManager().deleteHistoricTaskInstancesByCaseInstanceIds(historicCaseInstanceIds);
 
       getDbEntityManager().delete(HistoricCaseInstanceEntity.class, "deleteHistoricCaseInstancesByIds", historicCaseInstanceIds);
+
+      getHistoryOutboxManager().addDeletedCaseInstances(historicCaseInstanceIds);
     }
   }
 
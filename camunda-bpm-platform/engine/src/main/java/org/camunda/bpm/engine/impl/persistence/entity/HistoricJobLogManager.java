@@ -102,6 +102,7 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
 
   public void deleteHistoricJobLogById(String id) {
     if (isHistoryEnabled()) {
+      getHistoryOutboxManager().bypassOutbox();
       deleteExceptionByteArrayByParameterMap("id", id);
       getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogById", id);
     }
@@ -109,6 +110,7 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
 
   public void deleteHistoricJobLogByJobId(String jobId) {
     if (isHistoryEnabled()) {
+      getHistoryOutboxManager().bypassOutbox();
       deleteExceptionByteArrayByParameterMap("jobId", jobId);
       getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByJobId", jobId);
     }
@@ -135,6 +137,7 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
 
   public void deleteHistoricJobLogsByHandlerType(String handlerType) {
     if (isHistoryEnabled()) {
+      getHistoryOutboxManager().bypassOutbox();
       deleteExceptionByteArrayByParameterMap("handlerType", handlerType);
       getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByHandlerType", handlerType);
     }
@@ -142,6 +145,7 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
 
   public void deleteHistoricJobLogsByJobDefinitionId(String jobDefinitionId) {
     if (isHistoryEnabled()) {
+      getHistoryOutboxManager().bypassOutbox();
       deleteExceptionByteArrayByParameterMap("jobDefinitionId", jobDefinitionId);
       getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByJobDefinitionId", jobDefinitionId);
     }
@@ -149,6 +153,7 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
 
   public void deleteHistoricJobLogByBatchIds(List<String> historicBatchIds) {
     if (isHistoryEnabled()) {
+      getHistoryOutboxManager().bypassOutbox();
       deleteExceptionByteArrayByParameterMap("historicBatchIdIn", historicBatchIds);
       getDbEntityManager().delete(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByBatchIds", historicBatchIds);
     }
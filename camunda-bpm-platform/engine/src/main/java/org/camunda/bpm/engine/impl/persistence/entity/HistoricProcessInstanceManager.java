@@ -90,6 +90,8 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
 
         commandContext.getDbEntityManager().deletePreserveOrder(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstances", partition);
       }
+
+      commandContext.getHistoryOutboxManager().addDeletedProcessInstances(processInstanceIds);
     }
   }
 
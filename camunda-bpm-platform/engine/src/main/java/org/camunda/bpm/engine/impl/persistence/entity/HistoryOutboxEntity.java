@@ -0,0 +1,250 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>An entry of the history event outbox. It holds the serialized history events
+ * of one transaction until they are written to the history tables.</p>
+ *
+ * <p>The events are serialized with Java serialization, prefixed with the
+ * {@link #FORMAT_VERSION} and the version of the process engine which wrote them.
+ * Entries written by a different format version cannot be read, and entries written by
+ * a different engine version can only be read as long as the history event classes are
+ * compatible. The outbox must therefore be drained before a process engine is upgraded.</p>
+ */
+public class HistoryOutboxEntity implements DbEntity, HasDbRevision, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  /**
+   * The version of the serialized form. It is increased whenever the serialized form of
+   * the entry or of the history events changes incompatibly.
+   */
+  public static final int FORMAT_VERSION = 1;
+
+  protected static final String ENGINE_VERSION = String.valueOf(
+      HistoryOutboxEntity.class.getPackage().getImplementationVersion());
+
+  protected String id;
+  protected int revision;
+
+  protected long sequence;
+  protected Date createTime;
+  protected int eventCount;
+  protected byte[] bytes;
+
+  protected transient List<HistoryEvent> events;
+  /** the type of each event at the time it was added, an event object may be updated later on */
+  protected transient List<String> eventTypes;
+  protected transient Map<String, HistoryEvent> eventsById;
+
+  public HistoryOutboxEntity() {
+  }
+
+  public HistoryOutboxEntity(long sequence, Date createTime) {
+    this.sequence = sequence;
+    this.createTime = createTime;
+    this.events = new ArrayList<>();
+    this.eventTypes = new ArrayList<>();
+    this.eventsById = new HashMap<>();
+  }
+
+  public void addEvent(HistoryEvent historyEvent) {
+    events.add(historyEvent);
+    eventTypes.add(historyEvent.getEventType());
+    eventCount = events.size();
+    bytes = null;
+
+    if (historyEvent.getId() != null) {
+      eventsById.put(historyEvent.getId(), historyEvent);
+    }
+  }
+
+  /**
+   * Removes the events which match the given predicate from this entry.
+   */
+  public void removeEvents(Predicate<HistoryEvent> predicate) {
+    for (int i = events.size() - 1; i >= 0; i--) {
+      HistoryEvent historyEvent = events.get(i);
+      if (predicate.test(historyEvent)) {
+        events.remove(i);
+        eventTypes.remove(i);
+        eventsById.remove(historyEvent.getId(), historyEvent);
+      }
+    }
+    eventCount = events.size();
+    bytes = null;
+  }
+
+  /**
+   * @return the latest event of the given type and id which has been added to this
+   * entry or <code>null</code> if no such event exists
+   */
+  public <T extends HistoryEvent> T findEvent(Class<T> type, String id) {
+    HistoryEvent historyEvent = eventsById != null ? eventsById.get(id) : null;
+    if (type.isInstance(historyEvent)) {
+      return type.cast(historyEvent);
+    }
+    return null;
+  }
+
+  public List<HistoryEvent> getEvents() {
+    if (events == null && bytes != null) {
+      deserializeEvents();
+    }
+    return events;
+  }
+
+  public List<String> getEventTypes() {
+    if (eventTypes == null && bytes != null) {
+      deserializeEvents();
+    }
+    return eventTypes;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void deserializeEvents() {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      int formatVersion = in.readInt();
+      String engineVersion = in.readUTF();
+      if (formatVersion != FORMAT_VERSION) {
+        throw LOG.historyOutboxEntryFormatVersionMismatch(id, formatVersion, engineVersion, FORMAT_VERSION);
+      }
+
+      try {
+        events = (List<HistoryEvent>) in.readObject();
+        eventTypes = (List<String>) in.readObject();
+      }
+      catch (IOException | ClassNotFoundException e) {
+        throw LOG.historyOutboxEntryDeserializationException(id, engineVersion, ENGINE_VERSION, e);
+      }
+    }
+    catch (IOException e) {
+      throw LOG.historyOutboxEntrySerializationException(id, e);
+    }
+  }
+
+  protected byte[] serializeEvents() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeInt(FORMAT_VERSION);
+      out.writeUTF(ENGINE_VERSION);
+      // events which are updated within the transaction are written once, in their latest state
+      out.writeObject(events);
+      out.writeObject(eventTypes);
+    }
+    catch (IOException e) {
+      throw LOG.historyOutboxEntrySerializationException(id, e);
+    }
+    return bytes.toByteArray();
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public int getRevision() {
+    return revision;
+  }
+
+  public void setRevision(int revision) {
+    this.revision = revision;
+  }
+
+  public int getRevisionNext() {
+    return revision + 1;
+  }
+
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  public Date getCreateTime() {
+    return createTime;
+  }
+
+  public void setCreateTime(Date createTime) {
+    this.createTime = createTime;
+  }
+
+  public int getEventCount() {
+    return eventCount;
+  }
+
+  public void setEventCount(int eventCount) {
+    this.eventCount = eventCount;
+  }
+
+  public byte[] getBytes() {
+    // the events are serialized when the entry is inserted, so that
+    // all events of the transaction end up in the same entry
+    if (bytes == null && events != null) {
+      bytes = serializeEvents();
+    }
+    return bytes;
+  }
+
+  public void setBytes(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  public Object getPersistentState() {
+    // immutable
+    return HistoryOutboxEntity.class;
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[id=" + id
+        + ", revision=" + revision
+        + ", sequence=" + sequence
+        + ", createTime=" + createTime
+        + ", eventCount=" + eventCount
+        + "]";
+  }
+
+}
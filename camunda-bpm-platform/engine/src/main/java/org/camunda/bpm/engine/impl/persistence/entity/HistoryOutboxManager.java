@@ -0,0 +1,167 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.Direction;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryPropertyImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxDeletionEvent;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxEventHandler;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * Manages the entries of the history event outbox.
+ */
+public class HistoryOutboxManager extends AbstractManager {
+
+  protected boolean isOutboxBypassed = false;
+  protected boolean isDraining = false;
+
+  /** the entry holding the history deleted by the current command, it is never bypassed */
+  protected HistoryOutboxEntity deletionEntry;
+  protected HistoryOutboxDeletionEvent deletionEvent;
+
+  public void insert(HistoryOutboxEntity outboxEntry) {
+    getDbEntityManager().insert(outboxEntry);
+  }
+
+  public void delete(HistoryOutboxEntity outboxEntry) {
+    getDbEntityManager().delete(outboxEntry);
+  }
+
+  /**
+   * @return the outbox entry of the current command which has not been flushed yet
+   * or <code>null</code> if no such entry exists
+   */
+  public HistoryOutboxEntity findTransientOutboxEntry() {
+    DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+    for (HistoryOutboxEntity outboxEntry : getDbEntityManager().getCachedEntitiesByType(HistoryOutboxEntity.class)) {
+      if (outboxEntry != deletionEntry && dbEntityCache.isTransient(outboxEntry)) {
+        return outboxEntry;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the history event of the given type and id which the current command has added
+   * to the outbox or <code>null</code> if no such event exists
+   */
+  public <T extends HistoryEvent> T findTransientOutboxEvent(Class<T> type, String id) {
+    HistoryOutboxEntity outboxEntry = findTransientOutboxEntry();
+    return outboxEntry != null ? outboxEntry.findEvent(type, id) : null;
+  }
+
+  /**
+   * Writes the history events of the current command to the history tables instead of the
+   * outbox, including the events which have been added to the outbox already. Commands which
+   * delete history call this, so that the deletion applies to their own history events as well.
+   */
+  public void bypassOutbox() {
+    if (!isOutboxBypassed) {
+      isOutboxBypassed = true;
+
+      HistoryOutboxEntity outboxEntry = findTransientOutboxEntry();
+      if (outboxEntry != null) {
+        delete(outboxEntry);
+        new HistoryOutboxDbHistoryEventHandler().handleOutboxEntry(outboxEntry);
+      }
+    }
+  }
+
+  public boolean isOutboxBypassed() {
+    return isOutboxBypassed;
+  }
+
+  /**
+   * <p>Adds the history of the given process instances to the history which is deleted again
+   * when the outbox is drained. Outbox entries which were committed before the deletion may
+   * still hold events of these process instances. Draining them writes the deleted history
+   * again, which the {@link HistoryOutboxDeletionEvent} of the command removes once more, as
+   * it is drained after them.</p>
+   *
+   * <p>History cleanup by removal time does not add deletion events: history written again
+   * carries the removal time which has passed already and is removed by the next cleanup.</p>
+   */
+  public void addDeletedProcessInstances(List<String> processInstanceIds) {
+    HistoryOutboxDeletionEvent deletionEvent = findOrCreateDeletionEvent();
+    if (deletionEvent != null) {
+      deletionEvent.getProcessInstanceIds().addAll(processInstanceIds);
+    }
+  }
+
+  /**
+   * Same as {@link #addDeletedProcessInstances(List)} for case instances.
+   */
+  public void addDeletedCaseInstances(List<String> caseInstanceIds) {
+    HistoryOutboxDeletionEvent deletionEvent = findOrCreateDeletionEvent();
+    if (deletionEvent != null) {
+      deletionEvent.getCaseInstanceIds().addAll(caseInstanceIds);
+    }
+  }
+
+  protected HistoryOutboxDeletionEvent findOrCreateDeletionEvent() {
+    if (isDraining || !Context.getProcessEngineConfiguration().isHistoryOutboxEnabled()) {
+      // the drain repeats a deletion, which is not repeated once more
+      return null;
+    }
+
+    if (deletionEntry == null) {
+      deletionEntry = new HistoryOutboxEntity(HistoryOutboxEventHandler.nextSequence(), ClockUtil.getCurrentTime());
+      deletionEvent = new HistoryOutboxDeletionEvent();
+      deletionEntry.addEvent(deletionEvent);
+      insert(deletionEntry);
+    }
+    return deletionEvent;
+  }
+
+  public boolean isDraining() {
+    return isDraining;
+  }
+
+  public void setDraining(boolean isDraining) {
+    this.isDraining = isDraining;
+  }
+
+  /**
+   * @return the number of history events of all outbox entries
+   */
+  public long countOutboxEvents() {
+    return (Long) getDbEntityManager().selectOne("selectHistoryOutboxEventCount", null);
+  }
+
+  /**
+   * @return the oldest outbox entries in the order in which they were written
+   */
+  @SuppressWarnings("unchecked")
+  public List<HistoryOutboxEntity> findOutboxEntries(int maxResults) {
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(null, 0, maxResults);
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("SEQUENCE_"), Direction.ASCENDING));
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("ID_"), Direction.ASCENDING));
+
+    return getDbEntityManager().selectList("selectHistoryOutboxEntries", parameterObject);
+  }
+
+}
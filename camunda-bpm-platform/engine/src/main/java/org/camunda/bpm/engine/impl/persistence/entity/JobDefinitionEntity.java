@@ -22,9 +22,9 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.management.JobDefinition;
 
@@ -33,7 +33,7 @@ import org.camunda.bpm.engine.management.JobDefinition;
  * @author Daniel Meyer
  *
  */
-public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbReferences, DbEntity, Serializable {
+public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbReferences, SharedDbEntity, Serializable {
 
   private static final long serialVersionUID = 1L;
 
@@ -91,6 +91,22 @@ public class JobDefinitionEntity implements JobDefinition, HasDbRevision, HasDbR
     return state;
   }
 
+  public JobDefinitionEntity copy() {
+    JobDefinitionEntity copy = new JobDefinitionEntity();
+    copy.id = id;
+    copy.revision = revision;
+    copy.processDefinitionId = processDefinitionId;
+    copy.processDefinitionKey = processDefinitionKey;
+    copy.activityId = activityId;
+    copy.jobType = jobType;
+    copy.jobConfiguration = jobConfiguration;
+    copy.suspensionState = suspensionState;
+    copy.jobPriority = jobPriority;
+    copy.tenantId = tenantId;
+    copy.deploymentId = deploymentId;
+    return copy;
+  }
+
   // getters / setters /////////////////////////////////
 
   public int getRevisionNext() {
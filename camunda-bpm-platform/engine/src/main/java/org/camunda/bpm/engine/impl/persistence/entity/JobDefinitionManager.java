@@ -63,6 +63,7 @@ public class JobDefinitionManager extends AbstractManager {
     parameters.put("jobDefinitionId", jobDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(JobDefinitionEntity.class, "updateJobDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntity(JobDefinitionEntity.class, jobDefinitionId);
   }
 
   public void updateJobDefinitionSuspensionStateByProcessDefinitionId(String processDefinitionId, SuspensionState suspensionState) {
@@ -70,6 +71,7 @@ public class JobDefinitionManager extends AbstractManager {
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(JobDefinitionEntity.class, "updateJobDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntities(JobDefinitionEntity.class);
   }
 
   public void updateJobDefinitionSuspensionStateByProcessDefinitionKey(String processDefinitionKey, SuspensionState suspensionState) {
@@ -78,6 +80,7 @@ public class JobDefinitionManager extends AbstractManager {
     parameters.put("isProcessDefinitionTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(JobDefinitionEntity.class, "updateJobDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntities(JobDefinitionEntity.class);
   }
 
   public void updateJobDefinitionSuspensionStateByProcessDefinitionKeyAndTenantId(String processDefinitionKey, String processDefinitionTenantId, SuspensionState suspensionState) {
@@ -87,6 +90,7 @@ public class JobDefinitionManager extends AbstractManager {
     parameters.put("processDefinitionTenantId", processDefinitionTenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(JobDefinitionEntity.class, "updateJobDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntities(JobDefinitionEntity.class);
   }
 
   protected void configureQuery(JobDefinitionQueryImpl query) {
@@ -98,6 +98,8 @@ public abstract class JobEntity extends AcquirableJobEntity
 
   protected Date createTime;
 
+  protected Integer partition;
+
   // runtime state /////////////////////////////
   protected String activityId;
   protected JobDefinition jobDefinition;
@@ -589,6 +591,14 @@ public abstract class JobEntity extends AcquirableJobEntity
     this.createTime = createTime;
   }
 
+  public Integer getPartition() {
+    return partition;
+  }
+
+  public void setPartition(Integer partition) {
+    this.partition = partition;
+  }
+
   protected void ensureActivityIdInitialized() {
     if (activityId == null) {
       JobDefinition jobDefinition = getJobDefinition();
@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.jobexecutor.TimerEventJobHandler.JOB_H
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -38,6 +39,7 @@ import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAddedNotification;
+import org.camunda.bpm.engine.impl.jobexecutor.ExclusiveJobAffinityNotification;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageAddedNotification;
@@ -75,9 +77,22 @@ public class JobManager extends AbstractManager {
     job.setCreateTime(ClockUtil.getCurrentTime());
 
     getDbEntityManager().insert(job);
+    assignPartition(job);
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
 
+  /**
+   * Jobs of the same process instance are assigned to the same partition,
+   * so that exclusive jobs of one process instance are acquired by the same node.
+   */
+  protected void assignPartition(JobEntity job) {
+    int partitionCount = Context.getProcessEngineConfiguration().getJobExecutorPartitionCount();
+    if (partitionCount > 0) {
+      String partitionKey = job.getProcessInstanceId() != null ? job.getProcessInstanceId() : job.getId();
+      job.setPartition(Math.floorMod(partitionKey.hashCode(), partitionCount));
+    }
+  }
+
   public void deleteJob(JobEntity job) {
     deleteJob(job, true);
   }
@@ -146,10 +161,17 @@ public class JobManager extends AbstractManager {
             && jobExecutorContext.isExecutingExclusiveJob()
             && areInSameProcessInstance(job, jobExecutorContext.getCurrentJob())) {
       // lock job & add to the queue of the current processor
-      Date currentTime = ClockUtil.getCurrentTime();
-      job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
-      job.setLockOwner(jobExecutor.getLockOwner());
+      lockJob(job, jobExecutor);
       transactionListener = new ExclusiveJobAddedNotification(job.getId(), jobExecutorContext);
+    } else if (jobExecutor.isExclusiveJobAffinity()
+            && !job.isSuspended()
+            && job.isExclusive()
+            && isJobDue(job)
+            && jobExecutorContext != null
+            && job.getProcessInstanceId() != null) {
+      // lock job & hand it to the worker which executes the exclusive jobs of its process instance
+      lockJob(job, jobExecutor);
+      transactionListener = new ExclusiveJobAffinityNotification(job.getId(), job.getProcessInstanceId(), jobExecutor);
     } else {
       // reset Acquisition strategy and notify the JobExecutor that
       // a new Job is available for execution on future runs
@@ -160,6 +182,12 @@ public class JobManager extends AbstractManager {
       .addTransactionListener(TransactionState.COMMITTED, transactionListener);
   }
 
+  protected void lockJob(JobEntity job, JobExecutor jobExecutor) {
+    Date currentTime = ClockUtil.getCurrentTime();
+    job.setLockExpirationTime(new Date(currentTime.getTime() + jobExecutor.getLockTimeInMillis()));
+    job.setLockOwner(jobExecutor.getLockOwner());
+  }
+
   protected boolean areInSameProcessInstance(JobEntity job1, JobEntity job2) {
     if (job1 == null || job2 == null) {
       return false;
@@ -186,8 +214,16 @@ public class JobManager extends AbstractManager {
     return (JobEntity) getDbEntityManager().selectOne("selectJob", jobId);
   }
 
-  @SuppressWarnings("unchecked")
   public List<AcquirableJobEntity> findNextJobsToExecute(Page page) {
+    return findNextJobsToExecute(page, null);
+  }
+
+  /**
+   * @param partitions if not null, only jobs of these partitions and jobs without
+   *   a partition are selected
+   */
+  @SuppressWarnings("unchecked")
+  public List<AcquirableJobEntity> findNextJobsToExecute(Page page, Collection<Integer> partitions) {
     ProcessEngineConfigurationImpl engineConfiguration = Context.getProcessEngineConfiguration();
 
     Map<String,Object> params = new HashMap<>();
@@ -203,6 +239,7 @@ public class JobManager extends AbstractManager {
     }
 
     params.put("historyCleanupEnabled", engineConfiguration.isHistoryCleanupEnabled());
+    params.put("partitions", partitions != null ? new ArrayList<>(partitions) : null);
 
     List<QueryOrderingProperty> orderingProperties = new ArrayList<>();
     if (engineConfiguration.isJobExecutorAcquireByPriority()) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
+
+/**
+ * Recomputes the correlation keys of the message event subscriptions of a process instance
+ * when one of the process variables declared as their correlation keys is created, updated
+ * or deleted.
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#getMessageCorrelationKeys()
+ */
+public class MessageCorrelationKeyListener implements VariableInstanceLifecycleListener<VariableInstanceEntity> {
+
+  public static final MessageCorrelationKeyListener INSTANCE = new MessageCorrelationKeyListener();
+
+  @Override
+  public void onCreate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    updateCorrelationKeys(variableInstance, false);
+  }
+
+  @Override
+  public void onDelete(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    updateCorrelationKeys(variableInstance, true);
+  }
+
+  @Override
+  public void onUpdate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    updateCorrelationKeys(variableInstance, false);
+  }
+
+  protected void updateCorrelationKeys(VariableInstanceEntity variableInstance, boolean isDeleted) {
+    // the listeners of a moved variable are invoked on its source execution
+    ExecutionEntity processInstance = variableInstance.getExecution();
+    if (processInstance == null || !processInstance.isProcessInstanceExecution()) {
+      return;
+    }
+
+    // skips the lookup of the event subscriptions for all other variables
+    if (!processInstance.getProcessDefinition().getCorrelationKeyNames().contains(variableInstance.getName())) {
+      return;
+    }
+
+    Map<String, List<String>> messageCorrelationKeys = Context.getProcessEngineConfiguration().getMessageCorrelationKeys();
+
+    for (EventSubscriptionEntity eventSubscription : findMessageEventSubscriptions(processInstance)) {
+      List<String> correlationKeyNames = messageCorrelationKeys.get(eventSubscription.getEventName());
+
+      if (correlationKeyNames != null && correlationKeyNames.contains(variableInstance.getName())) {
+        // the deleted variable is still set on the process instance
+        String correlationKey = isDeleted ? null : CorrelationKeyUtil.computeCorrelationKey(processInstance, correlationKeyNames);
+        eventSubscription.setCorrelationKey(correlationKey);
+      }
+    }
+  }
+
+  protected List<EventSubscriptionEntity> findMessageEventSubscriptions(ExecutionEntity processInstance) {
+    CommandContext commandContext = Context.getCommandContext();
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    // a new process instance has no persistent event subscriptions yet
+    if (!dbEntityManager.getDbEntityCache().isTransient(processInstance)) {
+      commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstance.getId());
+    }
+
+    // the cache holds the loaded and the new event subscriptions
+    List<EventSubscriptionEntity> eventSubscriptions = new ArrayList<>();
+    for (EventSubscriptionEntity eventSubscription : dbEntityManager.getCachedEntitiesByType(EventSubscriptionEntity.class)) {
+      if (eventSubscription.isSubscriptionForEventType(EventType.MESSAGE)
+          && processInstance.getId().equals(eventSubscription.getProcessInstanceId())) {
+        eventSubscriptions.add(eventSubscription);
+      }
+    }
+
+    return eventSubscriptions;
+  }
+
+}
@@ -28,9 +28,9 @@ import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
-import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 import org.camunda.bpm.engine.impl.form.handler.StartFormHandler;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
@@ -39,6 +39,7 @@ import org.camunda.bpm.engine.impl.pvm.process.ProcessDefinitionImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 import org.camunda.bpm.engine.impl.repository.ResourceDefinitionEntity;
 import org.camunda.bpm.engine.impl.task.TaskDefinition;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
 
@@ -47,7 +48,7 @@ import org.camunda.bpm.engine.task.IdentityLinkType;
  * @author Tom Baeyens
  * @author Daniel Meyer
  */
-public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements ProcessDefinition, ResourceDefinitionEntity<ProcessDefinitionEntity>, DbEntity, HasDbRevision {
+public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements ProcessDefinition, ResourceDefinitionEntity<ProcessDefinitionEntity>, SharedDbEntity, HasDbRevision {
 
   private static final long serialVersionUID = 1L;
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
@@ -79,6 +80,9 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
   protected boolean firstVersion = false;
   protected String previousProcessDefinitionId;
 
+  // the variables declared as correlation keys of the messages of this definition, see getCorrelationKeyNames()
+  protected Set<String> correlationKeyNames;
+
   public ProcessDefinitionEntity() {
     super(null);
   }
@@ -292,6 +296,26 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
     return persistentState;
   }
 
+  public ProcessDefinitionEntity copy() {
+    ProcessDefinitionEntity copy = new ProcessDefinitionEntity();
+    copy.setId(getId());
+    copy.setName(getName());
+    copy.setKey(key);
+    copy.setVersion(version);
+    copy.revision = revision;
+    copy.category = category;
+    copy.deploymentId = deploymentId;
+    copy.resourceName = resourceName;
+    copy.diagramResourceName = diagramResourceName;
+    copy.hasStartFormKey = hasStartFormKey;
+    copy.suspensionState = suspensionState;
+    copy.tenantId = tenantId;
+    copy.versionTag = versionTag;
+    copy.historyTimeToLive = historyTimeToLive;
+    copy.isStartableInTasklist = isStartableInTasklist;
+    return copy;
+  }
+
   public String getKey() {
     return key;
   }
@@ -352,6 +376,20 @@ public class ProcessDefinitionEntity extends ProcessDefinitionImpl implements Pr
     this.startFormHandler = startFormHandler;
   }
 
+  /**
+   * @return the names of the process variables declared as correlation keys for the messages
+   *   this process definition subscribes to, computed once per process definition
+   */
+  public Set<String> getCorrelationKeyNames() {
+    Set<String> names = correlationKeyNames;
+    if (names == null) {
+      Map<String, List<String>> messageCorrelationKeys = Context.getProcessEngineConfiguration().getMessageCorrelationKeys();
+      names = CorrelationKeyUtil.collectDeclaredCorrelationKeyNames(this, messageCorrelationKeys);
+      correlationKeyNames = names;
+    }
+    return names;
+  }
+
   public Map<String, TaskDefinition> getTaskDefinitions() {
     return taskDefinitions;
   }
@@ -217,6 +217,7 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
     parameters.put("processDefinitionId", processDefinitionId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntity(ProcessDefinitionEntity.class, processDefinitionId);
   }
 
   public void updateProcessDefinitionSuspensionStateByKey(String processDefinitionKey, SuspensionState suspensionState) {
@@ -225,6 +226,7 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
     parameters.put("isTenantIdSet", false);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntities(ProcessDefinitionEntity.class);
   }
 
   public void updateProcessDefinitionSuspensionStateByKeyAndTenantId(String processDefinitionKey, String tenantId, SuspensionState suspensionState) {
@@ -234,6 +236,7 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
     parameters.put("tenantId", tenantId);
     parameters.put("suspensionState", suspensionState.getStateCode());
     getDbEntityManager().update(ProcessDefinitionEntity.class, "updateProcessDefinitionSuspensionStateByParameters", configureParameterizedQuery(parameters));
+    getDbEntityManager().evictSharedCachedEntities(ProcessDefinitionEntity.class);
   }
 
   // delete  ///////////////////////////////////////////////////////////
@@ -257,6 +260,8 @@ public class ProcessDefinitionManager extends AbstractManager implements Abstrac
    * @param processDefinitionId the process definition id
    */
   protected void cascadeDeleteHistoryForProcessDefinition(String processDefinitionId) {
+    getHistoryOutboxManager().bypassOutbox();
+
      // remove historic incidents which are not referenced to a process instance
     getHistoricIncidentManager().deleteHistoricIncidentsByProcessDefinitionId(processDefinitionId);
 
@@ -17,22 +17,33 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
-import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 
 
 
 /**
  * @author Tom Baeyens
  */
-public class PropertyEntity implements DbEntity, HasDbRevision, Serializable {
+public class PropertyEntity implements SharedDbEntity, HasDbRevision, Serializable {
 
   protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
   private static final long serialVersionUID = 1L;
 
+  /**
+   * The properties which are never changed while process engines use the database. All
+   * others, like the id block or the locks, are updated concurrently by all process engines
+   * and are therefore not cached by the shared entity cache.
+   */
+  protected static final Set<String> SHAREABLE_PROPERTY_NAMES = new HashSet<>(Arrays.asList(
+      "schema.version", "schema.history", "historyLevel", "camunda.installation.id"));
+
   String name;
   int revision;
   String value;
@@ -87,6 +98,16 @@ public class PropertyEntity implements DbEntity, HasDbRevision, Serializable {
     return revision+1;
   }
 
+  public PropertyEntity copy() {
+    PropertyEntity copy = new PropertyEntity(name, value);
+    copy.revision = revision;
+    return copy;
+  }
+
+  public boolean isShareable() {
+    return SHAREABLE_PROPERTY_NAMES.contains(name);
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -46,6 +46,8 @@ import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseSentryPartEntity;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.TablePartition;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionEntity;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionEntity;
@@ -100,6 +102,7 @@ public class TableDataManager extends AbstractManager {
     persistentObjectToTableNameMap.put(FilterEntity.class, "ACT_RU_FILTER");
 
     persistentObjectToTableNameMap.put(MeterLogEntity.class, "ACT_RU_METER_LOG");
+    persistentObjectToTableNameMap.put(HistoryOutboxEntity.class, "ACT_RU_HISTORY_OUTBOX");
     // repository
     persistentObjectToTableNameMap.put(DeploymentEntity.class, "ACT_RE_DEPLOYMENT");
     persistentObjectToTableNameMap.put(ProcessDefinitionEntity.class, "ACT_RE_PROCDEF");
@@ -222,6 +225,40 @@ public class TableDataManager extends AbstractManager {
     return tablePage;
   }
 
+  /**
+   * @return the partitions of the history tables which are range-partitioned by removal time;
+   * empty if the database doesn't support dropping partitions
+   */
+  @SuppressWarnings("unchecked")
+  public List<TablePartition> findHistoryTablePartitions() {
+    String databaseType = getDbSqlSession().getDbSqlSessionFactory().getDatabaseType();
+    if (!DbSqlSessionFactory.POSTGRES.equals(databaseType) && !DbSqlSessionFactory.ORACLE.equals(databaseType)) {
+      return Collections.emptyList();
+    }
+
+    return getDbEntityManager().selectList("selectHistoryTablePartitions");
+  }
+
+  /**
+   * Drops the given partition of a history table. The partition is dropped as part of the flush,
+   * the returned operation does not report the number of removed rows.
+   */
+  public DbOperation dropHistoryTablePartition(TablePartition partition) {
+    Class<? extends DbEntity> entityType = null;
+    for (Map.Entry<Class<? extends DbEntity>, String> entityTableName : persistentObjectToTableNameMap.entrySet()) {
+      if (entityTableName.getValue().equalsIgnoreCase(partition.getTableName())) {
+        entityType = entityTableName.getKey();
+        break;
+      }
+    }
+
+    if (entityType == null) {
+      throw LOG.unknownHistoryTablePartition(partition);
+    }
+
+    return getDbEntityManager().deletePreserveOrder(entityType, "dropHistoryTablePartition", partition);
+  }
+
   public List<Class<? extends DbEntity>> getEntities(String tableName) {
     String databaseTablePrefix = getDbSqlSession().getDbSqlSessionFactory().getDatabaseTablePrefix();
     List<Class<? extends DbEntity>> entities = new ArrayList<Class<? extends DbEntity>>();
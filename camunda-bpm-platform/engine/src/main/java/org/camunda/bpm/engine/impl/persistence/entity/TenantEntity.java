@@ -21,10 +21,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.camunda.bpm.engine.identity.Tenant;
-import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.db.SharedDbEntity;
 
-public class TenantEntity implements Tenant, Serializable, DbEntity, HasDbRevision {
+public class TenantEntity implements Tenant, Serializable, SharedDbEntity, HasDbRevision {
 
   private static final long serialVersionUID = 1L;
 
@@ -46,6 +46,13 @@ public class TenantEntity implements Tenant, Serializable, DbEntity, HasDbRevisi
     return persistentState;
   }
 
+  public TenantEntity copy() {
+    TenantEntity copy = new TenantEntity(id);
+    copy.name = name;
+    copy.revision = revision;
+    return copy;
+  }
+
   public int getRevisionNext() {
     return revision + 1;
   }
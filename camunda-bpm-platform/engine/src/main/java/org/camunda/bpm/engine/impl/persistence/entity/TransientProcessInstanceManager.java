@@ -0,0 +1,177 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInputInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionOutputInstanceEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+
+/**
+ * <p>Keeps track of the process instances of transient process definitions (see
+ * {@link BpmnProperties#TRANSIENT}) which are started by the current command.</p>
+ *
+ * <p>The runtime entities of a process instance which ends within the command that
+ * started it are inserted into and deleted from the entity cache before it is flushed,
+ * so they never reach the database. When the command context closes, the history of
+ * such process instances is removed from the entity cache and the history outbox as
+ * well, except for the historic process instance if
+ * {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isTransientHistorySummaryEnabled()}.
+ * Process instances which reach a wait state or an asynchronous continuation are
+ * flushed including their complete history.</p>
+ *
+ * <p>History events which are handed to a custom history event handler are not
+ * affected.</p>
+ */
+public class TransientProcessInstanceManager extends AbstractManager implements CommandContextListener {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected List<ExecutionEntity> processInstances = new ArrayList<>();
+
+  public void registerProcessInstance(ExecutionEntity processInstance) {
+    if (processInstances.isEmpty()) {
+      getCommandContext().registerCommandContextListener(this);
+    }
+    processInstances.add(processInstance);
+  }
+
+  public void onCommandContextClose(CommandContext commandContext) {
+    DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+
+    Set<String> endedProcessInstanceIds = new HashSet<>();
+    for (ExecutionEntity processInstance : processInstances) {
+      CachedDbEntity cachedProcessInstance = dbEntityCache.getCachedEntity(processInstance);
+      // inserted and deleted within this command, i.e. the process instance has never been flushed
+      if (cachedProcessInstance != null && cachedProcessInstance.getEntityState() == DbEntityState.DELETED_TRANSIENT) {
+        endedProcessInstanceIds.add(processInstance.getId());
+      }
+    }
+
+    if (!endedProcessInstanceIds.isEmpty()) {
+      LOG.skippingTransientProcessInstanceHistory(endedProcessInstanceIds);
+      deleteTransientHistory(endedProcessInstanceIds);
+    }
+  }
+
+  public void onCommandFailed(CommandContext commandContext, Throwable t) {
+    // nothing to do, nothing is flushed
+  }
+
+  /**
+   * Removes the history of the given process instances which has not been flushed yet.
+   */
+  protected void deleteTransientHistory(final Set<String> processInstanceIds) {
+    final boolean keepSummary = Context.getProcessEngineConfiguration().isTransientHistorySummaryEnabled();
+    DbEntityCache dbEntityCache = getDbEntityManager().getDbEntityCache();
+
+    Set<String> decisionInstanceIds = new HashSet<>();
+    Set<String> byteArrayIds = new HashSet<>();
+
+    List<DbEntity> dependentEntities = new ArrayList<>();
+    for (CachedDbEntity cachedEntity : dbEntityCache.getCachedEntities()) {
+      if (cachedEntity.getEntityState() != DbEntityState.TRANSIENT) {
+        continue;
+      }
+
+      DbEntity entity = cachedEntity.getEntity();
+      if (entity instanceof HistoricVariableInstanceEntity) {
+        HistoricVariableInstanceEntity historicVariableInstance = (HistoricVariableInstanceEntity) entity;
+        if (processInstanceIds.contains(historicVariableInstance.getProcessInstanceId())) {
+          addIfNotNull(byteArrayIds, historicVariableInstance.getByteArrayId());
+          dbEntityCache.setDeleted(entity);
+        }
+
+      } else if (entity instanceof HistoricDecisionInputInstanceEntity
+          || entity instanceof HistoricDecisionOutputInstanceEntity
+          || entity instanceof ByteArrayEntity) {
+        dependentEntities.add(entity);
+
+      } else if (entity instanceof HistoryEvent && isTransientHistoryEvent((HistoryEvent) entity, processInstanceIds, keepSummary)) {
+        if (entity instanceof HistoricVariableUpdateEventEntity) {
+          addIfNotNull(byteArrayIds, ((HistoricVariableUpdateEventEntity) entity).getByteArrayId());
+        } else if (entity instanceof HistoricDecisionInstanceEntity) {
+          decisionInstanceIds.add(entity.getId());
+        }
+        dbEntityCache.setDeleted(entity);
+      }
+    }
+
+    // the entities which belong to the history of a process instance by reference only
+    for (DbEntity entity : dependentEntities) {
+      if (entity instanceof HistoricDecisionInputInstanceEntity) {
+        HistoricDecisionInputInstanceEntity decisionInput = (HistoricDecisionInputInstanceEntity) entity;
+        if (decisionInstanceIds.contains(decisionInput.getDecisionInstanceId())) {
+          addIfNotNull(byteArrayIds, decisionInput.getByteArrayValueId());
+          dbEntityCache.setDeleted(entity);
+        }
+
+      } else if (entity instanceof HistoricDecisionOutputInstanceEntity) {
+        HistoricDecisionOutputInstanceEntity decisionOutput = (HistoricDecisionOutputInstanceEntity) entity;
+        if (decisionInstanceIds.contains(decisionOutput.getDecisionInstanceId())) {
+          addIfNotNull(byteArrayIds, decisionOutput.getByteArrayValueId());
+          dbEntityCache.setDeleted(entity);
+        }
+      }
+    }
+    for (DbEntity entity : dependentEntities) {
+      if (entity instanceof ByteArrayEntity && byteArrayIds.contains(entity.getId())) {
+        dbEntityCache.setDeleted(entity);
+      }
+    }
+
+    HistoryOutboxEntity outboxEntry = getHistoryOutboxManager().findTransientOutboxEntry();
+    if (outboxEntry != null) {
+      outboxEntry.removeEvents(historyEvent -> isTransientHistoryEvent(historyEvent, processInstanceIds, keepSummary));
+      if (outboxEntry.getEventCount() == 0) {
+        getHistoryOutboxManager().delete(outboxEntry);
+      }
+    }
+  }
+
+  protected boolean isTransientHistoryEvent(HistoryEvent historyEvent, Set<String> processInstanceIds, boolean keepSummary) {
+    if (keepSummary && historyEvent instanceof HistoricProcessInstanceEventEntity) {
+      return false;
+    }
+    return processInstanceIds.contains(historyEvent.getProcessInstanceId());
+  }
+
+  protected void addIfNotNull(Set<String> ids, String id) {
+    if (id != null) {
+      ids.add(id);
+    }
+  }
+
+}
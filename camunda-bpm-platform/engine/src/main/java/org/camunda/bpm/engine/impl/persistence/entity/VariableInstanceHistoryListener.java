@@ -16,10 +16,14 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
 import org.camunda.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.HistoryProfile;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
@@ -35,7 +39,9 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
 
   @Override
   public void onCreate(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
-    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE, variableInstance) && !variableInstance.isTransient()) {
+    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_CREATE, variableInstance)
+        && !variableInstance.isTransient()
+        && isHistoryProducedByProfile(variableInstance)) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -47,7 +53,9 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
 
   @Override
   public void onDelete(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
-    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_DELETE, variableInstance) && !variableInstance.isTransient()) {
+    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_DELETE, variableInstance)
+        && !variableInstance.isTransient()
+        && isHistoryProducedByProfile(variableInstance)) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -59,7 +67,9 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
 
   @Override
   public void onUpdate(final VariableInstanceEntity variableInstance, final AbstractVariableScope sourceScope) {
-    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE, variableInstance) && !variableInstance.isTransient()) {
+    if (getHistoryLevel().isHistoryEventProduced(HistoryEventTypes.VARIABLE_INSTANCE_UPDATE, variableInstance)
+        && !variableInstance.isTransient()
+        && isHistoryProducedByProfile(variableInstance)) {
       HistoryEventProcessor.processHistoryEvents(new HistoryEventProcessor.HistoryEventCreator() {
         @Override
         public HistoryEvent createHistoryEvent(HistoryEventProducer producer) {
@@ -69,6 +79,21 @@ public class VariableInstanceHistoryListener implements VariableInstanceLifecycl
     }
   }
 
+  /**
+   * @return false if the history profile of the process definition excludes the variable
+   */
+  protected boolean isHistoryProducedByProfile(VariableInstanceEntity variableInstance) {
+    List<HistoryProfile> historyProfiles = Context.getProcessEngineConfiguration().getHistoryProfiles();
+    if (historyProfiles == null || historyProfiles.isEmpty() || variableInstance.getExecutionId() == null) {
+      return true;
+    }
+
+    ProcessDefinitionEntity processDefinition = variableInstance.getExecution().getProcessDefinition();
+    HistoryProfile historyProfile = processDefinition != null ? processDefinition.getProperties().get(BpmnProperties.HISTORY_PROFILE) : null;
+
+    return historyProfile == null || historyProfile.isVariableHistoryProduced(variableInstance.getName());
+  }
+
   protected HistoryLevel getHistoryLevel() {
     return Context.getProcessEngineConfiguration().getHistoryLevel();
   }
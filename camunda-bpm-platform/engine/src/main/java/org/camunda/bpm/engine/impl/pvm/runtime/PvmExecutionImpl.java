@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -166,6 +167,12 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   // sequence counter ////////////////////////////////////////////////////////
   protected long sequenceCounter = 0;
 
+  /**
+   * Counts the changes of the fields which are persisted by subclasses, such that these can
+   * detect changes without comparing their complete persistent state.
+   */
+  protected int modificationCount = 0;
+
   public PvmExecutionImpl() {
   }
 
@@ -383,7 +390,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     setCompleteScope(completeScope);
 
-    isActive = false;
+    setActive(false);
     isEnded = true;
 
     if (hasReplacedParent()) {
@@ -448,7 +455,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     }
 
-    isActive = false;
+    setActive(false);
     isEnded = true;
     isRemoved = true;
 
@@ -732,8 +739,8 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
    */
   public void replace(PvmExecutionImpl execution) {
     // activity instance id handling
-    this.activityInstanceId = execution.getActivityInstanceId();
-    this.isActive = execution.isActive;
+    setActivityInstanceId(execution.getActivityInstanceId());
+    setActive(execution.isActive);
 
     this.replacedBy = null;
     execution.replacedBy = this;
@@ -815,7 +822,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     PvmActivity activityImpl = activity;
     this.isEnded = false;
-    this.isActive = true;
+    setActive(true);
 
     switch (activityStartBehavior) {
       case CONCURRENT_IN_FLOW_SCOPE:
@@ -928,7 +935,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
     this.skipCustomListeners = skipCustomListeners;
     this.skipIoMapping = skipIoMappings;
-    this.activityInstanceId = null;
+    setActivityInstanceId(null);
     this.isEnded = false;
 
     if (!activityStack.isEmpty()) {
@@ -1045,7 +1052,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
       propagatingExecution = getReplacedBy();
     }
 
-    propagatingExecution.isActive = true;
+    propagatingExecution.setActive(true);
     propagatingExecution.isEnded = false;
 
     if (_transitions.isEmpty()) {
@@ -1064,7 +1071,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void inactivate() {
-    this.isActive = false;
+    setActive(false);
   }
 
   // executions ///////////////////////////////////////////////////////////////
@@ -1213,7 +1220,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setCaseInstanceId(String caseInstanceId) {
-    this.caseInstanceId = caseInstanceId;
+    if (!Objects.equals(this.caseInstanceId, caseInstanceId)) {
+      this.caseInstanceId = caseInstanceId;
+      modificationCount++;
+    }
   }
 
   // activity /////////////////////////////////////////////////////////////////
@@ -1258,7 +1268,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   @Override
   public void enterActivityInstance() {
     ActivityImpl activity = getActivity();
-    activityInstanceId = generateActivityInstanceId(activity.getId());
+    setActivityInstanceId(generateActivityInstanceId(activity.getId()));
 
     LOG.debugEnterActivityInstance(this, getParentActivityInstanceId());
 
@@ -1300,7 +1310,7 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
     if (activityInstanceId != null) {
       LOG.debugLeavesActivityInstance(this, activityInstanceId);
     }
-    activityInstanceId = getParentActivityInstanceId();
+    setActivityInstanceId(getParentActivityInstanceId());
 
     activityInstanceState = ActivityInstanceState.DEFAULT.getStateCode();
     activityInstanceEndListenersFailed = false;
@@ -1318,7 +1328,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setActivityInstanceId(String activityInstanceId) {
-    this.activityInstanceId = activityInstanceId;
+    if (!Objects.equals(this.activityInstanceId, activityInstanceId)) {
+      this.activityInstanceId = activityInstanceId;
+      modificationCount++;
+    }
   }
 
   @Override
@@ -1417,7 +1430,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setScope(boolean isScope) {
-    this.isScope = isScope;
+    if (this.isScope != isScope) {
+      this.isScope = isScope;
+      modificationCount++;
+    }
   }
 
 
@@ -1699,11 +1715,15 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setSequenceCounter(long sequenceCounter) {
-    this.sequenceCounter = sequenceCounter;
+    if (this.sequenceCounter != sequenceCounter) {
+      this.sequenceCounter = sequenceCounter;
+      modificationCount++;
+    }
   }
 
   public void incrementSequenceCounter() {
     sequenceCounter++;
+    modificationCount++;
   }
 
   // Getter / Setters ///////////////////////////////////
@@ -1767,7 +1787,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setConcurrent(boolean isConcurrent) {
-    this.isConcurrent = isConcurrent;
+    if (this.isConcurrent != isConcurrent) {
+      this.isConcurrent = isConcurrent;
+      modificationCount++;
+    }
   }
 
   @Override
@@ -1777,7 +1800,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
 
   @Override
   public void setActive(boolean isActive) {
-    this.isActive = isActive;
+    if (this.isActive != isActive) {
+      this.isActive = isActive;
+      modificationCount++;
+    }
   }
 
   public void setEnded(boolean isEnded) {
@@ -1836,7 +1862,10 @@ public abstract class PvmExecutionImpl extends CoreExecution implements Activity
   }
 
   public void setEventScope(boolean isEventScope) {
-    this.isEventScope = isEventScope;
+    if (this.isEventScope != isEventScope) {
+      this.isEventScope = isEventScope;
+      modificationCount++;
+    }
   }
 
   public ExecutionStartContext getExecutionStartContext() {
@@ -18,8 +18,10 @@ package org.camunda.bpm.engine.impl.runtime;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -32,6 +34,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
 import org.camunda.bpm.engine.runtime.Execution;
 
 /**
@@ -81,6 +84,105 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
   }
 
   protected List<CorrelationHandlerResult> correlateMessageToExecutions(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
+    String correlationKey = resolveIndexedCorrelationKey(messageName, correlationSet);
+    if (correlationKey == null) {
+      return correlateMessageToExecutionsByQuery(commandContext, messageName, correlationSet);
+    }
+
+    List<CorrelationHandlerResult> result = correlateMessageToExecutionsByCorrelationKey(commandContext, messageName, correlationKey, correlationSet);
+
+    // subscriptions created before the correlation keys were declared are not indexed and
+    // are only queried by their variables if the fallback is enabled for the message
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    Set<String> fallbacks = commandContext.getProcessEngineConfiguration().getMessageCorrelationKeyFallbacks();
+    if (fallbacks != null && fallbacks.contains(messageName)
+        && eventSubscriptionManager.hasMessageEventSubscriptionsWithoutCorrelationKey(messageName)) {
+      Set<String> matchedExecutionIds = new HashSet<String>();
+      for (CorrelationHandlerResult correlation : result) {
+        matchedExecutionIds.add(correlation.getExecutionEntity().getId());
+      }
+
+      for (CorrelationHandlerResult correlation : correlateMessageToExecutionsByQuery(commandContext, messageName, correlationSet)) {
+        if (matchedExecutionIds.add(correlation.getExecutionEntity().getId())) {
+          result.add(correlation);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * @return the correlation key if the correlation set correlates by exactly the process variables
+   *   declared as correlation keys for the message, null otherwise
+   */
+  protected String resolveIndexedCorrelationKey(String messageName, CorrelationSet correlationSet) {
+    List<String> correlationKeyNames = CorrelationKeyUtil.getDeclaredCorrelationKeyNames(messageName);
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    Map<String, Object> localCorrelationKeys = correlationSet.getLocalCorrelationKeys();
+
+    if (correlationKeyNames == null
+        || correlationKeys == null
+        || (localCorrelationKeys != null && !localCorrelationKeys.isEmpty())
+        || !correlationKeys.keySet().equals(new HashSet<String>(correlationKeyNames))) {
+      return null;
+    }
+
+    return CorrelationKeyUtil.computeCorrelationKey(correlationKeyNames, correlationKeys);
+  }
+
+  protected List<CorrelationHandlerResult> correlateMessageToExecutionsByCorrelationKey(CommandContext commandContext, String messageName,
+      String correlationKey, CorrelationSet correlationSet) {
+
+    List<EventSubscriptionEntity> eventSubscriptions = commandContext
+      .getEventSubscriptionManager()
+      .findMessageEventSubscriptionsByCorrelationKey(messageName, correlationKey);
+
+    List<CorrelationHandlerResult> result = new ArrayList<CorrelationHandlerResult>(eventSubscriptions.size());
+    Set<String> matchedExecutionIds = new HashSet<String>();
+
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      ExecutionEntity execution = eventSubscription.getExecution();
+
+      // the key may be shared by different values, so the values are compared again
+      if (execution != null
+          && matchesCorrelationSet(execution, correlationSet)
+          && CorrelationKeyUtil.matchesCorrelationKeys(execution, correlationSet.getCorrelationKeys())
+          && !commandContext.getDbEntityManager().isDeleted(execution)
+          && matchedExecutionIds.add(execution.getId())) {
+        result.add(CorrelationHandlerResult.matchedExecution(execution));
+      }
+    }
+
+    return result;
+  }
+
+  protected boolean matchesCorrelationSet(ExecutionEntity execution, CorrelationSet correlationSet) {
+    if (execution.isSuspended()) {
+      return false;
+    }
+
+    String businessKey = correlationSet.getBusinessKey();
+    if (businessKey != null && !businessKey.equals(execution.getProcessBusinessKey())) {
+      return false;
+    }
+
+    String processInstanceId = correlationSet.getProcessInstanceId();
+    if (processInstanceId != null && !processInstanceId.equals(execution.getProcessInstanceId())) {
+      return false;
+    }
+
+    if (correlationSet.isTenantIdSet) {
+      String tenantId = correlationSet.getTenantId();
+      if (tenantId != null ? !tenantId.equals(execution.getTenantId()) : execution.getTenantId() != null) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected List<CorrelationHandlerResult> correlateMessageToExecutionsByQuery(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
     ExecutionQueryImpl query = new ExecutionQueryImpl();
 
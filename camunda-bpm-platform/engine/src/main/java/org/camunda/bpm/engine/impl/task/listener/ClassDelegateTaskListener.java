@@ -16,8 +16,6 @@
  */
 package org.camunda.bpm.engine.impl.task.listener;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -55,7 +53,7 @@ public class ClassDelegateTaskListener extends ClassDelegate implements TaskList
   }
 
   protected TaskListener getTaskListenerInstance() {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = delegateFactory.getDelegateInstance();
 
     if (delegateInstance instanceof TaskListener) {
       return (TaskListener) delegateInstance;
@@ -0,0 +1,133 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Compresses byte arrays into a GZIP stream behind a header. Bytes without the header,
+ * e.g. written before compression was enabled, are read as they are.
+ */
+public final class CompressionUtil {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  /**
+   * Marks compressed bytes. Neither serialized Java objects nor JSON or XML
+   * documents start with this sequence.
+   */
+  protected static final byte[] HEADER = new byte[] { (byte) 0xCA, (byte) 0x7D, 'z', 1 };
+
+  private CompressionUtil() {
+  }
+
+  /**
+   * @return the compressed bytes if they are smaller than the given bytes; the given bytes otherwise.
+   * Bytes which start with the header are compressed in any case, so that they are not mistaken
+   * for compressed bytes when read.
+   */
+  public static byte[] compress(byte[] bytes) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(bytes.length / 4 + HEADER.length);
+    outputStream.write(HEADER, 0, HEADER.length);
+
+    OutputStream gzipStream = null;
+    try {
+      gzipStream = new GZIPOutputStream(outputStream);
+      gzipStream.write(bytes);
+      gzipStream.close();
+    }
+    catch (IOException e) {
+      throw LOG.exceptionWhileCompressingBytes(e);
+    }
+    finally {
+      IoUtil.closeSilently(gzipStream);
+    }
+
+    if (outputStream.size() < bytes.length || isCompressed(bytes)) {
+      return outputStream.toByteArray();
+    }
+    else {
+      return bytes;
+    }
+  }
+
+  /**
+   * @return the decompressed bytes if the given bytes were compressed; the given bytes otherwise
+   */
+  public static byte[] decompress(byte[] bytes) {
+    if (!isCompressed(bytes)) {
+      return bytes;
+    }
+
+    InputStream gzipStream = null;
+    try {
+      gzipStream = new GZIPInputStream(new ByteArrayInputStream(bytes, HEADER.length, bytes.length - HEADER.length));
+      return IoUtil.readInputStream(gzipStream, "compressed bytes");
+    }
+    catch (IOException | ProcessEngineException e) {
+      // uncompressed bytes which happen to start with the header
+      LOG.logDecompressionFailure(e);
+      return bytes;
+    }
+    finally {
+      IoUtil.closeSilently(gzipStream);
+    }
+  }
+
+  public static boolean isCompressed(byte[] bytes) {
+    if (bytes == null || bytes.length <= HEADER.length) {
+      return false;
+    }
+
+    for (int i = 0; i < HEADER.length; i++) {
+      if (bytes[i] != HEADER[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the SHA-256 hash of the given bytes as hex string
+   */
+  public static String contentHash(byte[] bytes) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+
+      StringBuilder hash = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return hash.toString();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("SHA-256 is not supported", e);
+    }
+  }
+
+}
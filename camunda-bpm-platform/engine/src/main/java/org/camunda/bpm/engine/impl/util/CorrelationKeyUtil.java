@@ -0,0 +1,186 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Computes the indexed correlation key of a message event subscription from the values
+ * of the correlation variables declared for the message
+ * (see {@link ProcessEngineConfigurationImpl#getMessageCorrelationKeys()}).
+ *
+ * <p>The key is a hash over the names and values of the variables, so that a correlation
+ * by the same variables and values yields the same key. Only string, boolean and number
+ * values are indexed; integral numbers are compared by their long value.</p>
+ *
+ * <p>Since different values may share a key, the correlation variables of the executions
+ * found by a key are compared with the correlated values again, see
+ * {@link #matchesCorrelationKeys(ExecutionEntity, Map)}.</p>
+ */
+public class CorrelationKeyUtil {
+
+  /**
+   * @return the names of the variables declared as correlation keys for the message,
+   *   or null if no correlation keys are declared
+   */
+  public static List<String> getDeclaredCorrelationKeyNames(String messageName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (messageName == null || processEngineConfiguration == null) {
+      return null;
+    }
+
+    Map<String, List<String>> messageCorrelationKeys = processEngineConfiguration.getMessageCorrelationKeys();
+    if (messageCorrelationKeys == null) {
+      return null;
+    }
+
+    List<String> names = messageCorrelationKeys.get(messageName);
+    if (names == null || names.isEmpty()) {
+      return null;
+    }
+    return names;
+  }
+
+  /**
+   * @return the names of the variables declared as correlation keys for any message the
+   *   scope or one of its activities subscribes to. A message name given by an expression
+   *   may resolve to any message, in this case the names declared for all messages are returned.
+   */
+  public static Set<String> collectDeclaredCorrelationKeyNames(ScopeImpl scope, Map<String, List<String>> messageCorrelationKeys) {
+    Set<String> names = new HashSet<>();
+    if (messageCorrelationKeys != null) {
+      collectDeclaredCorrelationKeyNames(scope, messageCorrelationKeys, names);
+    }
+    return names;
+  }
+
+  protected static void collectDeclaredCorrelationKeyNames(ScopeImpl scope, Map<String, List<String>> messageCorrelationKeys, Set<String> names) {
+    for (EventSubscriptionDeclaration declaration : EventSubscriptionDeclaration.getDeclarationsForScope(scope).values()) {
+      if (!EventType.MESSAGE.name().equals(declaration.getEventType())) {
+        continue;
+      }
+
+      if (declaration.isEventNameLiteralText()) {
+        List<String> keyNames = messageCorrelationKeys.get(declaration.getUnresolvedEventName());
+        if (keyNames != null) {
+          names.addAll(keyNames);
+        }
+
+      } else {
+        for (List<String> keyNames : messageCorrelationKeys.values()) {
+          names.addAll(keyNames);
+        }
+      }
+    }
+
+    for (ActivityImpl activity : scope.getActivities()) {
+      collectDeclaredCorrelationKeyNames(activity, messageCorrelationKeys, names);
+    }
+  }
+
+  /**
+   * @param variableNames the names of the correlation variables
+   * @param variables the values of (at least) the correlation variables
+   * @return the correlation key or null if a variable is missing or has a value that cannot be indexed
+   */
+  public static String computeCorrelationKey(Collection<String> variableNames, Map<String, ?> variables) {
+    List<String> sortedNames = new ArrayList<>(variableNames);
+    Collections.sort(sortedNames);
+
+    StringBuilder canonicalForm = new StringBuilder();
+    for (String name : sortedNames) {
+      String value = toIndexableValue(variables.get(name));
+      if (value == null) {
+        return null;
+      }
+      canonicalForm.append(name).append('\u0000').append(value).append('\u0000');
+    }
+
+    return CompressionUtil.contentHash(canonicalForm.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the correlation key computed from the current values of the given correlation
+   *   variables of the process instance
+   */
+  public static String computeCorrelationKey(ExecutionEntity processInstance, List<String> variableNames) {
+    Map<String, Object> variables = new HashMap<>();
+    for (String variableName : variableNames) {
+      variables.put(variableName, processInstance.getVariableLocal(variableName));
+    }
+
+    return computeCorrelationKey(variableNames, variables);
+  }
+
+  /**
+   * @return true if the process instance of the execution has all the given correlation
+   *   variables with the given values
+   */
+  public static boolean matchesCorrelationKeys(ExecutionEntity execution, Map<String, ?> correlationKeys) {
+    ExecutionEntity processInstance = execution.getProcessInstance();
+
+    for (Map.Entry<String, ?> correlationKey : correlationKeys.entrySet()) {
+      String expectedValue = toIndexableValue(correlationKey.getValue());
+      String actualValue = toIndexableValue(processInstance.getVariableLocal(correlationKey.getKey()));
+      if (expectedValue == null || !expectedValue.equals(actualValue)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  protected static String toIndexableValue(Object value) {
+    if (value instanceof TypedValue) {
+      value = ((TypedValue) value).getValue();
+    }
+
+    if (value instanceof String) {
+      return "string:" + value;
+    }
+    else if (value instanceof Boolean) {
+      return "boolean:" + value;
+    }
+    else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+      return "long:" + ((Number) value).longValue();
+    }
+    else if (value instanceof Double) {
+      return "double:" + value;
+    }
+    else {
+      return null;
+    }
+  }
+
+}
@@ -234,4 +234,17 @@ public class EngineUtilLogger extends ProcessEngineLogger {
         + "This indicates that this is not supported by your JAXP implementation: {}",
         e.getMessage());
   }
+
+  public ProcessEngineException exceptionWhileCompressingBytes(Exception e) {
+    return new ProcessEngineException(exceptionMessage(
+        "032",
+        "Exception while compressing bytes: {}", e.getMessage()), e);
+  }
+
+  public void logDecompressionFailure(Exception e) {
+    logDebug(
+        "033",
+        "Bytes starting with the compression header could not be decompressed and are read as they are: {}",
+        e.getMessage());
+  }
 }
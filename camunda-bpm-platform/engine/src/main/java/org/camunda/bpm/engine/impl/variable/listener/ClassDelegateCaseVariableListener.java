@@ -16,8 +16,6 @@
  */
 package org.camunda.bpm.engine.impl.variable.listener;
 
-import static org.camunda.bpm.engine.impl.util.ClassDelegateUtil.instantiateDelegate;
-
 import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
@@ -50,7 +48,7 @@ public class ClassDelegateCaseVariableListener extends ClassDelegate implements
   }
 
   protected CaseVariableListener getVariableListenerInstance() {
-    Object delegateInstance = instantiateDelegate(className, fieldDeclarations);
+    Object delegateInstance = delegateFactory.getDelegateInstance();
     if (delegateInstance instanceof CaseVariableListener) {
       return (CaseVariableListener) delegateInstance;
 
@@ -40,6 +40,19 @@ public abstract class AbstractObjectValueSerializer extends AbstractSerializable
     return Variables.objectValue(untypedValue.getValue(), untypedValue.isTransient()).create();
   }
 
+  public void writeValue(ObjectValue value, ValueFields valueFields) {
+    if (value instanceof LazyObjectValueImpl && !((LazyObjectValueImpl) value).isMaterialized()
+        && ((LazyObjectValueImpl) value).getSerializedBytes() != null) {
+      // the value has never been accessed, so it is still equal to its serialized form
+      LazyObjectValueImpl lazyValue = (LazyObjectValueImpl) value;
+      valueFields.setByteArrayValue(lazyValue.getSerializedBytes());
+      valueFields.setTextValue2(lazyValue.getObjectTypeName());
+    }
+    else {
+      super.writeValue(value, valueFields);
+    }
+  }
+
   protected void writeToValueFields(ObjectValue value, ValueFields valueFields, byte[] serializedValue) {
     String objectTypeName = getObjectTypeName(value, valueFields);
     valueFields.setByteArrayValue(serializedValue);
@@ -78,6 +91,16 @@ public abstract class AbstractObjectValueSerializer extends AbstractSerializable
   }
 
 
+  protected ObjectValue createLazyDeserializedValue(byte[] serializedByteValue, ValueFields valueFields,
+      boolean asTransientValue) {
+    String objectTypeName = readObjectNameFromFields(valueFields);
+    String serializedStringValue = getSerializedStringValue(serializedByteValue);
+    LazyObjectValueImpl objectValue = new LazyObjectValueImpl(this, serializedByteValue, serializedStringValue,
+        valueFields.getName(), objectTypeName);
+    objectValue.setTransient(asTransientValue);
+    return objectValue;
+  }
+
   protected ObjectValue createSerializedValue(String serializedStringValue, ValueFields valueFields,
       boolean asTransientValue) {
     String objectTypeName = readObjectNameFromFields(valueFields);
@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.impl.variable.serializer;
 
 import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
@@ -74,6 +76,14 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
   public T readValue(ValueFields valueFields, boolean deserializeObjectValue, boolean asTransientValue) {
 
     byte[] serializedByteValue = readSerializedValueFromFields(valueFields);
+
+    if(deserializeObjectValue && serializedByteValue != null && isLazyDeserializationEnabled()) {
+      T value = createLazyDeserializedValue(serializedByteValue, valueFields, asTransientValue);
+      if (value != null) {
+        return value;
+      }
+    }
+
     String serializedStringValue = getSerializedStringValue(serializedByteValue);
 
     if(deserializeObjectValue) {
@@ -93,6 +103,20 @@ public abstract class AbstractSerializableValueSerializer<T extends Serializable
     }
   }
 
+  /**
+   * Creates a value that is deserialized from the given bytes when it is accessed for
+   * the first time. Returns null if the serializer does not support lazy deserialization;
+   * the value is then deserialized eagerly.
+   */
+  protected T createLazyDeserializedValue(byte[] serializedByteValue, ValueFields valueFields, boolean asTransientValue) {
+    return null;
+  }
+
+  protected boolean isLazyDeserializationEnabled() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null && processEngineConfiguration.isLazyObjectDeserializationEnabled();
+  }
+
   protected abstract T createDeserializedValue(Object deserializedObject, String serializedStringValue, ValueFields valueFields, boolean asTransientValue);
 
   protected abstract T createSerializedValue(String serializedStringValue, ValueFields valueFields, boolean asTransientValue);
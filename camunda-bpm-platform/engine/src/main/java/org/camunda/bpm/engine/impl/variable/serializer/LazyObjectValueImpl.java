@@ -0,0 +1,130 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer;
+
+import org.camunda.bpm.application.ProcessApplicationReference;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.util.ClassLoaderUtil;
+import org.camunda.bpm.engine.variable.impl.value.ObjectValueImpl;
+
+/**
+ * <p>An {@link ObjectValueImpl} that keeps the serialized bytes of a variable and
+ * deserializes them when the value is accessed for the first time.</p>
+ *
+ * <p>The value may be accessed after the command which read it, e.g. by the caller of
+ * {@link org.camunda.bpm.engine.RuntimeService#getVariableTyped(String, String)}. It is
+ * therefore deserialized within the context it was read in: the process engine configuration
+ * (which provides the charset, the custom class loader and the deserialization type validator),
+ * the process application and the context class loader of the reading thread.</p>
+ *
+ * @see AbstractObjectValueSerializer#createLazyDeserializedValue(byte[], ValueFields, boolean)
+ */
+public class LazyObjectValueImpl extends ObjectValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected transient AbstractObjectValueSerializer serializer;
+  protected transient byte[] serializedBytes;
+  protected String variableName;
+  protected boolean isMaterialized = false;
+
+  protected transient ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected transient ProcessApplicationReference processApplication;
+  protected transient ClassLoader contextClassLoader;
+
+  public LazyObjectValueImpl(AbstractObjectValueSerializer serializer,
+                             byte[] serializedBytes,
+                             String serializedValue,
+                             String variableName,
+                             String objectTypeName) {
+    super(null, serializedValue, serializer.getSerializationDataformat(), objectTypeName, true);
+    this.serializer = serializer;
+    this.serializedBytes = serializedBytes;
+    this.variableName = variableName;
+
+    this.processEngineConfiguration = Context.getProcessEngineConfiguration();
+    this.processApplication = Context.getCurrentProcessApplication();
+    this.contextClassLoader = ClassLoaderUtil.getContextClassloader();
+  }
+
+  @Override
+  public Object getValue() {
+    if (!isMaterialized) {
+      try {
+        value = deserializeWithinReadingContext();
+      } catch (Exception e) {
+        throw new ProcessEngineException("Cannot deserialize object in variable '" + variableName + "': " + e.getMessage(), e);
+      }
+      isMaterialized = true;
+    }
+    return value;
+  }
+
+  protected Object deserializeWithinReadingContext() throws Exception {
+    ClassLoader currentClassLoader = ClassLoaderUtil.getContextClassloader();
+    if (contextClassLoader != null) {
+      ClassLoaderUtil.setContextClassloader(contextClassLoader);
+    }
+    if (processEngineConfiguration != null) {
+      Context.setProcessEngineConfiguration(processEngineConfiguration);
+    }
+
+    try {
+      if (processApplication != null && processApplication != Context.getCurrentProcessApplication()) {
+        return Context.executeWithinProcessApplication(
+            () -> serializer.deserializeFromByteArray(serializedBytes, objectTypeName), processApplication);
+      } else {
+        return serializer.deserializeFromByteArray(serializedBytes, objectTypeName);
+      }
+    } finally {
+      if (processEngineConfiguration != null) {
+        Context.removeProcessEngineConfiguration();
+      }
+      ClassLoaderUtil.setContextClassloader(currentClassLoader);
+    }
+  }
+
+  @Override
+  public void setSerializedValue(String serializedValue) {
+    this.serializedValue = serializedValue;
+    // the bytes read from the database are outdated now
+    this.serializedBytes = null;
+  }
+
+  /**
+   * @return true if the value has been deserialized already
+   */
+  public boolean isMaterialized() {
+    return isMaterialized;
+  }
+
+  /**
+   * @return the bytes the value was read from, or null once the value has been serialized again
+   */
+  public byte[] getSerializedBytes() {
+    return serializedBytes;
+  }
+
+  protected Object writeReplace() {
+    ObjectValueImpl objectValue = new ObjectValueImpl(getValue(), getValueSerialized(), serializationDataFormat, objectTypeName, true);
+    objectValue.setTransient(isTransient);
+    return objectValue;
+  }
+
+}
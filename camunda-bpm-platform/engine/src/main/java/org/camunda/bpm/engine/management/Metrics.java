@@ -55,6 +55,46 @@ public class Metrics {
    */
   public final static String JOB_LOCKED_EXCLUSIVE = "job-locked-exclusive";
 
+  /**
+   * Sum of the milliseconds between acquired jobs becoming executable (created or due)
+   * and being acquired. Divided by {@link #JOB_ACQUIRED_SUCCESS}, this is the
+   * average latency until a job is picked up.
+   */
+  public final static String JOB_PICKUP_LATENCY = "job-pickup-latency";
+
+  /**
+   * Number of entities which were served by the shared entity cache instead of the database.
+   */
+  public final static String SHARED_ENTITY_CACHE_HIT = "shared-entity-cache-hit";
+
+  /**
+   * Number of lookups of cacheable entities which were not found in the shared entity cache.
+   */
+  public final static String SHARED_ENTITY_CACHE_MISS = "shared-entity-cache-miss";
+
+  /**
+   * Number of JDBC batches executed when flushing with JDBC batch processing enabled.
+   * Only reported if JDBC batch metrics are enabled in the process engine configuration.
+   */
+  public final static String JDBC_BATCHES = "jdbc-batches";
+
+  /**
+   * Number of statements executed in JDBC batches. Divided by {@link #JDBC_BATCHES},
+   * this is the average size of the JDBC batches.
+   */
+  public final static String JDBC_BATCHED_STATEMENTS = "jdbc-batched-statements";
+
+  /**
+   * Number of history events written to the history outbox. The difference to
+   * {@link #HISTORY_OUTBOX_DRAINED} is the number of events waiting in the outbox.
+   */
+  public final static String HISTORY_OUTBOX_ENQUEUED = "history-outbox-enqueued";
+
+  /**
+   * Number of history events drained from the history outbox into the history tables.
+   */
+  public final static String HISTORY_OUTBOX_DRAINED = "history-outbox-drained";
+
   /**
    * Number of executed Root Process Instance executions.
    */
@@ -73,4 +113,12 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Number of rows removed from all history tables by removal-time-based history cleanup jobs,
+   * and the time in milliseconds the jobs took to remove them. Both are counters, the rows removed
+   * per second of an interval are the sum of the removed rows * 1000 / the sum of the durations.
+   */
+  public final static String HISTORY_CLEANUP_REMOVED_ROWS = "history-cleanup-removed-rows";
+  public final static String HISTORY_CLEANUP_DURATION = "history-cleanup-duration";
 }
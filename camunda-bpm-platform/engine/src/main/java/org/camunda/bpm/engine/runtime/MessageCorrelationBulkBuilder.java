@@ -0,0 +1,72 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+
+/**
+ * <p>Correlates a list of messages, several messages per transaction.</p>
+ *
+ * <p>Every message is described by a {@link MessageCorrelationBuilder} created with
+ * {@link RuntimeService#createMessageCorrelation(String)} and is correlated like
+ * {@link MessageCorrelationBuilder#correlateWithResult()}. The messages are split
+ * into chunks and the messages of a chunk are correlated in a single transaction.
+ * If the correlation of a message of a chunk fails, or two messages of a chunk are
+ * correlated to the same process instance, the chunk is rolled back and its messages
+ * are correlated again, one per transaction. The failure of one message therefore never
+ * affects the outcome of another message.</p>
+ *
+ * <p>Correlating the messages of a failed chunk again means that every message of the
+ * chunk is processed twice. The database changes of the first attempt are rolled back,
+ * but side effects of delegates that are not part of the transaction, like sending
+ * a mail or calling a remote service, happen a second time. Use a chunk size of 1
+ * if the processes executed by the correlation cause such side effects.</p>
+ *
+ * @since 7.14
+ */
+public interface MessageCorrelationBulkBuilder {
+
+  /**
+   * Adds a message to correlate.
+   *
+   * @param messageCorrelation a builder created with {@link RuntimeService#createMessageCorrelation(String)}
+   */
+  MessageCorrelationBulkBuilder message(MessageCorrelationBuilder messageCorrelation);
+
+  /**
+   * Adds messages to correlate.
+   *
+   * @param messageCorrelations builders created with {@link RuntimeService#createMessageCorrelation(String)}
+   */
+  MessageCorrelationBulkBuilder messages(List<MessageCorrelationBuilder> messageCorrelations);
+
+  /**
+   * Sets the number of messages correlated in a single transaction. Defaults to
+   * the engine's configured message correlation bulk chunk size.
+   */
+  MessageCorrelationBulkBuilder chunkSize(int chunkSize);
+
+  /**
+   * Executes the correlation of all messages.
+   *
+   * @return one result per message, in the order the messages were added
+   */
+  List<MessageCorrelationBulkResult> correlateWithResults();
+
+}
@@ -75,6 +75,7 @@ drop index ACT_RE_DEPLOYMENT.ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_RU_JOB.ACT_IDX_JOB_HANDLER_TYPE;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_EVT_NAME;
+drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TENANT_ID;
@@ -83,6 +84,7 @@ drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_RU_INCIDENT.ACT_IDX_INC_TENANT_ID;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_TENANT_ID;
 drop index ACT_RU_JOB.ACT_IDX_JOB_TENANT_ID;
+drop index ACT_RU_JOB.ACT_IDX_JOB_PARTITION;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_TENANT_ID;
 drop index ACT_RU_VARIABLE.ACT_IDX_VARIABLE_TENANT_ID;
 drop index ACT_RU_TASK.ACT_IDX_TASK_TENANT_ID;
@@ -186,6 +188,7 @@ drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_ROOT_PI;
 drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_RM_TIME;
 
 drop index ACT_RU_VARIABLE.ACT_IDX_BATCH_ID;
+drop index ACT_RU_HISTORY_OUTBOX.ACT_IDX_HI_OUTBOX_SEQ;
 
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_PROPERTY') drop table ACT_GE_PROPERTY;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_BYTEARRAY') drop table ACT_GE_BYTEARRAY;
@@ -204,4 +207,5 @@ if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = '
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_METER_LOG') drop table ACT_RU_METER_LOG;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_EXT_TASK') drop table ACT_RU_EXT_TASK;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_BATCH') drop table ACT_RU_BATCH;
+if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_RU_HISTORY_OUTBOX') drop table ACT_RU_HISTORY_OUTBOX;
 if exists (select TABLE_NAME from INFORMATION_SCHEMA.TABLES where TABLE_NAME = 'ACT_GE_SCHEMA_LOG') drop table ACT_GE_SCHEMA_LOG;
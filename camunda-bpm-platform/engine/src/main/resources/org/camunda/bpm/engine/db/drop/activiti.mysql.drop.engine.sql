@@ -142,6 +142,7 @@ drop index ACT_IDX_DEPLOYMENT_NAME on ACT_RE_DEPLOYMENT;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF;
 drop index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY ON ACT_RU_EVENT_SUBSCR;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID on ACT_RU_EXT_TASK;
@@ -150,6 +151,7 @@ drop index ACT_IDX_EXT_TASK_ERR_DETAILS on ACT_RU_EXT_TASK;
 drop index ACT_IDX_INC_TENANT_ID ON ACT_RU_INCIDENT;
 drop index ACT_IDX_JOBDEF_TENANT_ID ON ACT_RU_JOBDEF;
 drop index ACT_IDX_JOB_TENANT_ID ON ACT_RU_JOB;
+drop index ACT_IDX_JOB_PARTITION ON ACT_RU_JOB;
 drop index ACT_IDX_EVENT_SUBSCR_TENANT_ID on ACT_RU_EVENT_SUBSCR;
 drop index ACT_IDX_VARIABLE_TENANT_ID ON ACT_RU_VARIABLE;
 drop index ACT_IDX_TASK_TENANT_ID ON ACT_RU_TASK;
@@ -169,6 +171,7 @@ drop index ACT_IDX_AUTH_ROOT_PI on ACT_RU_AUTHORIZATION;
 drop index ACT_IDX_AUTH_RM_TIME on ACT_RU_AUTHORIZATION;
 
 drop index ACT_IDX_BATCH_ID on ACT_RU_VARIABLE;
+drop index ACT_IDX_HI_OUTBOX_SEQ on ACT_RU_HISTORY_OUTBOX;
 
 drop table if exists ACT_GE_PROPERTY;
 drop table if exists ACT_RU_VARIABLE;
@@ -187,4 +190,5 @@ drop table if exists ACT_RU_FILTER;
 drop table if exists ACT_RU_METER_LOG;
 drop table if exists ACT_RU_EXT_TASK;
 drop table if exists ACT_RU_BATCH;
+drop table if exists ACT_RU_HISTORY_OUTBOX;
 drop table if exists ACT_GE_SCHEMA_LOG;
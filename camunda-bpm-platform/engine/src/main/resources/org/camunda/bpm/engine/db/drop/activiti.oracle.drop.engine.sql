@@ -161,6 +161,7 @@ drop index ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_IDX_JOB_HANDLER_TYPE;
 drop index ACT_IDX_EVENT_SUBSCR_EVT_NAME;
+drop index ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_IDX_EXT_TASK_TENANT_ID;
@@ -169,6 +170,7 @@ drop index ACT_IDX_EXT_TASK_ERR_DETAILS;
 drop index ACT_IDX_INC_TENANT_ID;
 drop index ACT_IDX_JOBDEF_TENANT_ID;
 drop index ACT_IDX_JOB_TENANT_ID;
+drop index ACT_IDX_JOB_PARTITION;
 drop index ACT_IDX_EVENT_SUBSCR_TENANT_ID;
 drop index ACT_IDX_VARIABLE_TENANT_ID;
 drop index ACT_IDX_TASK_TENANT_ID;
@@ -190,6 +192,7 @@ drop index ACT_IDX_AUTH_ROOT_PI;
 drop index ACT_IDX_AUTH_RM_TIME;
 
 drop index ACT_IDX_BATCH_ID;
+drop index ACT_IDX_HI_OUTBOX_SEQ;
 
 drop table  ACT_GE_PROPERTY;
 drop table  ACT_GE_BYTEARRAY;
@@ -208,4 +211,5 @@ drop table  ACT_RU_FILTER;
 drop table  ACT_RU_METER_LOG;
 drop table  ACT_RU_EXT_TASK;
 drop table  ACT_RU_BATCH;
+drop table  ACT_RU_HISTORY_OUTBOX;
 drop table  ACT_GE_SCHEMA_LOG;
@@ -0,0 +1,80 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+
+import org.junit.Test;
+
+public class TablePartitionTest {
+
+  @Test
+  public void shouldParsePostgresUpperBound() {
+    // given
+    TablePartition partition = partition("FOR VALUES FROM ('2020-01-01 00:00:00') TO ('2020-02-01 00:00:00')");
+
+    // then
+    assertThat(partition.getUpperBound()).isEqualTo(Timestamp.valueOf("2020-02-01 00:00:00"));
+  }
+
+  @Test
+  public void shouldParseOracleUpperBound() {
+    // given
+    TablePartition partition = partition("TIMESTAMP' 2020-02-01 00:00:00'");
+
+    // then
+    assertThat(partition.getUpperBound()).isEqualTo(Timestamp.valueOf("2020-02-01 00:00:00"));
+  }
+
+  @Test
+  public void shouldParseUpperBoundWithOffset() {
+    // given
+    TablePartition partition = partition("FOR VALUES FROM ('2020-01-01 00:00:00+01') TO ('2020-02-01 00:00:00+01')");
+
+    // then
+    assertThat(partition.getUpperBound()).isEqualTo(Date.from(Instant.parse("2020-01-31T23:00:00Z")));
+  }
+
+  @Test
+  public void shouldParseUpperBoundWithOffsetInMinutes() {
+    // given
+    TablePartition partition = partition("FOR VALUES FROM ('2020-01-01 00:00:00-03:30') TO ('2020-02-01 00:00:00.5-03:30')");
+
+    // then
+    assertThat(partition.getUpperBound()).isEqualTo(Date.from(Instant.parse("2020-02-01T03:30:00.500Z")));
+  }
+
+  @Test
+  public void shouldNotParseUnboundedUpperBound() {
+    assertThat(partition("MAXVALUE").getUpperBound()).isNull();
+    assertThat(partition("FOR VALUES FROM ('2020-01-01 00:00:00') TO (MAXVALUE)").getUpperBound()).isNull();
+    assertThat(partition("DEFAULT").getUpperBound()).isNull();
+  }
+
+  protected TablePartition partition(String highValue) {
+    TablePartition partition = new TablePartition();
+    partition.setTableName("ACT_HI_PROCINST");
+    partition.setPartitionName("ACT_HI_PROCINST_P1");
+    partition.setHighValue(highValue);
+    return partition;
+  }
+
+}
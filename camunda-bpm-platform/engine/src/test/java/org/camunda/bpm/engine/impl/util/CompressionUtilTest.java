@@ -0,0 +1,90 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompressionUtilTest {
+
+  @Test
+  public void shouldCompressAndDecompress() {
+    // given
+    byte[] bytes = repeat("{\"name\":\"value\"}", 1000);
+
+    // when
+    byte[] compressed = CompressionUtil.compress(bytes);
+
+    // then
+    assertThat(compressed.length).isLessThan(bytes.length);
+    assertThat(CompressionUtil.isCompressed(compressed)).isTrue();
+    assertThat(CompressionUtil.decompress(compressed)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleBytes() {
+    // given
+    byte[] bytes = new byte[256];
+    new Random(42).nextBytes(bytes);
+
+    // when
+    byte[] compressed = CompressionUtil.compress(bytes);
+
+    // then
+    assertThat(compressed).isSameAs(bytes);
+    assertThat(CompressionUtil.decompress(compressed)).isSameAs(bytes);
+  }
+
+  @Test
+  public void shouldReadUncompressedBytesStartingWithHeader() {
+    // given
+    byte[] bytes = Arrays.copyOf(CompressionUtil.HEADER, CompressionUtil.HEADER.length + 3);
+
+    // when
+    byte[] decompressed = CompressionUtil.decompress(bytes);
+
+    // then
+    assertThat(decompressed).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldCompressBytesStartingWithHeader() {
+    // given
+    byte[] bytes = Arrays.copyOf(CompressionUtil.HEADER, CompressionUtil.HEADER.length + 3);
+
+    // when
+    byte[] compressed = CompressionUtil.compress(bytes);
+
+    // then
+    assertThat(compressed).isNotEqualTo(bytes);
+    assertThat(CompressionUtil.decompress(compressed)).isEqualTo(bytes);
+  }
+
+  protected byte[] repeat(String value, int times) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      builder.append(value);
+    }
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DbEntityModificationTrackingTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("first")
+      .userTask("second")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setDbEntityModificationTrackingEnabled(true));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected CommandExecutor commandExecutor;
+
+  protected String processInstanceId;
+
+  @Before
+  public void setUp() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    testRule.deploy(PROCESS);
+    processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+  }
+
+  @Test
+  public void shouldNotBeDirtyIfUnchanged() {
+    boolean dirty = commandExecutor.execute(commandContext -> {
+      DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+
+      // re-setting the same values is not a modification
+      execution.setActivityId(execution.getActivityId());
+      execution.setActive(execution.isActive());
+
+      CachedDbEntity cachedExecution = dbEntityCache.getCachedEntity(execution);
+      assertThat(cachedExecution.isModificationTracking()).isTrue();
+      return cachedExecution.isDirty();
+    });
+
+    assertThat(dirty).isFalse();
+  }
+
+  @Test
+  public void shouldBeDirtyIfChanged() {
+    boolean dirty = commandExecutor.execute(commandContext -> {
+      DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+
+      execution.setBusinessKey("aBusinessKey");
+
+      return dbEntityCache.getCachedEntity(execution).isDirty();
+    });
+
+    assertThat(dirty).isTrue();
+    assertThat(runtimeService.createProcessInstanceQuery().singleResult().getBusinessKey())
+      .isEqualTo("aBusinessKey");
+  }
+
+  @Test
+  public void shouldFlushExecutionChanges() {
+    // when
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+    runtimeService.suspendProcessInstanceById(processInstanceId);
+
+    // then
+    Execution execution = runtimeService.createExecutionQuery().activityId("second").singleResult();
+    assertThat(execution).isNotNull();
+    assertThat(execution.isSuspended()).isTrue();
+
+    ProcessInstance processInstance = runtimeService.createProcessInstanceQuery().singleResult();
+    assertThat(processInstance.isSuspended()).isTrue();
+  }
+
+  @Test
+  public void shouldNotTrackModificationsIfDisabled() {
+    engineRule.getProcessEngineConfiguration().setDbEntityModificationTrackingEnabled(false);
+
+    try {
+      boolean tracking = commandExecutor.execute(commandContext -> {
+        DbEntityCache dbEntityCache = commandContext.getDbEntityManager().getDbEntityCache();
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+        return dbEntityCache.getCachedEntity(execution).isModificationTracking();
+      });
+
+      assertThat(tracking).isFalse();
+    }
+    finally {
+      engineRule.getProcessEngineConfiguration().setDbEntityModificationTrackingEnabled(true);
+    }
+  }
+
+}
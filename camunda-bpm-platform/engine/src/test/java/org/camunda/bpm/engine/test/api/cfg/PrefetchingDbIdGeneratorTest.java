@@ -0,0 +1,124 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PrefetchingDbIdGeneratorTest {
+
+  protected static final int ID_BLOCK_SIZE = 10;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration
+        .setIdBlockPrefetching(true)
+        .setIdBlockSize(ID_BLOCK_SIZE));
+
+  @Rule
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+
+  protected IdGenerator idGenerator;
+
+  @Before
+  public void setUp() {
+    idGenerator = engineRule.getProcessEngineConfiguration().getIdGenerator();
+  }
+
+  @Test
+  public void shouldUsePrefetchingIdGenerator() {
+    assertThat(idGenerator).isInstanceOf(PrefetchingDbIdGenerator.class);
+  }
+
+  @Test
+  public void shouldGenerateIncreasingIdsAcrossBlocks() {
+    long previousId = Long.parseLong(idGenerator.getNextId());
+
+    for (int i = 0; i < 5 * ID_BLOCK_SIZE; i++) {
+      long id = Long.parseLong(idGenerator.getNextId());
+      assertThat(id).isGreaterThan(previousId);
+      previousId = id;
+    }
+  }
+
+  @Test
+  public void shouldGenerateUniqueIdsConcurrently() throws InterruptedException {
+    final Set<String> ids = ConcurrentHashMap.newKeySet();
+    final int numberOfThreads = 8;
+    final int idsPerThread = 50 * ID_BLOCK_SIZE;
+
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < numberOfThreads; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < idsPerThread; j++) {
+          ids.add(idGenerator.getNextId());
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(ids).hasSize(numberOfThreads * idsPerThread);
+  }
+
+  @Test
+  public void shouldRejectPrefetchThresholdOutsideOfBlock() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setJdbcUrl("jdbc:h2:mem:PrefetchingDbIdGeneratorTest");
+    configuration
+      .setIdBlockPrefetching(true)
+      .setIdBlockPrefetchThreshold(1f);
+
+    // when/then
+    assertThatThrownBy(configuration::buildProcessEngine)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("idBlockPrefetchThreshold");
+  }
+
+  @Test
+  public void shouldInitializeRangeOnConstruction() {
+    // when
+    PrefetchingDbIdGenerator generator = new PrefetchingDbIdGenerator();
+
+    // then
+    assertThat(generator.getPrefetchThreshold()).isEqualTo(PrefetchingDbIdGenerator.DEFAULT_PREFETCH_THRESHOLD);
+  }
+
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SharedDbEntityCache;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.SuspensionState;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantEntity;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SharedDbEntityCacheTest {
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setSharedDbEntityCacheEnabled(true));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+  protected SharedDbEntityCache sharedDbEntityCache;
+
+  protected String jobDefinitionId;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    sharedDbEntityCache = processEngineConfiguration.getSharedDbEntityCache();
+
+    testRule.deploy(ASYNC_PROCESS);
+    jobDefinitionId = managementService.createJobDefinitionQuery().singleResult().getId();
+
+    sharedDbEntityCache.clear();
+    clearMetrics();
+  }
+
+  @Test
+  public void shouldServeEntityFromCache() {
+    // given
+    JobDefinitionEntity loadedJobDefinition = selectJobDefinition();
+
+    // when
+    JobDefinitionEntity cachedJobDefinition = selectJobDefinition();
+
+    // then
+    assertThat(cachedJobDefinition).isNotSameAs(loadedJobDefinition);
+    assertThat(cachedJobDefinition.getId()).isEqualTo(jobDefinitionId);
+    assertThat(cachedJobDefinition.getRevision()).isEqualTo(loadedJobDefinition.getRevision());
+    assertThat(getMeter(Metrics.SHARED_ENTITY_CACHE_MISS)).isEqualTo(1);
+    assertThat(getMeter(Metrics.SHARED_ENTITY_CACHE_HIT)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotShareChangesOfRolledBackCommand() {
+    // given
+    selectJobDefinition();
+
+    // when
+    assertThatThrownBy(() -> commandExecutor.execute(commandContext -> {
+      JobDefinitionEntity jobDefinition = commandContext.getJobDefinitionManager().findById(jobDefinitionId);
+      jobDefinition.setJobPriority(42L);
+      throw new IllegalStateException("rollback");
+    })).isInstanceOf(IllegalStateException.class);
+
+    // then
+    assertThat(selectJobDefinition().getOverridingJobPriority()).isNull();
+  }
+
+  @Test
+  public void shouldEvictUpdatedEntity() {
+    // given
+    selectJobDefinition();
+
+    // when
+    managementService.setOverridingJobPriorityForJobDefinition(jobDefinitionId, 42L);
+
+    // then
+    assertThat(selectJobDefinition().getOverridingJobPriority()).isEqualTo(42L);
+  }
+
+  @Test
+  public void shouldEvictChangedEntityBeforeFlush() {
+    // given
+    String processDefinitionId = engineRule.getRepositoryService().createProcessDefinitionQuery().singleResult().getId();
+    selectProcessDefinition(processDefinitionId);
+
+    // when
+    ProcessDefinitionEntity cachedProcessDefinition = commandExecutor.execute(commandContext -> {
+      commandContext.getProcessDefinitionManager()
+        .updateProcessDefinitionSuspensionStateById(processDefinitionId, SuspensionState.SUSPENDED);
+      return sharedDbEntityCache.get(ProcessDefinitionEntity.class, processDefinitionId);
+    });
+
+    // then
+    assertThat(cachedProcessDefinition).isNull();
+    assertThat(selectProcessDefinition(processDefinitionId).isSuspended()).isTrue();
+  }
+
+  @Test
+  public void shouldEvictEntitiesOfBulkUpdate() {
+    // given
+    selectJobDefinition();
+
+    // when
+    managementService.suspendJobDefinitionByProcessDefinitionKey("process");
+
+    // then
+    assertThat(selectJobDefinition().isSuspended()).isTrue();
+  }
+
+  @Test
+  public void shouldReplaceEntryWithDifferentRevision() {
+    // given an entry which is outdated, e.g. because another process engine updated the entity
+    JobDefinitionEntity staleJobDefinition = selectJobDefinition();
+    staleJobDefinition.setJobPriority(42L);
+    staleJobDefinition.setRevision(staleJobDefinition.getRevision() - 1);
+    sharedDbEntityCache.evict(JobDefinitionEntity.class, jobDefinitionId);
+    sharedDbEntityCache.put(staleJobDefinition, sharedDbEntityCache.getEvictionStamp());
+
+    // when
+    JobDefinition queriedJobDefinition = managementService.createJobDefinitionQuery().singleResult();
+
+    // then
+    assertThat(queriedJobDefinition.getOverridingJobPriority()).isNull();
+    assertThat(selectJobDefinition().getOverridingJobPriority()).isNull();
+  }
+
+  @Test
+  public void shouldNotCacheEntityLoadedBeforeEviction() {
+    // given an entity which was loaded before a concurrent transaction evicted it
+    long evictionStamp = sharedDbEntityCache.getEvictionStamp();
+    JobDefinitionEntity staleJobDefinition = selectJobDefinition();
+    sharedDbEntityCache.evict(JobDefinitionEntity.class, jobDefinitionId);
+
+    // when
+    sharedDbEntityCache.put(staleJobDefinition, evictionStamp);
+
+    // then
+    assertThat(sharedDbEntityCache.size()).isZero();
+
+    // when
+    sharedDbEntityCache.put(staleJobDefinition, sharedDbEntityCache.getEvictionStamp());
+
+    // then
+    assertThat(sharedDbEntityCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCacheProcessDefinition() {
+    // given
+    String processDefinitionId = engineRule.getRepositoryService().createProcessDefinitionQuery().singleResult().getId();
+    sharedDbEntityCache.clear();
+    clearMetrics();
+    selectProcessDefinition(processDefinitionId);
+
+    // when
+    ProcessDefinitionEntity processDefinition = selectProcessDefinition(processDefinitionId);
+
+    // then
+    assertThat(processDefinition.getKey()).isEqualTo("process");
+    assertThat(getMeter(Metrics.SHARED_ENTITY_CACHE_MISS)).isEqualTo(1);
+    assertThat(getMeter(Metrics.SHARED_ENTITY_CACHE_HIT)).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldOnlyCachePropertiesWhichNeverChange() {
+    // given
+    selectProperty("historyLevel");
+    selectProperty("next.dbid");
+
+    // when
+    PropertyEntity historyLevel = selectProperty("historyLevel");
+    PropertyEntity nextId = selectProperty("next.dbid");
+
+    // then
+    assertThat(historyLevel.getValue()).isNotNull();
+    assertThat(nextId.getValue()).isNotNull();
+    assertThat(getMeter(Metrics.SHARED_ENTITY_CACHE_HIT)).isEqualTo(1);
+    assertThat(sharedDbEntityCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRejectTypeWhichCannotBeShared() {
+    assertThatThrownBy(() -> new SharedDbEntityCache(10, Collections.singleton(ExecutionEntity.class)))
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining(ExecutionEntity.class.getName());
+  }
+
+  @Test
+  public void shouldCacheDefaultTypes() {
+    // given
+    DefaultSharedDbEntityCacheConfiguration configuration = new DefaultSharedDbEntityCacheConfiguration();
+    configuration.setSharedDbEntityCacheEnabled(true);
+
+    // when
+    configuration.initSharedDbEntityCache();
+
+    // then
+    assertThat(configuration.getSharedDbEntityCache().getEntityTypes()).containsExactlyInAnyOrder(DeploymentEntity.class,
+        ProcessDefinitionEntity.class, JobDefinitionEntity.class, TenantEntity.class, PropertyEntity.class);
+  }
+
+  protected JobDefinitionEntity selectJobDefinition() {
+    return commandExecutor.execute(commandContext -> commandContext.getJobDefinitionManager().findById(jobDefinitionId));
+  }
+
+  protected ProcessDefinitionEntity selectProcessDefinition(String processDefinitionId) {
+    return commandExecutor.execute(commandContext -> commandContext.getDbEntityManager()
+        .selectById(ProcessDefinitionEntity.class, processDefinitionId));
+  }
+
+  protected PropertyEntity selectProperty(String name) {
+    return commandExecutor.execute(commandContext -> commandContext.getPropertyManager().findPropertyById(name));
+  }
+
+  protected long getMeter(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getDbMeters().get(name).get();
+  }
+
+  protected void clearMetrics() {
+    processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.SHARED_ENTITY_CACHE_HIT).getAndClear();
+    processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.SHARED_ENTITY_CACHE_MISS).getAndClear();
+  }
+
+  public static class DefaultSharedDbEntityCacheConfiguration extends StandaloneInMemProcessEngineConfiguration {
+
+    public void initSharedDbEntityCache() {
+      super.initSharedDbEntityCache();
+    }
+  }
+
+}
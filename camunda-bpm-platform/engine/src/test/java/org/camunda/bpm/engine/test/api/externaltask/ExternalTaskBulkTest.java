@@ -0,0 +1,255 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.externaltask.ExternalTask;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkBuilder;
+import org.camunda.bpm.engine.externaltask.ExternalTaskBulkResult;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskBulkTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("externalTask").camundaExternalTask("aTopic")
+      .userTask("afterExternalTask")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_PROCESS = Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask("externalTask").camundaExternalTask("aTopic")
+      .serviceTask().camundaExpression("${requiredVariable}")
+      .userTask("afterExternalTask")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance THROWING_PROCESS = Bpmn.createExecutableProcess("throwingProcess")
+      .startEvent()
+      .serviceTask("externalTask").camundaExternalTask("aTopic")
+      .serviceTask().camundaClass(ThrowingDelegate.class.getName())
+      .userTask("afterExternalTask")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldCompleteTasksInChunks() {
+    // given
+    testRule.deploy(PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 5);
+
+    // when
+    ExternalTaskBulkBuilder bulk = externalTaskService.createExternalTaskBulk(WORKER_ID).chunkSize(2);
+    for (String externalTaskId : externalTaskIds) {
+      bulk.complete(externalTaskId, Variables.createVariables().putValue("result", externalTaskId), null);
+    }
+    List<ExternalTaskBulkResult> results = bulk.execute();
+
+    // then
+    assertThat(results).extracting("externalTaskId").containsExactlyElementsOf(externalTaskIds);
+    assertThat(results).extracting("successful").containsOnly(true);
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+    assertThat(runtimeService.createExecutionQuery().activityId("afterExternalTask").count()).isEqualTo(5);
+    assertThat(runtimeService.createVariableInstanceQuery().variableName("result").list())
+      .extracting("value").containsOnlyElementsOf(externalTaskIds);
+  }
+
+  @Test
+  public void shouldReportUnknownTaskAndTaskOfOtherWorker() {
+    // given
+    testRule.deploy(PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 2);
+
+    runtimeService.startProcessInstanceByKey("process");
+    String otherWorkersTaskId = externalTaskService.fetchAndLock(1, "anotherWorkerId")
+        .topic("aTopic", LOCK_DURATION)
+        .execute()
+        .get(0)
+        .getId();
+
+    // when
+    List<ExternalTaskBulkResult> results = externalTaskService.createExternalTaskBulk(WORKER_ID)
+      .complete(externalTaskIds.get(0))
+      .complete("unknownId")
+      .complete(otherWorkersTaskId)
+      .complete(externalTaskIds.get(1))
+      .execute();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false, false, true);
+    assertThat(results.get(1).getErrorMessage()).contains("Cannot find external task with id unknownId");
+    assertThat(results.get(2).getErrorMessage()).contains("It is locked by worker 'anotherWorkerId'");
+    assertThat(externalTaskService.createExternalTaskQuery().singleResult().getId()).isEqualTo(otherWorkersTaskId);
+  }
+
+  @Test
+  public void shouldNotRollBackOtherTasksOfChunkOnFailure() {
+    // given
+    testRule.deploy(PROCESS, FAILING_PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 1);
+    externalTaskIds.addAll(startAndLock("failingProcess", 1));
+    externalTaskIds.addAll(startAndLock("process", 1));
+
+    // when
+    List<ExternalTaskBulkResult> results = externalTaskService.createExternalTaskBulk(WORKER_ID)
+      .complete(externalTaskIds.get(0))
+      .complete(externalTaskIds.get(1))
+      .complete(externalTaskIds.get(2))
+      .execute();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false, true);
+    assertThat(results.get(1).getErrorMessage()).contains("requiredVariable");
+    assertThat(externalTaskService.createExternalTaskQuery().singleResult().getId()).isEqualTo(externalTaskIds.get(1));
+    assertThat(runtimeService.createExecutionQuery().activityId("afterExternalTask").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldReportTaskFailingWithRuntimeException() {
+    // given
+    testRule.deploy(PROCESS, THROWING_PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 1);
+    externalTaskIds.addAll(startAndLock("throwingProcess", 1));
+    externalTaskIds.addAll(startAndLock("process", 1));
+
+    // when
+    List<ExternalTaskBulkResult> results = externalTaskService.createExternalTaskBulk(WORKER_ID)
+      .complete(externalTaskIds.get(0))
+      .complete(externalTaskIds.get(1))
+      .complete(externalTaskIds.get(2))
+      .execute();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false, true);
+    assertThat(results.get(1).getErrorMessage()).isEqualTo("delegate failed");
+    assertThat(externalTaskService.createExternalTaskQuery().singleResult().getId()).isEqualTo(externalTaskIds.get(1));
+    assertThat(runtimeService.createExecutionQuery().activityId("afterExternalTask").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldExtendLocksAndHandleFailures() {
+    // given
+    Date now = new Date();
+    ClockUtil.setCurrentTime(now);
+
+    testRule.deploy(PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 2);
+
+    // when
+    List<ExternalTaskBulkResult> results = externalTaskService.createExternalTaskBulk(WORKER_ID)
+      .extendLock(externalTaskIds.get(0), 2 * LOCK_DURATION)
+      .handleFailure(externalTaskIds.get(1), "anErrorMessage", "anErrorDetails", 2, 0L)
+      .execute();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, true);
+
+    ExternalTask extendedTask = externalTaskService.createExternalTaskQuery().externalTaskId(externalTaskIds.get(0)).singleResult();
+    assertThat(extendedTask.getLockExpirationTime()).isEqualTo(new Date(now.getTime() + 2 * LOCK_DURATION));
+
+    ExternalTask failedTask = externalTaskService.createExternalTaskQuery().externalTaskId(externalTaskIds.get(1)).singleResult();
+    assertThat(failedTask.getRetries()).isEqualTo(2);
+    assertThat(failedTask.getErrorMessage()).isEqualTo("anErrorMessage");
+    assertThat(externalTaskService.getExternalTaskErrorDetails(failedTask.getId())).isEqualTo("anErrorDetails");
+  }
+
+  @Test
+  public void shouldHandleSameTaskTwice() {
+    // given
+    testRule.deploy(PROCESS);
+    List<String> externalTaskIds = startAndLock("process", 2);
+
+    // when
+    List<ExternalTaskBulkResult> results = externalTaskService.createExternalTaskBulk(WORKER_ID)
+      .extendLock(externalTaskIds.get(0), 2 * LOCK_DURATION)
+      .complete(externalTaskIds.get(1))
+      .complete(externalTaskIds.get(0))
+      .execute();
+
+    // then the operations are executed one by one
+    assertThat(results).extracting("successful").containsExactly(true, true, true);
+    assertThat(externalTaskService.createExternalTaskQuery().count()).isZero();
+  }
+
+  protected List<String> startAndLock(String processDefinitionKey, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey);
+    }
+
+    List<String> externalTaskIds = new ArrayList<>();
+    for (LockedExternalTask lockedTask : externalTaskService.fetchAndLock(count, WORKER_ID)
+        .topic("aTopic", LOCK_DURATION)
+        .execute()) {
+      externalTaskIds.add(lockedTask.getId());
+    }
+    return externalTaskIds;
+  }
+
+  public static class ThrowingDelegate implements JavaDelegate {
+
+    @Override
+    public void execute(DelegateExecution execution) {
+      throw new IllegalStateException("delegate failed");
+    }
+  }
+
+}
@@ -16,12 +16,20 @@
  */
 package org.camunda.bpm.engine.test.api.externaltask;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAvailableListener;
 import org.camunda.bpm.engine.impl.util.SingleConsumerCondition;
 import org.camunda.bpm.engine.test.ProcessEngineRule;
 import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
@@ -45,6 +53,9 @@ public class ExternalTaskConditionsTest {
   @Mock
   public SingleConsumerCondition condition;
 
+  @Mock
+  public ExternalTaskAvailableListener listener;
+
   private String deploymentId;
 
   private final BpmnModelInstance testProcess = Bpmn.createExecutableProcess("theProcess")
@@ -53,16 +64,31 @@ public class ExternalTaskConditionsTest {
         .camundaExternalTask("theTopic")
     .done();
 
+  private final BpmnModelInstance parallelProcess = Bpmn.createExecutableProcess("parallelProcess")
+    .startEvent()
+    .parallelGateway("fork")
+    .serviceTask("firstTask")
+        .camundaExternalTask("theTopic")
+    .moveToNode("fork")
+    .serviceTask("secondTask")
+        .camundaExternalTask("anotherTopic")
+    .moveToNode("fork")
+    .serviceTask("thirdTask")
+        .camundaExternalTask("anotherTopic")
+    .done();
+
   @Before
   public void setUp() {
 
     MockitoAnnotations.initMocks(this);
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.addConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.addListener(listener);
 
     deploymentId = rule.getRepositoryService()
         .createDeployment()
         .addModelInstance("process.bpmn", testProcess)
+        .addModelInstance("parallelProcess.bpmn", parallelProcess)
         .deploy()
         .getId();
   }
@@ -71,6 +97,7 @@ public class ExternalTaskConditionsTest {
   public void tearDown() {
 
     ProcessEngineImpl.EXT_TASK_CONDITIONS.removeConsumer(condition);
+    ProcessEngineImpl.EXT_TASK_AVAILABLE_LISTENERS.removeListener(listener);
 
     if (deploymentId != null) {
       rule.getRepositoryService().deleteDeployment(deploymentId, true);
@@ -123,4 +150,114 @@ public class ExternalTaskConditionsTest {
     verify(condition, times(1)).signal();
   }
 
+  @Test
+  public void shouldNotifyListenerWithTopicsOnTaskCreate() {
+
+    // when
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("parallelProcess");
+
+    // then
+    verify(condition, times(1)).signal();
+    verify(listener, times(1)).externalTasksAvailable(
+        rule.getProcessEngine().getName(), new HashSet<>(Arrays.asList("theTopic", "anotherTopic")));
+  }
+
+  @Test
+  public void shouldNotifyListenerWithTopicOnUnlock() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    reset(listener); // clear notification for create
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    verify(listener, times(1)).externalTasksAvailable(
+        rule.getProcessEngine().getName(), Collections.singleton("theTopic"));
+  }
+
+  @Test
+  public void shouldNotifyListenerWithTaskIdOnComplete() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().complete(lockedTask.getId(), "theWorker");
+
+    // then
+    verify(listener, times(1)).externalTasksReleased(
+        rule.getProcessEngine().getName(), Collections.singleton(lockedTask.getId()));
+  }
+
+  @Test
+  public void shouldNotifyListenerWithTaskIdOnFailure() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().handleFailure(lockedTask.getId(), "theWorker", "an error", 1, 10000);
+
+    // then
+    verify(listener, times(1)).externalTasksReleased(
+        rule.getProcessEngine().getName(), Collections.singleton(lockedTask.getId()));
+  }
+
+  @Test
+  public void shouldNotifyListenerWithTaskIdOnUnlock() {
+
+    // given
+    rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess");
+
+    LockedExternalTask lockedTask = rule.getExternalTaskService().fetchAndLock(1, "theWorker")
+      .topic("theTopic", 10000)
+      .execute()
+      .get(0);
+
+    // when
+    rule.getExternalTaskService().unlock(lockedTask.getId());
+
+    // then
+    verify(listener, times(1)).externalTasksReleased(
+        rule.getProcessEngine().getName(), Collections.singleton(lockedTask.getId()));
+  }
+
+  @Test
+  public void shouldNotNotifyListenerOnDeletionOfUnlockedTask() {
+
+    // given
+    String processInstanceId = rule.getRuntimeService()
+      .startProcessInstanceByKey("theProcess")
+      .getId();
+
+    // when
+    rule.getRuntimeService().deleteProcessInstance(processInstanceId, null);
+
+    // then
+    verify(listener, never()).externalTasksReleased(any(String.class), anySetOf(String.class));
+  }
+
 }
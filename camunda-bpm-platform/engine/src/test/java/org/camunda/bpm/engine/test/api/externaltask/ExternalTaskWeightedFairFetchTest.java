@@ -0,0 +1,210 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ExternalTaskService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.externaltask.LockedExternalTask;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExternalTaskWeightedFairFetchTest {
+
+  protected static final String WORKER_ID = "aWorkerId";
+  protected static final long LOCK_DURATION = 10000L;
+
+  protected static final String TENANT_ONE = "tenant1";
+  protected static final String TENANT_TWO = "tenant2";
+
+  protected static final BpmnModelInstance PROCESS_A = createProcess("processA", "topicA");
+  protected static final BpmnModelInstance PROCESS_B = createProcess("processB", "topicB");
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ExternalTaskService externalTaskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    externalTaskService = engineRule.getExternalTaskService();
+  }
+
+  @Test
+  public void shouldShareMaxTasksByWeight() {
+    // given
+    testRule.deploy(PROCESS_A, PROCESS_B);
+    startProcessInstances("processA", 10);
+    startProcessInstances("processB", 10);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(8, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).weight(3)
+      .topic("topicB", LOCK_DURATION)
+      .execute();
+
+    // then
+    assertThat(countTasksOfTopic(tasks, "topicA")).isEqualTo(6);
+    assertThat(countTasksOfTopic(tasks, "topicB")).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldPassUnusedShareToOtherTopics() {
+    // given
+    testRule.deploy(PROCESS_A, PROCESS_B);
+    startProcessInstances("processA", 1);
+    startProcessInstances("processB", 10);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(6, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).weight(1)
+      .topic("topicB", LOCK_DURATION).weight(1)
+      .execute();
+
+    // then
+    assertThat(countTasksOfTopic(tasks, "topicA")).isEqualTo(1);
+    assertThat(countTasksOfTopic(tasks, "topicB")).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldLimitTasksOfTopic() {
+    // given
+    testRule.deploy(PROCESS_A, PROCESS_B);
+    startProcessInstances("processA", 10);
+    startProcessInstances("processB", 10);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(10, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).maxTasks(2)
+      .topic("topicB", LOCK_DURATION)
+      .execute();
+
+    // then
+    assertThat(countTasksOfTopic(tasks, "topicA")).isEqualTo(2);
+    assertThat(countTasksOfTopic(tasks, "topicB")).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldFetchNoMoreTasksThanAvailable() {
+    // given
+    testRule.deploy(PROCESS_A, PROCESS_B);
+    startProcessInstances("processA", 2);
+    startProcessInstances("processB", 3);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(10, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).weight(5)
+      .topic("topicB", LOCK_DURATION)
+      .execute();
+
+    // then
+    assertThat(tasks).hasSize(5);
+    assertThat(externalTaskService.createExternalTaskQuery().locked().count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldShareTopicAmongTenants() {
+    // given
+    testRule.deployForTenant(TENANT_ONE, PROCESS_A);
+    testRule.deployForTenant(TENANT_TWO, PROCESS_A);
+    startProcessInstances("processA", TENANT_ONE, 10);
+    startProcessInstances("processA", TENANT_TWO, 10);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(4, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).tenantIdIn(TENANT_ONE, TENANT_TWO).maxTasks(4)
+      .execute();
+
+    // then
+    assertThat(countTasksOfTenant(tasks, TENANT_ONE)).isEqualTo(2);
+    assertThat(countTasksOfTenant(tasks, TENANT_TWO)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldLimitTasksOfTopicAcrossTenants() {
+    // given
+    testRule.deployForTenant(TENANT_ONE, PROCESS_A);
+    testRule.deployForTenant(TENANT_TWO, PROCESS_A);
+    startProcessInstances("processA", TENANT_ONE, 1);
+    startProcessInstances("processA", TENANT_TWO, 10);
+
+    // when
+    List<LockedExternalTask> tasks = externalTaskService.fetchAndLock(10, WORKER_ID)
+      .topic("topicA", LOCK_DURATION).tenantIdIn(TENANT_ONE, TENANT_TWO).maxTasks(6)
+      .execute();
+
+    // then
+    assertThat(countTasksOfTenant(tasks, TENANT_ONE)).isEqualTo(1);
+    assertThat(countTasksOfTenant(tasks, TENANT_TWO)).isEqualTo(5);
+  }
+
+  protected static BpmnModelInstance createProcess(String processDefinitionKey, String topicName) {
+    return Bpmn.createExecutableProcess(processDefinitionKey)
+      .startEvent()
+      .serviceTask().camundaExternalTask(topicName)
+      .endEvent()
+      .done();
+  }
+
+  protected void startProcessInstances(String processDefinitionKey, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey(processDefinitionKey);
+    }
+  }
+
+  protected void startProcessInstances(String processDefinitionKey, String tenantId, int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.createProcessInstanceByKey(processDefinitionKey).processDefinitionTenantId(tenantId).execute();
+    }
+  }
+
+  protected int countTasksOfTopic(List<LockedExternalTask> tasks, String topicName) {
+    int count = 0;
+    for (LockedExternalTask task : tasks) {
+      if (topicName.equals(task.getTopicName())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  protected int countTasksOfTenant(List<LockedExternalTask> tasks, String tenantId) {
+    int count = 0;
+    for (LockedExternalTask task : tasks) {
+      if (tenantId.equals(task.getTenantId())) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+}
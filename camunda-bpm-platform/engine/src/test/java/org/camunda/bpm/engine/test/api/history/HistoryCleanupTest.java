@@ -60,6 +60,7 @@ import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupRemovalTime;
 import org.camunda.bpm.engine.impl.metrics.Meter;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricIncidentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
@@ -167,6 +168,7 @@ public class HistoryCleanupTest {
     processEngineConfiguration.setHistoryCleanupBatchWindowStartTime(defaultStartTime);
     processEngineConfiguration.setHistoryCleanupBatchWindowEndTime(defaultEndTime);
     processEngineConfiguration.setHistoryCleanupBatchSize(defaultBatchSize);
+    processEngineConfiguration.setHistoryCleanupRangeDeleteBatchSize(0);
     processEngineConfiguration.setHistoryCleanupStrategy(HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
     processEngineConfiguration.setHistoryCleanupEnabled(true);
 
@@ -1300,6 +1302,16 @@ public class HistoryCleanupTest {
     processEngineConfiguration.initHistoryCleanup();
   }
 
+  @Test
+  public void testConfigurationFailureWrongRangeDeleteBatchSize() {
+    processEngineConfiguration.setHistoryCleanupRangeDeleteBatchSize(HistoryCleanupRemovalTime.MAX_RANGE_DELETE_BATCH_SIZE + 1);
+
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("historyCleanupRangeDeleteBatchSize");
+
+    processEngineConfiguration.initHistoryCleanup();
+  }
+
   @Test
   public void testConfigurationFailureWrongEndTime() {
     processEngineConfiguration.setHistoryCleanupBatchWindowStartTime("23:00");
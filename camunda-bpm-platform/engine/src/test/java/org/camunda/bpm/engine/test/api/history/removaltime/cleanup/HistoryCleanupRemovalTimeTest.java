@@ -163,6 +163,7 @@ public class HistoryCleanupRemovalTimeTest {
     engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
     engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
     engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+    engineConfiguration.setHistoryCleanupRangeDeleteBatchSize(0);
 
     engineConfiguration.setBatchOperationHistoryTimeToLive(null);
     engineConfiguration.setBatchOperationsForHistoryCleanup(null);
@@ -198,6 +199,7 @@ public class HistoryCleanupRemovalTimeTest {
       engineConfiguration.setHistoryCleanupBatchSize(MAX_BATCH_SIZE);
       engineConfiguration.setHistoryCleanupBatchWindowStartTime(null);
       engineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+      engineConfiguration.setHistoryCleanupRangeDeleteBatchSize(0);
 
       engineConfiguration.setBatchOperationHistoryTimeToLive(null);
       engineConfiguration.setBatchOperationsForHistoryCleanup(null);
@@ -580,6 +582,76 @@ public class HistoryCleanupRemovalTimeTest {
     assertThat(removedProcessInstancesSum, is(2L));
   }
 
+  @Test
+  public void shouldReportRemovedRowsForProcessInstanceCleanup() {
+    // given
+    testRule.deploy(CALLING_PROCESS);
+
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(CALLING_PROCESS_KEY);
+
+    String taskId = historyService.createHistoricTaskInstanceQuery().singleResult().getId();
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    taskService.complete(taskId);
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    long removedRowsSum = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_REMOVED_ROWS)
+      .sum();
+
+    long durationSum = managementService.createMetricsQuery()
+      .name(Metrics.HISTORY_CLEANUP_DURATION)
+      .sum();
+
+    // then
+    // two process instances, their activity instances and the task instance
+    assertThat(removedRowsSum).isGreaterThanOrEqualTo(9L);
+    assertThat(durationSum).isGreaterThan(0L);
+  }
+
+  @Test
+  public void shouldCleanupProcessInstancesInRangeDeleteBatches() {
+    // given
+    engineConfiguration.setHistoryCleanupRangeDeleteBatchSize(1);
+
+    testRule.deploy(CALLING_PROCESS);
+
+    testRule.deploy(PROCESS);
+
+    runtimeService.startProcessInstanceByKey(CALLING_PROCESS_KEY);
+
+    String taskId = historyService.createHistoricTaskInstanceQuery().singleResult().getId();
+
+    ClockUtil.setCurrentTime(END_DATE);
+
+    taskService.complete(taskId);
+
+    ClockUtil.setCurrentTime(addDays(END_DATE, 5));
+
+    // when
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count(), is(1L));
+    assertThat(historyService.createHistoricActivityInstanceQuery().count(), is(5L));
+
+    // when
+    engineConfiguration.setHistoryCleanupRangeDeleteBatchSize(0);
+
+    runHistoryCleanup();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count(), is(0L));
+    assertThat(historyService.createHistoricActivityInstanceQuery().count(), is(0L));
+  }
+
   @Test
   public void shouldCleanupActivityInstance() {
     // given
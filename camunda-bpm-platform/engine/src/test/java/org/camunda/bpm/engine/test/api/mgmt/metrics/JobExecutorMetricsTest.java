@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.test.api.mgmt.metrics;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Date;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
@@ -32,6 +33,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.CallerRunsRejectedJobsHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.test.RequiredDatabase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.test.concurrency.ConcurrencyTestHelper.ThreadControl;
@@ -60,6 +62,7 @@ public class JobExecutorMetricsTest extends AbstractMetricsTest {
   @After
   public void restoreJobExecutor() {
     processEngineConfiguration.setJobExecutor(defaultJobExecutor);
+    ClockUtil.reset();
   }
 
   @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
@@ -97,6 +100,31 @@ public class JobExecutorMetricsTest extends AbstractMetricsTest {
     }
   }
 
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
+  @Test
+  public void testJobPickupLatencyMetricReporting() {
+    // given three jobs which are created ten seconds before the job executor runs
+    Date creationTime = new Date((ClockUtil.getCurrentTime().getTime() / 1000) * 1000);
+    ClockUtil.setCurrentTime(creationTime);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("asyncServiceTaskProcess");
+    }
+    ClockUtil.setCurrentTime(new Date(creationTime.getTime() + 10000));
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(5000);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    long pickupLatency = managementService.createMetricsQuery().name(Metrics.JOB_PICKUP_LATENCY).sum();
+    if (testRule.isOptimisticLockingExceptionSuppressible()) {
+      assertEquals(3 * 10000, pickupLatency);
+    } else {
+      // on CRDB, jobs may be acquired multiple times, see testJobAcquisitionMetricReporting
+      assertTrue(pickupLatency >= 3 * 10000);
+    }
+  }
+
   @Deployment(resources = "org/camunda/bpm/engine/test/api/mgmt/metrics/asyncServiceTaskProcess.bpmn20.xml")
   @Test
   public void testCompetingJobAcquisitionMetricReporting() {
@@ -0,0 +1,238 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBulkResult;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MessageCorrelationBulkTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .receiveTask("waitForPayment").message("orderPaid")
+      .userTask("afterPayment")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance TWO_MESSAGES_PROCESS = Bpmn.createExecutableProcess("twoMessagesProcess")
+      .startEvent()
+      .receiveTask("waitForPayment").message("orderPaid")
+      .receiveTask("waitForShipment").message("orderShipped")
+      .userTask("afterShipment")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance START_PROCESS = Bpmn.createExecutableProcess("startProcess")
+      .startEvent().message("orderPlaced")
+      .userTask("afterStart")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance FAILING_PROCESS = Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .receiveTask("waitForPayment").message("orderPaid")
+      .serviceTask().camundaExpression("${requiredVariable}")
+      .userTask("afterPayment")
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance THROWING_PROCESS = Bpmn.createExecutableProcess("throwingProcess")
+      .startEvent()
+      .receiveTask("waitForPayment").message("orderPaid")
+      .serviceTask().camundaClass(ThrowingDelegate.class.getName())
+      .userTask("afterPayment")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  public void shouldCorrelateMessagesInChunks() {
+    // given
+    testRule.deploy(PROCESS);
+    for (int i = 0; i < 5; i++) {
+      runtimeService.startProcessInstanceByKey("process", "order-" + i);
+    }
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-4"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-3"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-2"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-1"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-0"))
+      .chunkSize(2)
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("successful").containsOnly(true);
+    assertThat(results).extracting("correlationResult.execution.processInstanceId").containsExactly(
+        getProcessInstanceId("order-4"),
+        getProcessInstanceId("order-3"),
+        getProcessInstanceId("order-2"),
+        getProcessInstanceId("order-1"),
+        getProcessInstanceId("order-0"));
+    assertThat(runtimeService.createExecutionQuery().activityId("afterPayment").count()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldReportMismatchingMessage() {
+    // given
+    testRule.deploy(PROCESS);
+    runtimeService.startProcessInstanceByKey("process", "order-1");
+    runtimeService.startProcessInstanceByKey("process", "order-2");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-1"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("unknown"))
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-2"))
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false, true);
+    assertThat(results.get(1).getCorrelationResult()).isNull();
+    assertThat(results.get(1).getErrorMessage()).contains("Cannot correlate message 'orderPaid'");
+    assertThat(runtimeService.createExecutionQuery().activityId("afterPayment").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldRollBackOnlyFailingMessage() {
+    // given
+    testRule.deploy(FAILING_PROCESS);
+    runtimeService.startProcessInstanceByKey("failingProcess", "order-1");
+    runtimeService.startProcessInstanceByKey("failingProcess", "order-2");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPaid")
+          .processInstanceBusinessKey("order-1")
+          .setVariable("requiredVariable", true))
+      .message(runtimeService.createMessageCorrelation("orderPaid")
+          .processInstanceBusinessKey("order-2"))
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false);
+    assertThat(results.get(1).getErrorMessage()).contains("requiredVariable");
+    assertThat(runtimeService.createExecutionQuery().activityId("afterPayment").processInstanceBusinessKey("order-1").count()).isEqualTo(1);
+    assertThat(runtimeService.createExecutionQuery().activityId("waitForPayment").processInstanceBusinessKey("order-2").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReportMessageFailingWithRuntimeException() {
+    // given
+    testRule.deploy(THROWING_PROCESS);
+    runtimeService.startProcessInstanceByKey("throwingProcess", "order-1");
+    runtimeService.startProcessInstanceByKey("throwingProcess", "order-2");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPaid")
+          .processInstanceBusinessKey("order-1")
+          .setVariable("fail", false))
+      .message(runtimeService.createMessageCorrelation("orderPaid")
+          .processInstanceBusinessKey("order-2")
+          .setVariable("fail", true))
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("successful").containsExactly(true, false);
+    assertThat(results.get(1).getErrorMessage()).isEqualTo("delegate failed");
+    assertThat(runtimeService.createExecutionQuery().activityId("afterPayment").processInstanceBusinessKey("order-1").count()).isEqualTo(1);
+    assertThat(runtimeService.createExecutionQuery().activityId("waitForPayment").processInstanceBusinessKey("order-2").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCorrelateMessagesToSameProcessInstance() {
+    // given
+    testRule.deploy(TWO_MESSAGES_PROCESS);
+    runtimeService.startProcessInstanceByKey("twoMessagesProcess", "order-1");
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPaid").processInstanceBusinessKey("order-1"))
+      .message(runtimeService.createMessageCorrelation("orderShipped").processInstanceBusinessKey("order-1"))
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("messageName").containsExactly("orderPaid", "orderShipped");
+    assertThat(results).extracting("successful").containsExactly(true, true);
+    assertThat(runtimeService.createExecutionQuery().activityId("afterShipment").count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldStartProcessInstances() {
+    // given
+    testRule.deploy(START_PROCESS);
+
+    // when
+    List<MessageCorrelationBulkResult> results = runtimeService.createMessageCorrelationBulk()
+      .message(runtimeService.createMessageCorrelation("orderPlaced").processInstanceBusinessKey("order-1"))
+      .message(runtimeService.createMessageCorrelation("orderPlaced").processInstanceBusinessKey("order-2"))
+      .correlateWithResults();
+
+    // then
+    assertThat(results).extracting("correlationResult.processInstance.businessKey").containsExactly("order-1", "order-2");
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isEqualTo(2);
+  }
+
+  protected String getProcessInstanceId(String businessKey) {
+    ProcessInstance processInstance = runtimeService.createProcessInstanceQuery()
+        .processInstanceBusinessKey(businessKey)
+        .singleResult();
+    return processInstance.getId();
+  }
+
+  public static class ThrowingDelegate implements JavaDelegate {
+
+    @Override
+    public void execute(DelegateExecution execution) {
+      if ((Boolean) execution.getVariable("fail")) {
+        throw new IllegalStateException("delegate failed");
+      }
+    }
+  }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MessageCorrelationKeyIndexTest {
+
+  protected static final String MESSAGE_NAME = "orderPaid";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .receiveTask("waitForPayment").message(MESSAGE_NAME)
+      .userTask("afterPayment")
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+
+    engineConfiguration.setMessageCorrelationKeys(
+        Collections.singletonMap(MESSAGE_NAME, Arrays.asList("orderId", "customerId")));
+
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    engineConfiguration.setMessageCorrelationKeys(null);
+    engineConfiguration.setMessageCorrelationKeyFallbacks(Collections.<String>emptySet());
+  }
+
+  @Test
+  public void shouldIndexDeclaredCorrelationVariables() {
+    // when
+    ProcessInstance processInstance = startProcessInstance("order-1", 1);
+    ProcessInstance processInstanceWithoutCustomer = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("orderId", "order-2"));
+
+    // then
+    assertThat(getEventSubscription(processInstance).getCorrelationKey()).hasSize(64);
+    assertThat(getEventSubscription(processInstanceWithoutCustomer).getCorrelationKey()).isNull();
+  }
+
+  @Test
+  public void shouldCorrelateByIndexedCorrelationVariables() {
+    // given
+    startProcessInstance("order-1", 1);
+    ProcessInstance processInstance = startProcessInstance("order-2", 1);
+    startProcessInstance("order-2", 2);
+
+    // when
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-2")
+      .processInstanceVariableEquals("customerId", 1L)
+      .correlateWithResult();
+
+    // then
+    assertThat(result.getExecution().getProcessInstanceId()).isEqualTo(processInstance.getId());
+    assertThat(runtimeService.createExecutionQuery().activityId("waitForPayment").count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldCorrelateByIndexedCorrelationVariablesAndBusinessKey() {
+    // given
+    startProcessInstance("order-1", 1, "a");
+    ProcessInstance processInstance = startProcessInstance("order-1", 1, "b");
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceBusinessKey("b")
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+
+    // then
+    assertThat(results).extracting("execution.processInstanceId").containsExactly(processInstance.getId());
+  }
+
+  @Test
+  public void shouldNotCorrelateSuspendedProcessInstance() {
+    // given
+    ProcessInstance processInstance = startProcessInstance("order-1", 1);
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+
+    // then
+    assertThat(results).isEmpty();
+  }
+
+  @Test
+  public void shouldCorrelateSubscriptionsWithoutCorrelationKey() {
+    // given a subscription created before the correlation keys were declared
+    engineConfiguration.setMessageCorrelationKeys(null);
+    ProcessInstance unindexedProcessInstance = startProcessInstance("order-1", 1);
+
+    engineConfiguration.setMessageCorrelationKeys(
+        Collections.singletonMap(MESSAGE_NAME, Arrays.asList("orderId", "customerId")));
+    ProcessInstance indexedProcessInstance = startProcessInstance("order-1", 1);
+
+    engineConfiguration.setMessageCorrelationKeyFallbacks(Collections.singleton(MESSAGE_NAME));
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+
+    // then
+    assertThat(results).extracting("execution.processInstanceId")
+      .containsOnly(unindexedProcessInstance.getId(), indexedProcessInstance.getId());
+  }
+
+  @Test
+  public void shouldNotCorrelateSubscriptionsWithoutCorrelationKeyByDefault() {
+    // given a subscription created before the correlation keys were declared
+    engineConfiguration.setMessageCorrelationKeys(null);
+    startProcessInstance("order-1", 1);
+
+    engineConfiguration.setMessageCorrelationKeys(
+        Collections.singletonMap(MESSAGE_NAME, Arrays.asList("orderId", "customerId")));
+    ProcessInstance indexedProcessInstance = startProcessInstance("order-1", 1);
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+
+    // then
+    assertThat(results).extracting("execution.processInstanceId")
+      .containsOnly(indexedProcessInstance.getId());
+  }
+
+  @Test
+  public void shouldCorrelateByQueryIfNotAllCorrelationVariablesAreGiven() {
+    // given
+    startProcessInstance("order-1", 1);
+    ProcessInstance processInstance = startProcessInstance("order-2", 1);
+
+    // when
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-2")
+      .correlateWithResult();
+
+    // then
+    assertThat(result.getExecution().getProcessInstanceId()).isEqualTo(processInstance.getId());
+  }
+
+  @Test
+  public void shouldCorrelateByUpdatedCorrelationVariable() {
+    // given
+    ProcessInstance processInstance = startProcessInstance("order-1", 1);
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "orderId", "order-2");
+
+    // then
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+    assertThat(results).isEmpty();
+
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-2")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateWithResult();
+    assertThat(result.getExecution().getProcessInstanceId()).isEqualTo(processInstance.getId());
+  }
+
+  @Test
+  public void shouldRemoveCorrelationKeyOfDeletedCorrelationVariable() {
+    // given
+    ProcessInstance processInstance = startProcessInstance("order-1", 1);
+
+    // when
+    runtimeService.removeVariable(processInstance.getId(), "customerId");
+
+    // then
+    assertThat(getEventSubscription(processInstance).getCorrelationKey()).isNull();
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "customerId", 2);
+
+    // then
+    MessageCorrelationResult result = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-1")
+      .processInstanceVariableEquals("customerId", 2)
+      .correlateWithResult();
+    assertThat(result.getExecution().getProcessInstanceId()).isEqualTo(processInstance.getId());
+  }
+
+  @Test
+  public void shouldNotCorrelateByCorrelationKeyOfOtherValues() {
+    // given a subscription whose key does not match the variables of its process instance
+    ProcessInstance processInstance = startProcessInstance("order-1", 1);
+
+    Map<String, Object> otherValues = new HashMap<>();
+    otherValues.put("orderId", "order-2");
+    otherValues.put("customerId", 1);
+    String otherCorrelationKey = CorrelationKeyUtil.computeCorrelationKey(otherValues.keySet(), otherValues);
+
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      EventSubscriptionEntity eventSubscription = commandContext.getEventSubscriptionManager()
+          .findEventSubscriptionsByProcessInstanceId(processInstance.getId())
+          .get(0);
+      eventSubscription.setCorrelationKey(otherCorrelationKey);
+      return null;
+    });
+
+    // when
+    List<MessageCorrelationResult> results = runtimeService.createMessageCorrelation(MESSAGE_NAME)
+      .processInstanceVariableEquals("orderId", "order-2")
+      .processInstanceVariableEquals("customerId", 1)
+      .correlateAllWithResult();
+
+    // then
+    assertThat(results).isEmpty();
+  }
+
+  protected ProcessInstance startProcessInstance(String orderId, int customerId) {
+    return startProcessInstance(orderId, customerId, null);
+  }
+
+  protected ProcessInstance startProcessInstance(String orderId, int customerId, String businessKey) {
+    return runtimeService.startProcessInstanceByKey("process", businessKey, Variables.createVariables()
+        .putValue("orderId", orderId)
+        .putValue("customerId", customerId));
+  }
+
+  protected EventSubscriptionEntity getEventSubscription(ProcessInstance processInstance) {
+    return (EventSubscriptionEntity) runtimeService.createEventSubscriptionQuery()
+        .processInstanceId(processInstance.getId())
+        .singleResult();
+  }
+
+}
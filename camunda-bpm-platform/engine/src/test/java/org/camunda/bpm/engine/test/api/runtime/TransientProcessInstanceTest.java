@@ -0,0 +1,205 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ParseException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class TransientProcessInstanceTest {
+
+  protected static final String STRAIGHT_THROUGH_RESOURCE =
+      "org/camunda/bpm/engine/test/api/runtime/TransientProcessInstanceTest.testStraightThrough.bpmn20.xml";
+  protected static final String WAIT_STATE_RESOURCE =
+      "org/camunda/bpm/engine/test/api/runtime/TransientProcessInstanceTest.testWaitState.bpmn20.xml";
+  protected static final String ASYNC_CONTINUATION_RESOURCE =
+      "org/camunda/bpm/engine/test/api/runtime/TransientProcessInstanceTest.testAsyncContinuation.bpmn20.xml";
+  protected static final String CALL_ACTIVITY_RESOURCE =
+      "org/camunda/bpm/engine/test/api/runtime/TransientProcessInstanceTest.testCallActivity.bpmn20.xml";
+  protected static final String INVALID_VALUE_RESOURCE =
+      "org/camunda/bpm/engine/test/api/runtime/TransientProcessInstanceTest.testInvalidValue.bpmn20.xml";
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setTransientHistorySummaryEnabled(false);
+  }
+
+  @Test
+  @Deployment(resources = STRAIGHT_THROUGH_RESOURCE)
+  public void shouldNotWriteStraightThroughProcessInstance() {
+    // given
+    Map<String, Long> rowCounts = getRowCounts();
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables()
+          .putValue("bytes", Variables.byteArrayValue(new byte[] { 1, 2, 3 })));
+
+    // then
+    assertThat(processInstance.isEnded()).isTrue();
+    assertThat(getRowCounts()).isEqualTo(rowCounts);
+  }
+
+  @Test
+  @Deployment(resources = STRAIGHT_THROUGH_RESOURCE)
+  public void shouldWriteHistoricProcessInstanceAsSummary() {
+    // given
+    processEngineConfiguration.setTransientHistorySummaryEnabled(true);
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process", "businessKey",
+        Variables.createVariables().putValue("value", 1)).getId();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstanceId);
+    assertThat(historicProcessInstance.getBusinessKey()).isEqualTo("businessKey");
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricDetailQuery().count()).isZero();
+  }
+
+  @Test
+  @Deployment(resources = WAIT_STATE_RESOURCE)
+  public void shouldWriteProcessInstanceOnWaitState() {
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("value", 1)).getId();
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().processInstanceId(processInstanceId).count()).isEqualTo(1);
+    assertThat(runtimeService.getVariable(processInstanceId, "value")).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(2);
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(1);
+
+    // and the process instance keeps its complete history when it ends later on
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(3);
+  }
+
+  @Test
+  @Deployment(resources = ASYNC_CONTINUATION_RESOURCE)
+  public void shouldWriteProcessInstanceOnAsyncContinuation() {
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // then
+    assertThat(managementService.createJobQuery().processInstanceId(processInstanceId).count()).isEqualTo(1);
+    assertThat(historyService.createHistoricProcessInstanceQuery().unfinished().count()).isEqualTo(1);
+
+    // when
+    testRule.executeAvailableJobs();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricVariableInstanceQuery().variableName("result").singleResult().getValue())
+      .isEqualTo(42L);
+  }
+
+  @Test
+  @Deployment(resources = { CALL_ACTIVITY_RESOURCE, STRAIGHT_THROUGH_RESOURCE })
+  public void shouldNotWriteCalledProcessInstance() {
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("parent").getId();
+
+    // then the history of the calling process instance is written
+    assertThat(historyService.createHistoricProcessInstanceQuery().singleResult().getId()).isEqualTo(processInstanceId);
+    assertThat(historyService.createHistoricActivityInstanceQuery().activityId("callActivity").count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count())
+      .isEqualTo(historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  @Test
+  public void shouldRejectInvalidTransientValue() {
+    try {
+      // when
+      repositoryService.createDeployment()
+        .addClasspathResource(INVALID_VALUE_RESOURCE)
+        .deploy();
+
+      fail("exception expected");
+    } catch (ParseException e) {
+      // then
+      assertThat(e.getMessage()).contains("Invalid value 'sometimes' of extension property 'transient'");
+    }
+  }
+
+  protected Map<String, Long> getRowCounts() {
+    Map<String, Long> rowCounts = new TreeMap<>();
+    for (Map.Entry<String, Long> tableCount : managementService.getTableCount().entrySet()) {
+      String tableName = tableCount.getKey().toUpperCase();
+      if (tableName.startsWith("ACT_HI_") || tableName.equals("ACT_GE_BYTEARRAY")
+          || tableName.equals("ACT_RU_EXECUTION") || tableName.equals("ACT_RU_VARIABLE")) {
+        rowCounts.put(tableName, tableCount.getValue());
+      }
+    }
+    return rowCounts;
+  }
+
+}
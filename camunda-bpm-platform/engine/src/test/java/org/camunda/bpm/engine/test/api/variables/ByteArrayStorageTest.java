@@ -0,0 +1,208 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoricDetailVariableInstanceUpdateEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ByteArrayStorageTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+  protected RuntimeService runtimeService;
+  protected HistoryService historyService;
+
+  @Before
+  public void setUp() {
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    historyService = engineRule.getHistoryService();
+
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    engineConfiguration
+      .setByteArrayCompressionEnabled(false)
+      .setByteArrayCompressionThreshold(1024)
+      .setHistoryByteArrayDeduplicationCache(null);
+  }
+
+  @Test
+  public void shouldCompressByteArray() {
+    // given
+    engineConfiguration.setByteArrayCompressionEnabled(true);
+    byte[] value = payload();
+
+    // when
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("payload", value)).getId();
+
+    // then
+    byte[] storedBytes = selectStoredBytes(getVariableInstance().getByteArrayValueId());
+    assertThat(CompressionUtil.isCompressed(storedBytes)).isTrue();
+    assertThat(storedBytes.length).isLessThan(value.length);
+
+    assertThat((byte[]) runtimeService.getVariable(processInstanceId, "payload")).isEqualTo(value);
+  }
+
+  @Test
+  public void shouldNotCompressByteArrayBelowThreshold() {
+    // given
+    engineConfiguration
+      .setByteArrayCompressionEnabled(true)
+      .setByteArrayCompressionThreshold(payload().length + 1);
+
+    // when
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("payload", payload()));
+
+    // then
+    byte[] storedBytes = selectStoredBytes(getVariableInstance().getByteArrayValueId());
+    assertThat(storedBytes).isEqualTo(payload());
+  }
+
+  @Test
+  public void shouldReadCompressedByteArrayWhenCompressionIsDisabled() {
+    // given
+    engineConfiguration.setByteArrayCompressionEnabled(true);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("payload", payload())).getId();
+
+    // when
+    engineConfiguration.setByteArrayCompressionEnabled(false);
+
+    // then
+    assertThat((byte[]) runtimeService.getVariable(processInstanceId, "payload")).isEqualTo(payload());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldReuseHistoricByteArrayOfUnchangedPayload() {
+    // given
+    engineConfiguration.setHistoryByteArrayDeduplicationCache(new ConcurrentLruCache<>(10));
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("payload", payload())).getId();
+
+    // when
+    runtimeService.setVariable(processInstanceId, "payload", payload());
+    runtimeService.setVariable(processInstanceId, "payload", "other".getBytes());
+    runtimeService.setVariable(processInstanceId, "payload", payload());
+
+    // then
+    List<String> byteArrayIds = getHistoricDetailByteArrayIds();
+    assertThat(byteArrayIds).hasSize(4);
+    assertThat(byteArrayIds.stream().distinct().count()).isEqualTo(2);
+
+    assertThat(historyService.createHistoricDetailQuery().orderPartiallyByOccurrence().asc().list())
+      .extracting(detail -> ((HistoricDetailVariableInstanceUpdateEntity) detail).getValue())
+      .containsExactly(payload(), payload(), "other".getBytes(), payload());
+
+    // and the shared byte arrays are removed with the history
+    runtimeService.deleteProcessInstance(processInstanceId, null);
+    historyService.deleteHistoricProcessInstance(processInstanceId);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+  public void shouldWriteHistoricByteArrayCopiesWithoutDeduplication() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("payload", payload())).getId();
+
+    // when
+    runtimeService.setVariable(processInstanceId, "payload", payload());
+
+    // then
+    List<String> byteArrayIds = getHistoricDetailByteArrayIds();
+    assertThat(byteArrayIds).hasSize(2);
+    assertThat(byteArrayIds.stream().distinct().count()).isEqualTo(2);
+  }
+
+  protected byte[] payload() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      builder.append("{\"key\":\"value\"}");
+    }
+    return builder.toString().getBytes();
+  }
+
+  protected VariableInstanceEntity getVariableInstance() {
+    return (VariableInstanceEntity) runtimeService.createVariableInstanceQuery().singleResult();
+  }
+
+  protected List<String> getHistoricDetailByteArrayIds() {
+    return historyService.createHistoricDetailQuery().list().stream()
+      .map(detail -> ((HistoricDetailVariableInstanceUpdateEntity) detail).getByteArrayValueId())
+      .collect(Collectors.toList());
+  }
+
+  protected byte[] selectStoredBytes(String byteArrayId) {
+    try (Connection connection = engineConfiguration.getDataSource().getConnection();
+         PreparedStatement statement = connection.prepareStatement(
+             "select BYTES_ from " + engineConfiguration.getDatabaseTablePrefix() + "ACT_GE_BYTEARRAY where ID_ = ?")) {
+      statement.setString(1, byteArrayId);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        resultSet.next();
+        return resultSet.getBytes(1);
+      }
+    }
+    catch (SQLException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
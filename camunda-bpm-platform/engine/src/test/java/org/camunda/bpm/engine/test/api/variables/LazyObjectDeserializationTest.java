@@ -0,0 +1,236 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.variable.serializer.LazyObjectValueImpl;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class LazyObjectDeserializationTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final String JAVA_DATA_FORMAT = Variables.SerializationDataFormats.JAVA.getName();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setJavaSerializationFormatEnabled(true));
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl engineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    engineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+
+    engineConfiguration.setLazyObjectDeserializationEnabled(true);
+
+    testRule.deploy(PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    engineConfiguration.setLazyObjectDeserializationEnabled(false);
+  }
+
+  @Test
+  public void shouldDeserializeOnFirstAccess() {
+    // given
+    JavaSerializable bean = new JavaSerializable("foo");
+    String processInstanceId = startProcessInstance("bean", bean);
+
+    // when
+    ObjectValue typedValue = runtimeService.getVariableTyped(processInstanceId, "bean");
+
+    // then
+    assertThat(typedValue).isInstanceOf(LazyObjectValueImpl.class);
+    assertThat(typedValue.isDeserialized()).isTrue();
+    assertThat(((LazyObjectValueImpl) typedValue).isMaterialized()).isFalse();
+    assertThat(typedValue.getObjectTypeName()).isEqualTo(JavaSerializable.class.getName());
+    assertThat(typedValue.getValueSerialized()).isNotNull();
+
+    assertThat(typedValue.getValue()).isEqualTo(bean);
+    assertThat(((LazyObjectValueImpl) typedValue).isMaterialized()).isTrue();
+  }
+
+  @Test
+  public void shouldDeferDeserializationFailure() {
+    // given
+    String processInstanceId = startProcessInstance("bean", Variables
+        .serializedObjectValue("aW52YWxpZA==")
+        .serializationDataFormat(JAVA_DATA_FORMAT)
+        .objectTypeName(JavaSerializable.class.getName())
+        .create());
+
+    // when
+    ObjectValue typedValue = runtimeService.getVariableTyped(processInstanceId, "bean");
+
+    // then
+    try {
+      typedValue.getValue();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      assertThat(e.getMessage()).contains("Cannot deserialize object in variable 'bean'");
+    }
+  }
+
+  @Test
+  public void shouldNotDeserializeVariablesThatAreNotAccessed() {
+    // given
+    String processInstanceId = startProcessInstance("bean", Variables
+        .serializedObjectValue("aW52YWxpZA==")
+        .serializationDataFormat(JAVA_DATA_FORMAT)
+        .objectTypeName(JavaSerializable.class.getName())
+        .create());
+
+    // when
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      execution.getVariablesTyped();
+      return null;
+    });
+
+    // then the unreadable value survives the flush untouched
+    ObjectValue typedValue = runtimeService.getVariableTyped(processInstanceId, "bean", false);
+    assertThat(typedValue.getValueSerialized()).isEqualTo("aW52YWxpZA==");
+  }
+
+  @Test
+  public void shouldFlushImplicitUpdateOfAccessedValue() {
+    // given
+    List<String> list = new ArrayList<>();
+    list.add("a");
+    String processInstanceId = startProcessInstance("list", list);
+
+    // when
+    engineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      @SuppressWarnings("unchecked")
+      List<String> value = (List<String>) execution.getVariable("list");
+      value.add("b");
+      return null;
+    });
+
+    // then
+    assertThat(runtimeService.getVariable(processInstanceId, "list")).isEqualTo(Arrays.asList("a", "b"));
+  }
+
+  @Test
+  public void shouldDeserializeOutsideOfCommandWithEngineClassLoader() {
+    // given
+    RecordingClassLoader classLoader = new RecordingClassLoader();
+    engineConfiguration.setClassLoader(classLoader);
+
+    try {
+      String processInstanceId = startProcessInstance("bean", new JavaSerializable("foo"));
+      ObjectValue typedValue = runtimeService.getVariableTyped(processInstanceId, "bean");
+
+      // when
+      Object value = typedValue.getValue();
+
+      // then
+      assertThat(value).isEqualTo(new JavaSerializable("foo"));
+      assertThat(classLoader.getLoadedClassNames()).contains(JavaSerializable.class.getName());
+
+    } finally {
+      engineConfiguration.setClassLoader(null);
+    }
+  }
+
+  @Test
+  public void shouldDeserializeWithContextClassLoaderOfReadingThread() {
+    // given
+    String processInstanceId = startProcessInstance("bean", new JavaSerializable("foo"));
+    RecordingClassLoader classLoader = new RecordingClassLoader();
+
+    ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
+    ObjectValue typedValue;
+    Thread.currentThread().setContextClassLoader(classLoader);
+    try {
+      typedValue = runtimeService.getVariableTyped(processInstanceId, "bean");
+    } finally {
+      Thread.currentThread().setContextClassLoader(originalClassLoader);
+    }
+
+    // when
+    Object value = typedValue.getValue();
+
+    // then
+    assertThat(value).isEqualTo(new JavaSerializable("foo"));
+    assertThat(classLoader.getLoadedClassNames()).contains(JavaSerializable.class.getName());
+    assertThat(Thread.currentThread().getContextClassLoader()).isSameAs(originalClassLoader);
+  }
+
+  protected String startProcessInstance(String variableName, Object value) {
+    return runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue(variableName, value)).getId();
+  }
+
+  protected static class RecordingClassLoader extends ClassLoader {
+
+    protected Set<String> loadedClassNames = ConcurrentHashMap.newKeySet();
+
+    public RecordingClassLoader() {
+      super(LazyObjectDeserializationTest.class.getClassLoader());
+    }
+
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      loadedClassNames.add(name);
+      return super.loadClass(name, resolve);
+    }
+
+    public Set<String> getLoadedClassNames() {
+      return loadedClassNames;
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.javax.el.ExpressionFactory;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.juel.SimpleContext;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class CompiledExpressionTest {
+
+  protected static final String VIP_CONDITION = "${amount > 1000 && customer.vip}";
+
+  protected static final List<String> EXPRESSIONS = Arrays.asList(
+      VIP_CONDITION,
+      "${amount > 1000 || customer.vip}",
+      "${amount >= 1500 and not customer.vip}",
+      "${amount < 1500.5}",
+      "${amount <= limit}",
+      "${amount == 1500 && name == 'kermit' && customer.vip != false}",
+      "${amount != '1500'}",
+      "${amount + 1}",
+      "${amount - limit * 2}",
+      "${amount / 7}",
+      "${amount % 7}",
+      "${-amount}",
+      "${amount + 0.5}",
+      "${empty name ? 'anonymous' : name}",
+      "${(amount > 1000) ? customer.name : 'none'}",
+      "${name == null}",
+      "${missing > 1000}",
+      "Customer ${customer.name} ordered ${amount}",
+      "${42}");
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setExpressionCompileThreshold(0));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldEvaluateLikeInterpreter() {
+    // given
+    ExpressionFactory interpreter = new ExpressionFactoryImpl();
+    ExpressionFactory compiler = createCompilingExpressionFactory();
+
+    for (String expression : EXPRESSIONS) {
+      for (int i = 0; i < 2; i++) {
+        // when
+        Object interpreted = evaluate(interpreter, expression);
+        Object compiled = evaluate(compiler, expression);
+
+        // then
+        assertThat(compiled).describedAs(expression).isEqualTo(interpreted);
+      }
+    }
+  }
+
+  @Test
+  public void shouldEvaluateCompiledConditions() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .exclusiveGateway("gateway")
+          .condition("vip", VIP_CONDITION)
+          .userTask("vipTask")
+          .endEvent()
+        .moveToNode("gateway")
+          .condition("regular", "${!(amount > 1000 && customer.vip)}")
+          .userTask("regularTask")
+          .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    for (int i = 0; i < 3; i++) {
+      // when
+      ProcessInstance vip = startProcess(1500, true);
+      ProcessInstance regular = startProcess(1500, false);
+      ProcessInstance small = startProcess(500, true);
+
+      // then
+      assertThat(taskService.createTaskQuery().processInstanceId(vip.getId()).singleResult().getTaskDefinitionKey())
+        .isEqualTo("vipTask");
+      assertThat(taskService.createTaskQuery().processInstanceId(regular.getId()).singleResult().getTaskDefinitionKey())
+        .isEqualTo("regularTask");
+      assertThat(taskService.createTaskQuery().processInstanceId(small.getId()).singleResult().getTaskDefinitionKey())
+        .isEqualTo("regularTask");
+    }
+  }
+
+  protected ProcessInstance startProcess(int amount, boolean vip) {
+    return runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+        .putValue("amount", amount)
+        .putValue("customer", Collections.singletonMap("vip", vip)));
+  }
+
+  protected ExpressionFactory createCompilingExpressionFactory() {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_COMPILE_THRESHOLD, "0");
+    return new ExpressionFactoryImpl(properties);
+  }
+
+  protected Object evaluate(ExpressionFactory factory, String expression) {
+    SimpleContext context = new SimpleContext();
+    context.setVariable("amount", factory.createValueExpression(1500, Integer.class));
+    context.setVariable("limit", factory.createValueExpression(2000L, Long.class));
+    context.setVariable("name", factory.createValueExpression("kermit", String.class));
+    context.setVariable("customer", factory.createValueExpression(new Customer("Kermit", true), Customer.class));
+    context.setVariable("missing", factory.createValueExpression(null, Object.class));
+    return factory.createValueExpression(context, expression, Object.class).getValue(context);
+  }
+
+  public static class Customer {
+
+    protected String name;
+    protected boolean vip;
+
+    public Customer(String name, boolean vip) {
+      this.name = name;
+      this.vip = vip;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean isVip() {
+      return vip;
+    }
+  }
+}
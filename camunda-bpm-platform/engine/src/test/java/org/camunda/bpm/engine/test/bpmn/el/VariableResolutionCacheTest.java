@@ -0,0 +1,225 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.el;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.el.VariableResolutionCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.Execution;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.ExclusiveGatewayBuilder;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableResolutionCacheTest {
+
+  protected static final int NUMBER_OF_CONDITIONS = 20;
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setVariableResolutionCacheEnabled(true));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @Test
+  public void shouldTakeMatchingFlowOfGateway() {
+    // given
+    ExclusiveGatewayBuilder gateway = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .exclusiveGateway("gateway");
+    for (int i = 0; i < NUMBER_OF_CONDITIONS; i++) {
+      gateway.condition("choice" + i, "${amount > 1000 && choice == " + i + "}")
+        .userTask("task" + i)
+        .endEvent()
+        .moveToNode("gateway");
+    }
+    testRule.deploy(gateway.done());
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("amount", 1500).putValue("choice", 17));
+
+    // then
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult().getTaskDefinitionKey())
+      .isEqualTo("task17");
+  }
+
+  @Test
+  public void shouldResolveVariableOnceWithinAtomicOperation() {
+    // given
+    String processInstanceId = startProcess();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      VariableResolutionCache cache = VariableResolutionCache.openCurrent();
+      try {
+        // when
+        for (int i = 0; i < 3; i++) {
+          assertThat(evaluate("${amount > 1000}", execution)).isEqualTo(true);
+        }
+
+        // then
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHits()).isEqualTo(2);
+      } finally {
+        cache.close();
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldResolveVariableAfterWrite() {
+    // given
+    String processInstanceId = startProcess();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      VariableResolutionCache cache = VariableResolutionCache.openCurrent();
+      try {
+        assertThat(evaluate("${amount}", execution)).isEqualTo(1500);
+        assertThatThrownBy(() -> evaluate("${added}", execution))
+          .isInstanceOf(ProcessEngineException.class)
+          .hasMessageContaining("Cannot resolve identifier 'added'");
+
+        // when
+        execution.setVariable("amount", 500);
+        execution.setVariable("added", "value");
+
+        // then
+        assertThat(evaluate("${amount}", execution)).isEqualTo(500);
+        assertThat(evaluate("${added}", execution)).isEqualTo("value");
+
+        // when
+        execution.removeVariable("added");
+
+        // then
+        assertThatThrownBy(() -> evaluate("${added}", execution))
+          .isInstanceOf(ProcessEngineException.class)
+          .hasMessageContaining("Cannot resolve identifier 'added'");
+      } finally {
+        cache.close();
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldResolveConcurrentLocalVariableMovedToScopeExecution() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .parallelGateway("fork")
+        .userTask("taskA")
+        .endEvent()
+        .moveToNode("fork")
+        .userTask("taskB")
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    Execution concurrentExecution = runtimeService.createExecutionQuery().activityId("taskB").singleResult();
+    runtimeService.setVariableLocal(concurrentExecution.getId(), "local", "value");
+    String taskId = taskService.createTaskQuery().taskDefinitionKey("taskA").singleResult().getId();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      ExecutionEntity processInstance = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      VariableResolutionCache cache = VariableResolutionCache.openCurrent();
+      try {
+        assertThatThrownBy(() -> evaluate("${local}", processInstance))
+          .isInstanceOf(ProcessEngineException.class)
+          .hasMessageContaining("Cannot resolve identifier 'local'");
+
+        // when the concurrent execution is pruned and its variables are moved to the process instance
+        taskService.complete(taskId);
+
+        // then
+        assertThat(evaluate("${local}", processInstance)).isEqualTo("value");
+      } finally {
+        cache.close();
+      }
+      return null;
+    });
+  }
+
+  @Test
+  public void shouldNotCacheOutsideOfAtomicOperation() {
+    // given
+    String processInstanceId = startProcess();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      // when
+      ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(processInstanceId);
+      evaluate("${amount}", execution);
+
+      // then
+      assertThat(VariableResolutionCache.getCurrent()).isNull();
+      assertThat(commandContext.getVariableResolutionCache().getMisses()).isEqualTo(0);
+      return null;
+    });
+  }
+
+  protected String startProcess() {
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask()
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+
+    return runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("amount", 1500))
+        .getId();
+  }
+
+  protected Object evaluate(String expression, ExecutionEntity execution) {
+    ExpressionManager expressionManager = processEngineConfiguration.getExpressionManager();
+    return expressionManager.createExpression(expression).getValue(execution);
+  }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.servicetask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ParseException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.delegate.StatelessDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ClassDelegateFactoryTest {
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+
+    CountingDelegate.INSTANCES.set(0);
+    StatelessCountingDelegate.INSTANCES.set(0);
+    StatelessCountingListener.INSTANCES.set(0);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setClassDelegateInstanceReuseEnabled(false);
+    processEngineConfiguration.setClassDelegateResolutionOnDeployEnabled(false);
+  }
+
+  @Test
+  public void shouldInstantiateDelegateForEveryInvocation() {
+    // given
+    testRule.deploy(createProcess(CountingDelegate.class.getName()));
+
+    // when
+    startProcessInstances(3);
+
+    // then
+    assertThat(CountingDelegate.INSTANCES.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldReuseInstanceOfStatelessDelegate() {
+    // given
+    testRule.deploy(createProcess(StatelessCountingDelegate.class.getName()));
+
+    // when
+    startProcessInstances(3);
+
+    // then
+    assertThat(StatelessCountingDelegate.INSTANCES.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReuseInstanceOfStatelessExecutionListener() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+        .camundaExecutionListenerClass(ExecutionListener.EVENTNAME_START, StatelessCountingListener.class.getName())
+      .endEvent()
+      .done());
+
+    // when
+    startProcessInstances(3);
+
+    // then
+    assertThat(StatelessCountingListener.INSTANCES.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReuseInstancesOfAllDelegatesIfEnabled() {
+    // given
+    processEngineConfiguration.setClassDelegateInstanceReuseEnabled(true);
+    testRule.deploy(createProcess(CountingDelegate.class.getName()));
+
+    // when
+    startProcessInstances(3);
+
+    // then
+    assertThat(CountingDelegate.INSTANCES.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFailOnFirstInvocationIfClassCannotBeLoaded() {
+    // given
+    testRule.deploy(createProcess("org.camunda.bpm.engine.test.NotExistingDelegate"));
+
+    try {
+      // when
+      runtimeService.startProcessInstanceByKey("process");
+
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("Exception while instantiating class 'org.camunda.bpm.engine.test.NotExistingDelegate'");
+    }
+  }
+
+  @Test
+  public void shouldFailDeploymentIfClassCannotBeLoaded() {
+    // given
+    processEngineConfiguration.setClassDelegateResolutionOnDeployEnabled(true);
+
+    try {
+      // when
+      testRule.deploy(createProcess("org.camunda.bpm.engine.test.NotExistingDelegate"));
+
+      fail("exception expected");
+    } catch (ParseException e) {
+      // then
+      assertThat(e.getMessage()).contains("Cannot load class 'org.camunda.bpm.engine.test.NotExistingDelegate'");
+      assertThat(e.getResorceReports().get(0).getErrors().get(0).getMainElementId()).isEqualTo("task");
+    }
+  }
+
+  protected BpmnModelInstance createProcess(String className) {
+    return Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaClass(className)
+      .endEvent()
+      .done();
+  }
+
+  protected void startProcessInstances(int count) {
+    for (int i = 0; i < count; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  public static class CountingDelegate implements JavaDelegate {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public CountingDelegate() {
+      INSTANCES.incrementAndGet();
+    }
+
+    public void execute(DelegateExecution execution) throws Exception {
+    }
+  }
+
+  @StatelessDelegate
+  public static class StatelessCountingDelegate implements JavaDelegate {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public StatelessCountingDelegate() {
+      INSTANCES.incrementAndGet();
+    }
+
+    public void execute(DelegateExecution execution) throws Exception {
+    }
+  }
+
+  @StatelessDelegate
+  public static class StatelessCountingListener implements ExecutionListener {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public StatelessCountingListener() {
+      INSTANCES.incrementAndGet();
+    }
+
+    public void notify(DelegateExecution execution) throws Exception {
+    }
+  }
+
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Collections;
+import java.util.Date;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.GetHistoryOutboxEventCountCmd;
+import org.camunda.bpm.engine.impl.history.outbox.HistoryOutboxDrainer;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.HistoryOutboxEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryOutboxTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .camundaHistoryTimeToLive(5)
+      .startEvent("start")
+      .userTask("task")
+      .endEvent("end")
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration
+        .setHistoryOutboxEnabled(true)
+        .setHistoryOutboxDrainerActivate(false));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected MetricsRegistry metricsRegistry;
+  protected HistoryOutboxDrainer drainer;
+
+  protected String deploymentId;
+
+  @Before
+  public void setUp() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    drainer = processEngineConfiguration.getHistoryOutboxDrainer();
+
+    deploymentId = engineRule.getRepositoryService().createDeployment()
+        .addModelInstance("process.bpmn", PROCESS)
+        .deploy()
+        .getId();
+  }
+
+  @After
+  public void tearDown() {
+    // the cascading deletion of the running process instances adds history events to the outbox
+    engineRule.getRepositoryService().deleteDeployment(deploymentId, true);
+    drainer.drain();
+
+    ClockUtil.reset();
+  }
+
+  @Test
+  public void shouldWriteHistoryWhenDrained() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    // assume
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(drainer.getQueueDepth()).isPositive();
+
+    // when
+    long drainedEvents = drainer.drain();
+
+    // then
+    assertThat(drainedEvents).isPositive();
+    assertThat(drainer.getQueueDepth()).isZero();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getId()).isEqualTo(processInstanceId);
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_ACTIVE);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isEqualTo(2);
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldUpdateDrainedHistory() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    drainer.drain();
+
+    HistoricActivityInstance startedTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("task")
+        .singleResult();
+
+    // when
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+    drainer.drain();
+
+    // then
+    HistoricActivityInstance completedTask = historyService.createHistoricActivityInstanceQuery()
+        .activityId("task")
+        .singleResult();
+    assertThat(completedTask.getStartTime()).isEqualTo(startedTask.getStartTime());
+    assertThat(completedTask.getEndTime()).isNotNull();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery()
+        .processInstanceId(processInstanceId)
+        .singleResult();
+    assertThat(historicProcessInstance.getState()).isEqualTo(HistoricProcessInstance.STATE_COMPLETED);
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldDrainEventsOfSeveralTransactionsAtOnce() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("aVariable", "aValue")).getId();
+    runtimeService.setVariable(processInstanceId, "aVariable", "anotherValue");
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // when
+    drainer.drain();
+
+    // then
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertThat(historicProcessInstance.getStartTime()).isNotNull();
+    assertThat(historicProcessInstance.getEndTime()).isNotNull();
+
+    assertThat(historyService.createHistoricActivityInstanceQuery().finished().count()).isEqualTo(3);
+    assertThat(historyService.createHistoricActivityInstanceQuery().unfinished().count()).isZero();
+
+    HistoricActivityInstance task = historyService.createHistoricActivityInstanceQuery()
+        .activityId("task")
+        .singleResult();
+    assertThat(task.getStartTime()).isNotNull();
+    assertThat(task.getEndTime()).isNotNull();
+
+    HistoricVariableInstance variable = historyService.createHistoricVariableInstanceQuery().singleResult();
+    assertThat(variable.getValue()).isEqualTo("anotherValue");
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAddRemovalTimeWhenRootProcessInstanceIsDrained() {
+    // given
+    Date endTime = new Date(1363608000000L);
+    ClockUtil.setCurrentTime(endTime);
+
+    runtimeService.startProcessInstanceByKey("process");
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // when
+    drainer.drain();
+
+    // then
+    Date removalTime = new Date(endTime.getTime() + 5 * 24 * 60 * 60 * 1000L);
+    assertThat(historyService.createHistoricProcessInstanceQuery().singleResult().getRemovalTime()).isEqualTo(removalTime);
+    assertThat(historyService.createHistoricActivityInstanceQuery().list())
+      .extracting("removalTime")
+      .containsExactly(removalTime, removalTime, removalTime);
+    assertThat(historyService.createHistoricTaskInstanceQuery().singleResult().getRemovalTime()).isEqualTo(removalTime);
+  }
+
+  @Test
+  public void shouldCountEnqueuedAndDrainedEvents() {
+    // given
+    long enqueuedBefore = metricsRegistry.getDbMeterByName(Metrics.HISTORY_OUTBOX_ENQUEUED).get();
+    long drainedBefore = metricsRegistry.getDbMeterByName(Metrics.HISTORY_OUTBOX_DRAINED).get();
+
+    runtimeService.startProcessInstanceByKey("process");
+    long enqueuedEvents = metricsRegistry.getDbMeterByName(Metrics.HISTORY_OUTBOX_ENQUEUED).get() - enqueuedBefore;
+
+    // assume
+    assertThat(enqueuedEvents).isPositive();
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.HISTORY_OUTBOX_DRAINED).get()).isEqualTo(drainedBefore);
+
+    // when
+    drainer.drain();
+
+    // then
+    assertThat(metricsRegistry.getDbMeterByName(Metrics.HISTORY_OUTBOX_DRAINED).get() - drainedBefore).isEqualTo(enqueuedEvents);
+  }
+
+  @Test
+  public void shouldRecountQueueDepthDrainedByOtherProcessEngine() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    HistoryOutboxDrainer otherDrainer = new HistoryOutboxDrainer(
+        engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired(), null);
+
+    // when
+    otherDrainer.drain();
+
+    // then
+    assertThat(drainer.getQueueDepth()).isPositive();
+
+    // when
+    drainer.drain();
+
+    // then
+    assertThat(drainer.getQueueDepth()).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldDrainRightAwayWhenQueueIsFull() throws InterruptedException {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+
+    HistoryOutboxDrainer otherDrainer = new HistoryOutboxDrainer(
+        engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired(), null);
+    otherDrainer.setMaxLag(60000);
+    otherDrainer.setMaxQueueDepth(0);
+    otherDrainer.start();
+
+    try {
+      // when
+      otherDrainer.eventsEnqueued(1);
+
+      // then
+      long deadline = System.currentTimeMillis() + 10000;
+      while (historyService.createHistoricProcessInstanceQuery().count() == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+      }
+      assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+
+    } finally {
+      otherDrainer.stop();
+    }
+  }
+
+  @Test
+  public void shouldDeleteHistoryDrainedAfterDeletion() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    drainer.drain();
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // when the history is deleted before the completion of the process instance is drained
+    engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(commandContext -> {
+      commandContext.getHistoricProcessInstanceManager()
+        .deleteHistoricProcessInstanceByIds(Collections.singletonList(processInstanceId));
+      return null;
+    });
+    drainer.drain();
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+    assertThat(historyService.createHistoricTaskInstanceQuery().count()).isZero();
+    assertThat(engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired()
+        .execute(new GetHistoryOutboxEventCountCmd())).isZero();
+  }
+
+  @Test
+  public void shouldFailToReadEntryOfOtherFormatVersion() throws IOException {
+    // given
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeInt(HistoryOutboxEntity.FORMAT_VERSION + 1);
+      out.writeUTF("7.99.0");
+    }
+
+    HistoryOutboxEntity outboxEntry = new HistoryOutboxEntity();
+    outboxEntry.setId("anEntryId");
+    outboxEntry.setBytes(bytes.toByteArray());
+
+    // when/then
+    assertThatThrownBy(outboxEntry::getEvents)
+      .isInstanceOf(ProcessEngineException.class)
+      .hasMessageContaining("anEntryId")
+      .hasMessageContaining("7.99.0");
+  }
+
+  @Test
+  public void shouldNotDrainTwice() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    drainer.drain();
+
+    // when
+    long drainedEvents = drainer.drain();
+
+    // then
+    assertThat(drainedEvents).isZero();
+    assertThat(historyService.createHistoricProcessInstanceQuery().count()).isEqualTo(1);
+  }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricVariableInstance;
+import org.camunda.bpm.engine.impl.history.HistoryProfile;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryProfileTest {
+
+  protected static final String PROFILE_RESOURCE =
+      "org/camunda/bpm/engine/test/history/HistoryProfileTest.testExtensionPropertyProfile.bpmn20.xml";
+  protected static final String UNKNOWN_PROFILE_RESOURCE =
+      "org/camunda/bpm/engine/test/history/HistoryProfileTest.testUnknownProfile.bpmn20.xml";
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setHistoryProfiles(Arrays.asList(
+          new HistoryProfile("technical")
+            .setExcludedActivityTypes(new HashSet<>(Arrays.asList("startEvent", "userTask", "noneEndEvent")))
+            .setExcludedVariableNamePattern("tmp.*"),
+          new HistoryProfile("keyed")
+            .setProcessDefinitionKeys(new HashSet<>(Arrays.asList("keyedProcess")))
+            .setExcludedActivityIds(new HashSet<>(Arrays.asList("task"))))));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  @Before
+  public void setUp() {
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+  }
+
+  @Test
+  @Deployment(resources = PROFILE_RESOURCE)
+  public void shouldNotProduceActivityHistoryForExcludedActivityTypes() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.setAssignee(task.getId(), "demo");
+    taskService.complete(task.getId());
+
+    // then
+    assertThat(historyService.createHistoricProcessInstanceQuery().finished().count()).isEqualTo(1);
+    assertThat(historyService.createHistoricActivityInstanceQuery().count()).isZero();
+
+    // the task history is not affected by the profile
+    assertThat(historyService.createHistoricTaskInstanceQuery().singleResult().getAssignee()).isEqualTo("demo");
+  }
+
+  @Test
+  @Deployment(resources = PROFILE_RESOURCE)
+  public void shouldNotProduceVariableHistoryForExcludedNames() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables()
+          .putValue("tmpValue", 1)
+          .putValue("value", 2))
+        .getId();
+
+    // when
+    runtimeService.setVariable(processInstanceId, "tmpValue", 3);
+    runtimeService.removeVariable(processInstanceId, "tmpValue");
+
+    // then
+    assertThat(historyService.createHistoricVariableInstanceQuery().list())
+      .extracting(HistoricVariableInstance::getName)
+      .containsExactly("value");
+    assertThat(historyService.createHistoricDetailQuery().variableUpdates().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldAssignProfileByProcessDefinitionKey() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("keyedProcess")
+        .startEvent("start")
+        .userTask("task")
+        .endEvent("end")
+        .done();
+
+    testRule.deploy(process);
+
+    // when
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables().putValue("tmpValue", 1));
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // then
+    assertThat(historyService.createHistoricActivityInstanceQuery().list())
+      .extracting(HistoricActivityInstance::getActivityId)
+      .containsExactlyInAnyOrder("start", "end");
+
+    // the variables are only excluded by the other profile
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldProduceFullHistoryWithoutProfile() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("otherProcess")
+        .startEvent("start")
+        .userTask("task")
+        .endEvent("end")
+        .done();
+
+    testRule.deploy(process);
+
+    // when
+    runtimeService.startProcessInstanceByKey("otherProcess", Variables.createVariables().putValue("tmpValue", 1));
+    taskService.complete(taskService.createTaskQuery().singleResult().getId());
+
+    // then
+    assertThat(historyService.createHistoricActivityInstanceQuery().list())
+      .extracting(HistoricActivityInstance::getActivityId)
+      .containsExactlyInAnyOrder("start", "task", "end");
+    assertThat(historyService.createHistoricVariableInstanceQuery().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldFailToDeployProcessWithUnknownProfile() {
+    try {
+      // when
+      repositoryService.createDeployment()
+        .addClasspathResource(UNKNOWN_PROFILE_RESOURCE)
+        .deploy();
+
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertThat(e.getMessage()).contains("there is no history profile with name 'unknown'");
+    }
+  }
+
+}
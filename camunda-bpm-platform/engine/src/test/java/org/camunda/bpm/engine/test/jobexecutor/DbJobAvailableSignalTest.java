@@ -0,0 +1,160 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.DbJobAvailableSignal;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DbJobAvailableSignalTest {
+
+  protected static final long POLL_INTERVAL = 10;
+  protected static final long TIMEOUT = 5000;
+
+  @Rule
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+
+  protected ManagementService managementService;
+  protected String processEngineName;
+
+  protected SignalingJobExecutor firstNode;
+  protected SignalingJobExecutor secondNode;
+
+  @Before
+  public void setUp() {
+    managementService = engineRule.getManagementService();
+    processEngineName = engineRule.getProcessEngine().getName();
+
+    firstNode = new SignalingJobExecutor((ProcessEngineImpl) engineRule.getProcessEngine());
+    secondNode = new SignalingJobExecutor((ProcessEngineImpl) engineRule.getProcessEngine());
+  }
+
+  @After
+  public void tearDown() {
+    firstNode.stopSignal();
+    secondNode.stopSignal();
+    managementService.deleteProperty(DbJobAvailableSignal.DOORBELL_PROPERTY_NAME);
+  }
+
+  @Test
+  public void shouldWakeUpOtherNodeWhenJobsAreCommitted() throws InterruptedException {
+    // given
+    firstNode.startSignal();
+    secondNode.startSignal();
+
+    // when
+    firstNode.getJobAvailableSignal().jobsCommitted(processEngineName);
+
+    // then
+    waitForWakeUp(secondNode);
+    assertThat(secondNode.getWakeUps()).isEqualTo(1);
+    assertThat(managementService.getProperties()).containsKey(DbJobAvailableSignal.DOORBELL_PROPERTY_NAME);
+  }
+
+  @Test
+  public void shouldNotWakeUpNodeWhichRangTheDoorbell() throws InterruptedException {
+    // given
+    firstNode.startSignal();
+    secondNode.startSignal();
+
+    // when
+    firstNode.getJobAvailableSignal().jobsCommitted(processEngineName);
+    waitForWakeUp(secondNode);
+    Thread.sleep(10 * POLL_INTERVAL);
+
+    // then
+    assertThat(firstNode.getWakeUps()).isZero();
+  }
+
+  @Test
+  public void shouldNotWakeUpWithoutJobs() throws InterruptedException {
+    // given
+    firstNode.startSignal();
+    secondNode.startSignal();
+
+    // when
+    Thread.sleep(10 * POLL_INTERVAL);
+
+    // then
+    assertThat(firstNode.getWakeUps()).isZero();
+    assertThat(secondNode.getWakeUps()).isZero();
+  }
+
+  protected void waitForWakeUp(SignalingJobExecutor node) throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (node.getWakeUps() == 0 && System.currentTimeMillis() - start < TIMEOUT) {
+      Thread.sleep(POLL_INTERVAL);
+    }
+  }
+
+  /**
+   * Job executor which only counts how often its job acquisition is woken up.
+   */
+  public static class SignalingJobExecutor extends JobExecutor {
+
+    protected AtomicInteger wakeUps = new AtomicInteger();
+
+    public SignalingJobExecutor(ProcessEngineImpl processEngine) {
+      processEngines.add(processEngine);
+
+      DbJobAvailableSignal signal = new DbJobAvailableSignal();
+      signal.setPollIntervalMillis(POLL_INTERVAL);
+      jobAvailableSignal = signal;
+    }
+
+    public void startSignal() {
+      jobAvailableSignal.start(this);
+    }
+
+    public void stopSignal() {
+      jobAvailableSignal.stop();
+    }
+
+    @Override
+    public void jobWasAdded() {
+      wakeUps.incrementAndGet();
+    }
+
+    public int getWakeUps() {
+      return wakeUps.get();
+    }
+
+    protected void startExecutingJobs() {
+      // do nothing
+    }
+
+    protected void stopExecutingJobs() {
+      // do nothing
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+      // do nothing
+    }
+  }
+
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.ExecuteJobsRunnable;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExclusiveJobAffinityTest {
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("nonExclusiveTask")
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+        .camundaExpression("${true}")
+      .serviceTask("exclusiveTask")
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .endEvent()
+      .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    clearMetrics();
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.getJobExecutor().setExclusiveJobAffinity(false);
+    clearMetrics();
+  }
+
+  protected void clearMetrics() {
+    for (Meter meter : processEngineConfiguration.getMetricsRegistry().getDbMeters().values()) {
+      meter.getAndClear();
+    }
+    managementService.deleteMetrics(null);
+  }
+
+  @Test
+  public void shouldQueueJobsOfProcessInstanceInExecution() {
+    // given
+    RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+    jobExecutor.setExclusiveJobAffinity(true);
+    jobExecutor.executeExclusiveJobs("processInstance", Arrays.asList("job1", "job2"), null);
+
+    // when
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job3"), null);
+    jobExecutor.executeExclusiveJobs("otherProcessInstance", Collections.singletonList("job4"), null);
+
+    // then
+    assertThat(jobExecutor.executedBatches).containsExactly(
+        Arrays.asList("job1", "job2"),
+        Collections.singletonList("job4"));
+
+    assertThat(jobExecutor.getExclusiveJobQueues().pollQueuedJobs(Arrays.asList("job1", "job2")))
+      .containsExactly("job3");
+  }
+
+  @Test
+  public void shouldReleaseProcessInstanceWhenQueueIsEmpty() {
+    // given
+    RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+    jobExecutor.setExclusiveJobAffinity(true);
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job1"), null);
+    assertThat(jobExecutor.getExclusiveJobQueues().pollQueuedJobs(Collections.singletonList("job1"))).isEmpty();
+
+    // when
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job2"), null);
+
+    // then
+    assertThat(jobExecutor.executedBatches).containsExactly(
+        Collections.singletonList("job1"),
+        Collections.singletonList("job2"));
+  }
+
+  @Test
+  public void shouldReleaseProcessInstanceWhenBatchIsRejected() {
+    // given
+    List<List<String>> rejectedBatches = new ArrayList<>();
+    RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+    jobExecutor.setExclusiveJobAffinity(true);
+    jobExecutor.setRejectedJobsHandler((jobIds, processEngine, executor) -> rejectedBatches.add(jobIds));
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job1"), null);
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job2"), null);
+
+    // when the batch is rejected on resubmission
+    jobExecutor.rejectExecution = true;
+    jobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    jobExecutor.rejectExecution = false;
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job3"), null);
+
+    // then
+    assertThat(rejectedBatches).containsExactly(Arrays.asList("job1", "job2"));
+    assertThat(jobExecutor.executedBatches).containsExactly(
+        Collections.singletonList("job1"),
+        Collections.singletonList("job3"));
+  }
+
+  @Test
+  public void shouldReleaseProcessInstanceWhenWorkerFails() {
+    // given
+    RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+    jobExecutor.setExclusiveJobAffinity(true);
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job1"), null);
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job2"), null);
+
+    ExecuteJobsRunnable runnable = new FailingExecuteJobsRunnable(Collections.singletonList("job1"),
+        (ProcessEngineImpl) engineRule.getProcessEngine(), jobExecutor);
+
+    // when
+    assertThatThrownBy(runnable::run).hasMessage("expected failure");
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job3"), null);
+
+    // then the queued job is handed back and the process instance is released
+    assertThat(jobExecutor.executedBatches).containsExactly(
+        Collections.singletonList("job1"),
+        Collections.singletonList("job2"),
+        Collections.singletonList("job3"));
+  }
+
+  @Test
+  public void shouldNotQueueJobsWithoutAffinity() {
+    // given
+    RecordingJobExecutor jobExecutor = new RecordingJobExecutor();
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job1"), null);
+
+    // when
+    jobExecutor.executeExclusiveJobs("processInstance", Collections.singletonList("job2"), null);
+
+    // then
+    assertThat(jobExecutor.executedBatches).hasSize(2);
+  }
+
+  @Test
+  public void shouldHandCreatedExclusiveJobsToJobExecutorWithoutAcquisition() {
+    // given
+    processEngineConfiguration.getJobExecutor().setExclusiveJobAffinity(true);
+    testRule.deploy(PROCESS);
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+    processEngineConfiguration.getDbMetricsReporter().reportNow();
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(managementService.createMetricsQuery().name(Metrics.JOB_ACQUIRED_SUCCESS).sum()).isEqualTo(3);
+    assertThat(managementService.createMetricsQuery().name(Metrics.JOB_LOCKED_EXCLUSIVE).sum()).isEqualTo(3);
+    assertThat(managementService.createMetricsQuery().name(Metrics.JOB_SUCCESSFUL).sum()).isEqualTo(6);
+  }
+
+  public static class RecordingJobExecutor extends JobExecutor {
+
+    protected List<List<String>> executedBatches = new ArrayList<>();
+    protected boolean rejectExecution = false;
+
+    public RecordingJobExecutor() {
+      isActive = true;
+    }
+
+    public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+      if (rejectExecution) {
+        rejectJobs(jobIds, processEngine);
+      }
+      else {
+        executedBatches.add(jobIds);
+      }
+    }
+
+    protected void startExecutingJobs() {
+    }
+
+    protected void stopExecutingJobs() {
+    }
+  }
+
+  public static class FailingExecuteJobsRunnable extends ExecuteJobsRunnable {
+
+    public FailingExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+      super(jobIds, processEngine);
+      this.jobExecutor = jobExecutor;
+    }
+
+    protected void executeNextJob(String nextJobId, CommandExecutor commandExecutor, ProcessEngineConfigurationImpl engineConfiguration) {
+      throw new RuntimeException("expected failure");
+    }
+  }
+
+}
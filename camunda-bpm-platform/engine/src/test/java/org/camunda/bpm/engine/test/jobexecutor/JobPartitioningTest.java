@@ -0,0 +1,259 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cmd.ReleaseJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.cmd.RenewJobPartitionLeasesCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.impl.persistence.entity.AcquirableJobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JobPartitioningTest {
+
+  protected static final int PARTITION_COUNT = 4;
+  protected static final long LEASE_TIME = 60 * 1000;
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("firstTask")
+        .camundaAsyncBefore()
+      .userTask("secondTask")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setJobExecutorPartitionCount(PARTITION_COUNT));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected CommandExecutor commandExecutor;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    commandExecutor = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+  }
+
+  @After
+  public void tearDown() {
+    ClockUtil.reset();
+    for (String propertyName : managementService.getProperties().keySet()) {
+      if (propertyName.startsWith(JobPartitionLeases.PROPERTY_NAME_PREFIX)) {
+        managementService.deleteProperty(propertyName);
+      }
+    }
+  }
+
+  @Test
+  public void shouldAssignJobsOfOneProcessInstanceToSamePartition() {
+    // given
+    testRule.deploy(ASYNC_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    Integer firstPartition = getPartition(managementService.createJobQuery().singleResult());
+    testRule.executeAvailableJobs(1);
+    String taskId = engineRule.getTaskService().createTaskQuery().singleResult().getId();
+    engineRule.getTaskService().complete(taskId);
+    Integer secondPartition = getPartition(managementService.createJobQuery().singleResult());
+
+    // then
+    assertThat(firstPartition)
+      .isEqualTo(secondPartition)
+      .isEqualTo(Math.floorMod(processInstance.getId().hashCode(), PARTITION_COUNT));
+  }
+
+  @Test
+  public void shouldOnlyAcquireJobsOfOwnedPartitions() {
+    // given
+    testRule.deploy(ASYNC_PROCESS);
+    runtimeService.startProcessInstanceByKey("process");
+    Job job = managementService.createJobQuery().singleResult();
+    int partition = getPartition(job);
+    int otherPartition = (partition + 1) % PARTITION_COUNT;
+
+    // when
+    List<AcquirableJobEntity> jobsOfOwnPartition = findNextJobsToExecute(Collections.singleton(partition));
+    List<AcquirableJobEntity> jobsOfOtherPartition = findNextJobsToExecute(Collections.singleton(otherPartition));
+    List<AcquirableJobEntity> jobsWithoutPartition = findNextJobsToExecute(Collections.<Integer>emptySet());
+
+    // then
+    assertThat(jobsOfOwnPartition).extracting("id").containsExactly(job.getId());
+    assertThat(jobsOfOtherPartition).isEmpty();
+    assertThat(jobsWithoutPartition).isEmpty();
+  }
+
+  @Test
+  public void shouldClaimAllPartitionsAsOnlyNode() {
+    // when
+    Set<Integer> partitions = renewLeases("nodeA");
+
+    // then
+    assertThat(partitions).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldRebalancePartitionsWhenNodeJoins() {
+    // given
+    renewLeases("nodeA");
+
+    // when
+    Set<Integer> partitionsOfB = renewLeases("nodeB");
+    Set<Integer> partitionsOfA = renewLeases("nodeA");
+
+    // then
+    assertThat(partitionsOfA).hasSize(2);
+    assertThat(partitionsOfB).hasSize(2);
+    assertThat(union(partitionsOfA, partitionsOfB)).containsExactlyInAnyOrder(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldRebalancePartitionsWhenNodeLeaves() {
+    // given
+    renewLeases("nodeA");
+    renewLeases("nodeB");
+    renewLeases("nodeA");
+
+    // when
+    commandExecutor.execute(new ReleaseJobPartitionLeasesCmd("nodeB"));
+    Set<Integer> partitionsOfA = renewLeases("nodeA");
+
+    // then
+    assertThat(partitionsOfA).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldTakeOverExpiredLeases() {
+    // given
+    renewLeases("nodeA");
+    renewLeases("nodeB");
+
+    // when nodeA does not renew its leases in time
+    ClockUtil.offset(LEASE_TIME + 1);
+    renewLeases("nodeB");
+    Set<Integer> partitionsOfC = renewLeases("nodeC");
+    Set<Integer> partitionsOfB = renewLeases("nodeB");
+
+    // then
+    assertThat(partitionsOfB).hasSize(2);
+    assertThat(partitionsOfC).hasSize(2);
+    assertThat(union(partitionsOfB, partitionsOfC)).containsExactlyInAnyOrder(0, 1, 2, 3);
+  }
+
+  @Test
+  public void shouldRenewLeasesByEngineClock() {
+    // given
+    ProcessEngineImpl processEngine = (ProcessEngineImpl) engineRule.getProcessEngine();
+    JobPartitionLeases partitionLeases = new JobPartitionLeases(engineRule.getProcessEngineConfiguration().getJobExecutor());
+    partitionLeases.setLeaseTimeInMillis(LEASE_TIME);
+    partitionLeases.renewLeases(processEngine);
+    renewLeases("nodeB");
+
+    // when the renewal interval has not passed yet
+    partitionLeases.renewLeases(processEngine);
+
+    // then
+    assertThat(partitionLeases.getOwnedPartitions(processEngine.getName())).hasSize(PARTITION_COUNT);
+
+    // when the engine clock passes the renewal interval
+    ClockUtil.offset(LEASE_TIME / 4);
+    partitionLeases.renewLeases(processEngine);
+
+    // then
+    assertThat(partitionLeases.getOwnedPartitions(processEngine.getName())).hasSize(PARTITION_COUNT / 2);
+  }
+
+  @Test
+  public void shouldFailRenewalOnConcurrentLeaseInsert() {
+    // given
+    CommandExecutor requiresNewExecutor = engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew();
+
+    try {
+      // when nodeB inserts the leases while the renewal of nodeA is not flushed yet
+      commandExecutor.execute(commandContext -> {
+        new RenewJobPartitionLeasesCmd("nodeA", PARTITION_COUNT, LEASE_TIME).execute(commandContext);
+        return requiresNewExecutor.execute(new RenewJobPartitionLeasesCmd("nodeB", PARTITION_COUNT, LEASE_TIME));
+      });
+      fail("expected exception");
+    }
+    catch (ProcessEngineException e) {
+      // then the lost leases are detected as a constraint violation
+      assertThat(ExceptionUtil.checkConstraintViolationException(e)).isTrue();
+    }
+
+    assertThat(renewLeases("nodeB")).containsExactly(0, 1, 2, 3);
+  }
+
+  protected Set<Integer> renewLeases(String lockOwner) {
+    return commandExecutor.execute(new RenewJobPartitionLeasesCmd(lockOwner, PARTITION_COUNT, LEASE_TIME));
+  }
+
+  protected List<AcquirableJobEntity> findNextJobsToExecute(Set<Integer> partitions) {
+    return commandExecutor.execute(commandContext ->
+        commandContext.getJobManager().findNextJobsToExecute(new Page(0, 100), partitions));
+  }
+
+  protected Integer getPartition(Job job) {
+    return ((JobEntity) job).getPartition();
+  }
+
+  protected Set<Integer> union(Set<Integer> first, Set<Integer> second) {
+    Set<Integer> union = new HashSet<>(first);
+    union.addAll(second);
+    assertThat(first.size() + second.size()).isEqualTo(union.size());
+    return union;
+  }
+
+}
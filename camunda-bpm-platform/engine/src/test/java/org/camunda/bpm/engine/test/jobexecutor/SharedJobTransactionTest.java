@@ -0,0 +1,198 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.NonExclusiveJobBatch;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SharedJobTransactionTest {
+
+  protected static final int MAX_JOBS_PER_TRANSACTION = 5;
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+  protected JobExecutor jobExecutor;
+
+  protected int defaultMaxJobsPerAcquisition;
+
+  @Before
+  public void setUp() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+    jobExecutor = engineRule.getProcessEngineConfiguration().getJobExecutor();
+
+    defaultMaxJobsPerAcquisition = jobExecutor.getMaxJobsPerAcquisition();
+    jobExecutor.setMaxJobsPerAcquisition(2 * MAX_JOBS_PER_TRANSACTION);
+    jobExecutor.setMaxJobsPerTransaction(MAX_JOBS_PER_TRANSACTION);
+
+    RecordingDelegate.COMMAND_CONTEXTS.clear();
+  }
+
+  @After
+  public void tearDown() {
+    jobExecutor.setMaxJobsPerAcquisition(defaultMaxJobsPerAcquisition);
+    jobExecutor.setMaxJobsPerTransaction(1);
+  }
+
+  @Test
+  public void shouldExecuteNonExclusiveJobsInSharedTransactions() {
+    // given
+    testRule.deploy(createAsyncProcess(false));
+    startProcessInstances(2 * MAX_JOBS_PER_TRANSACTION);
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordingDelegate.COMMAND_CONTEXTS).hasSize(2);
+  }
+
+  @Test
+  public void shouldExecuteExclusiveJobsInSeparateTransactions() {
+    // given
+    testRule.deploy(createAsyncProcess(true));
+    startProcessInstances(2 * MAX_JOBS_PER_TRANSACTION);
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+    assertThat(RecordingDelegate.COMMAND_CONTEXTS).hasSize(2 * MAX_JOBS_PER_TRANSACTION);
+  }
+
+  @Test
+  public void shouldIsolateFailingJob() {
+    // given
+    testRule.deploy(createAsyncProcess(false));
+    startProcessInstances(MAX_JOBS_PER_TRANSACTION - 1);
+    ProcessInstance failingProcessInstance = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("fail", true));
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().list())
+      .extracting("id")
+      .containsExactly(failingProcessInstance.getId());
+
+    Job failedJob = managementService.createJobQuery().singleResult();
+    assertThat(failedJob.getProcessInstanceId()).isEqualTo(failingProcessInstance.getId());
+    assertThat(failedJob.getRetries()).isZero();
+    assertThat(failedJob.getExceptionMessage()).isEqualTo("expected failure");
+  }
+
+  @Test
+  public void shouldOnlyMarkNonExclusiveBatchesForSharedTransactions() {
+    // given
+    testRule.deploy(createAsyncProcess(false));
+    startProcessInstances(2);
+    testRule.deploy(Bpmn.createExecutableProcess("exclusiveProcess")
+      .startEvent()
+      .parallelGateway("fork")
+        .serviceTask()
+          .camundaAsyncBefore()
+          .camundaClass(RecordingDelegate.class)
+        .endEvent()
+      .moveToNode("fork")
+        .serviceTask()
+          .camundaAsyncBefore()
+          .camundaClass(RecordingDelegate.class)
+        .endEvent()
+      .done());
+    runtimeService.startProcessInstanceByKey("exclusiveProcess");
+
+    // when
+    AcquiredJobs acquiredJobs = engineRule.getProcessEngineConfiguration()
+      .getCommandExecutorTxRequired()
+      .execute(new AcquireJobsCmd(jobExecutor));
+
+    // then
+    List<List<String>> batches = acquiredJobs.getJobIdBatches();
+    assertThat(batches).hasSize(2);
+    for (List<String> batch : batches) {
+      assertThat(batch).hasSize(2);
+    }
+    assertThat(batches.get(0)).isInstanceOf(NonExclusiveJobBatch.class);
+    assertThat(batches.get(1)).isNotInstanceOf(NonExclusiveJobBatch.class);
+  }
+
+  protected BpmnModelInstance createAsyncProcess(boolean exclusive) {
+    return Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExclusive(exclusive)
+        .camundaClass(RecordingDelegate.class)
+      .endEvent()
+      .done();
+  }
+
+  protected void startProcessInstances(int numberOfInstances) {
+    for (int i = 0; i < numberOfInstances; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  public static class RecordingDelegate implements JavaDelegate {
+
+    protected static final Set<Object> COMMAND_CONTEXTS = Collections.synchronizedSet(
+        Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public void execute(DelegateExecution execution) {
+      if (Boolean.TRUE.equals(execution.getVariable("fail"))) {
+        throw new RuntimeException("expected failure");
+      }
+      COMMAND_CONTEXTS.add(Context.getCommandContext());
+    }
+  }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.RejectedJobsHandler;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExpression("${true}")
+      .endEvent()
+      .done();
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule(configuration ->
+      configuration.setJobExecutor(new VirtualThreadJobExecutor()));
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected BlockingJobExecutor blockingJobExecutor;
+
+  @After
+  public void tearDown() {
+    if (blockingJobExecutor != null) {
+      blockingJobExecutor.proceed();
+      blockingJobExecutor.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldExecuteJobs() {
+    // given
+    testRule.deploy(ASYNC_PROCESS);
+    RuntimeService runtimeService = engineRule.getRuntimeService();
+    for (int i = 0; i < 10; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs(10000);
+
+    // then
+    assertThat(runtimeService.createProcessInstanceQuery().count()).isZero();
+  }
+
+  @Test
+  public void shouldRejectJobsAboveConcurrencyLimit() throws InterruptedException {
+    // given
+    blockingJobExecutor = new BlockingJobExecutor(2);
+    blockingJobExecutor.start();
+
+    // when
+    blockingJobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    blockingJobExecutor.executeJobs(Collections.singletonList("job2"), null);
+    blockingJobExecutor.executeJobs(Arrays.asList("job3", "job4"), null);
+
+    // then
+    assertThat(blockingJobExecutor.awaitStartedJobs()).isTrue();
+    assertThat(blockingJobExecutor.getRejectedJobs()).containsExactly("job3", "job4");
+    assertThat(blockingJobExecutor.getAvailableConcurrency()).isZero();
+  }
+
+  @Test
+  public void shouldReleaseConcurrencyWhenJobsAreDone() throws InterruptedException {
+    // given
+    blockingJobExecutor = new BlockingJobExecutor(2);
+    blockingJobExecutor.start();
+    blockingJobExecutor.executeJobs(Collections.singletonList("job1"), null);
+    blockingJobExecutor.executeJobs(Collections.singletonList("job2"), null);
+    blockingJobExecutor.awaitStartedJobs();
+
+    // when
+    blockingJobExecutor.proceed();
+    blockingJobExecutor.awaitAvailableConcurrency(2);
+    blockingJobExecutor.executeJobs(Collections.singletonList("job3"), null);
+
+    // then
+    assertThat(blockingJobExecutor.getRejectedJobs()).isEmpty();
+  }
+
+  /**
+   * Executes jobs by waiting until {@link #proceed()} is called.
+   */
+  public static class BlockingJobExecutor extends VirtualThreadJobExecutor {
+
+    protected CountDownLatch startedJobs;
+    protected CountDownLatch proceed = new CountDownLatch(1);
+    protected List<String> rejectedJobs = Collections.synchronizedList(new ArrayList<>());
+
+    public BlockingJobExecutor(int concurrencyLimit) {
+      setConcurrencyLimit(concurrencyLimit);
+      startedJobs = new CountDownLatch(concurrencyLimit);
+      rejectedJobsHandler = new RejectedJobsHandler() {
+        public void jobsRejected(List<String> jobIds, ProcessEngineImpl processEngine, JobExecutor jobExecutor) {
+          rejectedJobs.addAll(jobIds);
+        }
+      };
+    }
+
+    public Runnable getExecuteJobsRunnable(List<String> jobIds, ProcessEngineImpl processEngine) {
+      return () -> {
+        startedJobs.countDown();
+        try {
+          proceed.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      };
+    }
+
+    public void logRejectedExecution(ProcessEngineImpl engine, int numJobs) {
+      // no process engine to report the metric to
+    }
+
+    public boolean awaitStartedJobs() throws InterruptedException {
+      return startedJobs.await(10, TimeUnit.SECONDS);
+    }
+
+    public void awaitAvailableConcurrency(int availableConcurrency) throws InterruptedException {
+      long start = System.currentTimeMillis();
+      while (getAvailableConcurrency() < availableConcurrency && System.currentTimeMillis() - start < 10000) {
+        Thread.sleep(10);
+      }
+    }
+
+    public void proceed() {
+      proceed.countDown();
+    }
+
+    public List<String> getRejectedJobs() {
+      return rejectedJobs;
+    }
+  }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class JdbcBatchReorderingTest {
+
+  protected static final BpmnModelInstance PARALLEL_TASKS_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .parallelGateway("fork")
+        .userTask("a")
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("b")
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("c")
+        .endEvent()
+      .moveToNode("fork")
+        .userTask("d")
+        .endEvent()
+      .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+
+    assumeTrue(processEngineConfiguration.isJdbcBatchProcessing());
+
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchMetrics(true);
+
+    testRule.deploy(PARALLEL_TASKS_PROCESS);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchReordering(false);
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchMetrics(false);
+    processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.JDBC_BATCHES).getAndClear();
+    processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.JDBC_BATCHED_STATEMENTS).getAndClear();
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldExecuteFewerBatchesWhenReordering() {
+    // given
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchReordering(false);
+    long batchesWithoutReordering = countBatchesOfAssigningAndCompletingTasks();
+
+    // when
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchReordering(true);
+    long batchesWithReordering = countBatchesOfAssigningAndCompletingTasks();
+
+    // then
+    assertThat(batchesWithReordering).isLessThan(batchesWithoutReordering);
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+  public void shouldApplyAllReorderedOperations() {
+    // given
+    processEngineConfiguration.getDbSqlSessionFactory().setJdbcBatchReordering(true);
+
+    // when
+    String processInstanceId = assignAndCompleteTasks();
+
+    // then
+    assertThat(taskService.createTaskQuery().processInstanceId(processInstanceId).list())
+      .extracting("taskDefinitionKey", "assignee")
+      .containsExactlyInAnyOrder(
+          tuple("a", "demo"),
+          tuple("c", "demo"));
+
+    List<HistoricActivityInstance> taskInstances = historyService.createHistoricActivityInstanceQuery()
+        .processInstanceId(processInstanceId)
+        .activityType("userTask")
+        .orderByActivityId()
+        .asc()
+        .list();
+
+    assertThat(taskInstances)
+      .extracting("activityId", "assignee")
+      .containsExactly(
+          tuple("a", "demo"),
+          tuple("b", null),
+          tuple("c", "demo"),
+          tuple("d", null));
+    assertThat(taskInstances.get(0).getEndTime()).isNull();
+    assertThat(taskInstances.get(1).getEndTime()).isNotNull();
+    assertThat(taskInstances.get(2).getEndTime()).isNull();
+    assertThat(taskInstances.get(3).getEndTime()).isNotNull();
+  }
+
+  @Test
+  public void shouldReportBatchSizes() {
+    // given
+    Meter batches = processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.JDBC_BATCHES);
+    Meter batchedStatements = processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.JDBC_BATCHED_STATEMENTS);
+    batches.getAndClear();
+    batchedStatements.getAndClear();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    assertThat(batches.get()).isGreaterThan(0);
+    assertThat(batchedStatements.get()).isGreaterThan(batches.get());
+  }
+
+  protected long countBatchesOfAssigningAndCompletingTasks() {
+    Meter batches = processEngineConfiguration.getMetricsRegistry().getDbMeters().get(Metrics.JDBC_BATCHES);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    batches.getAndClear();
+
+    assignAndCompleteTasks(processInstanceId);
+
+    return batches.getAndClear();
+  }
+
+  protected String assignAndCompleteTasks() {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    assignAndCompleteTasks(processInstanceId);
+    return processInstanceId;
+  }
+
+  /**
+   * Updates the historic activity instances of the tasks with alternating SQL,
+   * i.e. with and without setting the end time, in a single flush.
+   */
+  protected void assignAndCompleteTasks(String processInstanceId) {
+    List<Task> tasks = taskService.createTaskQuery()
+        .processInstanceId(processInstanceId)
+        .list();
+    tasks.sort(Comparator.comparing(Task::getTaskDefinitionKey));
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(commandContext -> {
+      taskService.setAssignee(tasks.get(0).getId(), "demo");
+      taskService.complete(tasks.get(1).getId());
+      taskService.setAssignee(tasks.get(2).getId(), "demo");
+      taskService.complete(tasks.get(3).getId());
+      return null;
+    });
+  }
+
+}
@@ -35,6 +35,8 @@ public class BenchmarkAggregator extends TabularResultAggregator {
 
   public static final String TEST_NAME = "Test Name";
 
+  protected List<Integer> passThreadCounts;
+
   public BenchmarkAggregator(String resultsFolderPath) {
     super(resultsFolderPath);
   }
@@ -48,6 +50,13 @@ public class BenchmarkAggregator extends TabularResultAggregator {
     List<Object> row = new ArrayList<Object>();
     row.add(results.getTestName());
 
+    if (passThreadCounts == null) {
+      passThreadCounts = new ArrayList<Integer>();
+      for (PerfTestResult passResult : results.getPassResults()) {
+        passThreadCounts.add(passResult.getNumberOfThreads());
+      }
+    }
+
     for (PerfTestResult passResult : results.getPassResults()) {
       processRow(row, passResult, results);
     }
@@ -86,7 +95,8 @@ public class BenchmarkAggregator extends TabularResultAggregator {
       columnNames.add(TEST_NAME);
       for (int i = 1; i < columnSize; i++) {
         if((i-1)%3 == 0) {
-          int numberOfThreads = (i/3) + 1;
+          int pass = i/3;
+          int numberOfThreads = pass < passThreadCounts.size() ? passThreadCounts.get(pass) : pass + 1;
           columnNames.add("T = "+numberOfThreads);
         } else {
           columnNames.add(" ");
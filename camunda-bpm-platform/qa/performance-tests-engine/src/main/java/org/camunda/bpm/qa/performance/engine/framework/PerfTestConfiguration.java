@@ -34,6 +34,7 @@ import java.util.Properties;
 public class PerfTestConfiguration {
 
   protected int numberOfThreads = 2;
+  protected List<Integer> threadCounts = null;
   protected int numberOfRuns = 1000;
   protected String databaseName = "";
 
@@ -49,6 +50,7 @@ public class PerfTestConfiguration {
   public PerfTestConfiguration(Properties properties) {
     numberOfRuns = Integer.parseInt(properties.getProperty("numberOfRuns"));
     numberOfThreads =  Integer.parseInt(properties.getProperty("numberOfThreads"));
+    threadCounts = parseThreadCounts(properties.getProperty("threadCounts", null));
     testWatchers = properties.getProperty("testWatchers", null);
     databaseName = properties.getProperty("databaseDriver", null);
     historyLevel = properties.getProperty("historyLevel");
@@ -66,6 +68,27 @@ public class PerfTestConfiguration {
     this.numberOfThreads = numberOfThreads;
   }
 
+  /**
+   * @return the number of threads used by the individual passes. If no thread counts
+   * are configured, a pass is performed for each thread count from 1 to numberOfThreads.
+   */
+  public List<Integer> getThreadCounts() {
+    if (threadCounts != null) {
+      return threadCounts;
+    }
+    else {
+      List<Integer> threadCounts = new ArrayList<Integer>();
+      for (int i = 1; i <= numberOfThreads; i++) {
+        threadCounts.add(i);
+      }
+      return threadCounts;
+    }
+  }
+
+  public void setThreadCounts(List<Integer> threadCounts) {
+    this.threadCounts = threadCounts;
+  }
+
   public int getNumberOfRuns() {
     return numberOfRuns;
   }
@@ -137,4 +160,21 @@ public class PerfTestConfiguration {
       return Collections.unmodifiableList(watchActivities);
     }
   }
+
+  protected List<Integer> parseThreadCounts(String threadCountsString) {
+    if (threadCountsString == null || threadCountsString.trim().isEmpty()) {
+      return null;
+    }
+    else {
+      List<Integer> threadCounts = new ArrayList<Integer>();
+      String[] parts = threadCountsString.split(",");
+      for (String part : parts) {
+        part = part.trim();
+        if (!part.isEmpty()) {
+          threadCounts.add(Integer.parseInt(part));
+        }
+      }
+      return Collections.unmodifiableList(threadCounts);
+    }
+  }
 }
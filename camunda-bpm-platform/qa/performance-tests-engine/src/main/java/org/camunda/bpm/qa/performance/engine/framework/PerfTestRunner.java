@@ -92,8 +92,8 @@ public class PerfTestRunner {
     // run a pass for each number of threads
     new Thread() {
       public void run() {
-        for (int i = 1; i <= configuration.getNumberOfThreads(); i++) {
-          runPassWithThreadCount(i);
+        for (int threadCount : configuration.getThreadCounts()) {
+          runPassWithThreadCount(threadCount);
         }
 
         synchronized (doneMonitor) {
@@ -63,6 +63,8 @@ public class PerfTestProcessEngine {
     processEngineConfiguration.setHistory(properties.getProperty("historyLevel"));
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
+    processEngineConfiguration.setSharedDbEntityCacheEnabled(Boolean.valueOf(properties.getProperty("sharedDbEntityCache")));
+    processEngineConfiguration.setHistoryOutboxEnabled(Boolean.valueOf(properties.getProperty("historyOutbox")));
 
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
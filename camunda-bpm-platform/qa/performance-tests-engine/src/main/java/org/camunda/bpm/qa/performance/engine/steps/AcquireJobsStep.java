@@ -0,0 +1,132 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestPass;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRun;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunner;
+
+/**
+ * <p>Performs one job acquisition cycle. Every thread of a pass acts as a separate
+ * job executor node with its own lock owner, so that a pass with n threads
+ * simulates a cluster of n nodes competing for the same jobs.</p>
+ *
+ * <p>The acquired jobs are unlocked right away, so that the number of executable
+ * jobs stays the same during the test. The number of acquired jobs and of jobs which
+ * could not be locked due to optimistic locking failures is logged as
+ * {@link JobAcquisitionResult}.</p>
+ */
+public class AcquireJobsStep extends ProcessEngineAwareStep {
+
+  protected final int jobsPerAcquisition;
+
+  protected PerfTestPass currentPass;
+  protected Map<Thread, JobExecutor> nodes = new ConcurrentHashMap<Thread, JobExecutor>();
+
+  public AcquireJobsStep(ProcessEngine processEngine, int jobsPerAcquisition) {
+    super(processEngine);
+    this.jobsPerAcquisition = jobsPerAcquisition;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    ProcessEngineImpl engine = (ProcessEngineImpl) processEngine;
+    CommandExecutor commandExecutor = engine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+
+    JobExecutor node = getNode();
+    node.getJobPartitionLeases().renewLeases(engine);
+
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(node, jobsPerAcquisition));
+
+    final List<String> jobIds = new ArrayList<String>();
+    for (List<String> batch : acquiredJobs.getJobIdBatches()) {
+      jobIds.addAll(batch);
+    }
+    commandExecutor.execute(commandContext -> {
+      for (String jobId : jobIds) {
+        JobEntity job = commandContext.getJobManager().findJobById(jobId);
+        job.setLockOwner(null);
+        job.setLockExpirationTime(null);
+      }
+      return null;
+    });
+
+    ((PerfTestRun) context).logStepResult(
+        new JobAcquisitionResult(acquiredJobs.size(), acquiredJobs.getNumberOfJobsFailedToLock()));
+  }
+
+  protected JobExecutor getNode() {
+    synchronized (this) {
+      if (currentPass != PerfTestRunner.currentPass) {
+        // the nodes of the previous pass leave the cluster
+        releaseNodes();
+        currentPass = PerfTestRunner.currentPass;
+      }
+    }
+
+    JobExecutor node = nodes.get(Thread.currentThread());
+    if (node == null) {
+      node = new DefaultJobExecutor();
+      nodes.put(Thread.currentThread(), node);
+    }
+    return node;
+  }
+
+  /**
+   * Releases the job partition leases of all nodes.
+   */
+  public synchronized void releaseNodes() {
+    for (JobExecutor node : nodes.values()) {
+      node.getJobPartitionLeases().releaseLeases((ProcessEngineImpl) processEngine);
+    }
+    nodes.clear();
+  }
+
+  public static class JobAcquisitionResult {
+
+    protected int acquiredJobs;
+    protected int jobsFailedToLock;
+
+    public JobAcquisitionResult(int acquiredJobs, int jobsFailedToLock) {
+      this.acquiredJobs = acquiredJobs;
+      this.jobsFailedToLock = jobsFailedToLock;
+    }
+
+    public int getAcquiredJobs() {
+      return acquiredJobs;
+    }
+
+    public int getJobsFailedToLock() {
+      return jobsFailedToLock;
+    }
+  }
+
+}
@@ -16,6 +16,11 @@
  */
 package org.camunda.bpm.qa.performance.engine.steps;
 
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.RUN_ID;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
@@ -28,6 +33,7 @@ public class CorrelateMessageStep extends ProcessEngineAwareStep {
 
   protected String message;
   protected String processInstanceKey;
+  protected Map<String, Object> correlationVariables;
 
   public CorrelateMessageStep(ProcessEngine processEngine, String message, String processInstanceKey) {
     super(processEngine);
@@ -35,14 +41,34 @@ public class CorrelateMessageStep extends ProcessEngineAwareStep {
     this.processInstanceKey = processInstanceKey;
   }
 
+  /**
+   * Correlates the message by the given process variables and the run id of the current run,
+   * as started by {@link StartProcessInstanceStep}.
+   */
+  public CorrelateMessageStep(ProcessEngine processEngine, String message, Map<String, Object> correlationVariables) {
+    super(processEngine);
+    this.message = message;
+    this.correlationVariables = correlationVariables;
+  }
+
   @Override
   public void execute(PerfTestRunContext context) {
-    Execution execution = runtimeService.createExecutionQuery()
-      .messageEventSubscriptionName(message)
-      .processInstanceId((String)context.getVariable(processInstanceKey))
-      .singleResult();
+    if (correlationVariables != null) {
+      Map<String, Object> variables = new HashMap<String, Object>(correlationVariables);
+      variables.put(RUN_ID, context.getVariable(RUN_ID));
+
+      runtimeService.createMessageCorrelation(message)
+        .processInstanceVariablesEqual(variables)
+        .correlate();
+    }
+    else {
+      Execution execution = runtimeService.createExecutionQuery()
+        .messageEventSubscriptionName(message)
+        .processInstanceId((String)context.getVariable(processInstanceKey))
+        .singleResult();
 
-    runtimeService.messageEventReceived(message, execution.getId());
+      runtimeService.messageEventReceived(message, execution.getId());
+    }
   }
 
 }
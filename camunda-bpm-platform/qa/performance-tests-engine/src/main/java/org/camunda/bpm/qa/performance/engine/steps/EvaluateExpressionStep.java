@@ -0,0 +1,56 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.delegate.Expression;
+import org.camunda.bpm.engine.delegate.VariableScope;
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Evaluates an expression a number of times in one command. The command
+ * touches no entities, so the time of the step is spent evaluating the expression.
+ */
+public class EvaluateExpressionStep extends ProcessEngineAwareStep {
+
+  protected final Expression expression;
+  protected final VariableScope variableScope;
+  protected final int numberOfEvaluations;
+
+  public EvaluateExpressionStep(ProcessEngine processEngine, Expression expression, VariableScope variableScope, int numberOfEvaluations) {
+    super(processEngine);
+    this.expression = expression;
+    this.variableScope = variableScope;
+    this.numberOfEvaluations = numberOfEvaluations;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    CommandExecutor commandExecutor = ((ProcessEngineImpl) processEngine).getProcessEngineConfiguration()
+      .getCommandExecutorTxRequired();
+
+    commandExecutor.execute(commandContext -> {
+      for (int i = 0; i < numberOfEvaluations; i++) {
+        expression.getValue(variableScope);
+      }
+      return null;
+    });
+  }
+
+}
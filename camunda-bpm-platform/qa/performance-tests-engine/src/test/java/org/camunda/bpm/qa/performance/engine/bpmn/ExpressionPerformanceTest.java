@@ -0,0 +1,173 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.juel.ExpressionFactoryImpl;
+import org.camunda.bpm.engine.impl.pvm.runtime.ExecutionImpl;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.EvaluateExpressionStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares evaluating the conditions of a process of 100 exclusive gateways, each taking the flow
+ * of <code>${amount > 1000 && customer.vip}</code>, with
+ * interpreted and compiled expressions
+ * (see {@link ProcessEngineConfigurationImpl#setExpressionCompileThreshold(int)}).
+ * The <code>*Expression</code> tests evaluate the condition directly, without executing a process,
+ * so that the time is not dominated by the database.
+ */
+public class ExpressionPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int NUMBER_OF_GATEWAYS = 100;
+
+  protected static final String CONDITION = "${amount > 1000 && customer.vip}";
+  protected static final String REJECTED_CONDITION = "${amount <= 1000 || !customer.vip}";
+
+  protected static final int NUMBER_OF_EVALUATIONS = 1000;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Deployment deployment;
+
+  @Before
+  public void setUp() {
+    processEngineConfiguration = processEngineRule.getProcessEngineConfiguration();
+    // the customer is passed as a transient java object
+    processEngineConfiguration.setJavaSerializationFormatEnabled(true);
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setJavaSerializationFormatEnabled(false);
+    getExpressionManager().setExpressionFactory(new ExpressionFactoryImpl());
+    if (deployment != null) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  @Test
+  public void interpretedConditions() {
+    deployProcess();
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  public void compiledConditions() {
+    // the expressions are created when the process is parsed
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_COMPILE_THRESHOLD, "0");
+    getExpressionManager().setExpressionFactory(new ExpressionFactoryImpl(properties));
+    deployProcess();
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", createVariables()))
+    .run();
+  }
+
+  @Test
+  public void interpretedExpression() {
+    performanceTest()
+      .step(new EvaluateExpressionStep(engine, getExpressionManager().createExpression(CONDITION),
+          createVariableScope(), NUMBER_OF_EVALUATIONS))
+    .run();
+  }
+
+  @Test
+  public void compiledExpression() {
+    Properties properties = new Properties();
+    properties.setProperty(ExpressionFactoryImpl.PROP_COMPILE_THRESHOLD, "0");
+    getExpressionManager().setExpressionFactory(new ExpressionFactoryImpl(properties));
+
+    performanceTest()
+      .step(new EvaluateExpressionStep(engine, getExpressionManager().createExpression(CONDITION),
+          createVariableScope(), NUMBER_OF_EVALUATIONS))
+    .run();
+  }
+
+  protected ExpressionManager getExpressionManager() {
+    return processEngineConfiguration.getExpressionManager();
+  }
+
+  protected void deployProcess() {
+    deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", createProcess())
+      .deploy();
+  }
+
+  protected static BpmnModelInstance createProcess() {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("process").startEvent();
+    for (int i = 0; i < NUMBER_OF_GATEWAYS; i++) {
+      builder = builder.exclusiveGateway("gateway" + i).condition("vip", CONDITION);
+    }
+    builder = builder.endEvent("end")
+      .moveToNode("gateway0").condition("rejected", REJECTED_CONDITION).endEvent("rejected");
+    for (int i = 1; i < NUMBER_OF_GATEWAYS; i++) {
+      builder = builder.moveToNode("gateway" + i).condition("rejected", REJECTED_CONDITION).connectTo("rejected");
+    }
+    return builder.done();
+  }
+
+  protected static Map<String, Object> createVariables() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 1500);
+    variables.put("customer", Variables.objectValue(new Customer(true), true)
+        .serializationDataFormat(SerializationDataFormats.JAVA)
+        .create());
+    return variables;
+  }
+
+  protected static ExecutionImpl createVariableScope() {
+    ExecutionImpl variableScope = new ExecutionImpl();
+    variableScope.setVariableLocal("amount", 1500);
+    variableScope.setVariableLocal("customer", new Customer(true));
+    return variableScope;
+  }
+
+  public static class Customer implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    protected boolean vip;
+
+    public Customer(boolean vip) {
+      this.vip = vip;
+    }
+
+    public boolean isVip() {
+      return vip;
+    }
+  }
+
+}
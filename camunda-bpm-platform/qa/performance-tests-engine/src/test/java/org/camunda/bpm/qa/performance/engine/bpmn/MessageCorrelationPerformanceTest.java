@@ -0,0 +1,105 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import static org.camunda.bpm.qa.performance.engine.steps.PerfTestConstants.RUN_ID;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.CorrelateMessageStep;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares correlating a message by two process variables with querying the variables of
+ * all waiting executions and with looking up the indexed correlation key of the
+ * event subscription (see {@link ProcessEngineConfigurationImpl#setMessageCorrelationKeys(Map)}).
+ */
+public class MessageCorrelationPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int NUMBER_OF_WAITING_INSTANCES = 1000;
+
+  protected static final String MESSAGE = "message";
+  protected static final String CUSTOMER_ID = "customerId";
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .receiveTask().message(MESSAGE)
+      .endEvent()
+      .done();
+
+  protected static final Map<String, Object> CORRELATION_VARIABLES = Collections.<String, Object>singletonMap(CUSTOMER_ID, 42);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Deployment deployment;
+
+  @Before
+  public void deployProcess() {
+    processEngineConfiguration = processEngineRule.getProcessEngineConfiguration();
+
+    deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", PROCESS)
+      .deploy();
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setMessageCorrelationKeys(null);
+    repositoryService.deleteDeployment(deployment.getId(), true);
+  }
+
+  @Test
+  public void correlateByVariableQuery() {
+    startWaitingProcessInstances();
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", CORRELATION_VARIABLES))
+      .step(new CorrelateMessageStep(engine, MESSAGE, CORRELATION_VARIABLES))
+    .run();
+  }
+
+  @Test
+  public void correlateByIndexedCorrelationKey() {
+    processEngineConfiguration.setMessageCorrelationKeys(
+        Collections.singletonMap(MESSAGE, Arrays.asList(RUN_ID, CUSTOMER_ID)));
+    startWaitingProcessInstances();
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process", CORRELATION_VARIABLES))
+      .step(new CorrelateMessageStep(engine, MESSAGE, CORRELATION_VARIABLES))
+    .run();
+  }
+
+  protected void startWaitingProcessInstances() {
+    for (int i = 0; i < NUMBER_OF_WAITING_INSTANCES; i++) {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+          .putValue(RUN_ID, "waiting-" + i)
+          .putValue(CUSTOMER_ID, 42));
+    }
+  }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.idgenerator;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.GenerateIdsStep;
+import org.junit.Test;
+
+/**
+ * Compares the synchronized {@link DbIdGenerator} with the {@link PrefetchingDbIdGenerator}.
+ * Run with <code>-DthreadCounts=1,8,64</code> to compare the generators under contention.
+ */
+public class IdGeneratorPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int IDS_PER_RUN = 1000;
+
+  @Test
+  public void dbIdGenerator() {
+    DbIdGenerator idGenerator = initIdGenerator(new DbIdGenerator());
+
+    performanceTest()
+      .step(new GenerateIdsStep(idGenerator, IDS_PER_RUN))
+    .run();
+  }
+
+  @Test
+  public void prefetchingDbIdGenerator() {
+    PrefetchingDbIdGenerator idGenerator = initIdGenerator(new PrefetchingDbIdGenerator());
+
+    try {
+      performanceTest()
+        .step(new GenerateIdsStep(idGenerator, IDS_PER_RUN))
+      .run();
+    }
+    finally {
+      idGenerator.shutdown();
+    }
+  }
+
+  protected <T extends DbIdGenerator> T initIdGenerator(T idGenerator) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = processEngineRule.getProcessEngineConfiguration();
+    idGenerator.setIdBlockSize(processEngineConfiguration.getIdBlockSize());
+    idGenerator.setCommandExecutor(processEngineConfiguration.getCommandExecutorTxRequiresNew());
+    return idGenerator;
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.JobPartitionLeases;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResult;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResults;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepResult;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.AcquireJobsStep;
+import org.camunda.bpm.qa.performance.engine.steps.AcquireJobsStep.JobAcquisitionResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares the optimistic locking failure rate of the job acquisition with and
+ * without partitioned job acquisition. Every thread acts as a separate job executor
+ * node, run with <code>-DthreadCounts=1,2,4,8</code> to compare clusters of 1 to 8 nodes.
+ * The failure rate of every pass is logged, the acquisition results of the single steps
+ * are recorded in the result file of the test.
+ */
+public class JobAcquisitionPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  public static final Logger LOG = Logger.getLogger(JobAcquisitionPerformanceTest.class.getName());
+
+  protected static final int NUMBER_OF_JOBS = 1000;
+  protected static final int JOBS_PER_ACQUISITION = 3;
+  protected static final int PARTITION_COUNT = 32;
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+        .camundaAsyncAfter()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Deployment deployment;
+
+  @Before
+  public void deploy() {
+    processEngineConfiguration = processEngineRule.getProcessEngineConfiguration();
+    deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", ASYNC_PROCESS)
+      .deploy();
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setJobExecutorPartitionCount(0);
+    repositoryService.deleteDeployment(deployment.getId(), true);
+
+    for (String propertyName : engine.getManagementService().getProperties().keySet()) {
+      if (propertyName.startsWith(JobPartitionLeases.PROPERTY_NAME_PREFIX)) {
+        engine.getManagementService().deleteProperty(propertyName);
+      }
+    }
+  }
+
+  @Test
+  public void sharedAcquisition() {
+    createJobs();
+    runAcquisition();
+  }
+
+  @Test
+  public void partitionedAcquisition() {
+    processEngineConfiguration.setJobExecutorPartitionCount(PARTITION_COUNT);
+    createJobs();
+    runAcquisition();
+  }
+
+  protected void createJobs() {
+    for (int i = 0; i < NUMBER_OF_JOBS; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+  }
+
+  protected void runAcquisition() {
+    AcquireJobsStep acquireJobsStep = new AcquireJobsStep(engine, JOBS_PER_ACQUISITION);
+
+    try {
+      PerfTestResults results = performanceTest()
+        .step(acquireJobsStep)
+      .run();
+
+      assertFailureRates(results);
+    }
+    finally {
+      acquireJobsStep.releaseNodes();
+    }
+  }
+
+  protected void assertFailureRates(PerfTestResults results) {
+    for (PerfTestResult passResult : results.getPassResults()) {
+      long acquiredJobs = 0;
+      long jobsFailedToLock = 0;
+
+      for (PerfTestStepResult stepResult : passResult.getStepResults()) {
+        if (stepResult.getResultData() instanceof JobAcquisitionResult) {
+          JobAcquisitionResult acquisitionResult = (JobAcquisitionResult) stepResult.getResultData();
+          acquiredJobs += acquisitionResult.getAcquiredJobs();
+          jobsFailedToLock += acquisitionResult.getJobsFailedToLock();
+        }
+      }
+
+      long attempts = acquiredJobs + jobsFailedToLock;
+      double failureRate = attempts > 0 ? 100.0 * jobsFailedToLock / attempts : 0;
+
+      LOG.log(Level.INFO, String.format("Nodes: %d, acquired jobs: %d, jobs failed to lock: %d, optimistic locking failure rate: %.2f%%",
+          passResult.getNumberOfThreads(), acquiredJobs, jobsFailedToLock, failureRate));
+
+      assertTrue("no jobs acquired by " + passResult.getNumberOfThreads() + " nodes", acquiredJobs > 0);
+      if (passResult.getNumberOfThreads() == 1) {
+        // a single node does not compete with other nodes for the jobs
+        assertEquals(0, jobsFailedToLock);
+      }
+    }
+  }
+
+}
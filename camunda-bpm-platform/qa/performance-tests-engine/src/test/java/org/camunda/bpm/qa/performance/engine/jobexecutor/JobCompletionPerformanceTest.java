@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jobexecutor;
+
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEngineJobExecutorPerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.SignalTestRunListener;
+import org.camunda.bpm.qa.performance.engine.steps.StartProcessInstanceStep;
+import org.camunda.bpm.qa.performance.engine.steps.WaitStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares executing every job in its own transaction with executing
+ * non-exclusive jobs of different process instances in shared transactions.
+ */
+public class JobCompletionPerformanceTest extends ProcessEngineJobExecutorPerformanceTestCase {
+
+  protected static final int JOBS_PER_ACQUISITION = 10;
+  protected static final int JOBS_PER_TRANSACTION = 10;
+
+  protected static final BpmnModelInstance ASYNC_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+        .camundaExpression("${true}")
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+        .camundaExpression("${true}")
+      .serviceTask()
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+        .camundaExpression("${true}")
+      .endEvent()
+        .camundaExecutionListenerClass("end", SignalTestRunListener.class.getName())
+      .done();
+
+  protected int defaultMaxJobsPerAcquisition;
+  protected Deployment deployment;
+
+  @Before
+  public void deploy() {
+    defaultMaxJobsPerAcquisition = jobExecutor.getMaxJobsPerAcquisition();
+    jobExecutor.setMaxJobsPerAcquisition(JOBS_PER_ACQUISITION);
+
+    deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", ASYNC_PROCESS)
+      .deploy();
+  }
+
+  @After
+  public void cleanUp() {
+    jobExecutor.setMaxJobsPerAcquisition(defaultMaxJobsPerAcquisition);
+    jobExecutor.setMaxJobsPerTransaction(1);
+    repositoryService.deleteDeployment(deployment.getId(), true);
+  }
+
+  @Test
+  public void transactionPerJob() {
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+      .step(new WaitStep())
+      .run();
+  }
+
+  @Test
+  public void sharedTransactions() {
+    jobExecutor.setMaxJobsPerTransaction(JOBS_PER_TRANSACTION);
+
+    performanceTest()
+      .step(new StartProcessInstanceStep(engine, "process"))
+      .step(new WaitStep())
+      .run();
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.persistence;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.LoadAndFlushExecutionsStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares detecting modified executions by a copy of their persistent state
+ * with detecting them by their modification count, for a process instance
+ * with 10k executions.
+ */
+public class ExecutionFlushPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  protected static final int NUMBER_OF_EXECUTIONS = 10000;
+
+  protected static final BpmnModelInstance PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .receiveTask()
+        .multiInstance()
+          .parallel()
+          .cardinality(String.valueOf(NUMBER_OF_EXECUTIONS))
+        .multiInstanceDone()
+      .endEvent()
+      .done();
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Deployment deployment;
+  protected String processInstanceId;
+
+  @Before
+  public void startProcessInstance() {
+    processEngineConfiguration = processEngineRule.getProcessEngineConfiguration();
+
+    deployment = repositoryService.createDeployment()
+      .addModelInstance("process.bpmn", PROCESS)
+      .deploy();
+    processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setDbEntityModificationTrackingEnabled(false);
+    repositoryService.deleteDeployment(deployment.getId(), true);
+  }
+
+  @Test
+  public void persistentStateComparison() {
+    performanceTest()
+      .step(new LoadAndFlushExecutionsStep(engine, processInstanceId))
+    .run();
+  }
+
+  @Test
+  public void modificationTracking() {
+    processEngineConfiguration.setDbEntityModificationTrackingEnabled(true);
+
+    performanceTest()
+      .step(new LoadAndFlushExecutionsStep(engine, processInstanceId))
+    .run();
+  }
+
+}